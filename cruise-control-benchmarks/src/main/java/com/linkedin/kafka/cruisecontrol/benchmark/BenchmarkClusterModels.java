@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
+import com.linkedin.kafka.cruisecontrol.common.ClusterProperty;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerCapacityResolutionException;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.model.RandomCluster;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * Synthetic cluster models for benchmarks, built from the {@link RandomCluster} and {@link DeterministicCluster} test fixtures.
+ */
+public final class BenchmarkClusterModels {
+  public static final OptimizationOptions DEFAULT_OPTIMIZATION_OPTIONS = new OptimizationOptions(Collections.emptySet(),
+                                                                                                 Collections.emptySet(),
+                                                                                                 Collections.emptySet());
+
+  /**
+   * The fixture used to build the cluster model of a benchmark.
+   */
+  public enum Source {
+    /**
+     * A {@link RandomCluster} of the requested size.
+     */
+    RANDOM,
+    /**
+     * {@link DeterministicCluster#mediumClusterModel(Map)}. The requested cluster size is ignored.
+     */
+    DETERMINISTIC
+  }
+
+  private BenchmarkClusterModels() {
+
+  }
+
+  /**
+   * @return Kafka Cruise Control config that uses {@link TestConstants#DEFAULT_GOALS_VALUES} as the default goals.
+   */
+  public static KafkaCruiseControlConfig config() {
+    return new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties());
+  }
+
+  /**
+   * Create a cluster model from the given fixture. Random clusters are rack-aware, have replication factor 3 and use the
+   * mean resource utilization of {@link TestConstants#BASE_PROPERTIES}.
+   *
+   * @param source The fixture to build the cluster model from.
+   * @param numRacks Number of racks.
+   * @param numBrokers Number of brokers.
+   * @param numReplicas Number of replicas.
+   * @param numTopics Number of topics.
+   * @param distribution The replica distribution across brokers.
+   * @return A new cluster model.
+   */
+  public static ClusterModel clusterModel(Source source,
+                                          int numRacks,
+                                          int numBrokers,
+                                          int numReplicas,
+                                          int numTopics,
+                                          TestConstants.Distribution distribution)
+      throws BrokerCapacityResolutionException {
+    switch (source) {
+      case RANDOM:
+        Map<ClusterProperty, Number> properties = new HashMap<>(TestConstants.BASE_PROPERTIES);
+        properties.put(ClusterProperty.NUM_RACKS, numRacks);
+        properties.put(ClusterProperty.NUM_BROKERS, numBrokers);
+        properties.put(ClusterProperty.NUM_REPLICAS, numReplicas);
+        properties.put(ClusterProperty.NUM_TOPICS, numTopics);
+        ClusterModel clusterModel = RandomCluster.generate(properties);
+        RandomCluster.populate(clusterModel, properties, distribution, true, true, Collections.emptySet());
+        return clusterModel;
+      case DETERMINISTIC:
+        return DeterministicCluster.mediumClusterModel(TestConstants.BROKER_CAPACITY);
+      default:
+        throw new IllegalArgumentException("Unsupported cluster model source " + source);
+    }
+  }
+
+  /**
+   * Apply leadership and replica relocations to the given percentage of partitions, so that the model differs from its
+   * initial distribution like a model optimized by the goals would. Replicas are relocated to the alive brokers that
+   * do not host a replica of the same partition in a round-robin fashion.
+   *
+   * @param clusterModel The cluster model to mutate.
+   * @param movedPartitionPercentage The percentage of partitions in [0, 100] to relocate a replica and the leadership of.
+   */
+  public static void relocate(ClusterModel clusterModel, int movedPartitionPercentage) {
+    List<Broker> aliveBrokers = new ArrayList<>(clusterModel.aliveBrokers());
+    List<Partition> partitions = clusterModel.getPartitionsByTopic().values().stream()
+                                             .flatMap(List::stream).collect(Collectors.toList());
+    int numPartitionsToMove = partitions.size() * movedPartitionPercentage / 100;
+    int brokerCursor = 0;
+    for (int i = 0; i < numPartitionsToMove; i++) {
+      Partition partition = partitions.get(i);
+      Replica leader = partition.leader();
+      if (!partition.followers().isEmpty()) {
+        clusterModel.relocateLeadership(partition.topicPartition(), leader.broker().id(),
+                                        partition.followers().get(0).broker().id());
+      }
+      Set<Broker> partitionBrokers = partition.partitionBrokers();
+      for (int attempt = 0; attempt < aliveBrokers.size(); attempt++) {
+        Broker destination = aliveBrokers.get(brokerCursor);
+        brokerCursor = (brokerCursor + 1) % aliveBrokers.size();
+        if (!partitionBrokers.contains(destination)) {
+          Replica follower = partition.followers().get(partition.followers().size() - 1);
+          clusterModel.relocateReplica(partition.topicPartition(), follower.broker().id(), destination.id());
+          break;
+        }
+      }
+    }
+  }
+}
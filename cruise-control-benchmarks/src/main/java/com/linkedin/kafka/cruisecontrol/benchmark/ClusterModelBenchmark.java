@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.kafka.cruisecontrol.benchmark.BenchmarkClusterModels.DEFAULT_OPTIMIZATION_OPTIONS;
+
+
+/**
+ * Times the read-only cluster model operations that {@link com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizer} performs
+ * after each goal: replica and leader distribution snapshots, {@link AnalyzerUtils#hasDiff}, {@link AnalyzerUtils#getDiff}
+ * and the cluster stats, as well as copying the model. The model is relocated away from its initial distribution by
+ * {@link #_movedPartitionPercentage}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ClusterModelBenchmark {
+  @Param({"RANDOM"})
+  protected BenchmarkClusterModels.Source _source;
+  @Param({"10"})
+  protected int _numRacks;
+  @Param({"40"})
+  protected int _numBrokers;
+  @Param({"50001"})
+  protected int _numReplicas;
+  @Param({"3000"})
+  protected int _numTopics;
+  @Param({"EXPONENTIAL"})
+  protected TestConstants.Distribution _distribution;
+  @Param({"10"})
+  protected int _movedPartitionPercentage;
+
+  private ClusterModel _clusterModel;
+  private BalancingConstraint _balancingConstraint;
+  private Map<TopicPartition, List<ReplicaPlacementInfo>> _initReplicaDistribution;
+  private Map<TopicPartition, ReplicaPlacementInfo> _initLeaderDistribution;
+
+  /**
+   * Create the cluster model, take its initial distribution and relocate a part of it.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    _clusterModel = BenchmarkClusterModels.clusterModel(_source, _numRacks, _numBrokers, _numReplicas, _numTopics, _distribution);
+    _balancingConstraint = new BalancingConstraint(BenchmarkClusterModels.config());
+    _initReplicaDistribution = _clusterModel.getReplicaDistribution();
+    _initLeaderDistribution = _clusterModel.getLeaderDistribution();
+    BenchmarkClusterModels.relocate(_clusterModel, _movedPartitionPercentage);
+  }
+
+  /**
+   * @return Replica distribution of the cluster model.
+   */
+  @Benchmark
+  public Map<TopicPartition, List<ReplicaPlacementInfo>> getReplicaDistribution() {
+    return _clusterModel.getReplicaDistribution();
+  }
+
+  /**
+   * @return Leader distribution of the cluster model.
+   */
+  @Benchmark
+  public Map<TopicPartition, ReplicaPlacementInfo> getLeaderDistribution() {
+    return _clusterModel.getLeaderDistribution();
+  }
+
+  /**
+   * @return {@code true} if the cluster model differs from its initial distribution.
+   */
+  @Benchmark
+  public boolean hasDiff() {
+    return AnalyzerUtils.hasDiff(_initReplicaDistribution, _initLeaderDistribution, _clusterModel);
+  }
+
+  /**
+   * @return Execution proposals to move from the initial distribution to the current one.
+   */
+  @Benchmark
+  public Set<ExecutionProposal> getDiff() {
+    return AnalyzerUtils.getDiff(_initReplicaDistribution, _initLeaderDistribution, _clusterModel, true);
+  }
+
+  /**
+   * @return A copy of the cluster model.
+   */
+  @Benchmark
+  public ClusterModel copy() {
+    return _clusterModel.copy(_clusterModel.generation(), _clusterModel.monitoredPartitionsRatio());
+  }
+
+  /**
+   * @return Cluster model stats.
+   */
+  @Benchmark
+  public ClusterModelStats getClusterStats() {
+    return _clusterModel.getClusterStats(_balancingConstraint, DEFAULT_OPTIMIZATION_OPTIONS);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionTaskPlanner;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures how fast {@link ExecutionTaskPlanner} plans {@link #_numTasks} inter-broker replica movements, and picks the
+ * batches of movements to execute from them. Each batch is picked once the movements of the previous batch complete,
+ * i.e. all brokers are ready to take part in {@link #_brokerConcurrency} movements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ExecutionTaskPlannerBenchmark {
+  private static final long SEED = 31L;
+  private static final long MAX_PARTITION_SIZE_IN_MB = 1000L;
+
+  /**
+   * The inter-broker replica movements to execute.
+   */
+  public enum Scenario {
+    // Each movement copies a replica from a random broker to the broker that replaces a dead broker.
+    REPLACE_BROKER,
+    // Each movement copies a replica from a random broker to another random broker.
+    RANDOM
+  }
+
+  @Param({"REPLACE_BROKER", "RANDOM"})
+  protected Scenario _scenario;
+  @Param({"100"})
+  protected int _numBrokers;
+  @Param({"1000000"})
+  protected int _numTasks;
+  @Param({"5"})
+  protected int _brokerConcurrency;
+  @Param({"1250"})
+  protected int _maxInterBrokerPartitionMovements;
+  @Param({"100"})
+  protected int _numBatches;
+
+  private KafkaCruiseControlConfig _config;
+  private List<ExecutionProposal> _proposals;
+  private StrategyOptions _strategyOptions;
+  private ExecutionTaskPlanner _planner;
+
+  /**
+   * Generate the proposals of the scenario.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    _config = new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties());
+    Random random = new Random(SEED);
+    List<Node> nodes = new ArrayList<>(_numBrokers);
+    for (int brokerId = 0; brokerId < _numBrokers; brokerId++) {
+      nodes.add(new Node(brokerId, "host" + brokerId, 9092));
+    }
+    _proposals = new ArrayList<>(_numTasks);
+    Set<PartitionInfo> partitions = new HashSet<>();
+    for (int partition = 0; partition < _numTasks; partition++) {
+      int sourceBroker;
+      int destinationBroker;
+      if (_scenario == Scenario.REPLACE_BROKER) {
+        destinationBroker = _numBrokers - 1;
+        sourceBroker = random.nextInt(_numBrokers - 1);
+      } else {
+        sourceBroker = random.nextInt(_numBrokers);
+        destinationBroker = (sourceBroker + 1 + random.nextInt(_numBrokers - 1)) % _numBrokers;
+      }
+      TopicPartition tp = new TopicPartition("topic" + partition % 1000, partition);
+      ReplicaPlacementInfo source = new ReplicaPlacementInfo(sourceBroker);
+      _proposals.add(new ExecutionProposal(tp, 1 + random.nextInt((int) MAX_PARTITION_SIZE_IN_MB), source, Collections.singletonList(source),
+                                           Collections.singletonList(new ReplicaPlacementInfo(destinationBroker))));
+      Node[] replicas = {nodes.get(sourceBroker)};
+      partitions.add(new PartitionInfo(tp.topic(), tp.partition(), replicas[0], replicas, replicas));
+    }
+    _strategyOptions = new StrategyOptions.Builder(new Cluster(null, nodes, partitions, Collections.emptySet(), Collections.emptySet()))
+        .build();
+  }
+
+  /**
+   * Plan the movements of the scenario to pick batches from.
+   */
+  @Setup(Level.Invocation)
+  public void setUpPlanner() {
+    _planner = new ExecutionTaskPlanner(null, _config);
+    _planner.addExecutionProposals(_proposals, _strategyOptions, null);
+  }
+
+  /**
+   * @return Number of planned movements.
+   */
+  @Benchmark
+  public int addExecutionProposals() {
+    ExecutionTaskPlanner planner = new ExecutionTaskPlanner(null, _config);
+    planner.addExecutionProposals(_proposals, _strategyOptions, null);
+    return planner.remainingInterBrokerReplicaMovements().size();
+  }
+
+  /**
+   * @return Number of movements in {@link #_numBatches} batches.
+   */
+  @Benchmark
+  public int getInterBrokerReplicaMovementTasks() {
+    int numTasks = 0;
+    for (int batch = 0; batch < _numBatches; batch++) {
+      Map<Integer, Integer> readyBrokers = new HashMap<>(_numBrokers);
+      for (int brokerId = 0; brokerId < _numBrokers; brokerId++) {
+        readyBrokers.put(brokerId, _brokerConcurrency);
+      }
+      numTasks += _planner.getInterBrokerReplicaMovementTasks(readyBrokers, Collections.emptySet(), _maxInterBrokerPartitionMovements).size();
+    }
+    return numTasks;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.kafka.cruisecontrol.benchmark.BenchmarkClusterModels.DEFAULT_OPTIMIZATION_OPTIONS;
+
+
+/**
+ * Times {@link Goal#optimize} of each default goal. Before each invocation a fresh cluster model is created and the goals
+ * with a higher priority than the benchmarked goal are optimized (untimed), so that the benchmarked goal runs against the
+ * same model and the same set of optimized goals as it would in {@link com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GoalBenchmark {
+  @Param({"RackAwareGoal", "MinTopicLeadersPerBrokerGoal", "ReplicaCapacityGoal", "DiskCapacityGoal",
+          "NetworkInboundCapacityGoal", "NetworkOutboundCapacityGoal", "CpuCapacityGoal", "ReplicaDistributionGoal",
+          "PotentialNwOutGoal", "DiskUsageDistributionGoal", "NetworkInboundUsageDistributionGoal",
+          "NetworkOutboundUsageDistributionGoal", "CpuUsageDistributionGoal", "TopicReplicaDistributionGoal",
+          "LeaderReplicaDistributionGoal", "LeaderBytesInDistributionGoal"})
+  protected String _goalName;
+  @Param({"RANDOM"})
+  protected BenchmarkClusterModels.Source _source;
+  @Param({"10"})
+  protected int _numRacks;
+  @Param({"40"})
+  protected int _numBrokers;
+  @Param({"50001"})
+  protected int _numReplicas;
+  @Param({"3000"})
+  protected int _numTopics;
+  @Param({"EXPONENTIAL"})
+  protected TestConstants.Distribution _distribution;
+
+  private ClusterModel _clusterModel;
+  private Goal _goal;
+  private Set<Goal> _optimizedGoals;
+
+  /**
+   * Create a new cluster model and optimize the goals preceding the benchmarked goal.
+   */
+  @Setup(Level.Invocation)
+  public void setUp() throws Exception {
+    _clusterModel = BenchmarkClusterModels.clusterModel(_source, _numRacks, _numBrokers, _numReplicas, _numTopics, _distribution);
+    List<Goal> goalsByPriority = AnalyzerUtils.getDefaultGoalsByPriority(BenchmarkClusterModels.config());
+    _optimizedGoals = new HashSet<>();
+    _goal = null;
+    for (Goal goal : goalsByPriority) {
+      if (goal.name().equals(_goalName)) {
+        _goal = goal;
+        break;
+      }
+      goal.optimize(_clusterModel, _optimizedGoals, DEFAULT_OPTIMIZATION_OPTIONS);
+      _optimizedGoals.add(goal);
+    }
+    if (_goal == null) {
+      throw new IllegalArgumentException("Goal " + _goalName + " is not a default goal.");
+    }
+  }
+
+  /**
+   * @return {@code true} if the goal is succeeded, {@code false} otherwise.
+   */
+  @Benchmark
+  public boolean optimize() throws KafkaCruiseControlException {
+    return _goal.optimize(_clusterModel, _optimizedGoals, DEFAULT_OPTIMIZATION_OPTIONS);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.codahale.metrics.MetricRegistry;
+import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizer;
+import com.linkedin.kafka.cruisecontrol.analyzer.OptimizerResult;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
+import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.utils.SystemTime;
+import org.easymock.EasyMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Times a full {@link GoalOptimizer#optimizations(ClusterModel, List, OperationProgress)} run with the default goals,
+ * including the replica distribution snapshots, per-goal stats and the final diff.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class GoalOptimizerBenchmark {
+  @Param({"RANDOM"})
+  protected BenchmarkClusterModels.Source _source;
+  @Param({"10"})
+  protected int _numRacks;
+  @Param({"40"})
+  protected int _numBrokers;
+  @Param({"50001"})
+  protected int _numReplicas;
+  @Param({"3000"})
+  protected int _numTopics;
+  @Param({"EXPONENTIAL"})
+  protected TestConstants.Distribution _distribution;
+
+  private GoalOptimizer _goalOptimizer;
+  private List<Goal> _goalsByPriority;
+  private ClusterModel _clusterModel;
+
+  /**
+   * Create the goal optimizer and the default goals.
+   */
+  @Setup(Level.Trial)
+  public void setUpOptimizer() {
+    KafkaCruiseControlConfig config = BenchmarkClusterModels.config();
+    _goalOptimizer = new GoalOptimizer(config, null, new SystemTime(), new MetricRegistry(),
+                                       EasyMock.mock(Executor.class), EasyMock.mock(AdminClient.class));
+    _goalsByPriority = AnalyzerUtils.getDefaultGoalsByPriority(config);
+  }
+
+  /**
+   * Create a new cluster model, since the optimization mutates the model.
+   */
+  @Setup(Level.Invocation)
+  public void setUpClusterModel() throws Exception {
+    _clusterModel = BenchmarkClusterModels.clusterModel(_source, _numRacks, _numBrokers, _numReplicas, _numTopics, _distribution);
+  }
+
+  /**
+   * Shutdown the goal optimizer.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    _goalOptimizer.shutdown();
+  }
+
+  /**
+   * @return The optimizer result.
+   */
+  @Benchmark
+  public OptimizerResult optimizations() throws KafkaCruiseControlException {
+    return _goalOptimizer.optimizations(_clusterModel, _goalsByPriority, new OperationProgress());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.cruisecontrol.IntegerEntity;
+import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
+import com.linkedin.cruisecontrol.metricdef.AggregationFunction;
+import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
+import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregationOptions;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregationResult;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.RawMetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ValuesAndExtrapolations;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Times {@link RawMetricValues#aggregate(SortedSet, MetricDef)} of a single entity and
+ * {@link MetricSampleAggregator#aggregate(long, long, AggregationOptions)} over {@link #_numEntities} entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MetricAggregationBenchmark {
+  private static final long WINDOW_MS = 1000L;
+  private static final String ENTITY_GROUP_PREFIX = "topic-";
+  @Param({"5"})
+  protected int _numWindows;
+  @Param({"4"})
+  protected byte _minSamplesPerWindow;
+  @Param({"20"})
+  protected int _numMetrics;
+  @Param({"10000"})
+  protected int _numEntities;
+  @Param({"10"})
+  protected int _numEntitiesPerGroup;
+
+  private MetricDef _metricDef;
+  private RawMetricValues _rawMetricValues;
+  private SortedSet<Long> _windowIndices;
+  private MetricSampleAggregator<String, IntegerEntity> _aggregator;
+  private AggregationOptions<String, IntegerEntity> _aggregationOptions;
+
+  /**
+   * Populate the raw metric values and the aggregator with the configured number of windows, metrics and entities.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    _metricDef = new MetricDef();
+    AggregationFunction[] aggregationFunctions = AggregationFunction.values();
+    for (int i = 0; i < _numMetrics; i++) {
+      _metricDef.define("metric" + i, null, aggregationFunctions[i % aggregationFunctions.length].name());
+    }
+
+    // One more window is kept for the current (active) window.
+    _rawMetricValues = new RawMetricValues(_numWindows + 1, _minSamplesPerWindow);
+    _rawMetricValues.updateOldestWindowIndex(0);
+    _windowIndices = new TreeSet<>();
+    IntegerEntity rawEntity = new IntegerEntity(ENTITY_GROUP_PREFIX, 0);
+    for (long windowIndex = 0; windowIndex < _numWindows; windowIndex++) {
+      _windowIndices.add(windowIndex);
+      for (int j = 0; j < _minSamplesPerWindow; j++) {
+        _rawMetricValues.addSample(sample(rawEntity, windowIndex, j), windowIndex, _metricDef);
+      }
+    }
+
+    _aggregator = new MetricSampleAggregator<>(_numWindows, WINDOW_MS, _minSamplesPerWindow, 0, _metricDef);
+    // Populate one more window to roll out all the windows to aggregate.
+    for (long windowIndex = 0; windowIndex <= _numWindows; windowIndex++) {
+      for (int entityId = 0; entityId < _numEntities; entityId++) {
+        IntegerEntity entity = new IntegerEntity(ENTITY_GROUP_PREFIX + (entityId / _numEntitiesPerGroup), entityId);
+        for (int j = 0; j < _minSamplesPerWindow; j++) {
+          _aggregator.addSample(sample(entity, windowIndex, j));
+        }
+      }
+    }
+    _aggregationOptions = new AggregationOptions<>(0.0, 0.0, 1, _numWindows, Collections.emptySet(),
+                                                   AggregationOptions.Granularity.ENTITY, true);
+  }
+
+  private MetricSample<String, IntegerEntity> sample(IntegerEntity entity, long windowIndex, int sampleIndex) {
+    MetricSample<String, IntegerEntity> sample = new MetricSample<>(entity);
+    for (MetricInfo metricInfo : _metricDef.all()) {
+      sample.record(metricInfo, windowIndex * 10 + sampleIndex);
+    }
+    sample.close(windowIndex * WINDOW_MS + sampleIndex + 1);
+    return sample;
+  }
+
+  /**
+   * @return Aggregated values of a single entity.
+   */
+  @Benchmark
+  public ValuesAndExtrapolations rawMetricValuesAggregate() {
+    return _rawMetricValues.aggregate(_windowIndices, _metricDef);
+  }
+
+  /**
+   * @return Aggregated values of all entities.
+   */
+  @Benchmark
+  public MetricSampleAggregationResult<String, IntegerEntity> metricSampleAggregatorAggregate()
+      throws NotEnoughValidWindowsException {
+    return _aggregator.aggregate(-1, Long.MAX_VALUE, _aggregationOptions);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.cruisecontrol.IntegerEntity;
+import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
+import com.linkedin.cruisecontrol.metricdef.AggregationFunction;
+import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
+import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregationOptions;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregationResult;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the contention of {@link MetricSampleAggregator#addSample(MetricSample)} from 16 sampling fetcher threads,
+ * alone and together with a thread that continuously aggregates the samples the way the load monitor does to generate
+ * cluster models. The sample time advances with each added sample, so that new windows are rolled out every
+ * {@link #_samplesPerWindow} samples.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MetricSampleIngestionBenchmark {
+  private static final long WINDOW_MS = 1000L;
+  private static final String ENTITY_GROUP_PREFIX = "topic-";
+  @Param({"5"})
+  protected int _numWindows;
+  @Param({"4"})
+  protected byte _minSamplesPerWindow;
+  @Param({"20"})
+  protected int _numMetrics;
+  @Param({"10000"})
+  protected int _numEntities;
+  @Param({"10"})
+  protected int _numEntitiesPerGroup;
+  @Param({"40000"})
+  protected int _samplesPerWindow;
+
+  private MetricDef _metricDef;
+  private IntegerEntity[] _entities;
+  private MetricSampleAggregator<String, IntegerEntity> _aggregator;
+  private AggregationOptions<String, IntegerEntity> _aggregationOptions;
+  private AtomicLong _numAddedSamples;
+
+  /**
+   * Populate the aggregator with the configured number of windows, metrics and entities.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    _metricDef = new MetricDef();
+    AggregationFunction[] aggregationFunctions = AggregationFunction.values();
+    for (int i = 0; i < _numMetrics; i++) {
+      _metricDef.define("metric" + i, null, aggregationFunctions[i % aggregationFunctions.length].name());
+    }
+    _entities = new IntegerEntity[_numEntities];
+    for (int entityId = 0; entityId < _numEntities; entityId++) {
+      _entities[entityId] = new IntegerEntity(ENTITY_GROUP_PREFIX + (entityId / _numEntitiesPerGroup), entityId);
+    }
+
+    _aggregator = new MetricSampleAggregator<>(_numWindows, WINDOW_MS, _minSamplesPerWindow, 0, _metricDef);
+    // Populate one more window to roll out all the windows to aggregate.
+    for (long windowIndex = 0; windowIndex <= _numWindows; windowIndex++) {
+      for (IntegerEntity entity : _entities) {
+        for (int j = 0; j < _minSamplesPerWindow; j++) {
+          _aggregator.addSample(sample(entity, windowIndex * WINDOW_MS + j + 1));
+        }
+      }
+    }
+    _aggregationOptions = new AggregationOptions<>(0.0, 0.0, 1, _numWindows, Collections.emptySet(),
+                                                   AggregationOptions.Granularity.ENTITY, true);
+    _numAddedSamples = new AtomicLong(_numWindows * (long) _samplesPerWindow);
+  }
+
+  private MetricSample<String, IntegerEntity> sample(IntegerEntity entity, long sampleTimeMs) {
+    MetricSample<String, IntegerEntity> sample = new MetricSample<>(entity);
+    for (MetricInfo metricInfo : _metricDef.all()) {
+      sample.record(metricInfo, sampleTimeMs % 100);
+    }
+    sample.close(sampleTimeMs);
+    return sample;
+  }
+
+  private boolean addSample() {
+    long sampleTimeMs = _numAddedSamples.incrementAndGet() * WINDOW_MS / _samplesPerWindow;
+    IntegerEntity entity = _entities[ThreadLocalRandom.current().nextInt(_entities.length)];
+    return _aggregator.addSample(sample(entity, sampleTimeMs));
+  }
+
+  /**
+   * @return {@code true} if the sample is accepted, {@code false} otherwise.
+   */
+  @Benchmark
+  @Group("ingestion")
+  @GroupThreads(16)
+  public boolean ingestionAddSample() {
+    return addSample();
+  }
+
+  /**
+   * @return {@code true} if the sample is accepted, {@code false} otherwise.
+   */
+  @Benchmark
+  @Group("ingestionWithAggregation")
+  @GroupThreads(16)
+  public boolean ingestionWithAggregationAddSample() {
+    return addSample();
+  }
+
+  /**
+   * @return Aggregated values of all entities.
+   */
+  @Benchmark
+  @Group("ingestionWithAggregation")
+  @GroupThreads(1)
+  public MetricSampleAggregationResult<String, IntegerEntity> ingestionWithAggregationAggregate()
+      throws NotEnoughValidWindowsException {
+    return _aggregator.aggregate(-1, Long.MAX_VALUE, _aggregationOptions);
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.benchmark;
+
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaSortFunctionFactory;
+import com.linkedin.kafka.cruisecontrol.model.SortedReplicas;
+import com.linkedin.kafka.cruisecontrol.model.SortedReplicasHelper;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares {@link SortedReplicas} with the plain {@link TreeSet} whose comparator applies the priority and score functions
+ * on each comparison, which it used to be. Replicas are sorted the way
+ * {@link com.linkedin.kafka.cruisecontrol.analyzer.goals.ResourceDistributionGoal} sorts them to move load out of a broker.
+ *
+ * The {@code legacy*} benchmarks perform the same work as their counterparts over the plain {@link TreeSet} of each broker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SortedReplicasBenchmark {
+  private static final String SORT_NAME = "SortedReplicasBenchmark";
+  private static final Function<Replica, Integer> PRIORITY_FUNC = ReplicaSortFunctionFactory.prioritizeImmigrants();
+  private static final Function<Replica, Double> SCORE_FUNC =
+      ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(Resource.NW_OUT.name());
+
+  @Param({"RANDOM"})
+  protected BenchmarkClusterModels.Source _source;
+  @Param({"10"})
+  protected int _numRacks;
+  @Param({"40"})
+  protected int _numBrokers;
+  @Param({"50001"})
+  protected int _numReplicas;
+  @Param({"3000"})
+  protected int _numTopics;
+  @Param({"EXPONENTIAL"})
+  protected TestConstants.Distribution _distribution;
+  @Param({"1000"})
+  protected int _numLeadershipMoves;
+
+  private ClusterModel _clusterModel;
+  private ClusterModel _legacyClusterModel;
+  private Map<Integer, SortedSet<Replica>> _legacySortedReplicas;
+  private List<Partition> _partitions;
+  private List<Partition> _legacyPartitions;
+
+  /**
+   * Create a cluster model tracking {@link SortedReplicas} and another one with the plain {@link TreeSet} of each broker.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    _clusterModel = BenchmarkClusterModels.clusterModel(_source, _numRacks, _numBrokers, _numReplicas, _numTopics, _distribution);
+    trackSortedReplicas(_clusterModel);
+    _partitions = partitionsToMove(_clusterModel);
+
+    _legacyClusterModel = BenchmarkClusterModels.clusterModel(_source, _numRacks, _numBrokers, _numReplicas, _numTopics, _distribution);
+    _legacySortedReplicas = new HashMap<>();
+    for (Broker broker : _legacyClusterModel.brokers()) {
+      _legacySortedReplicas.put(broker.id(), legacySortedReplicas(broker));
+    }
+    _legacyPartitions = partitionsToMove(_legacyClusterModel);
+  }
+
+  /**
+   * @return Number of sorted replicas after sorting the replicas of each broker from scratch.
+   */
+  @Benchmark
+  public int sortReplicas() {
+    String sortName = SORT_NAME + "-sortReplicas";
+    new SortedReplicasHelper().addPriorityFunc(PRIORITY_FUNC).setScoreFunc(SCORE_FUNC).trackSortedReplicasFor(sortName, _clusterModel);
+    int numSortedReplicas = 0;
+    for (Broker broker : _clusterModel.brokers()) {
+      numSortedReplicas += broker.trackedSortedReplicas(sortName).sortedReplicas(false).size();
+    }
+    _clusterModel.untrackSortedReplicas(sortName);
+    return numSortedReplicas;
+  }
+
+  /**
+   * @return Number of sorted replicas after sorting the replicas of each broker from scratch.
+   */
+  @Benchmark
+  public int legacySortReplicas() {
+    int numSortedReplicas = 0;
+    for (Broker broker : _legacyClusterModel.brokers()) {
+      numSortedReplicas += legacySortedReplicas(broker).size();
+    }
+    return numSortedReplicas;
+  }
+
+  /**
+   * @return Number of replicas in a clone of the sorted replicas of each broker.
+   */
+  @Benchmark
+  public int cloneSortedReplicas() {
+    int numSortedReplicas = 0;
+    for (Broker broker : _clusterModel.brokers()) {
+      numSortedReplicas += broker.trackedSortedReplicas(SORT_NAME).sortedReplicas(true).size();
+    }
+    return numSortedReplicas;
+  }
+
+  /**
+   * Move the leadership of {@link #_numLeadershipMoves} partitions to a follower and back, which changes the outbound
+   * network load, hence the score, of the replicas.
+   *
+   * @return Number of leadership moves.
+   */
+  @Benchmark
+  public int relocateLeadership() {
+    for (Partition partition : _partitions) {
+      int leaderId = partition.leader().broker().id();
+      int followerId = partition.followers().get(0).broker().id();
+      _clusterModel.relocateLeadership(partition.topicPartition(), leaderId, followerId);
+      _clusterModel.relocateLeadership(partition.topicPartition(), followerId, leaderId);
+    }
+    return 2 * _partitions.size();
+  }
+
+  /**
+   * Move the leadership of {@link #_numLeadershipMoves} partitions to a follower and back, and re-insert the replicas whose
+   * leadership changed to the plain {@link TreeSet} of their brokers.
+   *
+   * @return Number of leadership moves.
+   */
+  @Benchmark
+  public int legacyRelocateLeadership() {
+    for (Partition partition : _legacyPartitions) {
+      Replica leader = partition.leader();
+      Replica follower = partition.followers().get(0);
+      legacyRelocateLeadership(leader, follower);
+      legacyRelocateLeadership(follower, leader);
+    }
+    return 2 * _legacyPartitions.size();
+  }
+
+  private void legacyRelocateLeadership(Replica leader, Replica follower) {
+    _legacyClusterModel.relocateLeadership(leader.topicPartition(), leader.broker().id(), follower.broker().id());
+    for (Replica replica : new Replica[]{leader, follower}) {
+      SortedSet<Replica> sortedReplicas = _legacySortedReplicas.get(replica.broker().id());
+      sortedReplicas.remove(replica);
+      sortedReplicas.add(replica);
+    }
+  }
+
+  private List<Partition> partitionsToMove(ClusterModel clusterModel) {
+    return clusterModel.getPartitionsByTopic().values().stream().flatMap(List::stream)
+                       .filter(partition -> !partition.followers().isEmpty())
+                       .limit(_numLeadershipMoves)
+                       .collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  private static void trackSortedReplicas(ClusterModel clusterModel) {
+    new SortedReplicasHelper().addPriorityFunc(PRIORITY_FUNC).setScoreFunc(SCORE_FUNC).trackSortedReplicasFor(SORT_NAME, clusterModel);
+    // Sorted replicas are populated lazily.
+    clusterModel.brokers().forEach(broker -> broker.trackedSortedReplicas(SORT_NAME).sortedReplicas(false));
+  }
+
+  private static SortedSet<Replica> legacySortedReplicas(Broker broker) {
+    Comparator<Replica> comparator = (Replica r1, Replica r2) -> {
+      int result = Integer.compare(PRIORITY_FUNC.apply(r1), PRIORITY_FUNC.apply(r2));
+      if (result != 0) {
+        return result;
+      }
+      result = Double.compare(SCORE_FUNC.apply(r1), SCORE_FUNC.apply(r2));
+      return result != 0 ? result : r1.compareTo(r2);
+    };
+    SortedSet<Replica> sortedReplicas = new TreeSet<>(comparator);
+    sortedReplicas.addAll(broker.replicas());
+    return sortedReplicas;
+  }
+}
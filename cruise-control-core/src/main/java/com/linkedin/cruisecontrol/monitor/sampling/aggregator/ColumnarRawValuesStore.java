@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+
+/**
+ * A {@link RawValuesStore} that keeps the raw values of all entities in a single columnar region of direct memory, rather
+ * than in a few small arrays per entity on the heap. This keeps the raw values of a large number of entities (e.g. the
+ * partitions of a large cluster) out of the garbage collected heap.
+ *
+ * Each entity is assigned an ordinal, which addresses a fixed size slot in the region. The slot of an entity is laid out as:
+ * <ul>
+ *   <li>The values of each metric in each window as floats, indexed by {@code metricId * numWindows + arrayIndex}.</li>
+ *   <li>The sample count of each window as a byte.</li>
+ *   <li>The flags of each window as a byte, where {@link #VALID_FLAG} indicates a valid window and {@link #EXTRAPOLATED_FLAG}
+ *   indicates an extrapolated window.</li>
+ *   <li>A bit mask of the metrics that the entity has values of.</li>
+ * </ul>
+ * The region is allocated in chunks of {@link #SLOTS_PER_CHUNK} slots as more entities are added. The slots of the
+ * released entities are reused by new entities, but the chunks are never returned.
+ */
+public class ColumnarRawValuesStore implements RawValuesStore {
+  static final int SLOTS_PER_CHUNK = 4096;
+  private static final byte VALID_FLAG = 0x1;
+  private static final byte EXTRAPOLATED_FLAG = 0x2;
+  private final int _numWindows;
+  private final int _numMetrics;
+  private final int _countsOffset;
+  private final int _flagsOffset;
+  private final int _metricMaskOffset;
+  private final int _slotSize;
+  private final int _slotsPerChunk;
+  private final List<ByteBuffer> _chunks;
+  private final Deque<Integer> _freeOrdinals;
+  private int _nextOrdinal;
+
+  /**
+   * @param numWindowsToKeep The number of windows to keep for each entity.
+   * @param metricDef The metric definitions.
+   */
+  public ColumnarRawValuesStore(int numWindowsToKeep, MetricDef metricDef) {
+    _numWindows = numWindowsToKeep;
+    _numMetrics = metricDef.size();
+    _countsOffset = _numMetrics * _numWindows * Float.BYTES;
+    _flagsOffset = _countsOffset + _numWindows;
+    _metricMaskOffset = _flagsOffset + _numWindows;
+    // Align the slots to 8 bytes.
+    _slotSize = (_metricMaskOffset + (_numMetrics + Byte.SIZE - 1) / Byte.SIZE + 7) & ~7;
+    _slotsPerChunk = Math.max(1, Math.min(SLOTS_PER_CHUNK, Integer.MAX_VALUE / _slotSize));
+    _chunks = new ArrayList<>();
+    _freeOrdinals = new ArrayDeque<>();
+    _nextOrdinal = 0;
+  }
+
+  @Override
+  public synchronized RawValues allocate() {
+    Integer ordinal = _freeOrdinals.pollFirst();
+    if (ordinal == null) {
+      ordinal = _nextOrdinal++;
+      if (ordinal / _slotsPerChunk == _chunks.size()) {
+        _chunks.add(ByteBuffer.allocateDirect(_slotsPerChunk * _slotSize).order(ByteOrder.nativeOrder()));
+      }
+    }
+    ByteBuffer chunk = _chunks.get(ordinal / _slotsPerChunk);
+    int slotOffset = (ordinal % _slotsPerChunk) * _slotSize;
+    // The slot of a released entity must be zeroed before reuse.
+    for (int i = 0; i < _slotSize; i += Long.BYTES) {
+      chunk.putLong(slotOffset + i, 0L);
+    }
+    return new ColumnarRawValues(ordinal, chunk, slotOffset);
+  }
+
+  private synchronized void release(int ordinal) {
+    _freeOrdinals.addFirst(ordinal);
+  }
+
+  /**
+   * @return The number of entities that the store has allocated raw values for and not yet released.
+   */
+  public synchronized int numAllocated() {
+    return _nextOrdinal - _freeOrdinals.size();
+  }
+
+  /**
+   * @return The number of bytes of direct memory allocated by the store.
+   */
+  public synchronized long allocatedBytes() {
+    return (long) _chunks.size() * _slotsPerChunk * _slotSize;
+  }
+
+  /**
+   * The raw values of an entity in a slot of the columnar region. All accesses use the absolute get and put methods of the
+   * chunk, so that the raw values of different entities in the same chunk can be accessed concurrently.
+   */
+  private final class ColumnarRawValues implements RawValues {
+    private final int _ordinal;
+    private final ByteBuffer _chunk;
+    private final int _slotOffset;
+    private boolean _released;
+
+    private ColumnarRawValues(int ordinal, ByteBuffer chunk, int slotOffset) {
+      _ordinal = ordinal;
+      _chunk = chunk;
+      _slotOffset = slotOffset;
+      _released = false;
+    }
+
+    private int valueOffset(short metricId, int arrayIndex) {
+      return _slotOffset + (metricId * _numWindows + arrayIndex) * Float.BYTES;
+    }
+
+    private byte flags(int arrayIndex) {
+      return _chunk.get(_slotOffset + _flagsOffset + arrayIndex);
+    }
+
+    private void setFlag(int arrayIndex, byte flag, boolean value) {
+      int offset = _slotOffset + _flagsOffset + arrayIndex;
+      byte flags = _chunk.get(offset);
+      _chunk.put(offset, (byte) (value ? flags | flag : flags & ~flag));
+    }
+
+    private int numWindowsWithFlag(byte flag) {
+      int numWindows = 0;
+      for (int i = 0; i < _numWindows; i++) {
+        if ((flags(i) & flag) != 0) {
+          numWindows++;
+        }
+      }
+      return numWindows;
+    }
+
+    @Override
+    public int numWindows() {
+      return _numWindows;
+    }
+
+    @Override
+    public byte count(int arrayIndex) {
+      return _chunk.get(_slotOffset + _countsOffset + arrayIndex);
+    }
+
+    @Override
+    public void setCount(int arrayIndex, byte count) {
+      _chunk.put(_slotOffset + _countsOffset + arrayIndex, count);
+    }
+
+    @Override
+    public boolean hasMetric(short metricId) {
+      return (_chunk.get(_slotOffset + _metricMaskOffset + metricId / Byte.SIZE) & (1 << (metricId % Byte.SIZE))) != 0;
+    }
+
+    @Override
+    public void addMetric(short metricId) {
+      if (metricId < 0 || metricId >= _numMetrics) {
+        throw new IllegalArgumentException("Metric id " + metricId + " is not in the metric definitions of the store.");
+      }
+      int offset = _slotOffset + _metricMaskOffset + metricId / Byte.SIZE;
+      _chunk.put(offset, (byte) (_chunk.get(offset) | (1 << (metricId % Byte.SIZE))));
+    }
+
+    @Override
+    public short[] metricIds() {
+      short[] metricIds = new short[_numMetrics];
+      int numMetricIds = 0;
+      for (short metricId = 0; metricId < _numMetrics; metricId++) {
+        if (hasMetric(metricId)) {
+          metricIds[numMetricIds++] = metricId;
+        }
+      }
+      return numMetricIds == _numMetrics ? metricIds : Arrays.copyOf(metricIds, numMetricIds);
+    }
+
+    @Override
+    public float value(short metricId, int arrayIndex) {
+      return _chunk.getFloat(valueOffset(metricId, arrayIndex));
+    }
+
+    @Override
+    public void setValue(short metricId, int arrayIndex, float value) {
+      _chunk.putFloat(valueOffset(metricId, arrayIndex), value);
+    }
+
+    @Override
+    public boolean isValid(int arrayIndex) {
+      return (flags(arrayIndex) & VALID_FLAG) != 0;
+    }
+
+    @Override
+    public void setValid(int arrayIndex, boolean valid) {
+      setFlag(arrayIndex, VALID_FLAG, valid);
+    }
+
+    @Override
+    public boolean isExtrapolated(int arrayIndex) {
+      return (flags(arrayIndex) & EXTRAPOLATED_FLAG) != 0;
+    }
+
+    @Override
+    public void setExtrapolated(int arrayIndex, boolean extrapolated) {
+      setFlag(arrayIndex, EXTRAPOLATED_FLAG, extrapolated);
+    }
+
+    @Override
+    public int numValidWindows() {
+      return numWindowsWithFlag(VALID_FLAG);
+    }
+
+    @Override
+    public int numExtrapolatedWindows() {
+      return numWindowsWithFlag(EXTRAPOLATED_FLAG);
+    }
+
+    @Override
+    public void release() {
+      if (!_released) {
+        _released = true;
+        ColumnarRawValuesStore.this.release(_ordinal);
+      }
+    }
+  }
+}
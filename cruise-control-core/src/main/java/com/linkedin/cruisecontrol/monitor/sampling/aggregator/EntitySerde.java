@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.model.Entity;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+
+/**
+ * Serializes and deserializes the entities of a {@link MetricSampleAggregator} in its checkpoint.
+ *
+ * @param <E> The entity class.
+ */
+public interface EntitySerde<E extends Entity<?>> {
+
+  /**
+   * @param entity The entity to serialize.
+   * @param out The output to write the entity to.
+   */
+  void serialize(E entity, DataOutput out) throws IOException;
+
+  /**
+   * @param in The input to read the entity from.
+   * @return The deserialized entity.
+   */
+  E deserialize(DataInput in) throws IOException;
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * The {@link RawValues} of an entity kept in arrays on the heap.
+ */
+class HeapRawValues implements RawValues {
+  // The metric id to value array mapping. The array is a cyclic buffer. Each array slot represents a window.
+  private final Map<Short, float[]> _windowValuesByMetricId;
+  // The number of samples per window. The array is a cyclic buffer. Each array slot represents a window.
+  private final byte[] _counts;
+  // A bit set to indicate whether a given window has extrapolation or not.
+  private final BitSet _extrapolations;
+  // A bit set to indicate whether a given window is valid or not.
+  private final BitSet _validity;
+
+  HeapRawValues(int numWindows) {
+    _windowValuesByMetricId = new TreeMap<>();
+    _counts = new byte[numWindows];
+    _extrapolations = new BitSet(numWindows);
+    _validity = new BitSet(numWindows);
+  }
+
+  @Override
+  public int numWindows() {
+    return _counts.length;
+  }
+
+  @Override
+  public byte count(int arrayIndex) {
+    return _counts[arrayIndex];
+  }
+
+  @Override
+  public void setCount(int arrayIndex, byte count) {
+    _counts[arrayIndex] = count;
+  }
+
+  @Override
+  public boolean hasMetric(short metricId) {
+    return _windowValuesByMetricId.containsKey(metricId);
+  }
+
+  @Override
+  public void addMetric(short metricId) {
+    _windowValuesByMetricId.putIfAbsent(metricId, new float[_counts.length]);
+  }
+
+  @Override
+  public short[] metricIds() {
+    short[] metricIds = new short[_windowValuesByMetricId.size()];
+    int i = 0;
+    for (short metricId : _windowValuesByMetricId.keySet()) {
+      metricIds[i++] = metricId;
+    }
+    return metricIds;
+  }
+
+  @Override
+  public float value(short metricId, int arrayIndex) {
+    return _windowValuesByMetricId.get(metricId)[arrayIndex];
+  }
+
+  @Override
+  public void setValue(short metricId, int arrayIndex, float value) {
+    _windowValuesByMetricId.get(metricId)[arrayIndex] = value;
+  }
+
+  @Override
+  public boolean isValid(int arrayIndex) {
+    return _validity.get(arrayIndex);
+  }
+
+  @Override
+  public void setValid(int arrayIndex, boolean valid) {
+    _validity.set(arrayIndex, valid);
+  }
+
+  @Override
+  public boolean isExtrapolated(int arrayIndex) {
+    return _extrapolations.get(arrayIndex);
+  }
+
+  @Override
+  public void setExtrapolated(int arrayIndex, boolean extrapolated) {
+    _extrapolations.set(arrayIndex, extrapolated);
+  }
+
+  @Override
+  public int numValidWindows() {
+    return _validity.cardinality();
+  }
+
+  @Override
+  public int numExtrapolatedWindows() {
+    return _extrapolations.cardinality();
+  }
+
+  @Override
+  public void release() {
+    // The arrays are garbage collected.
+  }
+}
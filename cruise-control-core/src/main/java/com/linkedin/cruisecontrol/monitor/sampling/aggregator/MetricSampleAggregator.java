@@ -9,6 +9,9 @@ import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
 import com.linkedin.cruisecontrol.model.Entity;
 import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,8 +23,12 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,7 +81,14 @@ import org.slf4j.LoggerFactory;
  *   ratio) and entity group coverage (valid entity group ratio) meet the requirements.
  * </p>
  *
- * <p>This class is thread safe.</p>
+ * <p>
+ *   This class is thread safe. Samples are added to the existing windows without any aggregator-wide lock. Rolling out
+ *   a new window takes the write lock of the window rolling lock, whereas the readers (e.g. aggregation) take its read
+ *   lock to see a consistent window range. A sample that requires a new window while a reader holds the read lock is
+ *   deferred rather than blocking the sampling thread until the reader finishes: the window is rolled out and the
+ *   deferred samples are added as soon as the lock is released. The number of deferred samples is bounded; beyond
+ *   the bound, the sampling threads wait for the lock.
+ * </p>
  *
  * @param <G> The aggregation entity group class. Note that the entity group will be used as a key to HashMaps,
  *           so it must have a valid {@link Object#hashCode()} and {@link Object#equals(Object)} implementation.
@@ -83,11 +97,19 @@ import org.slf4j.LoggerFactory;
  */
 public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerationed {
   private static final Logger LOG = LoggerFactory.getLogger(MetricSampleAggregator.class);
+  // The maximum number of samples to defer while readers hold the window rolling lock.
+  private static final int MAX_NUM_PENDING_SAMPLES = 10000;
+  private static final int CHECKPOINT_VERSION = 1;
 
   private final ConcurrentMap<E, RawMetricValues> _rawMetrics;
   private final MetricSampleAggregatorState<G, E> _aggregatorState;
-  private final ReentrantLock _windowRollingLock;
+  private final ReentrantReadWriteLock _windowRollingLock;
+  // The samples that require a new window, deferred while readers hold the window rolling lock.
+  private final ConcurrentLinkedQueue<MetricSample<G, E>> _pendingSamples;
+  private final AtomicInteger _numPendingSamples;
+  private final AtomicLong _maxPendingWindowIndex;
   private final ConcurrentMap<E, E> _identityEntityMap;
+  private final RawValuesStore _rawValuesStore;
 
   protected final int _numWindows;
   protected final byte _minSamplesPerWindow;
@@ -115,6 +137,27 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
                                 byte minSamplesPerWindow,
                                 int completenessCacheSize,
                                 MetricDef metricDef) {
+    this(numWindows, windowMs, minSamplesPerWindow, completenessCacheSize, metricDef, RawValuesStore.onHeap(numWindows + 1));
+  }
+
+  /**
+   * Construct the metric sample aggregator that keeps the raw values of the entities in the given store.
+   *
+   * @param numWindows the number of windows needed.
+   * @param windowMs the size of each window in milliseconds
+   * @param minSamplesPerWindow minimum samples per window.
+   * @param completenessCacheSize the completeness cache size, i.e. the number of recent completeness query result to
+   *                              cache.
+   * @param metricDef metric definitions.
+   * @param rawValuesStore the store to allocate the raw values of the entities from, with {@code numWindows + 1} windows
+   *                       per entity to keep the active window.
+   */
+  public MetricSampleAggregator(int numWindows,
+                                long windowMs,
+                                byte minSamplesPerWindow,
+                                int completenessCacheSize,
+                                MetricDef metricDef,
+                                RawValuesStore rawValuesStore) {
     super(0);
     _identityEntityMap = new ConcurrentHashMap<>();
     _rawMetrics = new ConcurrentHashMap<>();
@@ -124,8 +167,12 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
     // We keep one more window for the active window.
     _numWindowsToKeep = _numWindows + 1;
     _minSamplesPerWindow = minSamplesPerWindow;
-    _windowRollingLock = new ReentrantLock();
+    _windowRollingLock = new ReentrantReadWriteLock();
+    _pendingSamples = new ConcurrentLinkedQueue<>();
+    _numPendingSamples = new AtomicInteger(0);
+    _maxPendingWindowIndex = new AtomicLong(0L);
     _metricDef = metricDef;
+    _rawValuesStore = rawValuesStore;
     _aggregatorState = new MetricSampleAggregatorState<>(numWindows, _windowMs, completenessCacheSize);
     _oldestWindowIndex = 0L;
     _currentWindowIndex = 0L;
@@ -134,9 +181,15 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
   /**
    * Add a sample to the metric aggregator.
    *
+   * <p>
+   *   A sample that requires a new window while readers (e.g. aggregation) hold the window rolling lock is deferred until
+   *   the readers release the lock, and is reported as accepted. Such a sample is still discarded if its window has been
+   *   evicted by a later sample by the time it is added.
+   * </p>
+   *
    * @param sample The metric sample to add.
    *
-   * @return {@code true} if the sample is accepted, {@code false} if the sample is ignored.
+   * @return {@code true} if the sample is accepted or deferred, {@code false} if the sample is ignored.
    */
   public boolean addSample(MetricSample<G, E> sample) {
     if (!sample.isValid(_metricDef)) {
@@ -148,20 +201,48 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
     if (windowIndex < _oldestWindowIndex) {
       return false;
     }
-    boolean newWindowsRolledOut = maybeRollOutNewWindow(windowIndex);
-    RawMetricValues rawMetricValues =
-        _rawMetrics.computeIfAbsent(identity(sample.entity()), k -> {
-          // Need to grab the lock to make sure the raw value for this partition is updated correctly when
-          // the raw values was created in an existing window while a new window is being rolled out.
-          _windowRollingLock.lock();
-          try {
-            RawMetricValues rawValues = new RawMetricValues(_numWindowsToKeep, _minSamplesPerWindow, _metricDef.size());
-            rawValues.updateOldestWindowIndex(_oldestWindowIndex);
-            return rawValues;
-          } finally {
-            _windowRollingLock.unlock();
-          }
+    if (_currentWindowIndex < windowIndex) {
+      if (!_windowRollingLock.writeLock().tryLock()) {
+        if (_windowRollingLock.getReadLockCount() > 0 && _numPendingSamples.get() < MAX_NUM_PENDING_SAMPLES) {
+          // Readers (e.g. aggregation) may hold the lock for long. Defer the sample rather than waiting for them.
+          deferSample(sample, windowIndex);
+          addPendingSamples();
+          return true;
+        }
+        // Another window rolling, which is short, holds the lock; or too many samples are deferred already.
+        _windowRollingLock.writeLock().lock();
+      }
+      boolean newWindowsRolledOut;
+      try {
+        newWindowsRolledOut = rollOutNewWindow(windowIndex);
+      } finally {
+        _windowRollingLock.writeLock().unlock();
+      }
+      addSampleToWindow(sample, windowIndex, newWindowsRolledOut);
+    } else {
+      addSampleToWindow(sample, windowIndex, false);
+    }
+    addPendingSamples();
+    return true;
+  }
+
+  private void addSampleToWindow(MetricSample<G, E> sample, long windowIndex, boolean newWindowsRolledOut) {
+    E entity = identity(sample.entity());
+    RawMetricValues rawMetricValues = _rawMetrics.get(entity);
+    if (rawMetricValues == null) {
+      // Need to grab the lock to make sure the raw value for this partition is updated correctly when
+      // the raw values was created in an existing window while a new window is being rolled out.
+      _windowRollingLock.readLock().lock();
+      try {
+        rawMetricValues = _rawMetrics.computeIfAbsent(entity, k -> {
+          RawMetricValues rawValues = new RawMetricValues(_minSamplesPerWindow, _rawValuesStore.allocate());
+          rawValues.updateOldestWindowIndex(_oldestWindowIndex);
+          return rawValues;
         });
+      } finally {
+        unlockRead();
+      }
+    }
     LOG.trace("Adding sample {} to window index {}", sample, windowIndex);
     rawMetricValues.addSample(sample, windowIndex, _metricDef);
     if (newWindowsRolledOut || windowIndex != _currentWindowIndex) {
@@ -170,8 +251,45 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       // window index of the added sample.
       _aggregatorState.updateWindowGeneration(windowIndex, _generation.incrementAndGet());
     }
+  }
 
-    return true;
+  private void deferSample(MetricSample<G, E> sample, long windowIndex) {
+    _maxPendingWindowIndex.accumulateAndGet(windowIndex, Math::max);
+    _numPendingSamples.incrementAndGet();
+    _pendingSamples.add(sample);
+  }
+
+  /**
+   * Roll out the windows of the deferred samples and add them, unless the window rolling lock is held by others. Every
+   * holder of the window rolling lock calls this method after releasing the lock, so that the deferred samples are
+   * added once the last holder releases the lock.
+   */
+  private void addPendingSamples() {
+    while (!_pendingSamples.isEmpty() && _windowRollingLock.writeLock().tryLock()) {
+      boolean newWindowsRolledOut;
+      try {
+        newWindowsRolledOut = rollOutNewWindow(_maxPendingWindowIndex.get());
+      } finally {
+        _windowRollingLock.writeLock().unlock();
+      }
+      // The samples are added without holding the lock, hence the samples that require a new window are deferred again
+      // and the loop retries to roll out their windows.
+      MetricSample<G, E> sample;
+      while ((sample = _pendingSamples.poll()) != null) {
+        _numPendingSamples.decrementAndGet();
+        long windowIndex = windowIndex(sample.sampleTime());
+        if (windowIndex > _currentWindowIndex) {
+          deferSample(sample, windowIndex);
+          break;
+        }
+        // Skip the samples whose window was evicted by a later sample.
+        if (windowIndex >= _oldestWindowIndex) {
+          addSampleToWindow(sample, windowIndex, newWindowsRolledOut);
+        } else {
+          LOG.debug("The deferred metric sample is discarded because its window has been evicted. Sample: {}", sample);
+        }
+      }
+    }
   }
 
   /**
@@ -193,7 +311,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
   public MetricSampleAggregationResult<G, E> aggregate(long from, long to, AggregationOptions<G, E> options)
       throws NotEnoughValidWindowsException {
     // prevent window rolling.
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       // Ensure the range is valid.
       long fromWindowIndex = Math.max(windowIndex(from), _oldestWindowIndex);
@@ -237,7 +355,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       }
       return result;
     } finally {
-      _windowRollingLock.unlock();
+      unlockRead();
     }
   }
 
@@ -248,7 +366,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    */
   public Map<E, ValuesAndExtrapolations> peekCurrentWindow() {
     // prevent window rolling.
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       Map<E, ValuesAndExtrapolations> result = new HashMap<>();
       _rawMetrics.forEach((entity, rawMetric) -> {
@@ -259,7 +377,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       });
       return result;
     } finally {
-      _windowRollingLock.unlock();
+      unlockRead();
     }
   }
 
@@ -273,7 +391,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * @return The {@link MetricSampleCompleteness} of the MetricSampleAggregator.
    */
   public MetricSampleCompleteness<G, E> completeness(long from, long to, AggregationOptions<G, E> options) {
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       long fromWindowIndex = Math.max(windowIndex(from), _oldestWindowIndex);
       long toWindowIndex = Math.min(windowIndex(to), _currentWindowIndex - 1);
@@ -286,7 +404,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
                                            interpretAggregationOptions(options),
                                            generation());
     } finally {
-      _windowRollingLock.unlock();
+      unlockRead();
     }
   }
 
@@ -366,7 +484,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * @param entities the entities to retain.
    */
   public void retainEntities(Set<E> entities) {
-    boolean anyElementsRemoved = _rawMetrics.entrySet().removeIf(entry -> !entities.contains(entry.getKey()));
+    boolean anyElementsRemoved = removeEntitiesIf(entity -> !entities.contains(entity));
     if (anyElementsRemoved) {
       _generation.incrementAndGet();
     }
@@ -378,7 +496,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * @param entities the entities to remove.
    */
   public void removeEntities(Set<E> entities) {
-    boolean anyElementsRemoved = _rawMetrics.entrySet().removeIf(entry -> entities.contains(entry.getKey()));
+    boolean anyElementsRemoved = removeEntitiesIf(entity -> entities.contains(entity));
     if (anyElementsRemoved) {
       _generation.incrementAndGet();
     }
@@ -390,7 +508,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * @param entityGroups the entity groups to retain.
    */
   public void retainEntityGroup(Set<G> entityGroups) {
-    boolean anyElementsRemoved = _rawMetrics.entrySet().removeIf(entry -> !entityGroups.contains(entry.getKey().group()));
+    boolean anyElementsRemoved = removeEntitiesIf(entity -> !entityGroups.contains(entity.group()));
     if (anyElementsRemoved) {
       _generation.incrementAndGet();
     }
@@ -402,24 +520,129 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * @param entityGroups the entity groups to remove from the MetricSampleAggregator.
    */
   public void removeEntityGroup(Set<G> entityGroups) {
-    boolean anyElementsRemoved = _rawMetrics.entrySet().removeIf(entry -> entityGroups.contains(entry.getKey().group()));
+    boolean anyElementsRemoved = removeEntitiesIf(entity -> entityGroups.contains(entity.group()));
     if (anyElementsRemoved) {
       _generation.incrementAndGet();
     }
   }
 
+  private boolean removeEntitiesIf(Predicate<E> predicate) {
+    boolean anyElementsRemoved = false;
+    for (Iterator<Map.Entry<E, RawMetricValues>> iter = _rawMetrics.entrySet().iterator(); iter.hasNext(); ) {
+      Map.Entry<E, RawMetricValues> entry = iter.next();
+      if (predicate.test(entry.getKey())) {
+        iter.remove();
+        entry.getValue().release();
+        anyElementsRemoved = true;
+      }
+    }
+    return anyElementsRemoved;
+  }
+
   /**
    * Clear the MetricSampleAggregator.
    */
   public void clear() {
-    _windowRollingLock.lock();
+    _windowRollingLock.writeLock().lock();
     try {
+      _pendingSamples.clear();
+      _numPendingSamples.set(0);
+      _rawMetrics.values().forEach(RawMetricValues::release);
       _rawMetrics.clear();
       _aggregatorState.clear();
       _generation.incrementAndGet();
     } finally {
-      _windowRollingLock.unlock();
+      _windowRollingLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Write the window range and the raw values of all entities to the given output, so that a restarted aggregator can
+   * restore them with {@link #readCheckpoint(DataInput, EntitySerde)} instead of reloading all the samples. New windows
+   * are not rolled out while the checkpoint is written, but samples may still be added to the existing windows.
+   *
+   * @param out the output to write the checkpoint to.
+   * @param entitySerde the serde of the entities.
+   */
+  public void writeCheckpoint(DataOutput out, EntitySerde<E> entitySerde) throws IOException {
+    _windowRollingLock.readLock().lock();
+    try {
+      List<Map.Entry<E, RawMetricValues>> entries = new ArrayList<>(_rawMetrics.entrySet());
+      out.writeInt(CHECKPOINT_VERSION);
+      out.writeLong(_windowMs);
+      out.writeInt(_numWindowsToKeep);
+      out.writeByte(_minSamplesPerWindow);
+      out.writeInt(_metricDef.size());
+      out.writeLong(_oldestWindowIndex);
+      out.writeLong(_currentWindowIndex);
+      out.writeInt(entries.size());
+      for (Map.Entry<E, RawMetricValues> entry : entries) {
+        entitySerde.serialize(entry.getKey(), out);
+        entry.getValue().writeCheckpoint(out);
+      }
+    } finally {
+      unlockRead();
+    }
+  }
+
+  /**
+   * Restore the window range and the raw values of all entities from a checkpoint written by
+   * {@link #writeCheckpoint(DataOutput, EntitySerde)}. The aggregator must be empty, i.e. no samples have been added.
+   *
+   * @param in the input to read the checkpoint from.
+   * @param entitySerde the serde of the entities.
+   * @throws IOException if the checkpoint cannot be read or was written by an aggregator with a different window size,
+   * number of windows, minimum samples per window or metric definitions. The aggregator is not modified in this case,
+   * unless the checkpoint is corrupted after its header.
+   */
+  public void readCheckpoint(DataInput in, EntitySerde<E> entitySerde) throws IOException {
+    int version = in.readInt();
+    if (version != CHECKPOINT_VERSION) {
+      throw new IOException("Unsupported checkpoint version " + version + ".");
+    }
+    long windowMs = in.readLong();
+    int numWindowsToKeep = in.readInt();
+    byte minSamplesPerWindow = in.readByte();
+    int numMetrics = in.readInt();
+    if (windowMs != _windowMs || numWindowsToKeep != _numWindowsToKeep || minSamplesPerWindow != _minSamplesPerWindow
+        || numMetrics != _metricDef.size()) {
+      throw new IOException(String.format("The checkpoint with window %d ms, %d windows, %d min samples per window and %d "
+                                          + "metrics does not match the aggregator.", windowMs, numWindowsToKeep,
+                                          minSamplesPerWindow, numMetrics));
+    }
+    long oldestWindowIndex = in.readLong();
+    long currentWindowIndex = in.readLong();
+    _windowRollingLock.writeLock().lock();
+    try {
+      if (!_rawMetrics.isEmpty() || _currentWindowIndex != 0L) {
+        throw new IllegalStateException("Cannot restore a checkpoint to an aggregator with samples.");
+      }
+      if (currentWindowIndex > 0) {
+        rollOutNewWindow(currentWindowIndex);
+      }
+      if (_oldestWindowIndex != oldestWindowIndex) {
+        throw new IOException("The checkpoint has inconsistent window range [" + oldestWindowIndex + ", "
+                              + currentWindowIndex + "].");
+      }
+      int numEntities = in.readInt();
+      for (int i = 0; i < numEntities; i++) {
+        E entity = identity(entitySerde.deserialize(in));
+        RawMetricValues rawValues = new RawMetricValues(_minSamplesPerWindow, _rawValuesStore.allocate());
+        rawValues.readCheckpoint(in, oldestWindowIndex);
+        RawMetricValues prevRawValues = _rawMetrics.put(entity, rawValues);
+        if (prevRawValues != null) {
+          prevRawValues.release();
+        }
+      }
+      // Let the state of all windows be recomputed.
+      for (long windowIndex = _oldestWindowIndex; windowIndex <= _currentWindowIndex; windowIndex++) {
+        _aggregatorState.updateWindowGeneration(windowIndex, _generation.incrementAndGet());
+      }
+    } finally {
+      _windowRollingLock.writeLock().unlock();
     }
+    LOG.info("{} Aggregator restored {} entities with window range [{}, {}] from checkpoint.", _sampleType,
+             _rawMetrics.size(), _oldestWindowIndex * _windowMs, _currentWindowIndex * _windowMs);
   }
 
   /**
@@ -433,7 +656,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
 
   // both from and to window indices are inclusive.
   private List<Long> getWindowList(long fromWindowIndex, long toWindowIndex) {
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       if (_rawMetrics.isEmpty()) {
         return Collections.emptyList();
@@ -444,14 +667,22 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       }
       return windows;
     } finally {
-      _windowRollingLock.unlock();
+      unlockRead();
     }
   }
 
+  private void unlockRead() {
+    _windowRollingLock.readLock().unlock();
+    addPendingSamples();
+  }
+
   private void maybeUpdateAggregatorState() {
-    long currentGeneration = generation();
-    for (long windowIndex : _aggregatorState.windowIndicesToUpdate(_oldestWindowIndex, _currentWindowIndex)) {
-      _aggregatorState.updateWindowState(windowIndex, getWindowState(windowIndex, currentGeneration));
+    // Concurrent readers update the aggregator state one at a time to avoid computing the same window states.
+    synchronized (_aggregatorState) {
+      long currentGeneration = generation();
+      for (long windowIndex : _aggregatorState.windowIndicesToUpdate(_oldestWindowIndex, _currentWindowIndex)) {
+        _aggregatorState.updateWindowState(windowIndex, getWindowState(windowIndex, currentGeneration));
+      }
     }
   }
 
@@ -471,38 +702,37 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
     return windowState;
   }
 
-  private boolean maybeRollOutNewWindow(long windowIndex) {
-    if (_currentWindowIndex < windowIndex) {
-      _windowRollingLock.lock();
-      try {
-        if (_currentWindowIndex < windowIndex) {
-          // find out how many windows we need to reset in the raw metrics.
-          int numWindowsToRollOut = (int) (windowIndex - _currentWindowIndex);
-          // First set the oldest window index so newly coming older samples will not be added.
-          long prevOldestWindowIndex = _oldestWindowIndex;
-          // The first possible window index is actually 1 instead of 0.
-          _oldestWindowIndex = Math.max(1, windowIndex - _numWindows);
-          int numOldWindowIndicesToReset = (int) Math.min(_numWindowsToKeep, _oldestWindowIndex - prevOldestWindowIndex);
-          int numAbandonedSamples = 0;
-          // Reset all the data starting from previous oldest window. After this point the old samples cannot get
-          // into the raw metric values. We only need to reset the index if the new index is at least _numWindows;
-          if (numOldWindowIndicesToReset > 0) {
-            numAbandonedSamples = resetIndices(prevOldestWindowIndex, numOldWindowIndicesToReset);
-          }
-          // Set the generation of the old current window.
-          _aggregatorState.updateWindowGeneration(_currentWindowIndex, generation());
-          // Lastly update current window.
-          _currentWindowIndex = windowIndex;
-          LOG.info("{} Aggregator rolled out {} new windows, reset {} windows, current window range [{}, {}], abandon {} samples.",
-                    _sampleType, numWindowsToRollOut, numOldWindowIndicesToReset, _oldestWindowIndex * _windowMs,
-                    _currentWindowIndex * _windowMs, numAbandonedSamples);
-          return true;
-        }
-      } finally {
-        _windowRollingLock.unlock();
-      }
+  /**
+   * Roll out the windows up to the given window index. The caller must hold the write lock of the window rolling lock.
+   *
+   * @param windowIndex The window index to roll out the windows up to.
+   * @return {@code true} if new windows rolled out, {@code false} if the window of the given index already exists.
+   */
+  private boolean rollOutNewWindow(long windowIndex) {
+    if (_currentWindowIndex >= windowIndex) {
+      return false;
     }
-    return false;
+    // find out how many windows we need to reset in the raw metrics.
+    int numWindowsToRollOut = (int) (windowIndex - _currentWindowIndex);
+    // First set the oldest window index so newly coming older samples will not be added.
+    long prevOldestWindowIndex = _oldestWindowIndex;
+    // The first possible window index is actually 1 instead of 0.
+    _oldestWindowIndex = Math.max(1, windowIndex - _numWindows);
+    int numOldWindowIndicesToReset = (int) Math.min(_numWindowsToKeep, _oldestWindowIndex - prevOldestWindowIndex);
+    int numAbandonedSamples = 0;
+    // Reset all the data starting from previous oldest window. After this point the old samples cannot get
+    // into the raw metric values. We only need to reset the index if the new index is at least _numWindows;
+    if (numOldWindowIndicesToReset > 0) {
+      numAbandonedSamples = resetIndices(prevOldestWindowIndex, numOldWindowIndicesToReset);
+    }
+    // Set the generation of the old current window.
+    _aggregatorState.updateWindowGeneration(_currentWindowIndex, generation());
+    // Lastly update current window.
+    _currentWindowIndex = windowIndex;
+    LOG.info("{} Aggregator rolled out {} new windows, reset {} windows, current window range [{}, {}], abandon {} samples.",
+              _sampleType, numWindowsToRollOut, numOldWindowIndicesToReset, _oldestWindowIndex * _windowMs,
+              _currentWindowIndex * _windowMs, numAbandonedSamples);
+    return true;
   }
 
   private int resetRawValueIndices(long prevOldestWindowIndex, int numIndicesToReset, long currentOldestWindowIndex) {
@@ -8,7 +8,9 @@ import com.linkedin.cruisecontrol.common.WindowIndexedArrays;
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
 import com.linkedin.cruisecontrol.metricdef.MetricInfo;
 import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
-import java.util.BitSet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.SortedMap;
@@ -28,55 +30,76 @@ import org.slf4j.LoggerFactory;
  */
 public class RawMetricValues extends WindowIndexedArrays {
   private static final Logger LOG = LoggerFactory.getLogger(RawMetricValues.class);
+  private static final int CHECKPOINT_VALID_FLAG = 0x1;
+  private static final int CHECKPOINT_EXTRAPOLATED_FLAG = 0x2;
   // The minimum required samples for a window to not involve any extrapolation.
   private final byte _minSamplesPerWindow;
   private final byte _halfMinRequiredSamples;
-  // The metric id to value array mapping. The array is a cyclic buffer. Each array slot represents a window.
-  private final Map<Short, float[]> _windowValuesByMetricId;
-  // The number of samples per window. The array is a cyclic buffer. Each array slot represents a window.
-  private final byte[] _counts;
-  // A bit set to indicate whether a given window has extrapolation or not.
-  private final BitSet _extrapolations;
-  // A bit set to indicate whether a given window is valid or not.
-  private final BitSet _validity;
+  // The values, sample counts, validity and extrapolation of each window. The windows are stored in a cyclic buffer.
+  private RawValues _rawValues;
+
+  /**
+   * Construct a RawMetricValues that keeps the raw values on the heap.
+   *
+   * @param numWindowsToKeep the total number of windows to keep track of.
+   * @param minSamplesPerWindow the minimum required samples for a window to not involve any {@link Extrapolation}.
+   */
+  public RawMetricValues(int numWindowsToKeep, byte minSamplesPerWindow) {
+    this(minSamplesPerWindow, new HeapRawValues(sanityCheckNumWindows(numWindowsToKeep)));
+  }
 
   /**
    * Construct a RawMetricValues.
    *
    * @param numWindowsToKeep the total number of windows to keep track of.
    * @param minSamplesPerWindow the minimum required samples for a window to not involve any {@link Extrapolation}.
-   * @param numMetricTypesInSample the total number of raw metric types stored by {@link #_windowValuesByMetricId}
+   * @param numMetricTypesInSample the total number of raw metric types stored by {@link #_rawValues}
+   * @deprecated Use {@link #RawMetricValues(int, byte)} instead. The raw values keep the values of a metric type once a
+   * sample records it, hence the number of metric types in the sample is not used.
    */
+  @Deprecated
   public RawMetricValues(int numWindowsToKeep, byte minSamplesPerWindow, int numMetricTypesInSample) {
+    this(numWindowsToKeep, minSamplesPerWindow);
+  }
+
+  /**
+   * Construct a RawMetricValues that keeps the raw values in the given storage.
+   *
+   * @param minSamplesPerWindow the minimum required samples for a window to not involve any {@link Extrapolation}.
+   * @param rawValues the storage of the raw values, which determines the total number of windows to keep track of.
+   */
+  public RawMetricValues(byte minSamplesPerWindow, RawValues rawValues) {
+    sanityCheckNumWindows(rawValues.numWindows());
+    _rawValues = rawValues;
+    _minSamplesPerWindow = minSamplesPerWindow;
+    _halfMinRequiredSamples = (byte) Math.max(1, _minSamplesPerWindow / 2);
+    _oldestWindowIndex = Long.MAX_VALUE;
+  }
+
+  private static int sanityCheckNumWindows(int numWindowsToKeep) {
     if (numWindowsToKeep <= 1) {
       throw new IllegalArgumentException("The number of windows should be at least 2 because at least one available"
                                          + " window and one current window are needed.");
     }
-    _windowValuesByMetricId = new HashMap<>();
-    _counts = new byte[numWindowsToKeep];
-    _extrapolations = new BitSet(numWindowsToKeep);
-    _validity = new BitSet(numWindowsToKeep);
-    _minSamplesPerWindow = minSamplesPerWindow;
-    _halfMinRequiredSamples = (byte) Math.max(1, _minSamplesPerWindow / 2);
-    _oldestWindowIndex = Long.MAX_VALUE;
+    return numWindowsToKeep;
   }
 
   @Override
   protected int length() {
-    return _counts.length;
+    return _rawValues.numWindows();
   }
 
   /**
-   * Update {@link #_validity} and {@link #_extrapolations} for the previous and next array indices of the given arrayIndex.
+   * Update the validity and extrapolation for the previous and next array indices of the given arrayIndex.
    * @param arrayIndex Array index.
    */
   private void maybeUpdateValidityAndExtrapolationOfPrevAndNextFor(int arrayIndex) {
-    if (_counts[arrayIndex] >= _minSamplesPerWindow) {
+    if (_rawValues.count(arrayIndex) >= _minSamplesPerWindow) {
       // If this index has two left neighbour indices, we may need to update the extrapolation of the previous index
       // with AvgAdjacent. We need to exclude the current window index. It will be included when new windows get rolled out.
       if (arrayIndex != arrayIndex(currentWindowIndex()) && hasTwoLeftNeighbours(arrayIndex)) {
         int prevArrayIndex = prevArrayIndex(arrayIndex);
-        if (_counts[prevArrayIndex] == 0) {
+        if (_rawValues.count(prevArrayIndex) == 0) {
           updateAvgAdjacent(prevArrayIndex);
         }
       }
@@ -84,7 +107,7 @@ public class RawMetricValues extends WindowIndexedArrays {
       // Adding sample to the current window index has no next index to update.
       if (hasTwoRightNeighbours(arrayIndex)) {
         int nextArrayIndex = nextArrayIndex(arrayIndex);
-        if (_counts[nextArrayIndex] == 0) {
+        if (_rawValues.count(nextArrayIndex) == 0) {
           updateAvgAdjacent(nextArrayIndex);
         }
       }
@@ -97,16 +120,18 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @param sample The metric sample to add.
    * @param windowIndex the window index of the metric sample.
    * @param metricDef the metric definitions.
-   * @return Array index of the cyclic buffers used for {@link #_counts} and {@link #_windowValuesByMetricId}.
+   * @return Array index of the cyclic buffers used for {@link #_rawValues}.
    */
   private int updateWindowValueAndCount(MetricSample<?, ?> sample, long windowIndex, MetricDef metricDef) {
     int arrayIndex = arrayIndex(windowIndex);
     for (Map.Entry<Short, Double> entry : sample.allMetricValues().entrySet()) {
-      _windowValuesByMetricId.computeIfAbsent(entry.getKey(), k -> new float[_counts.length]);
+      if (!_rawValues.hasMetric(entry.getKey())) {
+        _rawValues.addMetric(entry.getKey());
+      }
       updateWindowValueForMetric(entry.getValue(), metricDef.metricInfo(entry.getKey()), arrayIndex);
     }
     // Update the count of samples in the window with the given index.
-    _counts[arrayIndex]++;
+    _rawValues.setCount(arrayIndex, (byte) (_rawValues.count(arrayIndex) + 1));
 
     return arrayIndex;
   }
@@ -134,7 +159,7 @@ public class RawMetricValues extends WindowIndexedArrays {
 
     if (LOG.isTraceEnabled()) {
       LOG.trace("Added metric sample {} to window index {}, array index is {}, current count : {}",
-                sample, windowIndex, arrayIndex, _counts[arrayIndex]);
+                sample, windowIndex, arrayIndex, _rawValues.count(arrayIndex));
     }
   }
 
@@ -166,8 +191,8 @@ public class RawMetricValues extends WindowIndexedArrays {
   public synchronized boolean isValid(int maxAllowedWindowsWithExtrapolation) {
     int currentArrayIndex = arrayIndex(currentWindowIndex());
     // The total number of valid window indices should exclude the current window index.
-    int numValidIndicesAdjustment = _validity.get(currentArrayIndex) ? 1 : 0;
-    boolean allIndicesValid = _validity.cardinality() - numValidIndicesAdjustment == _counts.length - 1;
+    int numValidIndicesAdjustment = _rawValues.isValid(currentArrayIndex) ? 1 : 0;
+    boolean allIndicesValid = _rawValues.numValidWindows() - numValidIndicesAdjustment == _rawValues.numWindows() - 1;
     // All indices should be valid and should not have more than maxAllowedWindowsWithExtrapolation extrapolations.
     return allIndicesValid && numWindowsWithExtrapolation() <= maxAllowedWindowsWithExtrapolation;
   }
@@ -177,8 +202,8 @@ public class RawMetricValues extends WindowIndexedArrays {
    */
   public synchronized int numWindowsWithExtrapolation() {
     int currentArrayIndex = arrayIndex(currentWindowIndex());
-    int numExtrapolationAdjustment = _extrapolations.get(currentArrayIndex) ? 1 : 0;
-    return _extrapolations.cardinality() - numExtrapolationAdjustment;
+    int numExtrapolationAdjustment = _rawValues.isExtrapolated(currentArrayIndex) ? 1 : 0;
+    return _rawValues.numExtrapolatedWindows() - numExtrapolationAdjustment;
   }
 
   /**
@@ -189,7 +214,7 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @return {@code true} if the given window is valid, {@code false} otherwise.
    */
   public synchronized boolean isValidAtWindowIndex(long windowIndex) {
-    return _validity.get(arrayIndex(windowIndex));
+    return _rawValues.isValid(arrayIndex(windowIndex));
   }
 
   /**
@@ -200,7 +225,7 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @return {@code true} if the window is extrapolated, {@code false} otherwise.
    */
   public synchronized boolean isExtrapolatedAtWindowIndex(long windowIndex) {
-    return _extrapolations.get(arrayIndex(windowIndex));
+    return _rawValues.isExtrapolated(arrayIndex(windowIndex));
   }
 
   /**
@@ -210,7 +235,7 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @return sample counts at window index.
    */
   public synchronized byte sampleCountsAtWindowIndex(long windowIndex) {
-    return _counts[arrayIndex(windowIndex)];
+    return _rawValues.count(arrayIndex(windowIndex));
   }
 
   public synchronized void sanityCheckWindowIndex(long windowIndex) {
@@ -244,8 +269,8 @@ public class RawMetricValues extends WindowIndexedArrays {
     int numAbandonedSamples = 0;
     for (long i = startingWindowIndex; i < startingWindowIndex + numWindowIndicesToReset; i++) {
       int arrayIndex = arrayIndex(i);
-      numAbandonedSamples += _counts[arrayIndex];
-      _counts[arrayIndex] = 0;
+      numAbandonedSamples += _rawValues.count(arrayIndex);
+      _rawValues.setCount(arrayIndex, (byte) 0);
       resetValidityAndExtrapolation(arrayIndex);
     }
     if (LOG.isTraceEnabled()) {
@@ -259,79 +284,15 @@ public class RawMetricValues extends WindowIndexedArrays {
    * Get the aggregated values of the given sorted set of windows. The result {@link ValuesAndExtrapolations} contains
    * the windows in the same order.
    *
+   * The aggregation is performed on a snapshot of the raw values, so that adding samples to this raw metric values is
+   * blocked only while the snapshot is taken.
+   *
    * @param windowIndices the sorted set of windows to get values for.
    * @param metricDef the metric definitions.
    * @return The aggregated values and extrapolations of the given sorted set of windows in that order.
    */
-  public synchronized ValuesAndExtrapolations aggregate(SortedSet<Long> windowIndices, MetricDef metricDef) {
-    return aggregate(windowIndices, metricDef, true);
-  }
-
-  private ValuesAndExtrapolations aggregate(SortedSet<Long> windowIndices, MetricDef metricDef, boolean checkWindow) {
-    if (_windowValuesByMetricId.isEmpty()) {
-      return ValuesAndExtrapolations.empty(windowIndices.size(), metricDef);
-    }
-    Map<Short, MetricValues> aggValues = new HashMap<>();
-    SortedMap<Integer, Extrapolation> extrapolations = new TreeMap<>();
-    for (Map.Entry<Short, float[]> entry : _windowValuesByMetricId.entrySet()) {
-      short metricId = entry.getKey();
-      float[] values = entry.getValue();
-      MetricInfo info = metricDef.metricInfo(metricId);
-
-      MetricValues aggValuesForMetric = new MetricValues(windowIndices.size());
-      aggValues.put(metricId, aggValuesForMetric);
-
-      int resultIndex = 0;
-      for (long windowIndex : windowIndices) {
-        // When we query the latest window, we need to skip the window validation because the valid windows do not
-        // include the current active window.
-        if (checkWindow) {
-          validateWindowIndex(windowIndex);
-        }
-        int arrayIndex = arrayIndex(windowIndex);
-        // Sufficient samples
-        if (_counts[arrayIndex] >= _halfMinRequiredSamples) {
-          aggValuesForMetric.set(resultIndex, getValue(info, arrayIndex, values));
-          if (_counts[arrayIndex] < _minSamplesPerWindow) {
-            // Though not quite sufficient, but have some available.
-            extrapolations.putIfAbsent(resultIndex, Extrapolation.AVG_AVAILABLE);
-          }
-          // Not sufficient, check the neighbors. The neighbors only exist when the index is not on the edge, i.e.
-          // neither the first nor last index.
-        } else if (arrayIndex != firstArrayIndex() && arrayIndex != lastArrayIndex()
-                   && _counts[prevArrayIndex(arrayIndex)] >= _minSamplesPerWindow
-                   && _counts[nextArrayIndex(arrayIndex)] >= _minSamplesPerWindow) {
-          extrapolations.putIfAbsent(resultIndex, Extrapolation.AVG_ADJACENT);
-          int prevArrayIndex = prevArrayIndex(arrayIndex);
-          int nextArrayIndex = nextArrayIndex(arrayIndex);
-          double total = _windowValuesByMetricId.get(metricId)[prevArrayIndex] + (_counts[arrayIndex] == 0 ? 0 : _windowValuesByMetricId
-              .get(metricId)[arrayIndex])
-                         + _windowValuesByMetricId.get(metricId)[nextArrayIndex];
-          switch (info.aggregationFunction()) {
-            case AVG:
-              aggValuesForMetric.set(resultIndex, total / (_counts[prevArrayIndex] + _counts[arrayIndex] + _counts[nextArrayIndex]));
-              break;
-            case MAX:
-            case LATEST:
-              // for max and latest, we already only keep the largest or last value.
-              aggValuesForMetric.set(resultIndex, total / (_counts[arrayIndex] > 0 ? 3 : 2));
-              break;
-            default:
-              throw new IllegalStateException("Should never be here.");
-          }
-          // Neighbor not available, use the insufficient samples.
-        } else if (_counts[arrayIndex] > 0) {
-          aggValuesForMetric.set(resultIndex, getValue(info, arrayIndex, values));
-          extrapolations.putIfAbsent(resultIndex, Extrapolation.FORCED_INSUFFICIENT);
-          // Nothing is available, just return all 0 and NO_VALID_EXTRAPOLATION.
-        } else {
-          aggValuesForMetric.set(resultIndex, 0);
-          extrapolations.putIfAbsent(resultIndex, Extrapolation.NO_VALID_EXTRAPOLATION);
-        }
-        resultIndex++;
-      }
-    }
-    return new ValuesAndExtrapolations(new AggregatedMetricValues(aggValues), extrapolations);
+  public ValuesAndExtrapolations aggregate(SortedSet<Long> windowIndices, MetricDef metricDef) {
+    return snapshot(windowIndices, true).aggregate(windowIndices, metricDef);
   }
 
   /**
@@ -341,10 +302,40 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @param metricDef the metric definitions.
    * @return The aggregated values and extrapolations of the given sorted set of windows in that order.
    */
-  public synchronized ValuesAndExtrapolations peekCurrentWindow(long currentWindowIndex, MetricDef metricDef) {
+  public ValuesAndExtrapolations peekCurrentWindow(long currentWindowIndex, MetricDef metricDef) {
     SortedSet<Long> window = new TreeSet<>();
     window.add(currentWindowIndex);
-    return aggregate(window, metricDef, false);
+    // When we query the latest window, we need to skip the window validation because the valid windows do not
+    // include the current active window.
+    return snapshot(window, false).aggregate(window, metricDef);
+  }
+
+  /**
+   * Take a consistent snapshot of the raw values to aggregate the given windows.
+   *
+   * @param windowIndices the sorted set of windows to aggregate.
+   * @param checkWindow {@code true} to verify that the given windows are in the valid window range.
+   * @return A snapshot of the raw values.
+   */
+  private synchronized Snapshot snapshot(SortedSet<Long> windowIndices, boolean checkWindow) {
+    short[] metricIds = _rawValues.metricIds();
+    if (checkWindow && metricIds.length > 0) {
+      windowIndices.forEach(this::validateWindowIndex);
+    }
+    int numWindows = _rawValues.numWindows();
+    Map<Short, float[]> windowValuesByMetricId = new HashMap<>();
+    for (short metricId : metricIds) {
+      float[] values = new float[numWindows];
+      for (int i = 0; i < numWindows; i++) {
+        values[i] = _rawValues.value(metricId, i);
+      }
+      windowValuesByMetricId.put(metricId, values);
+    }
+    byte[] counts = new byte[numWindows];
+    for (int i = 0; i < numWindows; i++) {
+      counts[i] = _rawValues.count(i);
+    }
+    return new Snapshot(_oldestWindowIndex, _minSamplesPerWindow, _halfMinRequiredSamples, windowValuesByMetricId, counts);
   }
 
   /**
@@ -352,27 +343,74 @@ public class RawMetricValues extends WindowIndexedArrays {
    */
   public synchronized int numSamples() {
     int count = 0;
-    for (byte i : _counts) {
-      count += i;
+    for (int i = 0; i < _rawValues.numWindows(); i++) {
+      count += _rawValues.count(i);
     }
     return count;
   }
 
-  private float getValue(MetricInfo info, int index, float[] values) {
-    if (_counts[index] == 0) {
-      return 0;
+  /**
+   * Write the raw values of all windows to the given output for a checkpoint. The metric values are written only for
+   * the windows with samples, because the values of the windows without samples are never read.
+   *
+   * @param out the output to write the checkpoint to.
+   */
+  public synchronized void writeCheckpoint(DataOutput out) throws IOException {
+    int numWindows = _rawValues.numWindows();
+    for (int i = 0; i < numWindows; i++) {
+      out.writeByte(_rawValues.count(i));
+      out.writeByte((_rawValues.isValid(i) ? CHECKPOINT_VALID_FLAG : 0) | (_rawValues.isExtrapolated(i) ? CHECKPOINT_EXTRAPOLATED_FLAG : 0));
     }
-    switch (info.aggregationFunction()) {
-      case AVG:
-        return values[index] / _counts[index];
-      case MAX:
-      case LATEST:
-        return values[index];
-      default:
-        throw new IllegalStateException("Should never be here.");
+    short[] metricIds = _rawValues.metricIds();
+    out.writeShort(metricIds.length);
+    for (short metricId : metricIds) {
+      out.writeShort(metricId);
+      for (int i = 0; i < numWindows; i++) {
+        if (_rawValues.count(i) > 0) {
+          out.writeFloat(_rawValues.value(metricId, i));
+        }
+      }
     }
   }
 
+  /**
+   * Restore the raw values of all windows from a checkpoint written by {@link #writeCheckpoint(DataOutput)} with the
+   * same number of windows. This raw metric values is expected to be empty.
+   *
+   * @param in the input to read the checkpoint from.
+   * @param oldestWindowIndex the oldest window index of the raw values in the checkpoint.
+   */
+  public synchronized void readCheckpoint(DataInput in, long oldestWindowIndex) throws IOException {
+    int numWindows = _rawValues.numWindows();
+    for (int i = 0; i < numWindows; i++) {
+      _rawValues.setCount(i, in.readByte());
+      byte flags = in.readByte();
+      _rawValues.setValid(i, (flags & CHECKPOINT_VALID_FLAG) != 0);
+      _rawValues.setExtrapolated(i, (flags & CHECKPOINT_EXTRAPOLATED_FLAG) != 0);
+    }
+    int numMetrics = in.readShort();
+    for (int m = 0; m < numMetrics; m++) {
+      short metricId = in.readShort();
+      _rawValues.addMetric(metricId);
+      for (int i = 0; i < numWindows; i++) {
+        if (_rawValues.count(i) > 0) {
+          _rawValues.setValue(metricId, i, in.readFloat());
+        }
+      }
+    }
+    _oldestWindowIndex = oldestWindowIndex;
+  }
+
+  /**
+   * Release the storage of the raw values, e.g. when the entity is removed from the aggregator. The raw metric values are
+   * reset to empty, so that a stale reference to them can not modify the storage after it is reused by another entity.
+   */
+  public synchronized void release() {
+    int numWindows = _rawValues.numWindows();
+    _rawValues.release();
+    _rawValues = new HeapRawValues(numWindows);
+  }
+
   private void updateWindowValueForMetric(double newValue, MetricInfo info, int arrayIndex) {
     switch (info.aggregationFunction()) {
       case AVG:
@@ -390,32 +428,32 @@ public class RawMetricValues extends WindowIndexedArrays {
   }
 
   private void add(double newValue, short metricId, int index) {
-    _windowValuesByMetricId.get(metricId)[index] = (float) (_counts[index] == 0 ? newValue : _windowValuesByMetricId.get(metricId)[index] + newValue);
+    _rawValues.setValue(metricId, index, (float) (_rawValues.count(index) == 0 ? newValue : _rawValues.value(metricId, index) + newValue));
   }
 
   private void max(double newValue, short metricId, int index) {
-    _windowValuesByMetricId.get(metricId)[index] = (float) (_counts[index] == 0 ? newValue : Math.max(
-        _windowValuesByMetricId.get(metricId)[index], newValue));
+    _rawValues.setValue(metricId, index, (float) (_rawValues.count(index) == 0 ? newValue : Math.max(
+        _rawValues.value(metricId, index), newValue)));
   }
 
   private void latest(double newValue, short metricId, int index) {
-    _windowValuesByMetricId.get(metricId)[index] = (float) newValue;
+    _rawValues.setValue(metricId, index, (float) newValue);
   }
 
   /**
-   * Update {@link #_validity} and {@link #_extrapolations} for the given arrayIndex.
+   * Update the validity and extrapolation for the given arrayIndex.
    * @param arrayIndex Array index.
    */
   private void maybeUpdateValidityAndExtrapolationFor(int arrayIndex) {
-    if (!updateEnoughSamples(arrayIndex) && !_extrapolations.get(arrayIndex)
+    if (!updateEnoughSamples(arrayIndex) && !_rawValues.isExtrapolated(arrayIndex)
         && !updateForcedInsufficient(arrayIndex) && !updateAvgAdjacent(arrayIndex)) {
       resetValidityAndExtrapolation(arrayIndex);
     }
   }
 
   private void resetValidityAndExtrapolation(int arrayIndex) {
-    _validity.clear(arrayIndex);
-    _extrapolations.clear(arrayIndex);
+    _rawValues.setValid(arrayIndex, false);
+    _rawValues.setExtrapolated(arrayIndex, false);
   }
 
   /**
@@ -423,12 +461,12 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @return if there are {@link #_minSamplesPerWindow}, then valid: {@code true}, extrapolation: {@code false}
    */
   private boolean updateEnoughSamples(int arrayIndex) {
-    if (_counts[arrayIndex] == _minSamplesPerWindow) {
-      _validity.set(arrayIndex);
-      _extrapolations.clear(arrayIndex);
+    if (_rawValues.count(arrayIndex) == _minSamplesPerWindow) {
+      _rawValues.setValid(arrayIndex, true);
+      _rawValues.setExtrapolated(arrayIndex, false);
       return true;
     }
-    return _counts[arrayIndex] >= _minSamplesPerWindow;
+    return _rawValues.count(arrayIndex) >= _minSamplesPerWindow;
   }
 
   /**
@@ -442,9 +480,9 @@ public class RawMetricValues extends WindowIndexedArrays {
     if (prevArrayIndex == INVALID_INDEX || nextArrayIndex == INVALID_INDEX) {
       return false;
     }
-    if (_counts[prevArrayIndex] >= _minSamplesPerWindow && _counts[nextArrayIndex] >= _minSamplesPerWindow) {
-      _validity.set(arrayIndex);
-      _extrapolations.set(arrayIndex);
+    if (_rawValues.count(prevArrayIndex) >= _minSamplesPerWindow && _rawValues.count(nextArrayIndex) >= _minSamplesPerWindow) {
+      _rawValues.setValid(arrayIndex, true);
+      _rawValues.setExtrapolated(arrayIndex, true);
       return true;
     }
     return false;
@@ -455,9 +493,9 @@ public class RawMetricValues extends WindowIndexedArrays {
    * @return if there is at least one sample, then valid: true, extrapolation: true
    */
   private boolean updateForcedInsufficient(int arrayIndex) {
-    if (_counts[arrayIndex] > 0) {
-      _validity.set(arrayIndex);
-      _extrapolations.set(arrayIndex);
+    if (_rawValues.count(arrayIndex) > 0) {
+      _rawValues.setValid(arrayIndex, true);
+      _rawValues.setExtrapolated(arrayIndex, true);
       return true;
     }
     return false;
@@ -472,4 +510,106 @@ public class RawMetricValues extends WindowIndexedArrays {
     int nextIdx = nextArrayIndex(arrayIndex);
     return nextIdx != INVALID_INDEX && nextArrayIndex(nextIdx) != INVALID_INDEX;
   }
+
+  /**
+   * A snapshot of the raw values to aggregate outside the lock of the raw metric values.
+   */
+  private static final class Snapshot extends WindowIndexedArrays {
+    private final byte _minSamplesPerWindow;
+    private final byte _halfMinRequiredSamples;
+    private final Map<Short, float[]> _windowValuesByMetricId;
+    private final byte[] _counts;
+
+    private Snapshot(long oldestWindowIndex,
+                     byte minSamplesPerWindow,
+                     byte halfMinRequiredSamples,
+                     Map<Short, float[]> windowValuesByMetricId,
+                     byte[] counts) {
+      _oldestWindowIndex = oldestWindowIndex;
+      _minSamplesPerWindow = minSamplesPerWindow;
+      _halfMinRequiredSamples = halfMinRequiredSamples;
+      _windowValuesByMetricId = windowValuesByMetricId;
+      _counts = counts;
+    }
+
+    @Override
+    protected int length() {
+      return _counts.length;
+    }
+
+    private ValuesAndExtrapolations aggregate(SortedSet<Long> windowIndices, MetricDef metricDef) {
+      if (_windowValuesByMetricId.isEmpty()) {
+        return ValuesAndExtrapolations.empty(windowIndices.size(), metricDef);
+      }
+      Map<Short, MetricValues> aggValues = new HashMap<>();
+      SortedMap<Integer, Extrapolation> extrapolations = new TreeMap<>();
+      for (Map.Entry<Short, float[]> entry : _windowValuesByMetricId.entrySet()) {
+        short metricId = entry.getKey();
+        float[] values = entry.getValue();
+        MetricInfo info = metricDef.metricInfo(metricId);
+
+        MetricValues aggValuesForMetric = new MetricValues(windowIndices.size());
+        aggValues.put(metricId, aggValuesForMetric);
+
+        int resultIndex = 0;
+        for (long windowIndex : windowIndices) {
+          int arrayIndex = arrayIndex(windowIndex);
+          // Sufficient samples
+          if (_counts[arrayIndex] >= _halfMinRequiredSamples) {
+            aggValuesForMetric.set(resultIndex, getValue(info, arrayIndex, values));
+            if (_counts[arrayIndex] < _minSamplesPerWindow) {
+              // Though not quite sufficient, but have some available.
+              extrapolations.putIfAbsent(resultIndex, Extrapolation.AVG_AVAILABLE);
+            }
+            // Not sufficient, check the neighbors. The neighbors only exist when the index is not on the edge, i.e.
+            // neither the first nor last index.
+          } else if (arrayIndex != firstArrayIndex() && arrayIndex != lastArrayIndex()
+                     && _counts[prevArrayIndex(arrayIndex)] >= _minSamplesPerWindow
+                     && _counts[nextArrayIndex(arrayIndex)] >= _minSamplesPerWindow) {
+            extrapolations.putIfAbsent(resultIndex, Extrapolation.AVG_ADJACENT);
+            int prevArrayIndex = prevArrayIndex(arrayIndex);
+            int nextArrayIndex = nextArrayIndex(arrayIndex);
+            double total = values[prevArrayIndex] + (_counts[arrayIndex] == 0 ? 0 : values[arrayIndex]) + values[nextArrayIndex];
+            switch (info.aggregationFunction()) {
+              case AVG:
+                aggValuesForMetric.set(resultIndex, total / (_counts[prevArrayIndex] + _counts[arrayIndex] + _counts[nextArrayIndex]));
+                break;
+              case MAX:
+              case LATEST:
+                // for max and latest, we already only keep the largest or last value.
+                aggValuesForMetric.set(resultIndex, total / (_counts[arrayIndex] > 0 ? 3 : 2));
+                break;
+              default:
+                throw new IllegalStateException("Should never be here.");
+            }
+            // Neighbor not available, use the insufficient samples.
+          } else if (_counts[arrayIndex] > 0) {
+            aggValuesForMetric.set(resultIndex, getValue(info, arrayIndex, values));
+            extrapolations.putIfAbsent(resultIndex, Extrapolation.FORCED_INSUFFICIENT);
+            // Nothing is available, just return all 0 and NO_VALID_EXTRAPOLATION.
+          } else {
+            aggValuesForMetric.set(resultIndex, 0);
+            extrapolations.putIfAbsent(resultIndex, Extrapolation.NO_VALID_EXTRAPOLATION);
+          }
+          resultIndex++;
+        }
+      }
+      return new ValuesAndExtrapolations(new AggregatedMetricValues(aggValues), extrapolations);
+    }
+
+    private float getValue(MetricInfo info, int index, float[] values) {
+      if (_counts[index] == 0) {
+        return 0;
+      }
+      switch (info.aggregationFunction()) {
+        case AVG:
+          return values[index] / _counts[index];
+        case MAX:
+        case LATEST:
+          return values[index];
+        default:
+          throw new IllegalStateException("Should never be here.");
+      }
+    }
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+/**
+ * The storage of the raw values of an entity in {@link RawMetricValues}. The windows are addressed by the array index of
+ * the cyclic buffer maintained by {@link RawMetricValues}. For each window, the storage keeps the sample count, the
+ * validity, the extrapolation, and the value of each metric.
+ *
+ * The storage is not thread safe; {@link RawMetricValues} accesses it under its own lock.
+ */
+public interface RawValues {
+
+  /**
+   * @return The number of windows in the storage.
+   */
+  int numWindows();
+
+  /**
+   * @param arrayIndex Array index of the window.
+   * @return The number of samples in the window.
+   */
+  byte count(int arrayIndex);
+
+  /**
+   * @param arrayIndex Array index of the window.
+   * @param count The number of samples in the window.
+   */
+  void setCount(int arrayIndex, byte count);
+
+  /**
+   * @param metricId Metric id.
+   * @return {@code true} if the storage has values of the given metric, {@code false} otherwise.
+   */
+  boolean hasMetric(short metricId);
+
+  /**
+   * Start keeping values of the given metric. The values of the metric in all windows are initially zero.
+   *
+   * @param metricId Metric id.
+   */
+  void addMetric(short metricId);
+
+  /**
+   * @return The ids of the metrics that the storage has values of, in ascending order.
+   */
+  short[] metricIds();
+
+  /**
+   * @param metricId Metric id.
+   * @param arrayIndex Array index of the window.
+   * @return The value of the metric in the window.
+   */
+  float value(short metricId, int arrayIndex);
+
+  /**
+   * @param metricId Metric id.
+   * @param arrayIndex Array index of the window.
+   * @param value The value of the metric in the window.
+   */
+  void setValue(short metricId, int arrayIndex, float value);
+
+  /**
+   * @param arrayIndex Array index of the window.
+   * @return {@code true} if the window is valid, {@code false} otherwise.
+   */
+  boolean isValid(int arrayIndex);
+
+  /**
+   * @param arrayIndex Array index of the window.
+   * @param valid {@code true} if the window is valid, {@code false} otherwise.
+   */
+  void setValid(int arrayIndex, boolean valid);
+
+  /**
+   * @param arrayIndex Array index of the window.
+   * @return {@code true} if the window is extrapolated, {@code false} otherwise.
+   */
+  boolean isExtrapolated(int arrayIndex);
+
+  /**
+   * @param arrayIndex Array index of the window.
+   * @param extrapolated {@code true} if the window is extrapolated, {@code false} otherwise.
+   */
+  void setExtrapolated(int arrayIndex, boolean extrapolated);
+
+  /**
+   * @return The number of valid windows.
+   */
+  int numValidWindows();
+
+  /**
+   * @return The number of extrapolated windows.
+   */
+  int numExtrapolatedWindows();
+
+  /**
+   * Release the storage. The storage must not be accessed after it is released.
+   */
+  void release();
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+/**
+ * Allocates the {@link RawValues} of the entities in a {@link MetricSampleAggregator}. This class is thread safe.
+ */
+public interface RawValuesStore {
+
+  /**
+   * @return The storage of the raw values of a new entity, with zero counts and values, and no valid or extrapolated windows.
+   */
+  RawValues allocate();
+
+  /**
+   * A store that allocates the raw values of each entity as arrays on the heap.
+   *
+   * @param numWindowsToKeep The number of windows to keep for each entity.
+   * @return A store that allocates the raw values of each entity on the heap.
+   */
+  static RawValuesStore onHeap(int numWindowsToKeep) {
+    return () -> new HeapRawValues(numWindowsToKeep);
+  }
+}
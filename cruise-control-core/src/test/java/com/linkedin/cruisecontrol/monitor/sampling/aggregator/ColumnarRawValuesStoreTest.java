@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.IntegerEntity;
+import com.linkedin.cruisecontrol.metricdef.AggregationFunction;
+import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link ColumnarRawValuesStore}.
+ */
+public class ColumnarRawValuesStoreTest {
+  private static final int NUM_WINDOWS = 5;
+  private static final int NUM_WINDOWS_TO_KEEP = NUM_WINDOWS + 1;
+  private static final byte MIN_SAMPLES_PER_WINDOW = 4;
+  private MetricDef _metricDef;
+
+  /**
+   * Setup the unit test.
+   */
+  @Before
+  public void setup() {
+    _metricDef = new MetricDef();
+    AggregationFunction[] aggregationFunctions = AggregationFunction.values();
+    // More than 8 metrics to span multiple bytes of the metric mask.
+    for (int i = 0; i < 10; i++) {
+      _metricDef.define("metric" + i, null, aggregationFunctions[i % aggregationFunctions.length].name());
+    }
+  }
+
+  @Test
+  public void testRawValues() {
+    ColumnarRawValuesStore store = new ColumnarRawValuesStore(NUM_WINDOWS_TO_KEEP, _metricDef);
+    RawValues rawValues = store.allocate();
+    assertEquals(NUM_WINDOWS_TO_KEEP, rawValues.numWindows());
+    assertEquals(0, rawValues.metricIds().length);
+
+    rawValues.addMetric((short) 9);
+    rawValues.addMetric((short) 1);
+    assertArrayEquals(new short[]{1, 9}, rawValues.metricIds());
+    assertTrue(rawValues.hasMetric((short) 9));
+    assertFalse(rawValues.hasMetric((short) 8));
+
+    rawValues.setValue((short) 9, NUM_WINDOWS, 1.5f);
+    rawValues.setCount(NUM_WINDOWS, (byte) 3);
+    rawValues.setValid(0, true);
+    rawValues.setExtrapolated(0, true);
+    rawValues.setValid(NUM_WINDOWS, true);
+    rawValues.setExtrapolated(0, false);
+    assertEquals(1.5f, rawValues.value((short) 9, NUM_WINDOWS), 0.0f);
+    assertEquals(0.0f, rawValues.value((short) 1, NUM_WINDOWS), 0.0f);
+    assertEquals(3, rawValues.count(NUM_WINDOWS));
+    assertEquals(2, rawValues.numValidWindows());
+    assertEquals(0, rawValues.numExtrapolatedWindows());
+    assertTrue(rawValues.isValid(0));
+    assertFalse(rawValues.isExtrapolated(0));
+  }
+
+  @Test
+  public void testReuseReleasedSlot() {
+    ColumnarRawValuesStore store = new ColumnarRawValuesStore(NUM_WINDOWS_TO_KEEP, _metricDef);
+    RawValues[] rawValues = new RawValues[ColumnarRawValuesStore.SLOTS_PER_CHUNK + 1];
+    for (int i = 0; i < rawValues.length; i++) {
+      rawValues[i] = store.allocate();
+      rawValues[i].addMetric((short) 0);
+      rawValues[i].setValue((short) 0, 0, i);
+      rawValues[i].setCount(0, (byte) 1);
+      rawValues[i].setValid(0, true);
+    }
+    assertEquals(rawValues.length, store.numAllocated());
+    long allocatedBytes = store.allocatedBytes();
+    for (int i = 0; i < rawValues.length; i++) {
+      assertEquals(i, rawValues[i].value((short) 0, 0), 0.0f);
+    }
+
+    rawValues[1].release();
+    // Releasing twice does not free the slot twice.
+    rawValues[1].release();
+    assertEquals(rawValues.length - 1, store.numAllocated());
+    RawValues reused = store.allocate();
+    assertEquals(rawValues.length, store.numAllocated());
+    assertEquals(allocatedBytes, store.allocatedBytes());
+    assertEquals(0, reused.metricIds().length);
+    assertEquals(0, reused.count(0));
+    assertEquals(0, reused.numValidWindows());
+    assertEquals(0, rawValues[0].numExtrapolatedWindows());
+    assertEquals(1, rawValues[2].count(0));
+  }
+
+  /**
+   * Verify that the raw metric values kept in the columnar store are the same as the ones kept on the heap.
+   */
+  @Test
+  public void testSameAsHeapRawValues() {
+    ColumnarRawValuesStore store = new ColumnarRawValuesStore(NUM_WINDOWS_TO_KEEP, _metricDef);
+    // Let another entity share the chunk.
+    RawMetricValues neighbour = new RawMetricValues(MIN_SAMPLES_PER_WINDOW, store.allocate());
+    RawMetricValues columnar = new RawMetricValues(MIN_SAMPLES_PER_WINDOW, store.allocate());
+    RawMetricValues heap = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
+    neighbour.updateOldestWindowIndex(0);
+    columnar.updateOldestWindowIndex(0);
+    heap.updateOldestWindowIndex(0);
+
+    Random random = new Random(0);
+    long oldestWindowIndex = 0;
+    for (long currentWindowIndex = 0; currentWindowIndex < 4 * NUM_WINDOWS_TO_KEEP; currentWindowIndex++) {
+      if (currentWindowIndex - oldestWindowIndex == NUM_WINDOWS_TO_KEEP) {
+        // Roll out a new window.
+        for (RawMetricValues rawValues : new RawMetricValues[]{neighbour, columnar, heap}) {
+          rawValues.updateOldestWindowIndex(oldestWindowIndex + 100);
+          rawValues.resetWindowIndices(oldestWindowIndex, 1);
+          rawValues.updateOldestWindowIndex(oldestWindowIndex + 1);
+        }
+        oldestWindowIndex++;
+      }
+      for (long windowIndex = oldestWindowIndex; windowIndex <= currentWindowIndex; windowIndex++) {
+        // Leave some windows with insufficient or no samples to exercise the extrapolations.
+        int numSamples = random.nextInt(MIN_SAMPLES_PER_WINDOW + 1) / 2;
+        for (int i = 0; i < numSamples; i++) {
+          MetricSample<String, IntegerEntity> sample = sample(random);
+          columnar.addSample(sample, windowIndex, _metricDef);
+          heap.addSample(sample, windowIndex, _metricDef);
+          neighbour.addSample(sample(random), windowIndex, _metricDef);
+        }
+      }
+      assertSame(heap, columnar, oldestWindowIndex, currentWindowIndex);
+    }
+
+    columnar.release();
+    assertEquals(1, store.numAllocated());
+    assertEquals(0, columnar.numSamples());
+  }
+
+  private void assertSame(RawMetricValues expected, RawMetricValues actual, long oldestWindowIndex, long currentWindowIndex) {
+    assertEquals(expected.numSamples(), actual.numSamples());
+    assertEquals(expected.numWindowsWithExtrapolation(), actual.numWindowsWithExtrapolation());
+    for (int maxAllowedWindowsWithExtrapolation = 0; maxAllowedWindowsWithExtrapolation <= NUM_WINDOWS;
+         maxAllowedWindowsWithExtrapolation++) {
+      assertEquals(expected.isValid(maxAllowedWindowsWithExtrapolation), actual.isValid(maxAllowedWindowsWithExtrapolation));
+    }
+    SortedSet<Long> windowIndices = new TreeSet<>();
+    for (long windowIndex = oldestWindowIndex; windowIndex <= currentWindowIndex; windowIndex++) {
+      assertEquals(expected.sampleCountsAtWindowIndex(windowIndex), actual.sampleCountsAtWindowIndex(windowIndex));
+      assertEquals(expected.isValidAtWindowIndex(windowIndex), actual.isValidAtWindowIndex(windowIndex));
+      assertEquals(expected.isExtrapolatedAtWindowIndex(windowIndex), actual.isExtrapolatedAtWindowIndex(windowIndex));
+      if (windowIndex < currentWindowIndex) {
+        windowIndices.add(windowIndex);
+      }
+    }
+    if (windowIndices.isEmpty()) {
+      return;
+    }
+    ValuesAndExtrapolations expectedValues = expected.aggregate(windowIndices, _metricDef);
+    ValuesAndExtrapolations actualValues = actual.aggregate(windowIndices, _metricDef);
+    assertEquals(expectedValues.extrapolations(), actualValues.extrapolations());
+    for (short metricId = 0; metricId < _metricDef.size(); metricId++) {
+      for (int i = 0; i < windowIndices.size(); i++) {
+        assertEquals(expectedValues.metricValues().valuesFor(metricId).get(i),
+                     actualValues.metricValues().valuesFor(metricId).get(i), 0.0);
+      }
+    }
+  }
+
+  private MetricSample<String, IntegerEntity> sample(Random random) {
+    MetricSample<String, IntegerEntity> sample = new MetricSample<>(new IntegerEntity("group", 0));
+    _metricDef.all().forEach(info -> sample.record(info, random.nextInt(100)));
+    sample.close(0);
+    return sample;
+  }
+}
@@ -10,6 +10,13 @@ import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
 import com.linkedin.cruisecontrol.metricdef.MetricInfo;
 import com.linkedin.cruisecontrol.metricdef.AggregationFunction;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -19,6 +26,8 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
 
 import static com.linkedin.cruisecontrol.monitor.sampling.aggregator.Extrapolation.FORCED_INSUFFICIENT;
@@ -27,6 +36,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 
@@ -43,6 +53,18 @@ public class MetricSampleAggregatorTest {
   private static final IntegerEntity ENTITY1 = new IntegerEntity(ENTITY_GROUP_1, 1234);
   private static final IntegerEntity ENTITY2 = new IntegerEntity(ENTITY_GROUP_1, 5678);
   private static final IntegerEntity ENTITY3 = new IntegerEntity(ENTITY_GROUP_2, 1234);
+  private static final EntitySerde<IntegerEntity> ENTITY_SERDE = new EntitySerde<IntegerEntity>() {
+    @Override
+    public void serialize(IntegerEntity entity, DataOutput out) throws IOException {
+      out.writeUTF(entity.group());
+      out.writeInt(entity.id());
+    }
+
+    @Override
+    public IntegerEntity deserialize(DataInput in) throws IOException {
+      return new IntegerEntity(in.readUTF(), in.readInt());
+    }
+  };
   private final MetricDef _metricDef = CruiseControlUnitTestUtils.getMetricDef();
 
   @Test
@@ -50,6 +72,24 @@ public class MetricSampleAggregatorTest {
     MetricSampleAggregator<String, IntegerEntity> aggregator =
         new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW,
                                      0, _metricDef);
+    verifyAddSampleInDifferentWindows(aggregator);
+  }
+
+  @Test
+  public void testAddSampleInDifferentWindowsWithColumnarRawValuesStore() throws NotEnoughValidWindowsException {
+    ColumnarRawValuesStore store = new ColumnarRawValuesStore(NUM_WINDOWS + 1, _metricDef);
+    MetricSampleAggregator<String, IntegerEntity> aggregator =
+        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW,
+                                     0, _metricDef, store);
+    verifyAddSampleInDifferentWindows(aggregator);
+    assertEquals(1, store.numAllocated());
+    // The raw values of the removed entities are released to the store.
+    aggregator.removeEntityGroup(Collections.singleton(ENTITY1.group()));
+    assertEquals(0, store.numAllocated());
+  }
+
+  private void verifyAddSampleInDifferentWindows(MetricSampleAggregator<String, IntegerEntity> aggregator)
+      throws NotEnoughValidWindowsException {
     // The remaining windows should NUM_WINDOWS - 2 to 2 * NUM_WINDOWS - 3;
     populateSampleAggregator(2 * NUM_WINDOWS - 1, MIN_SAMPLES_PER_WINDOW, aggregator);
 
@@ -88,6 +128,54 @@ public class MetricSampleAggregatorTest {
     assertEquals(NUM_WINDOWS, aggregator.numAvailableWindows());
   }
 
+  @Test
+  public void testCheckpoint() throws NotEnoughValidWindowsException, IOException {
+    MetricSampleAggregator<String, IntegerEntity> aggregator = prepareCompletenessTestEnv();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    aggregator.writeCheckpoint(new DataOutputStream(bytes), ENTITY_SERDE);
+
+    MetricSampleAggregator<String, IntegerEntity> restored =
+        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef);
+    restored.readCheckpoint(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), ENTITY_SERDE);
+    assertEquals(aggregator.allWindows(), restored.allWindows());
+    assertEquals(aggregator.availableWindows(), restored.availableWindows());
+    assertEquals(aggregator.numSamples(), restored.numSamples());
+
+    AggregationOptions<String, IntegerEntity> options =
+        new AggregationOptions<>(0.0, 0.0, 1, 5, new HashSet<>(Arrays.asList(ENTITY1, ENTITY2, ENTITY3)),
+                                 AggregationOptions.Granularity.ENTITY, true);
+    MetricSampleAggregationResult<String, IntegerEntity> expected = aggregator.aggregate(-1, Long.MAX_VALUE, options);
+    MetricSampleAggregationResult<String, IntegerEntity> actual = restored.aggregate(-1, Long.MAX_VALUE, options);
+    assertEquals(expected.invalidEntities(), actual.invalidEntities());
+    assertEquals(expected.valuesAndExtrapolations().keySet(), actual.valuesAndExtrapolations().keySet());
+    for (Map.Entry<IntegerEntity, ValuesAndExtrapolations> entry : expected.valuesAndExtrapolations().entrySet()) {
+      ValuesAndExtrapolations restoredValues = actual.valuesAndExtrapolations().get(entry.getKey());
+      assertEquals(entry.getValue().extrapolations(), restoredValues.extrapolations());
+      assertEquals(entry.getValue().windows(), restoredValues.windows());
+      for (MetricInfo info : _metricDef.all()) {
+        MetricValues values = entry.getValue().metricValues().valuesFor(info.id());
+        MetricValues restoredMetricValues = restoredValues.metricValues().valuesFor(info.id());
+        for (int i = 0; i < values.length(); i++) {
+          assertEquals(values.get(i), restoredMetricValues.get(i), 0);
+        }
+      }
+    }
+
+    // The restored aggregator rolls out new windows the same way as the original aggregator.
+    for (MetricSampleAggregator<String, IntegerEntity> agg : Arrays.asList(aggregator, restored)) {
+      CruiseControlUnitTestUtils.populateSampleAggregator(1, MIN_SAMPLES_PER_WINDOW, agg, ENTITY1, NUM_WINDOWS + 1,
+                                                          WINDOW_MS, _metricDef);
+    }
+    assertEquals(aggregator.allWindows(), restored.allWindows());
+    assertEquals(aggregator.numSamples(), restored.numSamples());
+
+    // A checkpoint of an aggregator with a different configuration is rejected.
+    MetricSampleAggregator<String, IntegerEntity> mismatch =
+        new MetricSampleAggregator<>(NUM_WINDOWS, 2 * WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef);
+    assertThrows(IOException.class,
+                 () -> mismatch.readCheckpoint(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), ENTITY_SERDE));
+  }
+
   @Test
   public void testGeneration() {
     MetricSampleAggregator<String, IntegerEntity> aggregator =
@@ -421,6 +509,72 @@ public class MetricSampleAggregatorTest {
     }
   }
 
+  @Test
+  public void testConcurrentAddSampleAndAggregate() throws InterruptedException {
+    final int numThreads = 16;
+    final int samplesPerWindow = 4;
+    final MetricSampleAggregator<String, IntegerEntity> aggregator =
+        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef);
+    AggregationOptions<String, IntegerEntity> options =
+        new AggregationOptions<>(0, 0, 1, NUM_WINDOWS, Collections.emptySet(), AggregationOptions.Granularity.ENTITY, true);
+
+    // Aggregate continuously while the samples are added, so that new windows are rolled out during aggregations.
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicReference<Throwable> aggregationError = new AtomicReference<>();
+    Thread aggregatingThread = new Thread(() -> {
+      while (!done.get()) {
+        try {
+          aggregator.aggregate(-1, Long.MAX_VALUE, options);
+          aggregator.peekCurrentWindow();
+        } catch (NotEnoughValidWindowsException e) {
+          // No window rolled out yet.
+        } catch (Throwable t) {
+          aggregationError.set(t);
+          return;
+        }
+      }
+    });
+    aggregatingThread.start();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numThreads; i++) {
+      IntegerEntity entity = new IntegerEntity("group" + (i % 4), i);
+      threads.add(new Thread(() -> populateSampleAggregator(2 * NUM_WINDOWS + 1, samplesPerWindow, aggregator, entity)));
+    }
+    threads.forEach(Thread::start);
+    for (Thread t : threads) {
+      t.join();
+    }
+    done.set(true);
+    aggregatingThread.join();
+
+    assertNull(aggregationError.get());
+    // Deferred samples are added by the time the last holder of the window rolling lock releases it.
+    assertEquals((NUM_WINDOWS + 1) * samplesPerWindow * numThreads, aggregator.numSamples());
+  }
+
+  @Test
+  public void testSampleDeferredWhileAddingNewEntity() {
+    AtomicReference<MetricSampleAggregator<String, IntegerEntity>> aggregator = new AtomicReference<>();
+    AtomicBoolean sampleDeferred = new AtomicBoolean(false);
+    RawValuesStore onHeap = RawValuesStore.onHeap(NUM_WINDOWS + 1);
+    // Add a sample of a new window while the raw values of the first entity are created, i.e. while the window rolling
+    // lock is held, so that the sample is deferred.
+    RawValuesStore rawValuesStore = () -> {
+      if (sampleDeferred.compareAndSet(false, true)) {
+        CruiseControlUnitTestUtils.populateSampleAggregator(1, 1, aggregator.get(), ENTITY2, 2, WINDOW_MS, _metricDef);
+      }
+      return onHeap.allocate();
+    };
+    aggregator.set(new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef, rawValuesStore));
+    CruiseControlUnitTestUtils.populateSampleAggregator(1, 1, aggregator.get(), ENTITY1, 0, WINDOW_MS, _metricDef);
+
+    // The deferred sample is added once the lock is released.
+    assertTrue(sampleDeferred.get());
+    assertEquals(2, aggregator.get().numSamples());
+    assertEquals(3, aggregator.get().allWindows().size());
+  }
+
   /**
    * Entity 1: valid in all the windows, extrapolated in window 11 and 14.
    * Entity 2: no data
@@ -43,7 +43,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testAddSampleToEvictedWindows() {
-    RawMetricValues rawValues = new RawMetricValues(2, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(2, MIN_SAMPLES_PER_WINDOW);
     rawValues.updateOldestWindowIndex(2);
     MetricSample<String, IntegerEntity> m1 = getMetricSample(10, 10, 10);
     rawValues.addSample(m1, 1, _metricDef);
@@ -53,7 +53,7 @@ public class RawMetricValuesTest {
   @Test
   public void testAddSampleUpdateExtrapolation() {
     // Let the minSamplePerWindow to be MIN_SAMPLE_PER_WINDOW + 1 so all the windows needs extrapolation.
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, (byte) (MIN_SAMPLES_PER_WINDOW + 1), NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, (byte) (MIN_SAMPLES_PER_WINDOW + 1));
     // All the window index should be 2,3,4,5,6,7
     prepareWindowMissingAtIndex(rawValues, Arrays.asList(3, 5), 2);
     // now add sample to window 2 and 6 to make them valid without flaws.
@@ -82,14 +82,14 @@ public class RawMetricValuesTest {
 
   @Test (expected = IllegalArgumentException.class)
   public void testAddToWindowLargerThanCurrentWindow() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     rawValues.updateOldestWindowIndex(0);
     rawValues.addSample(getMetricSample(10, 10, 10), NUM_WINDOWS_TO_KEEP, _metricDef);
   }
 
   @Test
   public void testAggregateSingleWindow() {
-    RawMetricValues rawValues = new RawMetricValues(2, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(2, MIN_SAMPLES_PER_WINDOW);
     rawValues.updateOldestWindowIndex(0);
     MetricSample<String, IntegerEntity> m1 = getMetricSample(10, 10, 10);
     MetricSample<String, IntegerEntity> m2 = getMetricSample(6, 6, 6);
@@ -143,7 +143,7 @@ public class RawMetricValuesTest {
   @Test
   public void testAggregateMultipleWindows() {
     for (int i = 0; i < NUM_WINDOWS * 2; i++) {
-      RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+      RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
       rawValues.updateOldestWindowIndex(i);
       float[][] expected = populate(rawValues, i);
       ValuesAndExtrapolations valuesAndExtrapolations = aggregate(rawValues, allWindowIndices(i));
@@ -153,7 +153,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testExtrapolationAdjacentAvgAtMiddle() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, 1);
     ValuesAndExtrapolations valuesAndExtrapolations = aggregate(rawValues, allWindowIndices(0));
     assertEquals(11.5, valuesAndExtrapolations.metricValues().valuesFor((short) 0).get(1), EPSILON);
@@ -165,7 +165,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testExtrapolationAdjacentAvgAtLeftEdge() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, 0);
     ValuesAndExtrapolations valuesAndExtrapolations = aggregate(rawValues, allWindowIndices(0));
     assertEquals(0, valuesAndExtrapolations.metricValues().valuesFor((short) 0).get(0), EPSILON);
@@ -177,7 +177,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testExtrapolationAdjacentAvgAtRightEdge() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, NUM_WINDOWS);
     rawValues.updateOldestWindowIndex(1);
     ValuesAndExtrapolations valuesAndExtrapolations = aggregate(rawValues, allWindowIndices(1));
@@ -190,7 +190,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testExtrapolationAdjacentAvgAtLeftEdgeWithWrapAround() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, 0);
 
     // When oldest window index is 0, position 0 is the first index and should have no extrapolation.
@@ -222,7 +222,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testExtrapolationAdjacentAvgAtRightEdgeWithWrapAround() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, NUM_WINDOWS);
     // When oldest window index is 1, position NUM_WINDOWS is the last index and should have no extrapolation.
     rawValues.updateOldestWindowIndex(1);
@@ -254,7 +254,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testAdjacentAvgAtEdgeWhenNewWindowRollsOut() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, NUM_WINDOWS - 1);
 
     assertFalse(rawValues.isValidAtWindowIndex(NUM_WINDOWS - 1));
@@ -268,7 +268,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testAdjacentAvgAtEdgeWhenNewWindowRollsOutWithLargeLeap() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     prepareWindowMissingAtIndex(rawValues, NUM_WINDOWS - 1);
 
     assertFalse(rawValues.isValidAtWindowIndex(NUM_WINDOWS - 1));
@@ -282,7 +282,7 @@ public class RawMetricValuesTest {
 
   @Test
   public void testIsValid() {
-    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW, NUM_RAW_METRICS);
+    RawMetricValues rawValues = new RawMetricValues(NUM_WINDOWS_TO_KEEP, MIN_SAMPLES_PER_WINDOW);
     rawValues.updateOldestWindowIndex(0);
     MetricSample<String, IntegerEntity> m = getMetricSample(10, 10, 10);
 
@@ -221,6 +221,8 @@ public class KafkaCruiseControl {
   public void startUp() {
     LOG.info("Starting Kafka Cruise Control...");
     _loadMonitor.startUp();
+    // Resume the execution interrupted by the previous shutdown (if any) before the anomaly detector may start a new one.
+    _executor.maybeResumeExecution(_loadMonitor);
     _anomalyDetectorManager.startDetection();
     _goalOptimizerExecutor.execute(_goalOptimizer);
     LOG.info("Kafka Cruise Control started.");
@@ -605,6 +607,36 @@ public class KafkaCruiseControl {
     return _goalOptimizer.optimizations(clusterModel, goalsByPriority, operationProgress, initReplicaDistribution, optimizationOptions);
   }
 
+  /**
+   * Estimate the time to execute the inter-broker replica movements of the given optimizer result with the given replica
+   * movement strategy and concurrency, if {@link ExecutorConfig#PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED_CONFIG} is enabled.
+   * See {@link Executor#estimateExecutionTimeMs(Collection, ReplicaMovementStrategy, Integer, Integer)}.
+   *
+   * @param result The optimizer result to estimate the execution time of.
+   * @param replicaMovementStrategy The strategy used to determine the execution order of generated replica movement tasks,
+   *                                or {@code null} to use the default strategy.
+   * @param concurrentInterBrokerPartitionMovements The maximum number of concurrent inter-broker partition movements per
+   *                                                broker, or {@code null} to use the default concurrency.
+   * @param maxInterBrokerPartitionMovements The maximum number of concurrent inter-broker partition movements in the
+   *                                         cluster, or {@code null} to use the default concurrency.
+   */
+  public void maybeEstimateExecutionTime(OptimizerResult result,
+                                         ReplicaMovementStrategy replicaMovementStrategy,
+                                         Integer concurrentInterBrokerPartitionMovements,
+                                         Integer maxInterBrokerPartitionMovements) {
+    if (!_config.getBoolean(ExecutorConfig.PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED_CONFIG)) {
+      return;
+    }
+    try {
+      result.setEstimatedInterBrokerReplicaMovementTimeMs(_executor.estimateExecutionTimeMs(result.goalProposals(),
+                                                                                            replicaMovementStrategy,
+                                                                                            concurrentInterBrokerPartitionMovements,
+                                                                                            maxInterBrokerPartitionMovements));
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to estimate the time to execute the optimization proposals.", e);
+    }
+  }
+
   /**
    * See {@link GoalOptimizer#excludedTopics(ClusterModel, Pattern)}.
    * @param clusterModel The state of the cluster.
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Load;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+
+/**
+ * A compiled summary of the limits, which a set of goals impose on the destination brokers of inter-broker replica
+ * movements -- i.e. the capacity limit of each resource of the destination broker and host, the maximum number of replicas
+ * in the destination broker, and the racks that the replicas of a partition must not share. The goals publish their limits
+ * via {@link Goal#publishAcceptanceLimits(ActionAcceptanceIndex, ClusterModel)}.
+ * <p>
+ * The index filters the replica movements that the goals would reject, without calling
+ * {@link Goal#actionAcceptance(BalancingAction, ClusterModel)} of each goal. The limits are fixed once compiled, whereas
+ * the state of the destination brokers is read from the cluster model, which keeps the load, replicas and racks of the
+ * brokers up to date upon each relocation. Hence, the index remains valid as the cluster model changes. A movement that
+ * passes the index may still be rejected by the goals.
+ */
+public class ActionAcceptanceIndex {
+  private static final double NO_LIMIT = Double.POSITIVE_INFINITY;
+  private final Map<Integer, double[]> _brokerUtilizationLimitsByBrokerId;
+  private final Map<Integer, double[]> _hostUtilizationLimitsByBrokerId;
+  private long _maxReplicasPerBroker;
+  private final List<Function<Broker, String>> _distinctRackIdMappers;
+
+  ActionAcceptanceIndex() {
+    _brokerUtilizationLimitsByBrokerId = new HashMap<>();
+    _hostUtilizationLimitsByBrokerId = new HashMap<>();
+    _maxReplicasPerBroker = Long.MAX_VALUE;
+    _distinctRackIdMappers = new ArrayList<>();
+  }
+
+  /**
+   * Compile the limits published by the given goals.
+   *
+   * @param goals Goals to compile the limits of -- e.g. the previously optimized goals.
+   * @param clusterModel The state of the cluster.
+   * @return The acceptance index of the given goals.
+   */
+  public static ActionAcceptanceIndex compile(Set<Goal> goals, ClusterModel clusterModel) {
+    ActionAcceptanceIndex index = new ActionAcceptanceIndex();
+    for (Goal goal : goals) {
+      goal.publishAcceptanceLimits(index, clusterModel);
+    }
+    return index;
+  }
+
+  /**
+   * Limit the utilization of the given resource in the given broker. A replica movement to the broker is rejected if the
+   * utilization of the broker would be equal to or above the limit after the movement.
+   *
+   * @param broker Broker to limit.
+   * @param resource Broker resource to limit.
+   * @param limit The utilization limit of the resource in the broker.
+   */
+  public void limitBrokerUtilization(Broker broker, Resource resource, double limit) {
+    limitUtilization(_brokerUtilizationLimitsByBrokerId, broker, resource, limit);
+  }
+
+  /**
+   * Limit the utilization of the given resource in the host of the given broker. A replica movement to the broker is
+   * rejected if the utilization of its host would be equal to or above the limit after the movement.
+   *
+   * @param broker Broker whose host to limit.
+   * @param resource Host resource to limit.
+   * @param limit The utilization limit of the resource in the host of the broker.
+   */
+  public void limitHostUtilization(Broker broker, Resource resource, double limit) {
+    limitUtilization(_hostUtilizationLimitsByBrokerId, broker, resource, limit);
+  }
+
+  private static void limitUtilization(Map<Integer, double[]> limitsByBrokerId, Broker broker, Resource resource, double limit) {
+    double[] limits = limitsByBrokerId.computeIfAbsent(broker.id(), id -> {
+      double[] noLimits = new double[Resource.cachedValues().size()];
+      Arrays.fill(noLimits, NO_LIMIT);
+      return noLimits;
+    });
+    limits[resource.id()] = Math.min(limits[resource.id()], limit);
+  }
+
+  /**
+   * Limit the number of replicas per broker. A replica movement to a broker is rejected if the broker has at least the
+   * given number of replicas.
+   *
+   * @param maxReplicasPerBroker The maximum number of replicas per broker.
+   */
+  public void limitNumReplicasPerBroker(long maxReplicasPerBroker) {
+    _maxReplicasPerBroker = Math.min(_maxReplicasPerBroker, maxReplicasPerBroker);
+  }
+
+  /**
+   * Require the replicas of each partition to be in distinct racks, as identified by the given mapper. A replica movement
+   * to a broker is rejected if the mapped rack of the broker is the mapped rack of another replica of the partition.
+   *
+   * @param rackIdMapper The mapper from a broker to the id of its rack.
+   */
+  public void requireDistinctRacks(Function<Broker, String> rackIdMapper) {
+    _distinctRackIdMappers.add(rackIdMapper);
+  }
+
+  /**
+   * Check whether the given replica movement may be acceptable by the goals of this index -- i.e. it does not violate any
+   * of their published limits.
+   *
+   * @param replica Replica to move.
+   * @param destinationBroker Destination broker of the replica movement.
+   * @param clusterModel The state of the cluster.
+   * @return {@code false} if the goals reject moving the given replica to the given broker, {@code true} otherwise.
+   */
+  public boolean mayAcceptReplicaMovement(Replica replica, Broker destinationBroker, ClusterModel clusterModel) {
+    if (destinationBroker.replicas().size() >= _maxReplicasPerBroker) {
+      return false;
+    }
+    double[] brokerLimits = _brokerUtilizationLimitsByBrokerId.get(destinationBroker.id());
+    if (brokerLimits != null && !isUnderLimits(destinationBroker.load(), replica, brokerLimits)) {
+      return false;
+    }
+    double[] hostLimits = _hostUtilizationLimitsByBrokerId.get(destinationBroker.id());
+    if (hostLimits != null && !isUnderLimits(destinationBroker.host().load(), replica, hostLimits)) {
+      return false;
+    }
+    if (!_distinctRackIdMappers.isEmpty()) {
+      for (Broker broker : clusterModel.partition(replica.topicPartition()).partitionBrokers()) {
+        if (broker == replica.broker()) {
+          continue;
+        }
+        for (Function<Broker, String> rackIdMapper : _distinctRackIdMappers) {
+          if (rackIdMapper.apply(broker).equals(rackIdMapper.apply(destinationBroker))) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  // Whether the given utilization would be under the given limits after adding the load of the given replica.
+  private static boolean isUnderLimits(Load load, Replica replica, double[] limits) {
+    for (Resource resource : Resource.cachedValues()) {
+      double limit = limits[resource.id()];
+      if (limit != NO_LIMIT && load.expectedUtilizationFor(resource) + replica.load().expectedUtilizationFor(resource) >= limit) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -12,6 +12,7 @@ import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import com.linkedin.kafka.cruisecontrol.model.RawAndDerivedResource;
 import com.linkedin.kafka.cruisecontrol.model.Replica;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaDistributionJournal;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import java.util.HashSet;
 import java.util.List;
@@ -71,27 +72,77 @@ public final class AnalyzerUtils {
     Set<ExecutionProposal> diff = new HashSet<>();
     for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : initialReplicaDistribution.entrySet()) {
       TopicPartition tp = entry.getKey();
-      List<ReplicaPlacementInfo> initialReplicas = entry.getValue();
-      List<ReplicaPlacementInfo> finalReplicas = finalReplicaDistribution.get(tp);
-      Replica finalLeader = optimizedClusterModel.partition(tp).leader();
-      ReplicaPlacementInfo finalLeaderPlacementInfo = new ReplicaPlacementInfo(finalLeader.broker().id(),
-                                                                               finalLeader.disk() == null ? null : finalLeader.disk().logDir());
-      // The partition has no change.
-      if (finalReplicas.equals(initialReplicas) && initialLeaderDistribution.get(tp).equals(finalLeaderPlacementInfo)) {
-        continue;
+      ExecutionProposal proposal = proposal(tp, entry.getValue(), initialLeaderDistribution.get(tp), finalReplicaDistribution.get(tp),
+                                            optimizedClusterModel);
+      if (proposal != null) {
+        diff.add(proposal);
       }
-      // We need to adjust the final broker list order to ensure the final leader is the first replica.
-      if (finalLeaderPlacementInfo != finalReplicas.get(0)) {
-        int leaderPos = finalReplicas.indexOf(finalLeaderPlacementInfo);
-        finalReplicas.set(leaderPos, finalReplicas.get(0));
-        finalReplicas.set(0, finalLeaderPlacementInfo);
+    }
+    return diff;
+  }
+
+  /**
+   * Get the diff represented by the set of balancing proposals to move from the replica distribution at the start of the
+   * given journal to the final distribution. Only the partitions journaled by the given journal are compared, hence the
+   * diff is found without taking snapshots of the whole replica distribution.
+   *
+   * @param journal The journal of the optimized cluster model, started at the initial distribution.
+   * @param optimizedClusterModel The optimized cluster model.
+   * @param skipReplicationFactorChangeCheck Whether skip sanity check of topic partition's replication factor change before
+   *                                         and after optimization.
+   * @return The diff represented by the set of balancing proposals to move from initial to final distribution.
+   */
+  public static Set<ExecutionProposal> getDiff(ReplicaDistributionJournal journal,
+                                               ClusterModel optimizedClusterModel,
+                                               boolean skipReplicationFactorChangeCheck) {
+    Set<ExecutionProposal> diff = new HashSet<>();
+    for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : journal.initialReplicaDistribution().entrySet()) {
+      TopicPartition tp = entry.getKey();
+      List<ReplicaPlacementInfo> finalReplicas = optimizedClusterModel.replicaPlacementInfos(tp);
+      if (sanityCheckPartitionPlacement(entry.getValue(), finalReplicas, skipReplicationFactorChangeCheck)) {
+        ExecutionProposal proposal = proposal(tp, entry.getValue(), journal.initialLeaderDistribution().get(tp), finalReplicas,
+                                              optimizedClusterModel);
+        if (proposal != null) {
+          diff.add(proposal);
+        }
       }
-      double partitionSize = optimizedClusterModel.partition(tp).leader().load().expectedUtilizationFor(Resource.DISK);
-      diff.add(new ExecutionProposal(tp, (int) partitionSize, initialLeaderDistribution.get(tp), initialReplicas, finalReplicas));
     }
     return diff;
   }
 
+  /**
+   * Get the proposal to move the given partition from its initial to final placement.
+   *
+   * @param tp Topic partition to move.
+   * @param initialReplicas Initial placement of the replicas of the partition.
+   * @param initialLeader Initial placement of the leader of the partition.
+   * @param finalReplicas Final placement of the replicas of the partition, which may be reordered to start with the final leader.
+   * @param optimizedClusterModel The optimized cluster model.
+   * @return The proposal to move the given partition from its initial to final placement, or {@code null} if the partition
+   * has no change.
+   */
+  private static ExecutionProposal proposal(TopicPartition tp,
+                                            List<ReplicaPlacementInfo> initialReplicas,
+                                            ReplicaPlacementInfo initialLeader,
+                                            List<ReplicaPlacementInfo> finalReplicas,
+                                            ClusterModel optimizedClusterModel) {
+    Replica finalLeader = optimizedClusterModel.partition(tp).leader();
+    ReplicaPlacementInfo finalLeaderPlacementInfo = new ReplicaPlacementInfo(finalLeader.broker().id(),
+                                                                             finalLeader.disk() == null ? null : finalLeader.disk().logDir());
+    // The partition has no change.
+    if (finalReplicas.equals(initialReplicas) && initialLeader.equals(finalLeaderPlacementInfo)) {
+      return null;
+    }
+    // We need to adjust the final broker list order to ensure the final leader is the first replica.
+    if (finalLeaderPlacementInfo != finalReplicas.get(0)) {
+      int leaderPos = finalReplicas.indexOf(finalLeaderPlacementInfo);
+      finalReplicas.set(leaderPos, finalReplicas.get(0));
+      finalReplicas.set(0, finalLeaderPlacementInfo);
+    }
+    double partitionSize = finalLeader.load().expectedUtilizationFor(Resource.DISK);
+    return new ExecutionProposal(tp, (int) partitionSize, initialLeader, initialReplicas, finalReplicas);
+  }
+
   /**
    * Sanity check to ensure that
    * <ul>
@@ -120,6 +171,34 @@ public final class AnalyzerUtils {
     }
   }
 
+  /**
+   * Sanity check to ensure that
+   * <ul>
+   *   <li>The given partition is either in both or in neither of the initial and final replica distributions.</li>
+   *   <li>(Optional) Replication factor of the initial and final replicas of the partition is the same.</li>
+   * </ul>
+   *
+   * @param initialReplicas Initial placement of the replicas of the partition, or {@code null} if it was not in the cluster.
+   * @param finalReplicas Final placement of the replicas of the partition, or {@code null} if it is not in the cluster.
+   * @param skipReplicationFactorChangeCheck Whether skip sanity check of topic partition's replication factor change before
+   *                                         and after optimization.
+   * @return {@code true} if the partition is in both distributions, {@code false} if it is in neither of them.
+   */
+  private static boolean sanityCheckPartitionPlacement(List<ReplicaPlacementInfo> initialReplicas,
+                                                       List<ReplicaPlacementInfo> finalReplicas,
+                                                       boolean skipReplicationFactorChangeCheck) {
+    if (initialReplicas == null || finalReplicas == null) {
+      if (initialReplicas != finalReplicas) {
+        throw new IllegalArgumentException("Attempt to diff distributions with different partitions.");
+      }
+      return false;
+    }
+    if (!skipReplicationFactorChangeCheck && finalReplicas.size() != initialReplicas.size()) {
+      throw new IllegalArgumentException("Attempt to diff distributions with modified replication factor.");
+    }
+    return true;
+  }
+
   /**
    * Get whether there is any diff represented by a set of balancing proposals to move from the initial to final distribution.
    *
@@ -157,6 +236,28 @@ public final class AnalyzerUtils {
     return hasDiff;
   }
 
+  /**
+   * Get whether there is any diff represented by a set of balancing proposals to move from the replica distribution at the
+   * start of the given journal to the final distribution. Only the partitions journaled by the given journal are compared.
+   *
+   * @param journal The journal of the optimized cluster model, started at the initial distribution.
+   * @param optimizedClusterModel The optimized cluster model.
+   * @return {@code true} if there is any diff between the initial and final distribution, {@code false} otherwise.
+   */
+  public static boolean hasDiff(ReplicaDistributionJournal journal, ClusterModel optimizedClusterModel) {
+    boolean hasDiff = false;
+    for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : journal.initialReplicaDistribution().entrySet()) {
+      TopicPartition tp = entry.getKey();
+      List<ReplicaPlacementInfo> finalReplicas = optimizedClusterModel.replicaPlacementInfos(tp);
+      // Keep checking the remaining partitions for sanity after finding a diff.
+      if (sanityCheckPartitionPlacement(entry.getValue(), finalReplicas, false) && !hasDiff) {
+        hasDiff = !finalReplicas.equals(entry.getValue())
+                  || !journal.initialLeaderDistribution().get(tp).equals(optimizedClusterModel.leaderPlacementInfo(tp));
+      }
+    }
+    return hasDiff;
+  }
+
   /**
    * Check whether the given proposal is acceptable for all of the given optimized goals.
    *
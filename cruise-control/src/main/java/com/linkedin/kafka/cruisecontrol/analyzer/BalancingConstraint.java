@@ -38,6 +38,8 @@ public class BalancingConstraint {
   private final Pattern _topicsWithMinLeadersPerBrokerPattern;
   private final int _minTopicLeadersPerBroker;
   private final long _fastModePerBrokerMoveTimeoutMs;
+  private final int _numCandidateBrokerEvaluationThreads;
+  private final long _goalOptimizationTimeBudgetMs;
   private final BrokerSetResolver _brokerSetResolver;
   private final ReplicaToBrokerSetMappingPolicy _replicaToBrokerSetMappingPolicy;
 
@@ -85,6 +87,8 @@ public class BalancingConstraint {
     _minTopicLeadersPerBroker = config.getInt(AnalyzerConfig.MIN_TOPIC_LEADERS_PER_BROKER_CONFIG);
     // Set default value for the per broker move timeout in fast mode in milliseconds
     _fastModePerBrokerMoveTimeoutMs = config.getLong(AnalyzerConfig.FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS_CONFIG);
+    _numCandidateBrokerEvaluationThreads = config.getInt(AnalyzerConfig.NUM_CANDIDATE_BROKER_EVALUATION_THREADS_CONFIG);
+    _goalOptimizationTimeBudgetMs = config.getLong(AnalyzerConfig.GOAL_OPTIMIZATION_TIME_BUDGET_MS_CONFIG);
     // BrokerSet Data resolver class
     Map<String, Object> parameterConfigOverridesForBrokerSetResolver = new HashMap<>();
     parameterConfigOverridesForBrokerSetResolver.put(BrokerSetFileResolver.BROKER_SET_ASSIGNMENT_POLICY_OBJECT_CONFIG,
@@ -126,6 +130,8 @@ public class BalancingConstraint {
     props.put(AnalyzerConfig.TOPICS_WITH_MIN_LEADERS_PER_BROKER_CONFIG, _topicsWithMinLeadersPerBrokerPattern.pattern());
     props.put(AnalyzerConfig.MIN_TOPIC_LEADERS_PER_BROKER_CONFIG, Integer.toString(_minTopicLeadersPerBroker));
     props.put(AnalyzerConfig.FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS_CONFIG, Long.toString(_fastModePerBrokerMoveTimeoutMs));
+    props.put(AnalyzerConfig.NUM_CANDIDATE_BROKER_EVALUATION_THREADS_CONFIG, Integer.toString(_numCandidateBrokerEvaluationThreads));
+    props.put(AnalyzerConfig.GOAL_OPTIMIZATION_TIME_BUDGET_MS_CONFIG, Long.toString(_goalOptimizationTimeBudgetMs));
     props.put(AnalyzerConfig.BROKER_SET_RESOLVER_CLASS_CONFIG, _brokerSetResolver.getClass().getName());
     props.put(AnalyzerConfig.REPLICA_TO_BROKER_SET_MAPPING_POLICY_CLASS_CONFIG, _replicaToBrokerSetMappingPolicy.getClass().getName());
     return props;
@@ -260,6 +266,20 @@ public class BalancingConstraint {
     return _fastModePerBrokerMoveTimeoutMs;
   }
 
+  /**
+   * @return The number of threads used to evaluate the candidate destination brokers of a balancing action in parallel.
+   */
+  public int numCandidateBrokerEvaluationThreads() {
+    return _numCandidateBrokerEvaluationThreads;
+  }
+
+  /**
+   * @return The wall-clock time budget in milliseconds to optimize each soft goal, or -1 if soft goals have no time budget.
+   */
+  public long goalOptimizationTimeBudgetMs() {
+    return _goalOptimizationTimeBudgetMs;
+  }
+
   /**
    * @return The Broker Set Resolver.
    */
@@ -335,6 +355,7 @@ public class BalancingConstraint {
                          + "goalViolationDistributionThresholdMultiplier=%.4f,"
                          + "topicsWithMinLeadersPerBrokerPattern=%s,"
                          + "minTopicLeadersPerBroker=%d,fastModePerBrokerMoveTimeoutMs=%d,"
+                         + "numCandidateBrokerEvaluationThreads=%d,goalOptimizationTimeBudgetMs=%d,"
                          + "brokerSetDataStore=%s,"
                          + "replicaToBrokerSetMappingPolicy=%s]",
                          _resourceBalancePercentage.get(Resource.CPU), _resourceBalancePercentage.get(Resource.DISK),
@@ -344,7 +365,8 @@ public class BalancingConstraint {
                          _maxReplicasPerBroker, _replicaBalancePercentage, _leaderReplicaBalancePercentage,
                          _topicReplicaBalancePercentage, _topicReplicaBalanceMinGap, _topicReplicaBalanceMaxGap,
                          _goalViolationDistributionThresholdMultiplier, _topicsWithMinLeadersPerBrokerPattern.pattern(),
-                         _minTopicLeadersPerBroker, _fastModePerBrokerMoveTimeoutMs, _brokerSetResolver.getClass().getName(),
+                         _minTopicLeadersPerBroker, _fastModePerBrokerMoveTimeoutMs, _numCandidateBrokerEvaluationThreads,
+                         _goalOptimizationTimeBudgetMs, _brokerSetResolver.getClass().getName(),
                          _replicaToBrokerSetMappingPolicy.getClass().getName());
   }
 }
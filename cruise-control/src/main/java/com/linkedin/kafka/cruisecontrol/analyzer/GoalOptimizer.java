@@ -8,19 +8,23 @@ import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.linkedin.kafka.cruisecontrol.common.Utils;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.AbstractGoal;
 import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
 import com.linkedin.kafka.cruisecontrol.config.BrokerSetResolver;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.common.KafkaCruiseControlThreadFactory;
 import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerSetResolutionException;
 import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
 import com.linkedin.kafka.cruisecontrol.async.progress.OptimizationForGoal;
 import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
 import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaDistributionJournal;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
 import com.linkedin.kafka.cruisecontrol.monitor.ModelCompletenessRequirements;
@@ -28,6 +32,8 @@ import com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils;
 import com.linkedin.kafka.cruisecontrol.monitor.task.LoadMonitorTaskRunner;
 import com.linkedin.kafka.cruisecontrol.servlet.response.stats.BrokerStats;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -72,6 +78,7 @@ public class GoalOptimizer implements Runnable {
   private final Time _time;
   private final int _numPrecomputingThreads;
   private final long _proposalExpirationMs;
+  private final long _optimizationTimeBudgetMs;
   private final ExecutorService _proposalPrecomputingExecutor;
   private final AtomicBoolean _progressUpdateLock;
   private final AtomicReference<Exception> _proposalGenerationException;
@@ -90,6 +97,8 @@ public class GoalOptimizer implements Runnable {
   private final double _strictnessWeight;
   private final OptimizationOptionsGenerator _optimizationOptionsGenerator;
   private volatile boolean _hasUnfixableProposalOptimization;
+  private final boolean _optimizationShardingByPartition;
+  private final ExecutorService _optimizationShardingExecutor;
 
   /**
    * Constructor for Goal Optimizer takes the goals as input. The order of the list determines the priority of goals
@@ -114,6 +123,7 @@ public class GoalOptimizer implements Runnable {
     _balancingConstraint = new BalancingConstraint(config);
     _defaultExcludedTopics = Pattern.compile(config.getString(AnalyzerConfig.TOPICS_EXCLUDED_FROM_PARTITION_MOVEMENT_CONFIG));
     _proposalExpirationMs = config.getLong(AnalyzerConfig.PROPOSAL_EXPIRATION_MS_CONFIG);
+    _optimizationTimeBudgetMs = config.getLong(AnalyzerConfig.OPTIMIZATION_TIME_BUDGET_MS_CONFIG);
     _proposalPrecomputingExecutor =
         Executors.newScheduledThreadPool(numProposalComputingThreads(),
                                          new KafkaCruiseControlThreadFactory("ProposalPrecomputingExecutor", false, LOG));
@@ -140,6 +150,12 @@ public class GoalOptimizer implements Runnable {
     _optimizationOptionsGenerator = config.getConfiguredInstance(AnalyzerConfig.OPTIMIZATION_OPTIONS_GENERATOR_CLASS_CONFIG,
                                                                  OptimizationOptionsGenerator.class,
                                                                  overrideConfigs);
+    _optimizationShardingByPartition = config.getBoolean(AnalyzerConfig.OPTIMIZATION_SHARDING_BY_PARTITION_CONFIG);
+    _optimizationShardingExecutor =
+        config.getBoolean(AnalyzerConfig.OPTIMIZATION_SHARDING_ENABLED_CONFIG)
+        ? Executors.newFixedThreadPool(config.getInt(AnalyzerConfig.NUM_OPTIMIZATION_SHARDING_THREADS_CONFIG),
+                                       new KafkaCruiseControlThreadFactory("OptimizationShardingExecutor", true, LOG))
+        : null;
   }
 
   /**
@@ -245,6 +261,9 @@ public class GoalOptimizer implements Runnable {
     LOG.info("Shutting down goal optimizer.");
     _shutdown = true;
     _proposalPrecomputingExecutor.shutdown();
+    if (_optimizationShardingExecutor != null) {
+      _optimizationShardingExecutor.shutdownNow();
+    }
 
     try {
       _proposalPrecomputingExecutor.awaitTermination(30000L, TimeUnit.MILLISECONDS);
@@ -438,10 +457,27 @@ public class GoalOptimizer implements Runnable {
                                        Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
                                        OptimizationOptions optimizationOptions)
       throws KafkaCruiseControlException {
+    // Soft goals stop at the deadline of the optimization, which goals track with the system clock.
+    OptimizationOptions optionsWithDeadline = _optimizationTimeBudgetMs == -1L
+                                              ? optimizationOptions
+                                              : optimizationOptions.withOptimizationDeadlineMs(System.currentTimeMillis()
+                                                                                               + _optimizationTimeBudgetMs);
+    // Journal the partitions changed by the optimization to generate the proposals without diffing the whole distribution.
+    try (ReplicaDistributionJournal journal = clusterModel.startReplicaDistributionJournal()) {
+      return optimizations(clusterModel, goalsByPriority, operationProgress, initReplicaDistributionForProposalGeneration,
+                           optionsWithDeadline, journal);
+    }
+  }
+
+  private OptimizerResult optimizations(ClusterModel clusterModel,
+                                        List<Goal> goalsByPriority,
+                                        OperationProgress operationProgress,
+                                        Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
+                                        OptimizationOptions optimizationOptions,
+                                        ReplicaDistributionJournal journal)
+      throws KafkaCruiseControlException {
     LOG.trace("Cluster before optimization is {}", clusterModel);
     BrokerStats brokerStatsBeforeOptimization = clusterModel.brokerStats(null);
-    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
-    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
     boolean isSelfHealing = !clusterModel.selfHealingEligibleReplicas().isEmpty();
 
     // Set of balancing proposals that will be applied to the given cluster state to satisfy goals (leadership
@@ -449,54 +485,105 @@ public class GoalOptimizer implements Runnable {
     Set<Goal> optimizedGoals = new HashSet<>();
     Set<String> violatedGoalNamesBeforeOptimization = new HashSet<>();
     Set<String> violatedGoalNamesAfterOptimization = new HashSet<>();
+    Set<String> partiallyOptimizedGoalNames = new HashSet<>();
     LinkedHashMap<Goal, ClusterModelStats> statsByGoalPriority = new LinkedHashMap<>(goalsByPriority.size());
-    Map<TopicPartition, List<ReplicaPlacementInfo>> preOptimizedReplicaDistribution = null;
-    Map<TopicPartition, ReplicaPlacementInfo> preOptimizedLeaderDistribution = null;
 
     ProvisionResponse provisionResponse = new ProvisionResponse(ProvisionStatus.UNDECIDED);
     Map<String, Duration> optimizationDurationByGoal = new HashMap<>();
-    for (Goal goal : goalsByPriority) {
-      preOptimizedReplicaDistribution = preOptimizedReplicaDistribution == null ? initReplicaDistribution : clusterModel.getReplicaDistribution();
-      preOptimizedLeaderDistribution = preOptimizedLeaderDistribution == null ? initLeaderDistribution : clusterModel.getLeaderDistribution();
-      OptimizationForGoal step = new OptimizationForGoal(goal.name());
-      operationProgress.addStep(step);
-      LOG.debug("Optimizing goal {}", goal.name());
-      long startTimeMs = _time.milliseconds();
-      boolean succeeded;
-      try {
-        succeeded = goal.optimize(clusterModel, optimizedGoals, optimizationOptions);
-      } catch (OptimizationFailureException e) {
-        setHasUnfixableProposalOptimization(true, goalsByPriority);
-        throw e;
+    List<Set<Integer>> shards = optimizationShards(clusterModel, goalsByPriority, initReplicaDistributionForProposalGeneration,
+                                                   optimizationOptions);
+    if (shards.size() > 1) {
+      List<List<OptimizationShard.GoalResult>> goalResultsByShard = optimizeShards(clusterModel, shards, goalsByPriority,
+                                                                                 operationProgress, optimizationOptions);
+      for (int i = 0; i < goalsByPriority.size(); i++) {
+        Goal goal = goalsByPriority.get(i);
+        boolean succeeded = true;
+        boolean hasDiff = false;
+        boolean partiallyOptimized = false;
+        Duration duration = Duration.ZERO;
+        ProvisionResponse goalProvisionResponse = new ProvisionResponse(ProvisionStatus.UNDECIDED);
+        for (List<OptimizationShard.GoalResult> goalResults : goalResultsByShard) {
+          OptimizationShard.GoalResult goalResult = goalResults.get(i);
+          goalResult.applyTo(clusterModel);
+          succeeded &= goalResult.succeeded();
+          hasDiff |= goalResult.hasDiff();
+          partiallyOptimized |= goalResult.partiallyOptimized();
+          // Shards are optimized in parallel, hence the slowest shard determines the duration of the goal.
+          duration = goalResult.duration().compareTo(duration) > 0 ? goalResult.duration() : duration;
+          goalProvisionResponse.aggregate(goalResult.provisionResponse());
+        }
+        optimizedGoals.add(goal);
+        statsByGoalPriority.put(goal, clusterModel.getClusterStats(_balancingConstraint, optimizationOptions));
+        optimizationDurationByGoal.put(goal.name(), duration);
+        if (hasDiff || !succeeded) {
+          violatedGoalNamesBeforeOptimization.add(goal.name());
+        }
+        if (!succeeded) {
+          violatedGoalNamesAfterOptimization.add(goal.name());
+        }
+        if (partiallyOptimized) {
+          partiallyOptimizedGoalNames.add(goal.name());
+        }
+        provisionResponse.aggregate(goalProvisionResponse);
+        LOG.info("[{}/{}] Generated {} proposals for {}{} over {} shards. Provision status: {}; aggregated provision status: {}",
+                 optimizedGoals.size(),
+                 _goalsByPriority.size(),
+                 hasDiff ? "some" : "no",
+                 isSelfHealing ? "self-healing " : "",
+                 goal.name(),
+                 shards.size(),
+                 goalProvisionResponse.status(),
+                 provisionResponse.status());
       }
-      optimizedGoals.add(goal);
-      statsByGoalPriority.put(goal, clusterModel.getClusterStats(_balancingConstraint, optimizationOptions));
-      optimizationDurationByGoal.put(goal.name(), Duration.ofMillis(_time.milliseconds() - startTimeMs));
+    } else {
+      for (Goal goal : goalsByPriority) {
+        OptimizationForGoal step = new OptimizationForGoal(goal.name());
+        operationProgress.addStep(step);
+        LOG.debug("Optimizing goal {}", goal.name());
+        long startTimeMs = _time.milliseconds();
+        boolean succeeded;
+        boolean hasDiff;
+        try (ReplicaDistributionJournal goalJournal = clusterModel.startReplicaDistributionJournal()) {
+          succeeded = goal.optimize(clusterModel, optimizedGoals, optimizationOptions);
+          hasDiff = AnalyzerUtils.hasDiff(goalJournal, clusterModel);
+        } catch (OptimizationFailureException e) {
+          setHasUnfixableProposalOptimization(true, goalsByPriority);
+          throw e;
+        }
+        optimizedGoals.add(goal);
+        statsByGoalPriority.put(goal, clusterModel.getClusterStats(_balancingConstraint, optimizationOptions));
+        optimizationDurationByGoal.put(goal.name(), Duration.ofMillis(_time.milliseconds() - startTimeMs));
 
-      boolean hasDiff = AnalyzerUtils.hasDiff(preOptimizedReplicaDistribution, preOptimizedLeaderDistribution, clusterModel);
-      if (hasDiff || !succeeded) {
-        violatedGoalNamesBeforeOptimization.add(goal.name());
-      }
-      if (!succeeded) {
-        violatedGoalNamesAfterOptimization.add(goal.name());
-      }
+        if (hasDiff || !succeeded) {
+          violatedGoalNamesBeforeOptimization.add(goal.name());
+        }
+        if (!succeeded) {
+          violatedGoalNamesAfterOptimization.add(goal.name());
+        }
+        if (goal.isPartiallyOptimized()) {
+          partiallyOptimizedGoalNames.add(goal.name());
+        }
 
-      step.done();
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("Broker level stats after optimization: {}", clusterModel.brokerStats(null));
+        step.done();
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Broker level stats after optimization: {}", clusterModel.brokerStats(null));
+        }
+        provisionResponse.aggregate(goal.provisionResponse());
+        LOG.info("[{}/{}] Generated {} proposals for {}{}. Provision status: {}; aggregated provision status: {}",
+                 optimizedGoals.size(),
+                 _goalsByPriority.size(),
+                 hasDiff ? "some" : "no",
+                 isSelfHealing ? "self-healing " : "",
+                 goal.name(),
+                 goal.provisionResponse().status(),
+                 provisionResponse.status());
       }
-      provisionResponse.aggregate(goal.provisionResponse());
-      LOG.info("[{}/{}] Generated {} proposals for {}{}. Provision status: {}; aggregated provision status: {}",
-               optimizedGoals.size(),
-               _goalsByPriority.size(),
-               hasDiff ? "some" : "no",
-               isSelfHealing ? "self-healing " : "",
-               goal.name(),
-               goal.provisionResponse().status(),
-               provisionResponse.status());
     }
 
     setHasUnfixableProposalOptimization(false, goalsByPriority);
+    if (!partiallyOptimizedGoalNames.isEmpty()) {
+      LOG.warn("Goals {} stopped at their time budget, hence the optimization result is partial.", partiallyOptimizedGoalNames);
+    }
 
     // Broker level stats in the final cluster state.
     if (LOG.isTraceEnabled()) {
@@ -505,12 +592,16 @@ public class GoalOptimizer implements Runnable {
 
     // Skip replication factor change check here since in above iteration we already check for each goal it does not change
     // any partition's replication factor.
-    Set<ExecutionProposal> proposals =
-        AnalyzerUtils.getDiff(initReplicaDistributionForProposalGeneration != null ? initReplicaDistributionForProposalGeneration
-                                                                                   : initReplicaDistribution,
-                              initLeaderDistribution,
-                              clusterModel,
-                              true);
+    Set<ExecutionProposal> proposals;
+    if (initReplicaDistributionForProposalGeneration == null) {
+      proposals = AnalyzerUtils.getDiff(journal, clusterModel, true);
+    } else {
+      // The given initial replica distribution may differ from the cluster model at the start of the journal, hence the whole
+      // distribution is diffed. The initial leaders are the current leaders of the partitions that have not been journaled.
+      Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
+      initLeaderDistribution.putAll(journal.initialLeaderDistribution());
+      proposals = AnalyzerUtils.getDiff(initReplicaDistributionForProposalGeneration, initLeaderDistribution, clusterModel, true);
+    }
     return new OptimizerResult(statsByGoalPriority,
                                violatedGoalNamesBeforeOptimization,
                                violatedGoalNamesAfterOptimization,
@@ -520,7 +611,100 @@ public class GoalOptimizer implements Runnable {
                                optimizationOptions,
                                balancednessCostByGoal(goalsByPriority, _priorityWeight, _strictnessWeight),
                                optimizationDurationByGoal,
-                               provisionResponse);
+                               provisionResponse,
+                               partiallyOptimizedGoalNames);
+  }
+
+  /**
+   * Get the shards to optimize the given goals over in parallel. See {@link AnalyzerConfig#OPTIMIZATION_SHARDING_ENABLED_DOC}
+   * for the cases, in which the optimization is not sharded.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param goalsByPriority The goals ordered by priority.
+   * @param initReplicaDistributionForProposalGeneration The initial replica distribution of the cluster, if it cannot be
+   *                                                     deducted from the given cluster model, {@code null} otherwise.
+   * @param optimizationOptions Optimization options.
+   * @return Broker ids of each shard, or an empty list if the optimization should not be sharded.
+   */
+  private List<Set<Integer>> optimizationShards(ClusterModel clusterModel,
+                                                List<Goal> goalsByPriority,
+                                                Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
+                                                OptimizationOptions optimizationOptions) {
+    if (_optimizationShardingExecutor == null
+        || initReplicaDistributionForProposalGeneration != null
+        || !optimizationOptions.requestedDestinationBrokerIds().isEmpty()
+        || !clusterModel.demotedBrokers().isEmpty()
+        || goalsByPriority.stream().anyMatch(goal -> !(goal instanceof AbstractGoal))) {
+      return Collections.emptyList();
+    }
+    for (Broker broker : clusterModel.brokers()) {
+      if (broker.isUsingJBOD() || !broker.immigrantReplicas().isEmpty() || (_optimizationShardingByPartition && broker.replicas().isEmpty())) {
+        return Collections.emptyList();
+      }
+    }
+    if (_optimizationShardingByPartition) {
+      return OptimizationShard.partitionShards(clusterModel);
+    }
+    try {
+      return OptimizationShard.shards(clusterModel, _balancingConstraint.brokerSetResolver());
+    } catch (BrokerSetResolutionException e) {
+      LOG.warn("Skip sharding the optimization due to failure to resolve broker sets.", e);
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Optimize the given goals over each shard in parallel. Each shard uses a sub cluster model and its own goal instances,
+   * which are created with the same configuration as the given goals.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param shards Broker ids of each shard.
+   * @param goalsByPriority The goals ordered by priority.
+   * @param operationProgress To report the optimization progress.
+   * @param optimizationOptions Optimization options.
+   * @return Result of each goal by shard, in the order of the given shards and goals.
+   */
+  private List<List<OptimizationShard.GoalResult>> optimizeShards(ClusterModel clusterModel,
+                                                                  List<Set<Integer>> shards,
+                                                                  List<Goal> goalsByPriority,
+                                                                  OperationProgress operationProgress,
+                                                                  OptimizationOptions optimizationOptions)
+      throws KafkaCruiseControlException {
+    List<OptimizationForGoal> steps = new ArrayList<>(goalsByPriority.size());
+    for (Goal goal : goalsByPriority) {
+      OptimizationForGoal step = new OptimizationForGoal(goal.name());
+      operationProgress.addStep(step);
+      steps.add(step);
+    }
+    LOG.debug("Optimizing goals over shards {}", shards);
+    List<Future<List<OptimizationShard.GoalResult>>> futures = new ArrayList<>(shards.size());
+    for (Set<Integer> shard : shards) {
+      List<Goal> shardGoalsByPriority = new ArrayList<>(goalsByPriority.size());
+      for (Goal goal : goalsByPriority) {
+        shardGoalsByPriority.add(((AbstractGoal) goal).newInstanceWithSameConfiguration());
+      }
+      futures.add(_optimizationShardingExecutor.submit(
+          new OptimizationShard(clusterModel.subClusterModel(shard), shardGoalsByPriority, optimizationOptions, _time)));
+    }
+
+    List<List<OptimizationShard.GoalResult>> goalResultsByShard = new ArrayList<>(shards.size());
+    try {
+      for (Future<List<OptimizationShard.GoalResult>> future : futures) {
+        goalResultsByShard.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      throw new KafkaCruiseControlException("Interrupted while optimizing goals over shards.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof OptimizationFailureException) {
+        setHasUnfixableProposalOptimization(true, goalsByPriority);
+        throw (OptimizationFailureException) e.getCause();
+      }
+      throw new KafkaCruiseControlException("Failed to optimize goals over shards.", e.getCause());
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+    steps.forEach(OptimizationForGoal::done);
+    return goalResultsByShard;
   }
 
   private void setHasUnfixableProposalOptimization(boolean hasUnfixableProposalOptimization, List<Goal> goalsByPriority) {
@@ -21,6 +21,7 @@ public class OptimizationOptions {
   private final Set<Integer> _requestedDestinationBrokerIds;
   private final boolean _onlyMoveImmigrantReplicas;
   private final boolean _fastMode;
+  private final long _optimizationDeadlineMs;
 
   /**
    * Default value for {@link #_isTriggeredByGoalViolation} is false.
@@ -67,7 +68,7 @@ public class OptimizationOptions {
   }
 
   /**
-   * The optimization options intended to be used during optimization of goals.
+   * Default value for {@link #_optimizationDeadlineMs} is {@link Long#MAX_VALUE} -- i.e. no deadline.
    */
   public OptimizationOptions(Set<String> excludedTopics,
                              Set<Integer> excludedBrokersForLeadership,
@@ -76,6 +77,21 @@ public class OptimizationOptions {
                              Set<Integer> requestedDestinationBrokerIds,
                              boolean onlyMoveImmigrantReplicas,
                              boolean fastMode) {
+    this(excludedTopics, excludedBrokersForLeadership, excludedBrokersForReplicaMove, isTriggeredByGoalViolation,
+         requestedDestinationBrokerIds, onlyMoveImmigrantReplicas, fastMode, Long.MAX_VALUE);
+  }
+
+  /**
+   * The optimization options intended to be used during optimization of goals.
+   */
+  public OptimizationOptions(Set<String> excludedTopics,
+                             Set<Integer> excludedBrokersForLeadership,
+                             Set<Integer> excludedBrokersForReplicaMove,
+                             boolean isTriggeredByGoalViolation,
+                             Set<Integer> requestedDestinationBrokerIds,
+                             boolean onlyMoveImmigrantReplicas,
+                             boolean fastMode,
+                             long optimizationDeadlineMs) {
     _excludedTopics = validateNotNull(excludedTopics, "Excluded topics cannot be null.");
     _excludedBrokersForLeadership = validateNotNull(excludedBrokersForLeadership, "Excluded brokers for leadership cannot be null.");
     _excludedBrokersForReplicaMove = validateNotNull(excludedBrokersForReplicaMove, "Excluded brokers for replica move cannot be null.");
@@ -83,6 +99,22 @@ public class OptimizationOptions {
     _requestedDestinationBrokerIds = validateNotNull(requestedDestinationBrokerIds, "Requested destination broker ids cannot be null.");
     _onlyMoveImmigrantReplicas = onlyMoveImmigrantReplicas;
     _fastMode = fastMode;
+    _optimizationDeadlineMs = optimizationDeadlineMs;
+  }
+
+  /**
+   * Get the same optimization options with the earlier of the given deadline and the deadline of these options.
+   *
+   * @param optimizationDeadlineMs The wall-clock time in milliseconds to stop optimizing soft goals at.
+   * @return Optimization options with the earlier deadline.
+   */
+  public OptimizationOptions withOptimizationDeadlineMs(long optimizationDeadlineMs) {
+    if (optimizationDeadlineMs >= _optimizationDeadlineMs) {
+      return this;
+    }
+    return new OptimizationOptions(_excludedTopics, _excludedBrokersForLeadership, _excludedBrokersForReplicaMove,
+                                   _isTriggeredByGoalViolation, _requestedDestinationBrokerIds, _onlyMoveImmigrantReplicas,
+                                   _fastMode, optimizationDeadlineMs);
   }
 
   /**
@@ -134,11 +166,20 @@ public class OptimizationOptions {
     return _fastMode;
   }
 
+  /**
+   * @return The wall-clock time in milliseconds, at which soft goals stop optimizing with their best state so far, or
+   * {@link Long#MAX_VALUE} if the optimization has no deadline.
+   */
+  public long optimizationDeadlineMs() {
+    return _optimizationDeadlineMs;
+  }
+
   @Override
   public String toString() {
     return String.format("[excludedTopics=%s,excludedBrokersForLeadership=%s,excludedBrokersForReplicaMove=%s,"
-                         + "isTriggeredByGoalViolation=%s,requestedDestinationBrokerIds=%s,onlyMoveImmigrantReplicas=%s,fastMode=%s]",
+                         + "isTriggeredByGoalViolation=%s,requestedDestinationBrokerIds=%s,onlyMoveImmigrantReplicas=%s,fastMode=%s,"
+                         + "optimizationDeadlineMs=%d]",
                          _excludedTopics, _excludedBrokersForLeadership, _excludedBrokersForReplicaMove, _isTriggeredByGoalViolation,
-                         _requestedDestinationBrokerIds, _onlyMoveImmigrantReplicas, _fastMode);
+                         _requestedDestinationBrokerIds, _onlyMoveImmigrantReplicas, _fastMode, _optimizationDeadlineMs);
   }
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.config.BrokerSetResolutionHelper;
+import com.linkedin.kafka.cruisecontrol.config.BrokerSetResolver;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerSetResolutionException;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaDistributionJournal;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Time;
+
+
+/**
+ * A shard of the cluster, which is a set of brokers such that every partition having a replica on these brokers has all
+ * of its replicas on these brokers. Optimizing a shard runs the goals on a separate {@link ClusterModel#subClusterModel(Set)
+ * sub cluster model} that contains only the brokers and partitions of the shard, hence shards can be optimized in parallel.
+ *
+ * The result of optimizing a shard is the {@link GoalResult} of each goal, which contains the placement of the partitions
+ * changed by the goal. Applying these placements to the cluster model in the order of goal priority brings the cluster
+ * model to the state after the goal was optimized over each shard.
+ */
+class OptimizationShard implements Callable<List<OptimizationShard.GoalResult>> {
+  private final ClusterModel _clusterModel;
+  private final List<Goal> _goalsByPriority;
+  private final OptimizationOptions _optimizationOptions;
+  private final Time _time;
+
+  /**
+   * @param clusterModel The sub cluster model of the shard.
+   * @param goalsByPriority Goals ordered by priority. These goal instances must not be used by any other shard.
+   * @param optimizationOptions Optimization options.
+   * @param time The time.
+   */
+  OptimizationShard(ClusterModel clusterModel, List<Goal> goalsByPriority, OptimizationOptions optimizationOptions, Time time) {
+    _clusterModel = clusterModel;
+    _goalsByPriority = goalsByPriority;
+    _optimizationOptions = optimizationOptions;
+    _time = time;
+  }
+
+  /**
+   * Get the shards of the given cluster model by broker set. Each broker set resolved by the given broker set resolver is a
+   * shard, except that broker sets sharing a partition are merged into a single shard.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param brokerSetResolver The resolver of broker sets.
+   * @return Broker ids of each shard, ordered by the smallest broker id of each shard.
+   */
+  static List<Set<Integer>> shards(ClusterModel clusterModel, BrokerSetResolver brokerSetResolver) throws BrokerSetResolutionException {
+    BrokerSetResolutionHelper brokerSetResolutionHelper = new BrokerSetResolutionHelper(clusterModel, brokerSetResolver);
+    Map<Integer, String> brokerSetIdByBrokerId = brokerSetResolutionHelper.brokerSetIdByBrokerId();
+    for (Broker broker : clusterModel.brokers()) {
+      if (brokerSetIdByBrokerId.get(broker.id()) == null) {
+        throw new BrokerSetResolutionException(String.format("Failed to resolve BrokerSet for Broker %s", broker.id()));
+      }
+    }
+    return mergedShards(clusterModel, brokerSetIdByBrokerId);
+  }
+
+  /**
+   * Get the shards of the given cluster model by topic partition. Each shard is a group of partitions whose replicas never
+   * share a broker with the partitions of the other groups, along with the brokers hosting them. A broker without replicas
+   * is a shard of its own.
+   *
+   * @param clusterModel The state of the cluster.
+   * @return Broker ids of each shard, ordered by the smallest broker id of each shard.
+   */
+  static List<Set<Integer>> partitionShards(ClusterModel clusterModel) {
+    Map<Integer, String> groupIdByBrokerId = new HashMap<>();
+    for (Broker broker : clusterModel.brokers()) {
+      groupIdByBrokerId.put(broker.id(), Integer.toString(broker.id()));
+    }
+    return mergedShards(clusterModel, groupIdByBrokerId);
+  }
+
+  /**
+   * Merge the given groups of brokers that share a partition into shards.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param groupIdByBrokerId The id of the initial group of each broker.
+   * @return Broker ids of each shard, ordered by the smallest broker id of each shard.
+   */
+  private static List<Set<Integer>> mergedShards(ClusterModel clusterModel, Map<Integer, String> groupIdByBrokerId) {
+    // The group that represents each merged group.
+    Map<String, String> representativeByGroupId = new HashMap<>();
+    for (String groupId : groupIdByBrokerId.values()) {
+      representativeByGroupId.put(groupId, groupId);
+    }
+
+    for (List<Partition> partitions : clusterModel.getPartitionsByTopic().values()) {
+      for (Partition partition : partitions) {
+        String leaderRepresentative = representative(representativeByGroupId,
+                                                     groupIdByBrokerId.get(partition.leader().broker().id()));
+        for (Replica follower : partition.followers()) {
+          String followerRepresentative = representative(representativeByGroupId,
+                                                         groupIdByBrokerId.get(follower.broker().id()));
+          if (!followerRepresentative.equals(leaderRepresentative)) {
+            representativeByGroupId.put(followerRepresentative, leaderRepresentative);
+          }
+        }
+      }
+    }
+
+    Map<String, SortedSet<Integer>> brokerIdsByRepresentative = new HashMap<>();
+    for (Broker broker : clusterModel.brokers()) {
+      String representative = representative(representativeByGroupId, groupIdByBrokerId.get(broker.id()));
+      brokerIdsByRepresentative.computeIfAbsent(representative, r -> new TreeSet<>()).add(broker.id());
+    }
+    Map<Integer, Set<Integer>> shardsBySmallestBrokerId = new TreeMap<>();
+    brokerIdsByRepresentative.values().forEach(brokerIds -> shardsBySmallestBrokerId.put(brokerIds.first(), brokerIds));
+    return new ArrayList<>(shardsBySmallestBrokerId.values());
+  }
+
+  private static String representative(Map<String, String> representativeByGroupId, String groupId) {
+    String representative = groupId;
+    while (!representative.equals(representativeByGroupId.get(representative))) {
+      representative = representativeByGroupId.get(representative);
+    }
+    // Compress the path to the representative.
+    representativeByGroupId.put(groupId, representative);
+    return representative;
+  }
+
+  @Override
+  public List<GoalResult> call() throws Exception {
+    List<GoalResult> goalResults = new ArrayList<>(_goalsByPriority.size());
+    Set<Goal> optimizedGoals = new HashSet<>();
+    for (Goal goal : _goalsByPriority) {
+      long startTimeMs = _time.milliseconds();
+      boolean succeeded;
+      Map<TopicPartition, List<ReplicaPlacementInfo>> changedReplicaDistribution = new HashMap<>();
+      Map<TopicPartition, ReplicaPlacementInfo> changedLeaderDistribution = new HashMap<>();
+      // Only the partitions journaled during the optimization of the goal may have changed.
+      try (ReplicaDistributionJournal journal = _clusterModel.startReplicaDistributionJournal()) {
+        succeeded = goal.optimize(_clusterModel, optimizedGoals, _optimizationOptions);
+        for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : journal.initialReplicaDistribution().entrySet()) {
+          TopicPartition tp = entry.getKey();
+          List<ReplicaPlacementInfo> replicaPlacement = _clusterModel.replicaPlacementInfos(tp);
+          ReplicaPlacementInfo leaderPlacement = _clusterModel.leaderPlacementInfo(tp);
+          if (!replicaPlacement.equals(entry.getValue()) || !leaderPlacement.equals(journal.initialLeaderDistribution().get(tp))) {
+            changedReplicaDistribution.put(tp, replicaPlacement);
+            changedLeaderDistribution.put(tp, leaderPlacement);
+          }
+        }
+      }
+      optimizedGoals.add(goal);
+      Duration duration = Duration.ofMillis(_time.milliseconds() - startTimeMs);
+      goalResults.add(new GoalResult(succeeded, goal.isPartiallyOptimized(), duration, goal.provisionResponse(), changedReplicaDistribution,
+                                     changedLeaderDistribution));
+    }
+    return goalResults;
+  }
+
+  /**
+   * The result of optimizing a goal over a shard.
+   */
+  static class GoalResult {
+    private final boolean _succeeded;
+    private final boolean _partiallyOptimized;
+    private final Duration _duration;
+    private final ProvisionResponse _provisionResponse;
+    private final Map<TopicPartition, List<ReplicaPlacementInfo>> _changedReplicaDistribution;
+    private final Map<TopicPartition, ReplicaPlacementInfo> _changedLeaderDistribution;
+
+    GoalResult(boolean succeeded,
+               boolean partiallyOptimized,
+               Duration duration,
+               ProvisionResponse provisionResponse,
+               Map<TopicPartition, List<ReplicaPlacementInfo>> changedReplicaDistribution,
+               Map<TopicPartition, ReplicaPlacementInfo> changedLeaderDistribution) {
+      _succeeded = succeeded;
+      _partiallyOptimized = partiallyOptimized;
+      _duration = duration;
+      _provisionResponse = provisionResponse;
+      _changedReplicaDistribution = changedReplicaDistribution;
+      _changedLeaderDistribution = changedLeaderDistribution;
+    }
+
+    /**
+     * @return {@code true} if the goal succeeded over the shard, {@code false} otherwise.
+     */
+    boolean succeeded() {
+      return _succeeded;
+    }
+
+    /**
+     * @return {@code true} if the optimization of the goal over the shard stopped at its time budget, {@code false} otherwise.
+     */
+    boolean partiallyOptimized() {
+      return _partiallyOptimized;
+    }
+
+    /**
+     * @return {@code true} if the goal changed the placement of a partition in the shard, {@code false} otherwise.
+     */
+    boolean hasDiff() {
+      return !_changedReplicaDistribution.isEmpty();
+    }
+
+    /**
+     * @return The duration of optimizing the goal over the shard.
+     */
+    Duration duration() {
+      return _duration;
+    }
+
+    /**
+     * @return The provision response of the goal over the shard.
+     */
+    ProvisionResponse provisionResponse() {
+      return _provisionResponse;
+    }
+
+    /**
+     * Relocate the partitions changed by the goal in the given cluster model to their placement in the shard.
+     *
+     * @param clusterModel The cluster model containing the shard.
+     */
+    void applyTo(ClusterModel clusterModel) {
+      for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : _changedReplicaDistribution.entrySet()) {
+        clusterModel.relocatePartition(entry.getKey(), entry.getValue(), _changedLeaderDistribution.get(entry.getKey()));
+      }
+    }
+  }
+}
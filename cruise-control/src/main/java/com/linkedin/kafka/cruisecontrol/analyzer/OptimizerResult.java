@@ -60,6 +60,10 @@ public class OptimizerResult {
   private static final String PROVISION_STATUS = "provisionStatus";
   @JsonResponseField
   private static final String PROVISION_RECOMMENDATION = "provisionRecommendation";
+  @JsonResponseField(required = false)
+  private static final String ESTIMATED_INTER_BROKER_REPLICA_MOVEMENT_TIME_MS = "estimatedInterBrokerReplicaMovementTimeMs";
+  @JsonResponseField(required = false)
+  private static final String PARTIALLY_OPTIMIZED_GOALS = "partiallyOptimizedGoals";
   private static final String VIOLATED = "VIOLATED";
   private static final String FIXED = "FIXED";
   private static final String NO_ACTION = "NO-ACTION";
@@ -78,6 +82,9 @@ public class OptimizerResult {
   private final double _onDemandBalancednessScoreAfter;
   private final Map<String, Duration> _optimizationDurationByGoal;
   private final ProvisionResponse _provisionResponse;
+  private final Set<String> _partiallyOptimizedGoalNames;
+  // Estimated time to execute the inter-broker replica movements, if available.
+  private volatile Long _estimatedInterBrokerReplicaMovementTimeMs;
 
   OptimizerResult(LinkedHashMap<Goal, ClusterModelStats> statsByGoalPriority,
                   Set<String> violatedGoalNamesBeforeOptimization,
@@ -88,7 +95,8 @@ public class OptimizerResult {
                   OptimizationOptions optimizationOptions,
                   Map<String, Double> balancednessCostByGoal,
                   Map<String, Duration> optimizationDurationByGoal,
-                  ProvisionResponse provisionResponse) {
+                  ProvisionResponse provisionResponse,
+                  Set<String> partiallyOptimizedGoalNames) {
     validateNotNull(statsByGoalPriority, "The stats by goal priority cannot be null.");
     validateNotNull(optimizationDurationByGoal, "The optimization duration by goal priority cannot be null.");
     if (statsByGoalPriority.isEmpty()) {
@@ -118,6 +126,7 @@ public class OptimizerResult {
     _onDemandBalancednessScoreAfter = onDemandBalancednessScore(balancednessCostByGoal, _violatedGoalNamesAfterOptimization);
     _optimizationDurationByGoal = optimizationDurationByGoal;
     _provisionResponse = provisionResponse;
+    _partiallyOptimizedGoalNames = partiallyOptimizedGoalNames;
   }
 
   private double onDemandBalancednessScore(Map<String, Double> balancednessCostByGoal, Set<String> violatedGoals) {
@@ -246,6 +255,20 @@ public class OptimizerResult {
                                                                                                                             : FIXED : NO_ACTION;
   }
 
+  /**
+   * @return The names of the goals whose optimization stopped at their time budget with their best state so far.
+   */
+  public Set<String> partiallyOptimizedGoals() {
+    return Collections.unmodifiableSet(_partiallyOptimizedGoalNames);
+  }
+
+  /**
+   * @return {@code true} if the optimization of a goal stopped at its time budget, {@code false} otherwise.
+   */
+  public boolean isPartial() {
+    return !_partiallyOptimizedGoalNames.isEmpty();
+  }
+
   /**
    * @return The topics of partitions which are going to be modified by proposals.
    */
@@ -255,6 +278,20 @@ public class OptimizerResult {
     return topics;
   }
 
+  /**
+   * @return Estimated time in ms to execute the inter-broker replica movements, or {@code null} if not estimated.
+   */
+  public Long estimatedInterBrokerReplicaMovementTimeMs() {
+    return _estimatedInterBrokerReplicaMovementTimeMs;
+  }
+
+  /**
+   * @param estimatedInterBrokerReplicaMovementTimeMs Estimated time in ms to execute the inter-broker replica movements.
+   */
+  public void setEstimatedInterBrokerReplicaMovementTimeMs(long estimatedInterBrokerReplicaMovementTimeMs) {
+    _estimatedInterBrokerReplicaMovementTimeMs = estimatedInterBrokerReplicaMovementTimeMs;
+  }
+
   private List<Number> getMovementStats() {
     int numInterBrokerReplicaMovements = 0;
     int numIntraBrokerReplicaMovements = 0;
@@ -283,16 +320,19 @@ public class OptimizerResult {
   public String getProposalSummary() {
     List<Number> moveStats = getMovementStats();
     String recommendation = _provisionResponse.recommendation();
-    return String.format("%n%nOptimization has %d inter-broker replica(%d MB) moves, %d intra-broker replica(%d MB) moves"
+    Long estimatedTimeMs = _estimatedInterBrokerReplicaMovementTimeMs;
+    return String.format("%n%nOptimization has %d inter-broker replica(%d MB) moves%s, %d intra-broker replica(%d MB) moves"
                          + " and %d leadership moves with a cluster model of %d recent windows and %.3f%% of the partitions"
                          + " covered.%nExcluded Topics: %s.%nExcluded Brokers For Leadership: %s.%nExcluded Brokers For "
-                         + "Replica Move: %s.%nCounts: %s%nOn-demand Balancedness Score Before (%.3f) After(%.3f).%nProvision Status: %s.%s",
-                         moveStats.get(0).intValue(), moveStats.get(1).longValue(), moveStats.get(2).intValue(),
+                         + "Replica Move: %s.%nCounts: %s%nOn-demand Balancedness Score Before (%.3f) After(%.3f).%nProvision Status: %s.%s%s",
+                         moveStats.get(0).intValue(), moveStats.get(1).longValue(),
+                         estimatedTimeMs == null ? "" : String.format(" (estimated %d ms)", estimatedTimeMs), moveStats.get(2).intValue(),
                          moveStats.get(3).longValue(), moveStats.get(4).intValue(), _clusterModelStats.numWindows(),
                          _clusterModelStats.monitoredPartitionsPercentage(), excludedTopics(),
                          excludedBrokersForLeadership(), excludedBrokersForReplicaMove(), _clusterModelStats.toStringCounts(),
                          _onDemandBalancednessScoreBefore, _onDemandBalancednessScoreAfter, _provisionResponse.status(),
-                         recommendation.isEmpty() ? "" : String.format("%nProvision Recommendation: %s", recommendation));
+                         recommendation.isEmpty() ? "" : String.format("%nProvision Recommendation: %s", recommendation),
+                         isPartial() ? String.format("%nPartially Optimized Goals: %s.", _partiallyOptimizedGoalNames) : "");
   }
 
   /**
@@ -315,6 +355,13 @@ public class OptimizerResult {
     ret.put(ON_DEMAND_BALANCEDNESS_SCORE_AFTER, _onDemandBalancednessScoreAfter);
     ret.put(PROVISION_STATUS, _provisionResponse.status());
     ret.put(PROVISION_RECOMMENDATION, _provisionResponse.recommendation());
+    Long estimatedTimeMs = _estimatedInterBrokerReplicaMovementTimeMs;
+    if (estimatedTimeMs != null) {
+      ret.put(ESTIMATED_INTER_BROKER_REPLICA_MOVEMENT_TIME_MS, estimatedTimeMs);
+    }
+    if (isPartial()) {
+      ret.put(PARTIALLY_OPTIMIZED_GOALS, _partiallyOptimizedGoalNames);
+    }
     return ret;
   }
 }
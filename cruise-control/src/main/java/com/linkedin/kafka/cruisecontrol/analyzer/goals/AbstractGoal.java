@@ -7,6 +7,7 @@ package com.linkedin.kafka.cruisecontrol.analyzer.goals;
 
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance;
+import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptanceIndex;
 import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
@@ -21,9 +22,12 @@ import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
 import com.linkedin.kafka.cruisecontrol.model.Disk;
 import com.linkedin.kafka.cruisecontrol.model.Replica;
+import java.lang.reflect.Constructor;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Collection;
@@ -44,12 +48,24 @@ import static com.linkedin.kafka.cruisecontrol.analyzer.goals.GoalUtils.eligible
  */
 public abstract class AbstractGoal implements Goal {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractGoal.class);
+  // Pools to evaluate candidate brokers in parallel by their number of threads, which are shared by the goals.
+  private static final Map<Integer, ForkJoinPool> CANDIDATE_BROKER_EVALUATION_POOLS = new ConcurrentHashMap<>();
   protected boolean _finished;
   protected boolean _succeeded;
   protected BalancingConstraint _balancingConstraint;
   protected int _numWindows;
   protected double _minMonitoredPartitionPercentage;
   protected ProvisionResponse _provisionResponse;
+  // Whether the last optimization stopped at the time budget of the goal.
+  private boolean _partiallyOptimized;
+  // The pool to evaluate candidate brokers in parallel, or null if the candidate brokers are evaluated one by one.
+  private ForkJoinPool _candidateBrokerEvaluationPool;
+  // The configs that this goal has been configured with, or null if it has not been configured.
+  private Map<String, ?> _configs;
+  // The acceptance index of the optimized goals of the ongoing optimization, which filters the replica movements that
+  // these goals would reject, before checking their acceptance one by one.
+  private Set<Goal> _actionAcceptanceIndexGoals;
+  private ActionAcceptanceIndex _actionAcceptanceIndex;
 
   /**
    * Constructor of Abstract Goal class sets the
@@ -67,10 +83,41 @@ public abstract class AbstractGoal implements Goal {
 
   @Override
   public void configure(Map<String, ?> configs) {
+    _configs = configs;
     KafkaCruiseControlConfig parsedConfig = new KafkaCruiseControlConfig(configs);
     _balancingConstraint = new BalancingConstraint(parsedConfig);
     _numWindows = parsedConfig.getInt(MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG);
     _minMonitoredPartitionPercentage = parsedConfig.getDouble(MonitorConfig.MIN_VALID_PARTITION_RATIO_CONFIG);
+    int numCandidateBrokerEvaluationThreads = _balancingConstraint.numCandidateBrokerEvaluationThreads();
+    _candidateBrokerEvaluationPool = numCandidateBrokerEvaluationThreads == 1
+                                     ? null : CANDIDATE_BROKER_EVALUATION_POOLS.computeIfAbsent(numCandidateBrokerEvaluationThreads,
+                                                                                                ForkJoinPool::new);
+  }
+
+  /**
+   * Create a new instance of this goal with the same configuration -- i.e. configured with the same configs as this goal, and
+   * using the same balancing constraint and monitoring requirements. The new instance shares no optimization state with this
+   * goal, hence it can be optimized in parallel with this goal.
+   *
+   * @return A new instance of this goal with the same configuration.
+   */
+  public AbstractGoal newInstanceWithSameConfiguration() {
+    AbstractGoal goal;
+    try {
+      Constructor<? extends AbstractGoal> constructor = getClass().getDeclaredConstructor();
+      constructor.setAccessible(true);
+      goal = constructor.newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(String.format("Failed to create a new instance of goal %s.", name()), e);
+    }
+    if (_configs != null) {
+      goal.configure(_configs);
+    }
+    goal._balancingConstraint = _balancingConstraint;
+    goal._numWindows = _numWindows;
+    goal._minMonitoredPartitionPercentage = _minMonitoredPartitionPercentage;
+    goal._candidateBrokerEvaluationPool = _candidateBrokerEvaluationPool;
+    return goal;
   }
 
   private static boolean hasExcludedBrokersForReplicaMoveWithReplicas(ClusterModel clusterModel, OptimizationOptions optimizationOptions) {
@@ -90,16 +137,30 @@ public abstract class AbstractGoal implements Goal {
       ClusterModelStats statsBeforeOptimization = clusterModel.getClusterStats(_balancingConstraint, optimizationOptions);
       LOG.trace("[PRE - {}] {}", name(), statsBeforeOptimization);
       _finished = false;
+      _partiallyOptimized = false;
       long goalStartTime = System.currentTimeMillis();
+      long optimizationDeadlineMs = optimizationDeadlineMs(optimizationOptions, goalStartTime);
       initGoalState(clusterModel, optimizationOptions);
+      _actionAcceptanceIndexGoals = optimizedGoals;
+      _actionAcceptanceIndex = ActionAcceptanceIndex.compile(optimizedGoals, clusterModel);
       SortedSet<Broker> brokenBrokers = clusterModel.brokenBrokers();
       boolean originallyHasExcludedBrokersForReplicaMoveWithReplicas = hasExcludedBrokersForReplicaMoveWithReplicas(clusterModel,
                                                                                                                     optimizationOptions);
       while (!_finished) {
         for (Broker broker : brokersToBalance(clusterModel)) {
+          // Offline replicas must be moved regardless of the time budget, as the goal cannot leave them on broken brokers.
+          if (System.currentTimeMillis() >= optimizationDeadlineMs && !hasOfflineReplicas(brokenBrokers)) {
+            _partiallyOptimized = true;
+            break;
+          }
           rebalanceForBroker(broker, clusterModel, optimizedGoals, optimizationOptions);
         }
         updateGoalState(clusterModel, optimizationOptions);
+        if (_partiallyOptimized && !_finished) {
+          // Stop with the best state so far, as evaluated by the update of the goal state.
+          LOG.info("Stopped optimization for {} at its time budget after {}ms.", name(), System.currentTimeMillis() - goalStartTime);
+          finish();
+        }
       }
       ClusterModelStats statsAfterOptimization = clusterModel.getClusterStats(_balancingConstraint, optimizationOptions);
       LOG.trace("[POST - {}] {}", name(), statsAfterOptimization);
@@ -131,6 +192,8 @@ public abstract class AbstractGoal implements Goal {
     } finally {
       // Clear any sorted replicas tracked in the process of optimization.
       clusterModel.clearSortedReplicas();
+      _actionAcceptanceIndexGoals = null;
+      _actionAcceptanceIndex = null;
     }
   }
 
@@ -143,6 +206,32 @@ public abstract class AbstractGoal implements Goal {
     return this.getClass().getSimpleName();
   }
 
+  @Override
+  public boolean isPartiallyOptimized() {
+    return _partiallyOptimized;
+  }
+
+  // The wall-clock time to stop optimizing this goal at. Hard goals are always optimized to completion, whereas soft goals
+  // stop at the earlier of their own time budget and the deadline of the optimization.
+  private long optimizationDeadlineMs(OptimizationOptions optimizationOptions, long goalStartTimeMs) {
+    if (isHardGoal()) {
+      return Long.MAX_VALUE;
+    }
+    long goalOptimizationTimeBudgetMs = _balancingConstraint.goalOptimizationTimeBudgetMs();
+    long goalDeadlineMs = goalOptimizationTimeBudgetMs == -1L ? Long.MAX_VALUE : goalStartTimeMs + goalOptimizationTimeBudgetMs;
+    return Math.min(goalDeadlineMs, optimizationOptions.optimizationDeadlineMs());
+  }
+
+  // Whether any of the given broken brokers still hosts an offline replica.
+  private static boolean hasOfflineReplicas(SortedSet<Broker> brokenBrokers) {
+    for (Broker broker : brokenBrokers) {
+      if (!broker.currentOfflineReplicas().isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void finish() {
     _finished = true;
@@ -218,6 +307,9 @@ public abstract class AbstractGoal implements Goal {
    * followers for leadership transfer. If the movement attempt succeeds, the function returns the broker id of the
    * destination, otherwise the function returns null.
    *
+   * The candidate brokers are evaluated in parallel if {@link BalancingConstraint#numCandidateBrokerEvaluationThreads()} is
+   * more than one. Either way, the action is applied to the first acceptable broker in the order of the candidate brokers.
+   *
    * @param clusterModel    The state of the cluster.
    * @param replica         Replica to be applied the given balancing action.
    * @param candidateBrokers Candidate brokers as the potential destination brokers for replica movement or the location
@@ -240,35 +332,64 @@ public abstract class AbstractGoal implements Goal {
       LOG.trace("Applying {} to an online replica in in self-healing mode.", action);
     }
     List<Broker> eligibleBrokers = eligibleBrokers(clusterModel, replica, candidateBrokers, action, optimizationOptions);
-    for (Broker broker : eligibleBrokers) {
-      BalancingAction proposal = new BalancingAction(replica.topicPartition(), replica.broker().id(), broker.id(), action);
-      // A replica should be moved if:
-      // 0. The move is legit.
-      // 1. The goal requirements are not violated if this action is applied to the given cluster state.
-      // 2. The movement is acceptable by the previously optimized goals.
-
-      if (!legitMove(replica, broker, clusterModel, action)) {
-        LOG.trace("Replica move to broker is not legit for {}.", proposal);
-        continue;
+    Broker destinationBroker = null;
+    if (_candidateBrokerEvaluationPool != null && eligibleBrokers.size() > 1) {
+      // The checks do not change the cluster model, hence the candidates are evaluated in parallel. The ordered stream
+      // finds the first acceptable broker in the order of the eligible brokers.
+      destinationBroker = _candidateBrokerEvaluationPool.submit(
+          () -> eligibleBrokers.parallelStream()
+                               .filter(broker -> isAcceptableDestination(clusterModel, replica, broker, action, optimizedGoals))
+                               .findFirst()
+                               .orElse(null)).join();
+    } else {
+      for (Broker broker : eligibleBrokers) {
+        if (isAcceptableDestination(clusterModel, replica, broker, action, optimizedGoals)) {
+          destinationBroker = broker;
+          break;
+        }
       }
+    }
 
-      if (!selfSatisfied(clusterModel, proposal)) {
-        LOG.trace("Unable to self-satisfy proposal {}.", proposal);
-        continue;
+    if (destinationBroker != null) {
+      if (action == ActionType.LEADERSHIP_MOVEMENT) {
+        clusterModel.relocateLeadership(replica.topicPartition(), replica.broker().id(), destinationBroker.id());
+      } else if (action == ActionType.INTER_BROKER_REPLICA_MOVEMENT) {
+        clusterModel.relocateReplica(replica.topicPartition(), replica.broker().id(), destinationBroker.id());
       }
+    }
+    return destinationBroker;
+  }
 
-      ActionAcceptance acceptance = AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, proposal, clusterModel);
-      LOG.trace("Trying to apply legit and self-satisfied action {}, actionAcceptance = {}", proposal, acceptance);
-      if (acceptance == ACCEPT) {
-        if (action == ActionType.LEADERSHIP_MOVEMENT) {
-          clusterModel.relocateLeadership(replica.topicPartition(), replica.broker().id(), broker.id());
-        } else if (action == ActionType.INTER_BROKER_REPLICA_MOVEMENT) {
-          clusterModel.relocateReplica(replica.topicPartition(), replica.broker().id(), broker.id());
-        }
-        return broker;
-      }
+  private boolean isAcceptableDestination(ClusterModel clusterModel,
+                                          Replica replica,
+                                          Broker broker,
+                                          ActionType action,
+                                          Set<Goal> optimizedGoals) {
+    BalancingAction proposal = new BalancingAction(replica.topicPartition(), replica.broker().id(), broker.id(), action);
+    // A replica should be moved if:
+    // 0. The move is legit.
+    // 1. The goal requirements are not violated if this action is applied to the given cluster state.
+    // 2. The movement is acceptable by the previously optimized goals.
+
+    if (!legitMove(replica, broker, clusterModel, action)) {
+      LOG.trace("Replica move to broker is not legit for {}.", proposal);
+      return false;
     }
-    return null;
+
+    if (action == ActionType.INTER_BROKER_REPLICA_MOVEMENT && optimizedGoals == _actionAcceptanceIndexGoals
+        && !_actionAcceptanceIndex.mayAcceptReplicaMovement(replica, broker, clusterModel)) {
+      LOG.trace("Proposal {} violates the acceptance index of the optimized goals.", proposal);
+      return false;
+    }
+
+    if (!selfSatisfied(clusterModel, proposal)) {
+      LOG.trace("Unable to self-satisfy proposal {}.", proposal);
+      return false;
+    }
+
+    ActionAcceptance acceptance = AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, proposal, clusterModel);
+    LOG.trace("Trying to apply legit and self-satisfied action {}, actionAcceptance = {}", proposal, acceptance);
+    return acceptance == ACCEPT;
   }
 
   /**
@@ -10,6 +10,7 @@ import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionRecommendation;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionStatus;
 import com.linkedin.kafka.cruisecontrol.common.Resource;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance;
+import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptanceIndex;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionType;
@@ -101,6 +102,27 @@ public abstract class CapacityGoal extends AbstractGoal {
     }
   }
 
+  /**
+   * Publish the capacity limit of the resource in each broker (for broker resources) and host (for host resources), which
+   * {@link #isUtilizationUnderLimitAfterAddingLoad(Broker, double)} checks upon each replica movement.
+   *
+   * @param index The acceptance index to publish the limits to.
+   * @param clusterModel The state of the cluster.
+   */
+  @Override
+  public void publishAcceptanceLimits(ActionAcceptanceIndex index, ClusterModel clusterModel) {
+    Resource resource = resource();
+    double capacityThreshold = _balancingConstraint.capacityThreshold(resource);
+    for (Broker broker : clusterModel.brokers()) {
+      if (resource.isHostResource()) {
+        index.limitHostUtilization(broker, resource, broker.host().capacityFor(resource) * capacityThreshold);
+      }
+      if (resource.isBrokerResource()) {
+        index.limitBrokerUtilization(broker, resource, broker.capacityFor(resource) * capacityThreshold);
+      }
+    }
+  }
+
   @Override
   public ClusterModelStatsComparator clusterModelStatsComparator() {
     return new GoalUtils.HardGoalStatsComparator();
@@ -10,6 +10,7 @@ import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionResponse;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionStatus;
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance;
+import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptanceIndex;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
 import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
@@ -80,6 +81,20 @@ public interface Goal extends CruiseControlConfigurable {
    */
   ActionAcceptance actionAcceptance(BalancingAction action, ClusterModel clusterModel);
 
+  /**
+   * Publish the limits, which this goal imposes on the destination brokers of inter-broker replica movements, to the given
+   * index. The index rejects the replica movements that violate the published limits without calling
+   * {@link #actionAcceptance(BalancingAction, ClusterModel)}. Hence, each published limit must be a necessary condition
+   * for this goal to accept an inter-broker replica movement -- i.e. a goal that overrides
+   * {@link #actionAcceptance(BalancingAction, ClusterModel)} of a goal that publishes limits must either keep these limits,
+   * or override this method as well. By default, a goal publishes no limits.
+   *
+   * @param index The acceptance index to publish the limits to.
+   * @param clusterModel The state of the cluster.
+   */
+  default void publishAcceptanceLimits(ActionAcceptanceIndex index, ClusterModel clusterModel) {
+  }
+
   /**
    * Get an instance of {@link ClusterModelStatsComparator} for this goal.
    *
@@ -135,6 +150,16 @@ public interface Goal extends CruiseControlConfigurable {
    */
   ProvisionResponse provisionResponse();
 
+  /**
+   * Check whether the last optimization of this goal stopped at its time budget -- see
+   * {@link OptimizationOptions#optimizationDeadlineMs()} -- with its best state so far, rather than running to completion.
+   *
+   * @return {@code true} if the last optimization of this goal was cut short by its time budget, {@code false} otherwise.
+   */
+  default boolean isPartiallyOptimized() {
+    return false;
+  }
+
   /**
    * A comparator that compares two cluster model stats.
    * <p>
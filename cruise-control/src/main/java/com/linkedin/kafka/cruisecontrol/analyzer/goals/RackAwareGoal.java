@@ -6,6 +6,7 @@
 package com.linkedin.kafka.cruisecontrol.analyzer.goals;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptanceIndex;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionRecommendation;
@@ -60,6 +61,18 @@ public class RackAwareGoal extends AbstractRackAwareGoal {
                            .anyMatch(mappedRackIdOf(destinationBroker)::equals);
   }
 
+  /**
+   * Publish the requirement of placing the replicas of each partition in distinct racks, which
+   * {@link #doesReplicaMoveViolateActionAcceptance(ClusterModel, Replica, Broker)} checks upon each replica movement.
+   *
+   * @param index The acceptance index to publish the limits to.
+   * @param clusterModel The state of the cluster.
+   */
+  @Override
+  public void publishAcceptanceLimits(ActionAcceptanceIndex index, ClusterModel clusterModel) {
+    index.requireDistinctRacks(this::mappedRackIdOf);
+  }
+
   /**
    * This is a hard goal; hence, the proposals are not limited to dead broker replicas in case of self-healing.
    * Sanity Check: There exists sufficient number of racks for achieving rack-awareness.
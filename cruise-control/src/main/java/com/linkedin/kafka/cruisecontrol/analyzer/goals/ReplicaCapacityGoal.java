@@ -7,6 +7,7 @@ package com.linkedin.kafka.cruisecontrol.analyzer.goals;
 
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance;
+import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptanceIndex;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionType;
@@ -81,6 +82,18 @@ public class ReplicaCapacityGoal extends AbstractGoal {
     }
   }
 
+  /**
+   * Publish the maximum number of replicas per broker, which {@link #actionAcceptance(BalancingAction, ClusterModel)}
+   * checks upon each replica movement.
+   *
+   * @param index The acceptance index to publish the limits to.
+   * @param clusterModel The state of the cluster.
+   */
+  @Override
+  public void publishAcceptanceLimits(ActionAcceptanceIndex index, ClusterModel clusterModel) {
+    index.limitNumReplicasPerBroker(_balancingConstraint.maxReplicasPerBroker());
+  }
+
   @Override
   public ClusterModelStatsComparator clusterModelStatsComparator() {
     return new GoalUtils.HardGoalStatsComparator();
@@ -27,6 +27,7 @@ import com.linkedin.kafka.cruisecontrol.monitor.ModelCompletenessRequirements;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.SortedSet;
@@ -807,14 +808,16 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
                                                     !optimizationOptions.onlyMoveImmigrantReplicas())
                               .setScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(resource().name()))
                               .trackSortedReplicasFor(replicaSortName(this, true, actionType == LEADERSHIP_MOVEMENT), broker);
-    SortedSet<Replica> replicasToMove = broker.trackedSortedReplicas(replicaSortName(this, true, actionType == LEADERSHIP_MOVEMENT))
-                                              .sortedReplicas(true);
+    // Moving a replica out only removes it from the sorted replicas of the broker, hence they can be walked without a clone.
+    Iterator<Replica> replicasToMove = broker.trackedSortedReplicas(replicaSortName(this, true, actionType == LEADERSHIP_MOVEMENT))
+                                             .cursor();
 
     // If the source broker is excluded for replica move, set its upper limit to 0.
     double balanceUpperThresholdForSourceBroker = isExcludedForReplicaMove(broker) ? 0 : _balanceUpperThreshold;
     boolean fastMode = optimizationOptions.fastMode();
     // Now let's move things around.
-    for (Replica replica : replicasToMove) {
+    while (replicasToMove.hasNext()) {
+      Replica replica = replicasToMove.next();
       if (!replica.isCurrentOffline()) {
         if (fastMode && remainingTimeMs(_balancingConstraint.fastModePerBrokerMoveTimeoutMs(), moveStartTimeMs) <= 0) {
           LOG.debug("Move load out timeout in fast mode for broker {}.", broker.id());
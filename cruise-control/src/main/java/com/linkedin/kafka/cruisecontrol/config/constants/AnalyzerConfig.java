@@ -6,6 +6,7 @@ package com.linkedin.kafka.cruisecontrol.config.constants;
 
 import com.linkedin.kafka.cruisecontrol.analyzer.DefaultOptimizationOptionsGenerator;
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptionsGenerator;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.AbstractGoal;
 import com.linkedin.kafka.cruisecontrol.analyzer.goals.BrokerSetAwareGoal;
 import com.linkedin.kafka.cruisecontrol.analyzer.goals.CpuCapacityGoal;
 import com.linkedin.kafka.cruisecontrol.analyzer.goals.CpuUsageDistributionGoal;
@@ -460,6 +461,76 @@ public final class AnalyzerConfig {
       String.format("The class implements %s interface and is used to generate replica to broker set mapping.",
                     ReplicaToBrokerSetMappingPolicy.class.getName());
 
+  /**
+   * <code>optimization.sharding.enabled</code>
+   */
+  public static final String OPTIMIZATION_SHARDING_ENABLED_CONFIG = "optimization.sharding.enabled";
+  public static final boolean DEFAULT_OPTIMIZATION_SHARDING_ENABLED = false;
+  public static final String OPTIMIZATION_SHARDING_ENABLED_DOC = String.format("The flag to indicate whether to optimize the goals "
+      + "independently and in parallel for each shard of the cluster. A shard is a broker set resolved by %s, merged with the other "
+      + "broker sets that it shares a partition with. Each shard is optimized on its own cluster model, hence replicas are not moved "
+      + "across shards and the balancing thresholds of the goals are computed per shard. The optimization is not sharded if the "
+      + "cluster has a single shard, the cluster model populates replica placement over disks, contains demoted brokers or "
+      + "replicas that have already been relocated, destination brokers are requested, or a goal does not extend %s.",
+      BROKER_SET_RESOLVER_CLASS_CONFIG, AbstractGoal.class.getName());
+
+  /**
+   * <code>optimization.sharding.by.partition</code>
+   */
+  public static final String OPTIMIZATION_SHARDING_BY_PARTITION_CONFIG = "optimization.sharding.by.partition";
+  public static final boolean DEFAULT_OPTIMIZATION_SHARDING_BY_PARTITION = false;
+  public static final String OPTIMIZATION_SHARDING_BY_PARTITION_DOC = String.format("The flag to indicate whether to shard the "
+      + "optimization by topic partition rather than by broker set if %s is enabled. A shard is then a group of partitions whose "
+      + "replicas never share a broker with the partitions of the other groups, along with the brokers hosting them. Such shards "
+      + "need no broker set configuration, but replicas are not moved across them. In addition to the cases listed in %s, the "
+      + "optimization is not sharded by partition if a broker has no replicas -- e.g. a newly added broker.",
+      OPTIMIZATION_SHARDING_ENABLED_CONFIG, OPTIMIZATION_SHARDING_ENABLED_CONFIG);
+
+  /**
+   * <code>num.optimization.sharding.threads</code>
+   */
+  public static final String NUM_OPTIMIZATION_SHARDING_THREADS_CONFIG = "num.optimization.sharding.threads";
+  public static final int DEFAULT_NUM_OPTIMIZATION_SHARDING_THREADS = 4;
+  public static final String NUM_OPTIMIZATION_SHARDING_THREADS_DOC = String.format("The number of threads used to optimize the "
+      + "shards of the cluster in parallel if %s is enabled. Each shard being optimized holds a copy of its part of the cluster "
+      + "model, hence more threads use more memory and CPU resource.", OPTIMIZATION_SHARDING_ENABLED_CONFIG);
+
+  /**
+   * <code>num.candidate.broker.evaluation.threads</code>
+   */
+  public static final String NUM_CANDIDATE_BROKER_EVALUATION_THREADS_CONFIG = "num.candidate.broker.evaluation.threads";
+  public static final int DEFAULT_NUM_CANDIDATE_BROKER_EVALUATION_THREADS = 1;
+  public static final String NUM_CANDIDATE_BROKER_EVALUATION_THREADS_DOC = "The number of threads used to evaluate the candidate "
+      + "destination brokers of a balancing action in parallel -- i.e. whether moving a replica or leadership to each candidate "
+      + "broker is legit, satisfies the goal being optimized and is acceptable by the previously optimized goals. The first "
+      + "acceptable broker in the order of the candidates is picked regardless of the number of threads, hence the optimization "
+      + "result is the same as evaluating the candidates one by one. Goals share the threads with the same number of threads. "
+      + "The candidates are evaluated one by one if the number of threads is 1. The evaluation of the candidates by a custom "
+      + "goal must be thread-safe if it uses more than one thread.";
+
+  /**
+   * <code>optimization.time.budget.ms</code>
+   */
+  public static final String OPTIMIZATION_TIME_BUDGET_MS_CONFIG = "optimization.time.budget.ms";
+  public static final long DEFAULT_OPTIMIZATION_TIME_BUDGET_MS = -1L;
+  public static final String OPTIMIZATION_TIME_BUDGET_MS_DOC = "The wall-clock time budget in milliseconds to optimize the goals "
+      + "of a request. Once the budget is spent, the soft goal being optimized stops with its best state so far, and the "
+      + "remaining soft goals are not optimized. Hard goals are always optimized to completion, hence the proposals still satisfy "
+      + "the hard goals. Soft goals do not stop while replicas remain on dead brokers or broken disks. The optimization result "
+      + "reports the soft goals that were cut short as partially optimized. The budget applies to the goals that extend "
+      + "AbstractGoal. The optimization has no time budget if the value is -1.";
+
+  /**
+   * <code>goal.optimization.time.budget.ms</code>
+   */
+  public static final String GOAL_OPTIMIZATION_TIME_BUDGET_MS_CONFIG = "goal.optimization.time.budget.ms";
+  public static final long DEFAULT_GOAL_OPTIMIZATION_TIME_BUDGET_MS = -1L;
+  public static final String GOAL_OPTIMIZATION_TIME_BUDGET_MS_DOC = "The wall-clock time budget in milliseconds to optimize each "
+      + "soft goal. Once the budget is spent, the goal stops with its best state so far and is reported as partially optimized "
+      + "in the optimization result, unless replicas remain on dead brokers or broken disks. The budget applies to the soft "
+      + "goals that extend AbstractGoal, and is further limited by " + OPTIMIZATION_TIME_BUDGET_MS_CONFIG + ". Soft goals have "
+      + "no time budget of their own if the value is -1.";
+
   private AnalyzerConfig() {
   }
 
@@ -700,6 +771,40 @@ public final class AnalyzerConfig {
                     .define(REPLICA_TO_BROKER_SET_MAPPING_POLICY_CLASS_CONFIG,
                             ConfigDef.Type.CLASS, DEFAULT_REPLICA_TO_BROKER_SET_MAPPING_POLICY_CLASS,
                             ConfigDef.Importance.LOW,
-                            REPLICA_TO_BROKER_SET_MAPPING_POLICY_CLASS_DOC);
+                            REPLICA_TO_BROKER_SET_MAPPING_POLICY_CLASS_DOC)
+                    .define(OPTIMIZATION_SHARDING_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_OPTIMIZATION_SHARDING_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            OPTIMIZATION_SHARDING_ENABLED_DOC)
+                    .define(OPTIMIZATION_SHARDING_BY_PARTITION_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_OPTIMIZATION_SHARDING_BY_PARTITION,
+                            ConfigDef.Importance.LOW,
+                            OPTIMIZATION_SHARDING_BY_PARTITION_DOC)
+                    .define(NUM_OPTIMIZATION_SHARDING_THREADS_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_NUM_OPTIMIZATION_SHARDING_THREADS,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            NUM_OPTIMIZATION_SHARDING_THREADS_DOC)
+                    .define(NUM_CANDIDATE_BROKER_EVALUATION_THREADS_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_NUM_CANDIDATE_BROKER_EVALUATION_THREADS,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            NUM_CANDIDATE_BROKER_EVALUATION_THREADS_DOC)
+                    .define(OPTIMIZATION_TIME_BUDGET_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_OPTIMIZATION_TIME_BUDGET_MS,
+                            atLeast(-1),
+                            ConfigDef.Importance.LOW,
+                            OPTIMIZATION_TIME_BUDGET_MS_DOC)
+                    .define(GOAL_OPTIMIZATION_TIME_BUDGET_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_GOAL_OPTIMIZATION_TIME_BUDGET_MS,
+                            atLeast(-1),
+                            ConfigDef.Importance.LOW,
+                            GOAL_OPTIMIZATION_TIME_BUDGET_MS_DOC);
   }
 }
@@ -14,11 +14,13 @@ import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeSmallReplica
 import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.SingleReplicaMovementStrategy;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StageLargeReplicaMovementStrategy;
 import kafka.server.KafkaConfig;
 import org.apache.kafka.common.config.ConfigDef;
 
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.REASON_PARAM;
 import static org.apache.kafka.common.config.ConfigDef.Range.atLeast;
+import static org.apache.kafka.common.config.ConfigDef.Range.between;
 
 
 /**
@@ -219,6 +221,7 @@ public final class ExecutorConfig {
       .add(PrioritizeOneAboveMinIsrWithOfflineReplicasStrategy.class.getName())
       .add(BaseReplicaMovementStrategy.class.getName())
       .add(SingleReplicaMovementStrategy.class.getName())
+      .add(StageLargeReplicaMovementStrategy.class.getName())
       .toString();
   public static final String REPLICA_MOVEMENT_STRATEGIES_DOC = "A list of supported strategies used to determine execution"
       + " order for generated partition movement tasks.";
@@ -231,6 +234,51 @@ public final class ExecutorConfig {
   public static final String DEFAULT_REPLICA_MOVEMENT_STRATEGIES_DOC = "The list of replica movement strategies that will be used "
       + "by default if no replica movement strategy list is provided.";
 
+  /**
+   * <code>staged.replica.movement.min.partition.size.mb</code>
+   */
+  public static final String STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB_CONFIG = "staged.replica.movement.min.partition.size.mb";
+  public static final long DEFAULT_STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB = 10240L;
+  public static final String STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB_DOC = "The minimum size of a partition in MB whose "
+      + "inter-broker replica movement is split into staged single-replica hops if the StageLargeReplicaMovementStrategy is used. "
+      + "Each hop adds at most one new replica to the partition, and starts once the previous hop of the partition is completed, "
+      + "which bounds the data that a single partition moves at a time.";
+
+  /**
+   * <code>bandwidth.aware.inter.broker.replica.movement.scheduling.enabled</code>
+   */
+  public static final String BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_CONFIG =
+      "bandwidth.aware.inter.broker.replica.movement.scheduling.enabled";
+  public static final boolean DEFAULT_BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED = false;
+  public static final String BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_DOC = "True to pick the inter-broker "
+      + "replica movements to execute based on the data to move and the network capacity of brokers, false to pick them in a "
+      + "round-robin manner across brokers. If enabled, the movements that involve the brokers with the most data to move "
+      + "relative to their network capacity are executed first, starting from the largest movements, to reduce the total "
+      + "execution time. The order of the replica movement strategies only breaks ties between these movements.";
+
+  /**
+   * <code>pipelined.leadership.movement.enabled</code>
+   */
+  public static final String PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_CONFIG = "pipelined.leadership.movement.enabled";
+  public static final boolean DEFAULT_PIPELINED_LEADERSHIP_MOVEMENT_ENABLED = false;
+  public static final String PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_DOC = "True to execute the leadership movements of partitions "
+      + "without a pending or ongoing replica movement concurrently with the inter-broker replica movements of other partitions, "
+      + "false to execute all leadership movements after the replica movements. If enabled, the leadership movement of a "
+      + "partition starts once its replica movement (if any) is over, in batches that respect the cluster and per broker "
+      + "leadership movement concurrency.";
+
+  /**
+   * <code>concurrent.intra.broker.replica.movement.enabled</code>
+   */
+  public static final String CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_CONFIG = "concurrent.intra.broker.replica.movement.enabled";
+  public static final boolean DEFAULT_CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED = false;
+  public static final String CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_DOC = "True to execute the intra-broker replica "
+      + "movements on brokers without a pending or ongoing inter-broker replica movement concurrently with the inter-broker "
+      + "replica movements on other brokers, false to execute all intra-broker replica movements after the inter-broker replica "
+      + "movements. If enabled, the intra-broker replica movements still respect the per broker intra-broker replica movement "
+      + "concurrency, and a broker starts its intra-broker replica movements once it no longer takes part in any inter-broker "
+      + "replica movement.";
+
   /**
    * <code>execution.progress.check.interval.ms</code>
    */
@@ -537,6 +585,99 @@ public final class ExecutorConfig {
       "The minimum number of brokers with metrics violating concurrency adjuster limits that can lead to "
           + "cluster concurrency decrease.";
 
+  /**
+   * <code>replication.throttle.adjuster.enabled</code>
+   */
+  public static final String REPLICATION_THROTTLE_ADJUSTER_ENABLED_CONFIG = "replication.throttle.adjuster.enabled";
+  public static final boolean DEFAULT_REPLICATION_THROTTLE_ADJUSTER_ENABLED = false;
+  public static final String REPLICATION_THROTTLE_ADJUSTER_ENABLED_DOC = "Enable the adjustment of the replication throttle rate of "
+      + "each broker during the inter-broker replica movements of a throttled execution. The throttle rate of a broker is decreased "
+      + "if it hosts a replica of an (At/Under)MinISR partition, its metrics exceed the concurrency adjuster limits, or its request "
+      + "handler pool idle ratio is below the replication throttle adjuster limit, and increased otherwise. Only the throttle rates "
+      + "set by the execution are adjusted, and the adjustment interval is the concurrency adjuster interval.";
+
+  /**
+   * <code>replication.throttle.adjuster.additive.increase</code>
+   */
+  public static final String REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE_CONFIG = "replication.throttle.adjuster.additive.increase";
+  public static final long DEFAULT_REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE = 10L * 1024 * 1024;
+  public static final String REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE_DOC = "The fixed number of bytes/sec by which the "
+      + "replication throttle rate of a broker will be increased by the replication throttle adjuster (if enabled) when all "
+      + "considered metrics are within the limits.";
+
+  /**
+   * <code>replication.throttle.adjuster.multiplicative.decrease</code>
+   */
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE_CONFIG
+      = "replication.throttle.adjuster.multiplicative.decrease";
+  public static final int DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE = 2;
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE_DOC = "The fixed number by which the "
+      + "replication throttle rate of a broker will be divided by the replication throttle adjuster (if enabled) when any "
+      + "considered metric exceeds its limit.";
+
+  /**
+   * <code>replication.throttle.adjuster.min.rate</code>
+   */
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MIN_RATE_CONFIG = "replication.throttle.adjuster.min.rate";
+  public static final long DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MIN_RATE = 1024L * 1024;
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MIN_RATE_DOC = "The minimum replication throttle rate in bytes/sec "
+      + "that the replication throttle adjuster (if enabled) can set for a broker.";
+
+  /**
+   * <code>replication.throttle.adjuster.max.rate</code>
+   */
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MAX_RATE_CONFIG = "replication.throttle.adjuster.max.rate";
+  public static final long DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MAX_RATE = 1024L * 1024 * 1024;
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MAX_RATE_DOC = "The maximum replication throttle rate in bytes/sec "
+      + "that the replication throttle adjuster (if enabled) can set for a broker.";
+
+  /**
+   * <code>replication.throttle.adjuster.min.request.handler.idle.ratio</code>
+   */
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO_CONFIG
+      = "replication.throttle.adjuster.min.request.handler.idle.ratio";
+  public static final double DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO = 0.2;
+  public static final String REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO_DOC = "The limit on the broker metric "
+      + "value of request handler pool average idle ratio. If any broker falls below this limit during an ongoing reassignment, "
+      + "the replication throttle adjuster (if enabled) decreases its replication throttle rate.";
+
+  /**
+   * <code>proposal.execution.time.estimation.enabled</code>
+   */
+  public static final String PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED_CONFIG = "proposal.execution.time.estimation.enabled";
+  public static final boolean DEFAULT_PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED = false;
+  public static final String PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED_DOC = "The flag to indicate whether to estimate the time "
+      + "to execute the inter-broker replica movements of the proposals in the responses of the proposal and goal based operation "
+      + "requests. The estimate replays the execution schedule of the proposals with the replica movement strategy and the "
+      + "concurrency of the request, hence it adds the cost of planning the execution to each such request.";
+
+  /**
+   * <code>execution.time.estimator.default.replica.movement.rate</code>
+   */
+  public static final String EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE_CONFIG
+      = "execution.time.estimator.default.replica.movement.rate";
+  public static final double DEFAULT_EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE = 10.0;
+  public static final String EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE_DOC = "The rate in MB/s of a single "
+      + "inter-broker replica movement that the execution time estimator assumes until it learns the rate of brokers from "
+      + "completed movements.";
+
+  /**
+   * <code>execution.time.estimator.state.file</code>
+   */
+  public static final String EXECUTION_TIME_ESTIMATOR_STATE_FILE_CONFIG = "execution.time.estimator.state.file";
+  public static final String DEFAULT_EXECUTION_TIME_ESTIMATOR_STATE_FILE = "";
+  public static final String EXECUTION_TIME_ESTIMATOR_STATE_FILE_DOC = "The file to persist the inter-broker replica movement "
+      + "rates that the execution time estimator learns, so that the rates survive restarts. An empty value disables persistence.";
+
+  /**
+   * <code>execution.journal.file</code>
+   */
+  public static final String EXECUTION_JOURNAL_FILE_CONFIG = "execution.journal.file";
+  public static final String DEFAULT_EXECUTION_JOURNAL_FILE = "";
+  public static final String EXECUTION_JOURNAL_FILE_DOC = "The file to journal the proposals and the task state transitions of "
+      + "the ongoing execution, so that the execution is resumed without regenerating its proposals if Cruise Control restarts "
+      + "before the execution finishes. An empty value disables the journal.";
+
   /**
    * <code>list.partition.reassignment.timeout.ms</code>
    */
@@ -562,6 +703,16 @@ public final class ExecutorConfig {
   public static final String MIN_EXECUTION_PROGRESS_CHECK_INTERVAL_MS_DOC = "The minimum execution progress check interval that users "
       + "can dynamically set the execution progress check interval to.";
 
+  /**
+   * <code>execution.progress.probe.interval.ms</code>
+   */
+  public static final String EXECUTION_PROGRESS_PROBE_INTERVAL_MS_CONFIG = "execution.progress.probe.interval.ms";
+  public static final long DEFAULT_EXECUTION_PROGRESS_PROBE_INTERVAL_MS = TimeUnit.SECONDS.toMillis(1);
+  public static final String EXECUTION_PROGRESS_PROBE_INTERVAL_MS_DOC = "The interval to check whether the reassignment of any "
+      + "in-progress inter-broker partition movement is over, once it is expected to be over based on the duration of the "
+      + "completed movements. Upon the completion of a movement, the execution progress is checked without waiting for the "
+      + "rest of the execution progress check interval, so that new movements can start in its place.";
+
   /**
    * <code>slow.task.alerting.backoff.ms</code>
    */
@@ -754,6 +905,27 @@ public final class ExecutorConfig {
                             DEFAULT_DEFAULT_REPLICA_MOVEMENT_STRATEGIES,
                             ConfigDef.Importance.MEDIUM,
                             DEFAULT_REPLICA_MOVEMENT_STRATEGIES_DOC)
+                    .define(STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB,
+                            atLeast(0),
+                            ConfigDef.Importance.LOW,
+                            STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB_DOC)
+                    .define(BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_DOC)
+                    .define(PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_PIPELINED_LEADERSHIP_MOVEMENT_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_DOC)
+                    .define(CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_DOC)
                     .define(EXECUTION_PROGRESS_CHECK_INTERVAL_MS_CONFIG,
                             ConfigDef.Type.LONG,
                             DEFAULT_EXECUTION_PROGRESS_CHECK_INTERVAL_MS,
@@ -942,6 +1114,62 @@ public final class ExecutorConfig {
                             atLeast(1),
                             ConfigDef.Importance.LOW,
                             MIN_NUM_BROKERS_VIOLATE_METRIC_LIMIT_TO_DECREASE_CLUSTER_CONCURRENCY_DOC)
+                    .define(REPLICATION_THROTTLE_ADJUSTER_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_REPLICATION_THROTTLE_ADJUSTER_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            REPLICATION_THROTTLE_ADJUSTER_ENABLED_DOC)
+                    .define(REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE_DOC)
+                    .define(REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE,
+                            atLeast(2),
+                            ConfigDef.Importance.LOW,
+                            REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE_DOC)
+                    .define(REPLICATION_THROTTLE_ADJUSTER_MIN_RATE_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MIN_RATE,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            REPLICATION_THROTTLE_ADJUSTER_MIN_RATE_DOC)
+                    .define(REPLICATION_THROTTLE_ADJUSTER_MAX_RATE_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MAX_RATE,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            REPLICATION_THROTTLE_ADJUSTER_MAX_RATE_DOC)
+                    .define(REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO_CONFIG,
+                            ConfigDef.Type.DOUBLE,
+                            DEFAULT_REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO,
+                            between(0, 1),
+                            ConfigDef.Importance.LOW,
+                            REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO_DOC)
+                    .define(EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE_CONFIG,
+                            ConfigDef.Type.DOUBLE,
+                            DEFAULT_EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE,
+                            atLeast(0.001),
+                            ConfigDef.Importance.LOW,
+                            EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE_DOC)
+                    .define(PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            PROPOSAL_EXECUTION_TIME_ESTIMATION_ENABLED_DOC)
+                    .define(EXECUTION_TIME_ESTIMATOR_STATE_FILE_CONFIG,
+                            ConfigDef.Type.STRING,
+                            DEFAULT_EXECUTION_TIME_ESTIMATOR_STATE_FILE,
+                            ConfigDef.Importance.LOW,
+                            EXECUTION_TIME_ESTIMATOR_STATE_FILE_DOC)
+                    .define(EXECUTION_JOURNAL_FILE_CONFIG,
+                            ConfigDef.Type.STRING,
+                            DEFAULT_EXECUTION_JOURNAL_FILE,
+                            ConfigDef.Importance.LOW,
+                            EXECUTION_JOURNAL_FILE_DOC)
                     .define(LIST_PARTITION_REASSIGNMENTS_TIMEOUT_MS_CONFIG,
                             ConfigDef.Type.LONG,
                             DEFAULT_LIST_PARTITION_REASSIGNMENTS_TIMEOUT_MS,
@@ -960,6 +1188,12 @@ public final class ExecutorConfig {
                             atLeast(1),
                             ConfigDef.Importance.MEDIUM,
                             MIN_EXECUTION_PROGRESS_CHECK_INTERVAL_MS_DOC)
+                    .define(EXECUTION_PROGRESS_PROBE_INTERVAL_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_EXECUTION_PROGRESS_PROBE_INTERVAL_MS,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            EXECUTION_PROGRESS_PROBE_INTERVAL_MS_DOC)
                     .define(SLOW_TASK_ALERTING_BACKOFF_TIME_MS_CONFIG,
                             ConfigDef.Type.LONG,
                             DEFAULT_SLOW_TASK_ALERTING_BACKOFF_TIME_MS,
@@ -162,6 +162,17 @@ public final class MonitorConfig {
       + "samples in different windows. This configuration configures The number of completeness cache slots to "
       + "maintain.";
 
+  /**
+   * <code>partition.metric.sample.aggregator.off.heap.store.enabled</code>
+   */
+  public static final String PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED_CONFIG =
+      "partition.metric.sample.aggregator.off.heap.store.enabled";
+  public static final boolean DEFAULT_PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED = false;
+  public static final String PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED_DOC = "Whether the partition "
+      + "metric sample aggregator keeps the metric values of all partitions in a single columnar region of direct memory "
+      + "instead of in small arrays per partition on the heap. This reduces the heap usage and the garbage collection "
+      + "overhead for clusters with a large number of partitions. The direct memory is bounded by -XX:MaxDirectMemorySize.";
+
   /**
    * <code>broker.metrics.window.ms</code>
    */
@@ -316,6 +327,18 @@ public final class MonitorConfig {
   public static final String USE_LINEAR_REGRESSION_MODEL_DOC = "Use the linear regression model to estimate the "
       + "cpu utilization.";
 
+  /**
+   * <code>incremental.cluster.model.enabled</code>
+   */
+  public static final String INCREMENTAL_CLUSTER_MODEL_ENABLED_CONFIG = "incremental.cluster.model.enabled";
+  public static final boolean DEFAULT_INCREMENTAL_CLUSTER_MODEL_ENABLED = false;
+  public static final String INCREMENTAL_CLUSTER_MODEL_ENABLED_DOC = "The flag to indicate whether the load monitor keeps "
+      + "the last cluster model it generated and creates the subsequent cluster models with the same load generation from "
+      + "it, by updating only the partitions whose metadata has changed, instead of generating each cluster model from "
+      + "scratch. Enabling this keeps an additional cluster model in memory. The broker capacities of the cluster models created "
+      + "this way are the ones resolved when the kept cluster model was generated, hence it should not be enabled if the broker "
+      + "capacity config resolver may resolve different capacities within a load generation.";
+
   /**
    * <code>sample.store.class</code>
    */
@@ -325,6 +348,25 @@ public final class MonitorConfig {
       + "that persists the metric samples that have already been aggregated into Kafka Cruise Control. Later on the "
       + "persisted samples can be reloaded from the sample store to Kafka Cruise Control.";
 
+  /**
+   * <code>metric.sample.aggregator.checkpoint.file</code>
+   */
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE_CONFIG = "metric.sample.aggregator.checkpoint.file";
+  public static final String DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE = "";
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE_DOC = "The local file to periodically checkpoint the "
+      + "state of the partition and broker metric sample aggregators and the linear regression model parameters to. On "
+      + "startup, the state is restored from the checkpoint and only the samples newer than the checkpoint are loaded from "
+      + "the sample store, which is much faster than loading all the samples. An empty value disables the checkpoint.";
+
+  /**
+   * <code>metric.sample.aggregator.checkpoint.interval.ms</code>
+   */
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_CONFIG = "metric.sample.aggregator.checkpoint.interval.ms";
+  public static final long DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_DOC = "The minimum interval in milliseconds "
+      + "between two checkpoints of the metric sample aggregators. The checkpoint is written after a metric sampling "
+      + "finishes, so the actual interval is rounded up to the metric sampling interval.";
+
   /**
    * <code>sample.partition.metrics.store.on.execution.class</code>
    */
@@ -464,6 +506,11 @@ public final class MonitorConfig {
                             atLeast(0),
                             ConfigDef.Importance.LOW,
                             PARTITION_METRIC_SAMPLE_AGGREGATOR_COMPLETENESS_CACHE_SIZE_DOC)
+                    .define(PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED_DOC)
                     .define(BROKER_METRICS_WINDOW_MS_CONFIG,
                             ConfigDef.Type.LONG,
                             DEFAULT_BROKER_METRICS_WINDOW_MS,
@@ -567,11 +614,27 @@ public final class MonitorConfig {
                             DEFAULT_USE_LINEAR_REGRESSION_MODEL_CONFIG,
                             ConfigDef.Importance.MEDIUM,
                             USE_LINEAR_REGRESSION_MODEL_DOC)
+                    .define(INCREMENTAL_CLUSTER_MODEL_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_INCREMENTAL_CLUSTER_MODEL_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            INCREMENTAL_CLUSTER_MODEL_ENABLED_DOC)
                     .define(SAMPLE_STORE_CLASS_CONFIG,
                             ConfigDef.Type.CLASS,
                             DEFAULT_SAMPLE_STORE_CLASS,
                             ConfigDef.Importance.LOW,
                             SAMPLE_STORE_CLASS_DOC)
+                    .define(METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE_CONFIG,
+                            ConfigDef.Type.STRING,
+                            DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE,
+                            ConfigDef.Importance.LOW,
+                            METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE_DOC)
+                    .define(METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS,
+                            atLeast(0),
+                            ConfigDef.Importance.LOW,
+                            METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_DOC)
                     .define(SAMPLE_PARTITION_METRIC_STORE_ON_EXECUTION_CLASS_CONFIG,
                             ConfigDef.Type.CLASS, DEFAULT_SAMPLE_PARTITION_METRIC_STORE_ON_EXECUTION_CLASS,
                             ConfigDef.Importance.LOW, SAMPLE_PARTITION_METRIC_STORE_ON_EXECUTION_CLASS_DOC)
@@ -25,7 +25,7 @@ import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutorState;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
-import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaDistributionJournal;
 import com.linkedin.kafka.cruisecontrol.monitor.ModelGeneration;
 import java.util.Collections;
 import java.util.List;
@@ -33,7 +33,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.regex.Pattern;
-import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -301,9 +300,8 @@ public class GoalViolationDetector extends AbstractAnomalyDetector implements Ru
       LOG.info("Skipping goal violation detection because the cluster model does not have any topic.");
       return false;
     }
-    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
-    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
-    try {
+    boolean hasDiff;
+    try (ReplicaDistributionJournal journal = clusterModel.startReplicaDistributionJournal()) {
       OptimizationOptions options = _optimizationOptionsGenerator.optimizationOptionsForGoalViolationDetection(clusterModel,
                                                                                                                excludedTopics(clusterModel),
                                                                                                                excludedBrokersForLeadership,
@@ -312,6 +310,7 @@ public class GoalViolationDetector extends AbstractAnomalyDetector implements Ru
         _hasPartitionsWithRFGreaterThanNumRacks = clusterModel.maxReplicationFactor() > clusterModel.aliveRacksAllowedReplicaMoves(options).size();
       }
       goal.optimize(clusterModel, Collections.emptySet(), options);
+      hasDiff = AnalyzerUtils.hasDiff(journal, clusterModel);
     } catch (OptimizationFailureException ofe) {
       // An OptimizationFailureException indicates (1) a hard goal violation that cannot be fixed typically due to
       // lack of physical hardware (e.g. insufficient number of racks to satisfy rack awareness, insufficient number
@@ -320,7 +319,6 @@ public class GoalViolationDetector extends AbstractAnomalyDetector implements Ru
       goalViolations.addViolation(goal.name(), false);
       return true;
     }
-    boolean hasDiff = AnalyzerUtils.hasDiff(initReplicaDistribution, initLeaderDistribution, clusterModel);
     LOG.trace("{} generated {} proposals", goal.name(), hasDiff ? "some" : "no");
     if (hasDiff) {
       // A goal violation that can be optimized by applying the generated proposals.
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Picks the inter-broker replica movements to execute with a critical-path / longest-processing-time-first heuristic.
+ * <p>
+ * The replication traffic of an inter-broker replica movement goes out of the source broker (i.e. the old leader) and
+ * into each destination broker. The time to move the remaining data out of (into) a broker is at least the data to move
+ * out of (into) the broker divided by its outbound (inbound) replication capacity. The broker with the longest such time
+ * is on the critical path of the execution, and bounds its total duration. Hence, the movements that involve the
+ * brokers with the longest remaining time are executed first and, among those, the movements with the most data to
+ * move, so that the large movements do not start late and prolong the execution. The remaining time of the brokers is
+ * recomputed each time movements are picked, i.e. the plan is revised as the movements complete.
+ * <p>
+ * Concurrent movements into (out of) a broker share the inbound (outbound) bandwidth of the broker. Hence, once a broker
+ * takes part in a movement in a direction, the remaining time of the broker in that direction no longer counts toward
+ * the priority of the other movements, so that the concurrency slots are not spent on movements that would only slow
+ * each other down while the brokers of other movements are idle.
+ * <p>
+ * The capacity of the brokers whose capacity is unknown is the average capacity of the brokers with a known capacity.
+ * If no capacity is known, all brokers are assumed to have the same capacity.
+ * <p>
+ * This class is not thread safe.
+ */
+class BandwidthAwareTaskScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(BandwidthAwareTaskScheduler.class);
+  private static final double UNIFORM_CAPACITY = 1.0;
+  private final Map<Integer, Double> _inboundCapacityByBrokerId;
+  private final Map<Integer, Double> _outboundCapacityByBrokerId;
+  private double _defaultInboundCapacity;
+  private double _defaultOutboundCapacity;
+  // The movements picked to execute, which are removed once their partitions are no longer in progress.
+  private final Set<ExecutionTask> _scheduledTasks;
+
+  BandwidthAwareTaskScheduler() {
+    _scheduledTasks = new HashSet<>();
+    _inboundCapacityByBrokerId = new HashMap<>();
+    _outboundCapacityByBrokerId = new HashMap<>();
+    _defaultInboundCapacity = UNIFORM_CAPACITY;
+    _defaultOutboundCapacity = UNIFORM_CAPACITY;
+  }
+
+  /**
+   * Set the replication capacity of brokers. The capacities of a broker must be positive and in the same unit as the
+   * capacities of the other brokers.
+   *
+   * @param inboundCapacityByBrokerId Inbound replication capacity by broker id.
+   * @param outboundCapacityByBrokerId Outbound replication capacity by broker id.
+   */
+  void setBrokerCapacity(Map<Integer, Double> inboundCapacityByBrokerId, Map<Integer, Double> outboundCapacityByBrokerId) {
+    _inboundCapacityByBrokerId.clear();
+    _outboundCapacityByBrokerId.clear();
+    inboundCapacityByBrokerId.forEach((brokerId, capacity) -> {
+      if (capacity > 0) {
+        _inboundCapacityByBrokerId.put(brokerId, capacity);
+      }
+    });
+    outboundCapacityByBrokerId.forEach((brokerId, capacity) -> {
+      if (capacity > 0) {
+        _outboundCapacityByBrokerId.put(brokerId, capacity);
+      }
+    });
+    _defaultInboundCapacity = averageCapacity(_inboundCapacityByBrokerId.values());
+    _defaultOutboundCapacity = averageCapacity(_outboundCapacityByBrokerId.values());
+  }
+
+  private static double averageCapacity(Collection<Double> capacities) {
+    return capacities.stream().mapToDouble(Double::doubleValue).average().orElse(UNIFORM_CAPACITY);
+  }
+
+  /**
+   * Get the time to move the data of the given remaining tasks out of and into each broker, relative to the capacity
+   * of the broker.
+   *
+   * @param remainingTasks The remaining inter-broker replica movements.
+   * @param outboundTimeByBrokerId The map to populate with the time to move the data out of each broker.
+   * @param inboundTimeByBrokerId The map to populate with the time to move the data into each broker.
+   */
+  void remainingTimeByBroker(Collection<ExecutionTask> remainingTasks,
+                             Map<Integer, Double> outboundTimeByBrokerId,
+                             Map<Integer, Double> inboundTimeByBrokerId) {
+    for (ExecutionTask task : remainingTasks) {
+      ExecutionProposal proposal = task.proposal();
+      int sourceBroker = proposal.oldLeader().brokerId();
+      outboundTimeByBrokerId.merge(sourceBroker, proposal.interBrokerDataToMoveInMB() / outboundCapacity(sourceBroker), Double::sum);
+      for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
+        int brokerId = destinationBroker.brokerId();
+        inboundTimeByBrokerId.merge(brokerId, proposal.partitionSize() / inboundCapacity(brokerId), Double::sum);
+      }
+    }
+  }
+
+  /**
+   * @param remainingTasks The remaining inter-broker replica movements.
+   * @return The lower bound of the time to execute the given remaining tasks, relative to the capacity of the brokers.
+   */
+  double makespanLowerBound(Collection<ExecutionTask> remainingTasks) {
+    Map<Integer, Double> outboundTimeByBrokerId = new HashMap<>();
+    Map<Integer, Double> inboundTimeByBrokerId = new HashMap<>();
+    remainingTimeByBroker(remainingTasks, outboundTimeByBrokerId, inboundTimeByBrokerId);
+    double makespan = 0.0;
+    for (double time : outboundTimeByBrokerId.values()) {
+      makespan = Math.max(makespan, time);
+    }
+    for (double time : inboundTimeByBrokerId.values()) {
+      makespan = Math.max(makespan, time);
+    }
+    return makespan;
+  }
+
+  /**
+   * Get a list of executable inter-broker replica movements that comply with the concurrency constraint and partitions
+   * in move constraint provided, in the order of their priority to execute. The slots of the brokers involved in the
+   * returned movements are taken from the given ready brokers.
+   *
+   * @param remainingTasks The remaining inter-broker replica movements.
+   * @param taskComparator The order of the tasks of the replica movement strategy, which breaks ties between tasks with
+   *                       the same priority.
+   * @param readyBrokers The brokers that is ready to execute more movements.
+   * @param inProgressPartitions Topic partitions of replicas that are already in progress.
+   * @param maxInterBrokerPartitionMovements Maximum cap for number of partitions to move at any time.
+   * @return A list of movements that is executable for the ready brokers.
+   */
+  List<ExecutionTask> schedule(Collection<ExecutionTask> remainingTasks,
+                               Comparator<ExecutionTask> taskComparator,
+                               Map<Integer, Integer> readyBrokers,
+                               Set<TopicPartition> inProgressPartitions,
+                               int maxInterBrokerPartitionMovements) {
+    // The movements picked earlier that are still in progress share the bandwidth of their brokers.
+    _scheduledTasks.removeIf(task -> !inProgressPartitions.contains(task.proposal().topicPartition()));
+    Set<Integer> brokersWithOutboundMovement = new HashSet<>();
+    Set<Integer> brokersWithInboundMovement = new HashSet<>();
+    _scheduledTasks.forEach(task -> addMovement(task.proposal(), brokersWithOutboundMovement, brokersWithInboundMovement));
+
+    int numInProgressPartitions = inProgressPartitions.size();
+    if (numInProgressPartitions >= maxInterBrokerPartitionMovements || remainingTasks.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Map<Integer, Double> outboundTimeByBrokerId = new HashMap<>();
+    Map<Integer, Double> inboundTimeByBrokerId = new HashMap<>();
+    remainingTimeByBroker(remainingTasks, outboundTimeByBrokerId, inboundTimeByBrokerId);
+    // Another movement into or out of a broker that already takes part in a movement only shares its bandwidth.
+    outboundTimeByBrokerId.keySet().removeAll(brokersWithOutboundMovement);
+    inboundTimeByBrokerId.keySet().removeAll(brokersWithInboundMovement);
+
+    Comparator<PrioritizedTask> priority = Comparator.comparingDouble(PrioritizedTask::criticalPathTime).reversed()
+        .thenComparing(Comparator.comparingLong((PrioritizedTask pt) -> pt.task().proposal().interBrokerDataToMoveInMB()).reversed())
+        .thenComparing(PrioritizedTask::task, taskComparator);
+    PriorityQueue<PrioritizedTask> candidates = new PriorityQueue<>(Math.max(1, remainingTasks.size()), priority);
+    for (ExecutionTask task : remainingTasks) {
+      if (!inProgressPartitions.contains(task.proposal().topicPartition())) {
+        candidates.add(new PrioritizedTask(task, criticalPathTime(task.proposal(), outboundTimeByBrokerId, inboundTimeByBrokerId)));
+      }
+    }
+
+    List<ExecutionTask> executableReplicaMovements = new ArrayList<>();
+    while (!candidates.isEmpty()) {
+      if (numInProgressPartitions >= maxInterBrokerPartitionMovements) {
+        LOG.trace("In progress Partitions {} reached/exceeded Max partitions to move in cluster {}. Not adding anymore tasks.",
+                  numInProgressPartitions, maxInterBrokerPartitionMovements);
+        break;
+      }
+      PrioritizedTask candidate = candidates.poll();
+      ExecutionProposal proposal = candidate.task().proposal();
+      double criticalPathTime = criticalPathTime(proposal, outboundTimeByBrokerId, inboundTimeByBrokerId);
+      if (criticalPathTime < candidate.criticalPathTime()) {
+        // Some brokers of this movement took part in the movements picked since this movement was prioritized.
+        candidates.add(new PrioritizedTask(candidate.task(), criticalPathTime));
+      } else if (takeSlots(proposal, readyBrokers)) {
+        executableReplicaMovements.add(candidate.task());
+        _scheduledTasks.add(candidate.task());
+        outboundTimeByBrokerId.remove(proposal.oldLeader().brokerId());
+        proposal.replicasToAdd().forEach(r -> inboundTimeByBrokerId.remove(r.brokerId()));
+        numInProgressPartitions++;
+        LOG.debug("Found ready task {} on the critical path of {}. Broker concurrency state: {}",
+                  candidate.task(), candidate.criticalPathTime(), readyBrokers);
+      }
+    }
+    return executableReplicaMovements;
+  }
+
+  private static void addMovement(ExecutionProposal proposal, Set<Integer> brokersWithOutboundMovement, Set<Integer> brokersWithInboundMovement) {
+    brokersWithOutboundMovement.add(proposal.oldLeader().brokerId());
+    proposal.replicasToAdd().forEach(r -> brokersWithInboundMovement.add(r.brokerId()));
+  }
+
+  // The longest remaining time of the brokers that the movement of the given proposal involves.
+  private static double criticalPathTime(ExecutionProposal proposal,
+                                         Map<Integer, Double> outboundTimeByBrokerId,
+                                         Map<Integer, Double> inboundTimeByBrokerId) {
+    double time = outboundTimeByBrokerId.getOrDefault(proposal.oldLeader().brokerId(), 0.0);
+    for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
+      time = Math.max(time, inboundTimeByBrokerId.getOrDefault(destinationBroker.brokerId(), 0.0));
+    }
+    return time;
+  }
+
+  // Take a slot of the source and each destination broker of the given proposal if all of them have a slot available.
+  private static boolean takeSlots(ExecutionProposal proposal, Map<Integer, Integer> readyBrokers) {
+    int sourceBroker = proposal.oldLeader().brokerId();
+    if (readyBrokers.getOrDefault(sourceBroker, 0) <= 0) {
+      return false;
+    }
+    for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
+      if (readyBrokers.getOrDefault(destinationBroker.brokerId(), 0) <= 0) {
+        return false;
+      }
+    }
+    readyBrokers.merge(sourceBroker, -1, Integer::sum);
+    for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
+      readyBrokers.merge(destinationBroker.brokerId(), -1, Integer::sum);
+    }
+    return true;
+  }
+
+  private double inboundCapacity(int brokerId) {
+    return _inboundCapacityByBrokerId.getOrDefault(brokerId, _defaultInboundCapacity);
+  }
+
+  private double outboundCapacity(int brokerId) {
+    return _outboundCapacityByBrokerId.getOrDefault(brokerId, _defaultOutboundCapacity);
+  }
+
+  private static final class PrioritizedTask {
+    private final ExecutionTask _task;
+    private final double _criticalPathTime;
+
+    PrioritizedTask(ExecutionTask task, double criticalPathTime) {
+      _task = task;
+      _criticalPathTime = criticalPathTime;
+    }
+
+    ExecutionTask task() {
+      return _task;
+    }
+
+    double criticalPathTime() {
+      return _criticalPathTime;
+    }
+  }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * An append-only journal of the ongoing execution, which allows the execution to be resumed after Cruise Control restarts
+ * without regenerating and replanning its proposals.
+ *
+ * The journal is a local file of one JSON record per line. Upon the start of an execution, the journal is replaced with
+ * a record of the execution options followed by a record of each proposal to execute. Then a record is appended for each
+ * state transition of the execution tasks, as reported by {@link ExecutionTaskTracker#markTaskState(ExecutionTask, ExecutionTaskState)}.
+ * Records are flushed to the file as they are appended, hence they survive a crash of the process, but not of the host.
+ * <ul>
+ *   <li>Once the execution finishes or is stopped, the journal is deleted.</li>
+ *   <li>Once Cruise Control shuts down, the journal is closed before the execution is stopped, so that the execution can be
+ *   resumed upon the next startup.</li>
+ * </ul>
+ * Upon {@link #recover()}, the proposals whose tasks were marked {@link ExecutionTaskState#DEAD} are dropped, as they
+ * failed in the previous run. The proposals whose tasks were completed are kept, as the execution task planner skips the
+ * movements that are already completed in the cluster.
+ *
+ * The journal is disabled if {@link ExecutorConfig#EXECUTION_JOURNAL_FILE_CONFIG} is empty. The journal is thread safe.
+ */
+public class ExecutionJournal {
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutionJournal.class);
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final char RECORD_TYPE_SEPARATOR = ' ';
+  private static final String EXECUTION_RECORD = "execution";
+  private static final String PROPOSAL_RECORD = "proposal";
+  private static final String TASK_RECORD = "task";
+  private final Gson _gson;
+  private final Path _journalFile;
+  // The writer of the ongoing execution, null if there is no ongoing execution or the journal is closed.
+  private Writer _writer;
+  private boolean _closed;
+
+  /**
+   * @param config The configurations for Cruise Control.
+   */
+  public ExecutionJournal(KafkaCruiseControlConfig config) {
+    String journalFile = config.getString(ExecutorConfig.EXECUTION_JOURNAL_FILE_CONFIG);
+    _journalFile = journalFile == null || journalFile.isEmpty() ? null : Paths.get(journalFile);
+    _gson = new Gson();
+    _writer = null;
+    _closed = false;
+  }
+
+  /**
+   * @return {@code true} if the journal is enabled, {@code false} otherwise.
+   */
+  public boolean isEnabled() {
+    return _journalFile != null;
+  }
+
+  /**
+   * Replace the journal with the given execution and its proposals, and start recording the state transitions of its tasks.
+   * A failure to write the journal is logged rather than failing the execution.
+   *
+   * @param execution The options of the execution to journal.
+   * @param proposals The proposals to execute.
+   */
+  public synchronized void startExecution(Execution execution, Collection<ExecutionProposal> proposals) {
+    if (_journalFile == null) {
+      return;
+    }
+    closeWriter();
+    _closed = false;
+    Path tempFile = _journalFile.resolveSibling(_journalFile.getFileName() + TEMP_FILE_SUFFIX);
+    try {
+      try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+        writeRecord(writer, EXECUTION_RECORD, execution);
+        for (ExecutionProposal proposal : proposals) {
+          writeRecord(writer, PROPOSAL_RECORD, new ProposalRecord(proposal));
+        }
+      }
+      Files.move(tempFile, _journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      _writer = Files.newBufferedWriter(_journalFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+      LOG.info("Journaled execution {} with {} proposals to {}.", execution.uuid(), proposals.size(), _journalFile);
+    } catch (IOException e) {
+      LOG.warn("Failed to journal execution {} to {}. The execution cannot be resumed after a restart.", execution.uuid(), _journalFile, e);
+      closeWriter();
+    }
+  }
+
+  /**
+   * Record the state transition of the given task, if there is an ongoing execution in the journal.
+   *
+   * @param task The task whose state changed.
+   * @param state The new state of the task.
+   */
+  public synchronized void recordTaskState(ExecutionTask task, ExecutionTaskState state) {
+    if (_writer == null) {
+      return;
+    }
+    try {
+      writeRecord(_writer, TASK_RECORD, new TaskRecord(task, state));
+      _writer.flush();
+    } catch (IOException e) {
+      LOG.warn("Failed to journal the state transition of task {} to {}. The execution cannot be resumed after a restart.",
+               task, _journalFile, e);
+      closeWriter();
+    }
+  }
+
+  /**
+   * Delete the journal of the finished or stopped execution, unless the journal is closed.
+   */
+  public synchronized void finishExecution() {
+    if (_journalFile == null || _closed) {
+      return;
+    }
+    closeWriter();
+    try {
+      Files.deleteIfExists(_journalFile);
+    } catch (IOException e) {
+      LOG.warn("Failed to delete the execution journal {}.", _journalFile, e);
+    }
+  }
+
+  /**
+   * Stop recording and keep the journal as is -- i.e. the ongoing execution (if any) is resumed upon the next startup.
+   * The journal remains closed until the next {@link #startExecution(Execution, Collection)}.
+   */
+  public synchronized void close() {
+    closeWriter();
+    _closed = true;
+  }
+
+  /**
+   * Recover the execution in the journal, if any.
+   *
+   * @return The execution in the journal with the proposals to resume, or {@code null} if there is no execution to resume.
+   */
+  public synchronized Execution recover() {
+    if (_journalFile == null || !Files.isRegularFile(_journalFile)) {
+      return null;
+    }
+    Execution execution = null;
+    Map<TopicPartition, ExecutionProposal> proposalByPartition = new LinkedHashMap<>();
+    Set<TopicPartition> deadPartitions = new HashSet<>();
+    try (BufferedReader reader = Files.newBufferedReader(_journalFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int separator = line.indexOf(RECORD_TYPE_SEPARATOR);
+        String recordType = separator < 0 ? line : line.substring(0, separator);
+        String json = separator < 0 ? "" : line.substring(separator + 1);
+        try {
+          switch (recordType) {
+            case EXECUTION_RECORD:
+              execution = _gson.fromJson(json, Execution.class);
+              break;
+            case PROPOSAL_RECORD:
+              ExecutionProposal proposal = _gson.fromJson(json, ProposalRecord.class).toProposal();
+              proposalByPartition.put(proposal.topicPartition(), proposal);
+              break;
+            case TASK_RECORD:
+              TaskRecord taskRecord = _gson.fromJson(json, TaskRecord.class);
+              if (taskRecord._state == ExecutionTaskState.DEAD) {
+                deadPartitions.add(new TopicPartition(taskRecord._topic, taskRecord._partition));
+              }
+              break;
+            default:
+              throw new JsonParseException("Unknown record type " + recordType);
+          }
+        } catch (JsonParseException | IllegalArgumentException | NullPointerException e) {
+          // The last record may be partially written upon a crash.
+          LOG.warn("Skipped malformed record in the execution journal {}: {}", _journalFile, line, e);
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to recover the execution from the journal {}.", _journalFile, e);
+      return null;
+    }
+    if (execution == null) {
+      LOG.warn("Ignored the execution journal {} without an execution record.", _journalFile);
+      return null;
+    }
+    proposalByPartition.keySet().removeAll(deadPartitions);
+    execution._proposals = new ArrayList<>(proposalByPartition.values());
+    LOG.info("Recovered execution {} with {} proposals to resume ({} proposals with dead tasks are dropped) from {}.",
+             execution.uuid(), execution._proposals.size(), deadPartitions.size(), _journalFile);
+    return execution;
+  }
+
+  private void writeRecord(Writer writer, String recordType, Object record) throws IOException {
+    writer.write(recordType);
+    writer.write(RECORD_TYPE_SEPARATOR);
+    writer.write(_gson.toJson(record));
+    writer.write(System.lineSeparator());
+  }
+
+  private void closeWriter() {
+    if (_writer != null) {
+      try {
+        _writer.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the execution journal {}.", _journalFile, e);
+      }
+      _writer = null;
+    }
+  }
+
+  /**
+   * The options of a journaled execution, and the proposals to resume upon recovery.
+   */
+  public static final class Execution {
+    private final String _uuid;
+    private final String _reason;
+    private final Long _replicationThrottle;
+    private final Set<Integer> _demotedBrokers;
+    private final Set<Integer> _removedBrokers;
+    private final Set<Integer> _brokersToSkipConcurrencyCheck;
+    private final boolean _isKafkaAssignerMode;
+    private final boolean _skipInterBrokerReplicaConcurrencyAdjustment;
+    // Not journaled as part of the execution record, but set upon recovery.
+    private transient List<ExecutionProposal> _proposals;
+
+    /**
+     * @param uuid UUID of the execution.
+     * @param reason Reason of the execution.
+     * @param replicationThrottle The replication throttle (bytes/second) of the execution, null if no throttling is applied.
+     * @param demotedBrokers Demoted brokers, null if no broker has been demoted.
+     * @param removedBrokers Removed brokers, null if no broker has been removed.
+     * @param brokersToSkipConcurrencyCheck Brokers that do not need to be throttled, null if none.
+     * @param isKafkaAssignerMode {@code true} if kafka assigner mode, {@code false} otherwise.
+     * @param skipInterBrokerReplicaConcurrencyAdjustment {@code true} to skip auto adjusting concurrency of inter-broker
+     * replica movements, {@code false} otherwise.
+     */
+    public Execution(String uuid,
+                     String reason,
+                     Long replicationThrottle,
+                     Collection<Integer> demotedBrokers,
+                     Collection<Integer> removedBrokers,
+                     Collection<Integer> brokersToSkipConcurrencyCheck,
+                     boolean isKafkaAssignerMode,
+                     boolean skipInterBrokerReplicaConcurrencyAdjustment) {
+      _uuid = uuid;
+      _reason = reason;
+      _replicationThrottle = replicationThrottle;
+      _demotedBrokers = demotedBrokers == null ? Collections.emptySet() : new HashSet<>(demotedBrokers);
+      _removedBrokers = removedBrokers == null ? Collections.emptySet() : new HashSet<>(removedBrokers);
+      _brokersToSkipConcurrencyCheck = brokersToSkipConcurrencyCheck == null ? Collections.emptySet()
+                                                                             : new HashSet<>(brokersToSkipConcurrencyCheck);
+      _isKafkaAssignerMode = isKafkaAssignerMode;
+      _skipInterBrokerReplicaConcurrencyAdjustment = skipInterBrokerReplicaConcurrencyAdjustment;
+      _proposals = Collections.emptyList();
+    }
+
+    public String uuid() {
+      return _uuid;
+    }
+
+    public String reason() {
+      return _reason;
+    }
+
+    public Long replicationThrottle() {
+      return _replicationThrottle;
+    }
+
+    public Set<Integer> demotedBrokers() {
+      return Collections.unmodifiableSet(_demotedBrokers);
+    }
+
+    public Set<Integer> removedBrokers() {
+      return Collections.unmodifiableSet(_removedBrokers);
+    }
+
+    public Set<Integer> brokersToSkipConcurrencyCheck() {
+      return Collections.unmodifiableSet(_brokersToSkipConcurrencyCheck);
+    }
+
+    public boolean isKafkaAssignerMode() {
+      return _isKafkaAssignerMode;
+    }
+
+    public boolean skipInterBrokerReplicaConcurrencyAdjustment() {
+      return _skipInterBrokerReplicaConcurrencyAdjustment;
+    }
+
+    /**
+     * @return The proposals to resume, which are set upon {@link #recover()}.
+     */
+    public List<ExecutionProposal> proposals() {
+      return Collections.unmodifiableList(_proposals);
+    }
+  }
+
+  /**
+   * The journal record of a proposal.
+   */
+  private static final class ProposalRecord {
+    private final String _topic;
+    private final int _partition;
+    private final long _partitionSize;
+    private final ReplicaRecord _oldLeader;
+    private final List<ReplicaRecord> _oldReplicas;
+    private final List<ReplicaRecord> _newReplicas;
+
+    private ProposalRecord(ExecutionProposal proposal) {
+      _topic = proposal.topic();
+      _partition = proposal.partitionId();
+      _partitionSize = proposal.partitionSize();
+      _oldLeader = new ReplicaRecord(proposal.oldLeader());
+      _oldReplicas = proposal.oldReplicas().stream().map(ReplicaRecord::new).collect(Collectors.toList());
+      _newReplicas = proposal.newReplicas().stream().map(ReplicaRecord::new).collect(Collectors.toList());
+    }
+
+    private ExecutionProposal toProposal() {
+      return new ExecutionProposal(new TopicPartition(_topic, _partition), _partitionSize, _oldLeader.toReplica(),
+                                   _oldReplicas.stream().map(ReplicaRecord::toReplica).collect(Collectors.toList()),
+                                   _newReplicas.stream().map(ReplicaRecord::toReplica).collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * The journal record of a replica placement.
+   */
+  private static final class ReplicaRecord {
+    private final int _brokerId;
+    private final String _logdir;
+
+    private ReplicaRecord(ReplicaPlacementInfo replica) {
+      _brokerId = replica.brokerId();
+      _logdir = replica.logdir();
+    }
+
+    private ReplicaPlacementInfo toReplica() {
+      return new ReplicaPlacementInfo(_brokerId, _logdir);
+    }
+  }
+
+  /**
+   * The journal record of a task state transition.
+   */
+  private static final class TaskRecord {
+    private final ExecutionTask.TaskType _type;
+    private final String _topic;
+    private final int _partition;
+    private final ExecutionTaskState _state;
+
+    private TaskRecord(ExecutionTask task, ExecutionTaskState state) {
+      _type = task.type();
+      _topic = task.proposal().topic();
+      _partition = task.proposal().partitionId();
+      _state = state;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils.CLIENT_REQUEST_TIMEOUT_MS;
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION;
+
+
+/**
+ * Tracks the progress of the in-execution tasks by polling only the state of the partitions of these tasks, instead of
+ * refreshing the metadata of the whole cluster.
+ *
+ * Between two progress checks, the tracker first waits until the earliest expected completion of an in-execution
+ * inter-broker replica movement, which is estimated from the time that the completed movements took to move a MB of data.
+ * Then, until the execution progress check interval elapses, it probes every {@link #_probeIntervalMs} whether the
+ * reassignment of any in-execution partition is over. Hence, the concurrency slots freed by the finished tasks are refilled
+ * without waiting for the whole execution progress check interval.
+ */
+class ExecutionProgressTracker {
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutionProgressTracker.class);
+  // The weight of the latest completed movement in the moving average of the time to move a MB of data.
+  static final double MS_PER_MB_SMOOTHING_FACTOR = 0.2;
+  private static final double UNKNOWN_MS_PER_MB = -1.0;
+  private final AdminClient _adminClient;
+  private final Time _time;
+  private final long _probeIntervalMs;
+  private volatile double _msPerMB;
+
+  /**
+   * @param adminClient The admin client to poll the state of the in-execution partitions.
+   * @param time The time to estimate the completion of the in-execution tasks, which also sets their start time.
+   * @param probeIntervalMs The interval between the checks of whether the reassignment of any in-execution partition is over.
+   */
+  ExecutionProgressTracker(AdminClient adminClient, Time time, long probeIntervalMs) {
+    _adminClient = adminClient;
+    _time = time;
+    _probeIntervalMs = probeIntervalMs;
+    _msPerMB = UNKNOWN_MS_PER_MB;
+  }
+
+  /**
+   * Update the estimated time to move a MB of data with the given completed task.
+   *
+   * @param task A completed task.
+   */
+  void recordCompletion(ExecutionTask task) {
+    long dataToMoveInMB = task.proposal().interBrokerDataToMoveInMB();
+    if (task.type() != INTER_BROKER_REPLICA_ACTION || task.state() != ExecutionTaskState.COMPLETED || dataToMoveInMB <= 0) {
+      return;
+    }
+    double msPerMB = (double) Math.max(0L, task.endTimeMs() - task.startTimeMs()) / dataToMoveInMB;
+    _msPerMB = _msPerMB == UNKNOWN_MS_PER_MB ? msPerMB
+                                             : (1 - MS_PER_MB_SMOOTHING_FACTOR) * _msPerMB + MS_PER_MB_SMOOTHING_FACTOR * msPerMB;
+  }
+
+  /**
+   * @return The estimated time to move a MB of data, or a negative value if no inter-broker replica movement has completed.
+   */
+  double msPerMB() {
+    return _msPerMB;
+  }
+
+  /**
+   * @param tasks The in-execution tasks.
+   * @return The time until the earliest expected completion of the given in-execution inter-broker replica movements,
+   * which is {@code 0} if it cannot be estimated.
+   */
+  long expectedCompletionDelayMs(Collection<ExecutionTask> tasks) {
+    double msPerMB = _msPerMB;
+    if (msPerMB == UNKNOWN_MS_PER_MB) {
+      return 0L;
+    }
+    long nowMs = _time.milliseconds();
+    long delayMs = Long.MAX_VALUE;
+    for (ExecutionTask task : tasks) {
+      if (task.type() != INTER_BROKER_REPLICA_ACTION) {
+        continue;
+      }
+      if (task.state() != ExecutionTaskState.IN_PROGRESS) {
+        // Aborting and dead tasks are expected to be over soon.
+        return 0L;
+      }
+      long expectedEndMs = task.startTimeMs() + (long) (task.proposal().interBrokerDataToMoveInMB() * msPerMB);
+      delayMs = Math.min(delayMs, Math.max(0L, expectedEndMs - nowMs));
+    }
+    return delayMs == Long.MAX_VALUE ? 0L : delayMs;
+  }
+
+  /**
+   * Wait for the in-execution tasks to make progress for up to the given time. If there are in-execution inter-broker
+   * replica movements, the wait is over once the reassignment of any of their partitions is over.
+   *
+   * @param tasks The in-execution tasks.
+   * @param maxWaitMs The maximum time to wait, i.e. the execution progress check interval.
+   * @param stopRequested {@code true} if the execution is requested to stop, which ends the wait.
+   */
+  void awaitProgress(Collection<ExecutionTask> tasks, long maxWaitMs, BooleanSupplier stopRequested) {
+    long deadlineMs = System.currentTimeMillis() + maxWaitMs;
+    Set<TopicPartition> reassigningPartitions = new HashSet<>();
+    for (ExecutionTask task : tasks) {
+      if (task.type() == INTER_BROKER_REPLICA_ACTION) {
+        reassigningPartitions.add(task.proposal().topicPartition());
+      }
+    }
+    try {
+      if (reassigningPartitions.isEmpty()) {
+        Thread.sleep(maxWaitMs);
+        return;
+      }
+      Thread.sleep(Math.min(maxWaitMs, expectedCompletionDelayMs(tasks)));
+      long remainingMs;
+      while ((remainingMs = deadlineMs - System.currentTimeMillis()) > 0 && !stopRequested.getAsBoolean()) {
+        Set<TopicPartition> ongoingReassignments = ExecutionUtils.partitionsBeingReassigned(_adminClient, reassigningPartitions);
+        if (!ongoingReassignments.containsAll(reassigningPartitions)) {
+          return;
+        }
+        Thread.sleep(Math.min(remainingMs, _probeIntervalMs));
+      }
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.debug("Failed to check the ongoing partition reassignments. Wait until the next execution progress check.", e);
+      sleepUntil(deadlineMs);
+    } catch (InterruptedException e) {
+      // let it go
+    }
+  }
+
+  private static void sleepUntil(long deadlineMs) {
+    long remainingMs = deadlineMs - System.currentTimeMillis();
+    if (remainingMs > 0) {
+      try {
+        Thread.sleep(remainingMs);
+      } catch (InterruptedException e) {
+        // let it go
+      }
+    }
+  }
+
+  /**
+   * Get the state of the in-execution partitions. The returned cluster contains the alive brokers and the partitions of
+   * the topics of the given tasks. The partitions of deleted topics are not in the returned cluster.
+   *
+   * @param tasks The in-execution tasks.
+   * @return The cluster with the state of the in-execution partitions.
+   */
+  Cluster inExecutionCluster(Collection<ExecutionTask> tasks) throws InterruptedException, ExecutionException, TimeoutException {
+    Set<String> topics = new HashSet<>();
+    tasks.forEach(task -> topics.add(task.proposal().topic()));
+    DescribeClusterResult describeClusterResult = _adminClient.describeCluster();
+    Map<String, KafkaFuture<TopicDescription>> topicDescriptions =
+        topics.isEmpty() ? Collections.emptyMap() : _adminClient.describeTopics(topics).topicNameValues();
+
+    long deadlineMs = System.currentTimeMillis() + CLIENT_REQUEST_TIMEOUT_MS;
+    Collection<Node> nodes = describeClusterResult.nodes().get(CLIENT_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    Map<Integer, Node> nodesById = new HashMap<>();
+    nodes.forEach(node -> nodesById.put(node.id(), node));
+    List<PartitionInfo> partitions = new ArrayList<>();
+    for (Map.Entry<String, KafkaFuture<TopicDescription>> entry : topicDescriptions.entrySet()) {
+      TopicDescription topicDescription;
+      try {
+        topicDescription = entry.getValue().get(Math.max(0L, deadlineMs - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof UnknownTopicOrPartitionException) {
+          // The topic has been deleted.
+          continue;
+        }
+        throw e;
+      }
+      for (TopicPartitionInfo tpi : topicDescription.partitions()) {
+        partitions.add(new PartitionInfo(entry.getKey(), tpi.partition(), aliveNode(tpi.leader(), nodesById),
+                                         toArray(tpi.replicas(), nodesById), toArray(tpi.isr(), nodesById)));
+      }
+    }
+    return new Cluster(null, nodes, partitions, Collections.emptySet(), Collections.emptySet());
+  }
+
+  // Use the same node instances as the alive brokers of the cluster, which keeps node equality consistent with the metadata.
+  private static Node aliveNode(Node node, Map<Integer, Node> nodesById) {
+    if (node == null || node.isEmpty()) {
+      return node;
+    }
+    return nodesById.getOrDefault(node.id(), node);
+  }
+
+  private static Node[] toArray(List<Node> nodes, Map<Integer, Node> nodesById) {
+    Node[] array = new Node[nodes.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = aliveNode(nodes.get(i), nodesById);
+    }
+    return array;
+  }
+}
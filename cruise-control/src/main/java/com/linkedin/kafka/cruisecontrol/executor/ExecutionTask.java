@@ -21,15 +21,18 @@ import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseClass;
  *
  * <pre>
  * PENDING ---&gt; IN_PROGRESS ------------&gt; COMPLETED
- *                  |
- *                  |
- *                  |----&gt; ABORTING ----&gt; ABORTED
- *                  |          |
- *                  |          v
- *                  |-------------------&gt; DEAD
+ *    |             |
+ *    |             |----&gt; ABORTING ----&gt; ABORTED
+ *    |             |          |             ^
+ *    |             |          v             |
+ *    |             |-------------------&gt; DEAD
+ *    |                                      |
+ *    |--------------------------------------|
  *
  * A newly created task is in {@code PENDING} state.
  * A {@code PENDING} task becomes {@code IN_PROGRESS} when it is drained from the {@link ExecutionTaskPlanner}
+ * A {@code PENDING} task becomes {@code ABORTED} if it is cancelled before being executed, e.g. a held hop of a staged
+ * inter-broker replica movement whose previous hop is aborted or dead.
  * An {@code IN_PROGRESS} task becomes {@code COMPLETED} if the execution is done without error.
  * An {@code IN_PROGRESS} task becomes {@code ABORTING} if an error is encountered and the rollback is possible.
  * An {@code IN_PROGRESS} task becomes {@code DEAD} if an error is encountered and the rollback is not possible.
@@ -62,7 +65,7 @@ public class ExecutionTask implements Comparable<ExecutionTask> {
   private boolean _slowExecutionReported;
 
   static {
-    VALID_TRANSFER.put(ExecutionTaskState.PENDING, new HashSet<>(Collections.singleton(ExecutionTaskState.IN_PROGRESS)));
+    VALID_TRANSFER.put(ExecutionTaskState.PENDING, new HashSet<>(Arrays.asList(ExecutionTaskState.IN_PROGRESS, ExecutionTaskState.ABORTED)));
     VALID_TRANSFER.put(ExecutionTaskState.IN_PROGRESS,
             new HashSet<>(Arrays.asList(ExecutionTaskState.ABORTING, ExecutionTaskState.DEAD, ExecutionTaskState.COMPLETED)));
     VALID_TRANSFER.put(ExecutionTaskState.ABORTING, new HashSet<>(Arrays.asList(ExecutionTaskState.ABORTED, ExecutionTaskState.DEAD)));
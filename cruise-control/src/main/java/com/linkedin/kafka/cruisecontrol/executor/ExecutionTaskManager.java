@@ -9,9 +9,13 @@ import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.executor.concurrency.ExecutionConcurrencyManager;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.ReplicaMovementStrategy;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +46,7 @@ public class ExecutionTaskManager {
   private final ExecutionTaskTracker _executionTaskTracker;
   private final ExecutionTaskPlanner _executionTaskPlanner;
   private final ExecutionConcurrencyManager _executionConcurrencyManager;
+  private final ExecutionJournal _executionJournal;
   private final Set<Integer> _brokersToSkipConcurrencyCheck;
   private boolean _isKafkaAssignerMode;
 
@@ -60,7 +65,8 @@ public class ExecutionTaskManager {
     _inProgressInterBrokerReplicaMovementsByBrokerId = new HashMap<>();
     _inProgressIntraBrokerReplicaMovementsByBrokerId = new HashMap<>();
     _inProgressPartitionsForInterBrokerMovement = new HashSet<>();
-    _executionTaskTracker = new ExecutionTaskTracker(dropwizardMetricRegistry, time);
+    _executionJournal = new ExecutionJournal(config);
+    _executionTaskTracker = new ExecutionTaskTracker(dropwizardMetricRegistry, time, _executionJournal);
     _executionTaskPlanner = new ExecutionTaskPlanner(adminClient, config);
     _executionConcurrencyManager = new ExecutionConcurrencyManager(config);
     _brokersToSkipConcurrencyCheck = new HashSet<>();
@@ -71,6 +77,50 @@ public class ExecutionTaskManager {
     return _executionConcurrencyManager;
   }
 
+  public ExecutionJournal executionJournal() {
+    return _executionJournal;
+  }
+
+  /**
+   * Start journaling the given execution with the proposals of its remaining tasks, if the execution journal is enabled.
+   *
+   * @param execution The options of the execution to journal.
+   */
+  public synchronized void journalExecution(ExecutionJournal.Execution execution) {
+    if (!_executionJournal.isEnabled()) {
+      return;
+    }
+    Set<ExecutionProposal> proposals = new LinkedHashSet<>();
+    // The hops of a staged inter-broker replica movement are journaled as the proposal they are staged from.
+    Arrays.asList(_executionTaskPlanner.remainingInterBrokerReplicaMovements(),
+                  _executionTaskPlanner.remainingIntraBrokerReplicaMovements(),
+                  _executionTaskPlanner.remainingLeadershipMovements(),
+                  _executionTaskTracker.inExecutionTasks(TaskType.cachedValues()))
+          .forEach(tasks -> tasks.forEach(task -> proposals.add(_executionTaskPlanner.originalProposal(task))));
+    _executionJournal.startExecution(execution, proposals);
+  }
+
+  /**
+   * Adopt the inter-broker replica movements of the given partitions, whose reassignment is already ongoing in the cluster
+   * -- e.g. started before a restart. The adopted movements are marked in progress without being submitted again.
+   *
+   * @param partitionsBeingReassigned Partitions being reassigned in the cluster.
+   * @return The adopted inter-broker replica movements.
+   */
+  public synchronized List<ExecutionTask> adoptInterBrokerReplicaMovements(Set<TopicPartition> partitionsBeingReassigned) {
+    List<ExecutionTask> adoptedTasks = new ArrayList<>();
+    for (ExecutionTask task : _executionTaskPlanner.remainingInterBrokerReplicaMovements()) {
+      // The ongoing reassignment of a staged movement is replaced by its first hop upon submitting the hop.
+      if (partitionsBeingReassigned.contains(task.proposal().topicPartition())
+          && _executionTaskPlanner.originalProposal(task) == task.proposal()) {
+        adoptedTasks.add(task);
+      }
+    }
+    _executionTaskPlanner.removeInterBrokerReplicaMovementTasks(adoptedTasks);
+    markTasksInProgress(adoptedTasks);
+    return adoptedTasks;
+  }
+
   /**
    * @return A list of execution tasks that move the replicas cross brokers.
    */
@@ -82,6 +132,25 @@ public class ExecutionTaskManager {
         _executionConcurrencyManager.maxClusterInterBrokerPartitionMovements());
   }
 
+  /**
+   * @return {@code true} if the inter-broker replica movements are picked based on the bandwidth of brokers,
+   * {@code false} otherwise.
+   */
+  public boolean isBandwidthAwareScheduling() {
+    return _executionTaskPlanner.isBandwidthAwareScheduling();
+  }
+
+  /**
+   * Set the replication capacity of brokers to pick the inter-broker replica movements based on the bandwidth of brokers.
+   *
+   * @param inboundCapacityByBrokerId Inbound replication capacity by broker id.
+   * @param outboundCapacityByBrokerId Outbound replication capacity by broker id.
+   */
+  public synchronized void setBrokerReplicationCapacity(Map<Integer, Double> inboundCapacityByBrokerId,
+                                                        Map<Integer, Double> outboundCapacityByBrokerId) {
+    _executionTaskPlanner.setBrokerReplicationCapacity(inboundCapacityByBrokerId, outboundCapacityByBrokerId);
+  }
+
   /**
    * @return A list of execution tasks that move the replicas cross disks of the same broker.
    */
@@ -91,6 +160,31 @@ public class ExecutionTaskManager {
     return _executionTaskPlanner.getIntraBrokerReplicaMovementTasks(brokersReadyForReplicaMovement);
   }
 
+  /**
+   * Get the intra-broker replica movement tasks on brokers without a remaining or in-execution inter-broker replica movement,
+   * excluding the partitions with such a movement. These tasks can be executed concurrently with the inter-broker replica
+   * movements on other brokers.
+   *
+   * @return A list of execution tasks that move the replicas cross disks of the same broker.
+   */
+  public synchronized List<ExecutionTask> getIntraBrokerReplicaMovementTasksWithoutInterBrokerReplicaMovement() {
+    List<Collection<ExecutionTask>> interBrokerReplicaMovements =
+        Arrays.asList(_executionTaskPlanner.remainingInterBrokerReplicaMovements(),
+                      _executionTaskPlanner.stagedInterBrokerReplicaMovements(),
+                      _executionTaskTracker.inExecutionTasks(Collections.singleton(TaskType.INTER_BROKER_REPLICA_ACTION)));
+    Set<Integer> brokersWithInterBrokerReplicaMovement = new HashSet<>();
+    Set<TopicPartition> partitionsWithInterBrokerReplicaMovement = new HashSet<>();
+    interBrokerReplicaMovements.forEach(tasks -> tasks.forEach(task -> {
+      partitionsWithInterBrokerReplicaMovement.add(task.proposal().topicPartition());
+      task.proposal().oldReplicas().forEach(r -> brokersWithInterBrokerReplicaMovement.add(r.brokerId()));
+      task.proposal().newReplicas().forEach(r -> brokersWithInterBrokerReplicaMovement.add(r.brokerId()));
+    }));
+    Map<Integer, Integer> brokersReadyForReplicaMovement = brokersReadyForReplicaMovement(_inProgressIntraBrokerReplicaMovementsByBrokerId,
+                                                                                          ConcurrencyType.INTRA_BROKER_REPLICA);
+    brokersReadyForReplicaMovement.keySet().removeAll(brokersWithInterBrokerReplicaMovement);
+    return _executionTaskPlanner.getIntraBrokerReplicaMovementTasks(brokersReadyForReplicaMovement, partitionsWithInterBrokerReplicaMovement);
+  }
+
   /**
    * Based on replica movement concurrency requirement and number of ongoing replica movements, calculate how many
    * new replica movements can be triggered on each broker.
@@ -120,6 +214,23 @@ public class ExecutionTaskManager {
     return _executionTaskPlanner.getLeadershipMovementTasks(_executionConcurrencyManager);
   }
 
+  /**
+   * Get the leadership movement tasks of partitions without a remaining or in-execution replica movement. These tasks
+   * can be executed concurrently with the replica movements of other partitions.
+   *
+   * @return A list of execution tasks that move the leadership.
+   */
+  public synchronized List<ExecutionTask> getLeadershipMovementTasksWithoutReplicaMovement() {
+    List<Collection<ExecutionTask>> replicaMovements =
+        Arrays.asList(_executionTaskPlanner.remainingInterBrokerReplicaMovements(),
+                      _executionTaskPlanner.remainingIntraBrokerReplicaMovements(),
+                      _executionTaskTracker.inExecutionTasks(Arrays.asList(TaskType.INTER_BROKER_REPLICA_ACTION,
+                                                                           TaskType.INTRA_BROKER_REPLICA_ACTION)));
+    Set<TopicPartition> partitionsWithReplicaMovement = new HashSet<>();
+    replicaMovements.forEach(tasks -> tasks.forEach(task -> partitionsWithReplicaMovement.add(task.proposal().topicPartition())));
+    return _executionTaskPlanner.getLeadershipMovementTasks(_executionConcurrencyManager, partitionsWithReplicaMovement);
+  }
+
   /**
    * Add a collection of execution proposals for execution. The method allows users to skip the concurrency check
    * on some given brokers. Notice that this method will replace the existing brokers that were in the concurrency
@@ -143,11 +254,16 @@ public class ExecutionTaskManager {
       _inProgressInterBrokerReplicaMovementsByBrokerId.putIfAbsent(p.oldLeader().brokerId(), 0);
       p.replicasToAdd().forEach(r -> _inProgressInterBrokerReplicaMovementsByBrokerId.putIfAbsent(r.brokerId(), 0));
     }
+    // The hops of staged inter-broker replica movements may be led by a replica other than the old leader of the proposal.
+    Set<ExecutionTask> stagedInterBrokerReplicaMovements = _executionTaskPlanner.stagedInterBrokerReplicaMovements();
+    stagedInterBrokerReplicaMovements.forEach(
+        task -> _inProgressInterBrokerReplicaMovementsByBrokerId.putIfAbsent(task.proposal().oldLeader().brokerId(), 0));
     // Set the execution mode for tasks.
     _executionTaskTracker.setExecutionMode(_isKafkaAssignerMode);
 
     // Populate the generated tasks to tracker to trace their execution.
     _executionTaskTracker.addTasksToTrace(_executionTaskPlanner.remainingInterBrokerReplicaMovements(), TaskType.INTER_BROKER_REPLICA_ACTION);
+    _executionTaskTracker.addTasksToTrace(stagedInterBrokerReplicaMovements, TaskType.INTER_BROKER_REPLICA_ACTION);
     _executionTaskTracker.addTasksToTrace(_executionTaskPlanner.remainingIntraBrokerReplicaMovements(), TaskType.INTRA_BROKER_REPLICA_ACTION);
     _executionTaskTracker.addTasksToTrace(_executionTaskPlanner.remainingLeadershipMovements(), TaskType.LEADER_ACTION);
     _brokersToSkipConcurrencyCheck.clear();
@@ -201,9 +317,13 @@ public class ExecutionTaskManager {
     if (task.state() == ExecutionTaskState.IN_PROGRESS) {
       _executionTaskTracker.markTaskState(task, ExecutionTaskState.COMPLETED);
       completeTask(task);
+      if (task.type() == TaskType.INTER_BROKER_REPLICA_ACTION) {
+        _executionTaskPlanner.releaseStagedInterBrokerReplicaMovement(task);
+      }
     } else if (task.state() == ExecutionTaskState.ABORTING) {
       _executionTaskTracker.markTaskState(task, ExecutionTaskState.ABORTED);
       completeTask(task);
+      maybeCancelStagedInterBrokerReplicaMovements(task);
     }
   }
 
@@ -225,6 +345,22 @@ public class ExecutionTaskManager {
     if (task.state() != ExecutionTaskState.DEAD) {
       _executionTaskTracker.markTaskState(task, ExecutionTaskState.DEAD);
       completeTask(task);
+      maybeCancelStagedInterBrokerReplicaMovements(task);
+    }
+  }
+
+  /**
+   * The held hops of the staged inter-broker replica movement of an aborted or dead task cannot be executed anymore, hence
+   * they are cancelled, i.e. marked aborted without being executed.
+   *
+   * @param task The aborted or dead execution task.
+   */
+  private void maybeCancelStagedInterBrokerReplicaMovements(ExecutionTask task) {
+    if (task.type() != TaskType.INTER_BROKER_REPLICA_ACTION) {
+      return;
+    }
+    for (ExecutionTask hop : _executionTaskPlanner.cancelStagedInterBrokerReplicaMovements(task)) {
+      _executionTaskTracker.markTaskState(hop, ExecutionTaskState.ABORTED);
     }
   }
 
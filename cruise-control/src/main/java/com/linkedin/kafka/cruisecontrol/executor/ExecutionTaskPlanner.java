@@ -5,7 +5,6 @@
 package com.linkedin.kafka.cruisecontrol.executor;
 
 import com.linkedin.cruisecontrol.common.utils.Utils;
-import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.executor.concurrency.ExecutionConcurrencyManager;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.BaseReplicaMovementStrategy;
@@ -16,9 +15,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +39,7 @@ import org.apache.kafka.common.TopicPartitionReplica;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig.BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_CONFIG;
 import static com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig.DEFAULT_REPLICA_MOVEMENT_STRATEGIES_CONFIG;
 import static com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig.LOGDIR_RESPONSE_TIMEOUT_MS_CONFIG;
 import static com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig.TASK_EXECUTION_ALERTING_THRESHOLD_MS_CONFIG;
@@ -62,17 +64,29 @@ import static org.apache.kafka.clients.admin.DescribeReplicaLogDirsResult.Replic
  * For intra-broker partition movement task, the position is determined by assigned execution id in ascending order.
  * The task is tracked both under source broker and destination broker's plan.
  * Once a task is fulfilled, the task will be removed from both source broker and destination broker's execution plan.
+ * The inter-broker partition movement tasks are tracked by {@link InterBrokerReplicaMovementIndex}, which picks the tasks to
+ * execute without scanning the tasks that cannot be executed yet.
+ * <p>
+ * If {@link com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig#BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_CONFIG}
+ * is set, inter-broker partition movement tasks are picked by {@link BandwidthAwareTaskScheduler} instead, and their position
+ * in the plan only breaks ties between the tasks of the same priority.
  * <p>
  * This class is not thread safe.
  */
 public class ExecutionTaskPlanner {
   private static final Logger LOG = LoggerFactory.getLogger(ExecutionTaskPlanner.class);
-  private Map<Integer, SortedSet<ExecutionTask>> _interPartMoveTasksByBrokerId;
-  private Comparator<Integer> _interPartMoveBrokerComparator;
+  private InterBrokerReplicaMovementIndex _interPartMoveTaskIndex;
+  private Comparator<ExecutionTask> _interPartMoveTaskComparator;
+  // Picks the inter-broker replica movements based on the data to move and the capacity of brokers, null if disabled.
+  private final BandwidthAwareTaskScheduler _bandwidthAwareTaskScheduler;
   private final Map<Integer, SortedSet<ExecutionTask>> _intraPartMoveTasksByBrokerId;
   private final Set<ExecutionTask> _remainingInterBrokerReplicaMovements;
   private final Set<ExecutionTask> _remainingIntraBrokerReplicaMovements;
   private final Map<Long, ExecutionTask> _remainingLeadershipMovements;
+  // The held hops of the staged inter-broker replica movements by partition, in the order to execute them.
+  private final Map<TopicPartition, Deque<ExecutionTask>> _stagedInterBrokerReplicaMovements;
+  // The proposals whose inter-broker replica movements are executed in staged hops by partition.
+  private final Map<TopicPartition, ExecutionProposal> _stagedProposals;
   private long _executionId;
   private ReplicaMovementStrategy _defaultReplicaMovementTaskStrategy;
   private final AdminClient _adminClient;
@@ -80,9 +94,6 @@ public class ExecutionTaskPlanner {
   private final long _taskExecutionAlertingThresholdMs;
   private final double _interBrokerReplicaMovementRateAlertingThreshold;
   private final double _intraBrokerReplicaMovementRateAlertingThreshold;
-  private static final int PRIORITIZE_BROKER_1 = -1;
-  private static final int PRIORITIZE_BROKER_2 = 1;
-  private static final int PRIORITIZE_NONE = 0;
 
   /**
    *
@@ -91,16 +102,20 @@ public class ExecutionTaskPlanner {
    */
   public ExecutionTaskPlanner(AdminClient adminClient, KafkaCruiseControlConfig config) {
     _executionId = 0L;
-    _interPartMoveTasksByBrokerId = new HashMap<>();
+    _interPartMoveTaskIndex = new InterBrokerReplicaMovementIndex(Collections.emptyMap(), null);
     _intraPartMoveTasksByBrokerId = new HashMap<>();
     _remainingInterBrokerReplicaMovements = new HashSet<>();
     _remainingIntraBrokerReplicaMovements = new HashSet<>();
     _remainingLeadershipMovements = new HashMap<>();
+    _stagedInterBrokerReplicaMovements = new HashMap<>();
+    _stagedProposals = new HashMap<>();
     _config = config;
     _taskExecutionAlertingThresholdMs = config.getLong(TASK_EXECUTION_ALERTING_THRESHOLD_MS_CONFIG);
     _interBrokerReplicaMovementRateAlertingThreshold = config.getDouble(INTER_BROKER_REPLICA_MOVEMENT_RATE_ALERTING_THRESHOLD_CONFIG);
     _intraBrokerReplicaMovementRateAlertingThreshold = config.getDouble(INTRA_BROKER_REPLICA_MOVEMENT_RATE_ALERTING_THRESHOLD_CONFIG);
     _adminClient = adminClient;
+    _bandwidthAwareTaskScheduler = config.getBoolean(BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_CONFIG)
+                                   ? new BandwidthAwareTaskScheduler() : null;
     List<String> defaultReplicaMovementStrategies = config.getList(DEFAULT_REPLICA_MOVEMENT_STRATEGIES_CONFIG);
     if (defaultReplicaMovementStrategies == null || defaultReplicaMovementStrategies.isEmpty()) {
       _defaultReplicaMovementTaskStrategy = new BaseReplicaMovementStrategy();
@@ -167,14 +182,17 @@ public class ExecutionTaskPlanner {
    */
   private void maybeDropReplicaSwapTasks() {
     if (_remainingIntraBrokerReplicaMovements.size() > 0) {
-      _interPartMoveTasksByBrokerId.clear();
+      _interPartMoveTaskIndex.clear();
       _remainingInterBrokerReplicaMovements.clear();
+      _stagedInterBrokerReplicaMovements.clear();
+      _stagedProposals.clear();
     }
   }
 
   /**
    * For each proposal, create a replica action task if there is a need for moving replica(s) between brokers to reach
-   * expected final proposal state.
+   * expected final proposal state. If the replica movement strategy stages the movement of a task, the task is replaced
+   * with its single-replica hops, of which only the first one is executable until the previous hop is completed.
    *
    * @param proposals Execution proposals.
    * @param strategyOptions Strategy options to be used during application of a replica movement strategy.
@@ -206,12 +224,93 @@ public class ExecutionTaskPlanner {
     ReplicaMovementStrategy chosenReplicaMovementTaskStrategy = replicaMovementStrategy == null
                                                                 ? _defaultReplicaMovementTaskStrategy
                                                                 : replicaMovementStrategy.chainBaseReplicaMovementStrategyIfAbsent();
-    _interPartMoveTasksByBrokerId = chosenReplicaMovementTaskStrategy.applyStrategy(added, strategyOptions);
-    _interPartMoveBrokerComparator = brokerComparator(strategyOptions, chosenReplicaMovementTaskStrategy);
+    for (ExecutionTask task : new ArrayList<>(added)) {
+      if (chosenReplicaMovementTaskStrategy.stageReplicaMovement(task, strategyOptions)) {
+        maybeStageInterBrokerReplicaMovement(task, strategyOptions.cluster().partition(task.proposal().topicPartition()), added);
+      }
+    }
+    Map<Integer, SortedSet<ExecutionTask>> interPartMoveTasksByBrokerId = chosenReplicaMovementTaskStrategy.applyStrategy(added,
+                                                                                                                          strategyOptions);
+    _interPartMoveTaskComparator = chosenReplicaMovementTaskStrategy.taskComparator(strategyOptions);
+    _interPartMoveTaskIndex = new InterBrokerReplicaMovementIndex(interPartMoveTasksByBrokerId, _interPartMoveTaskComparator);
+
+    Set<ExecutionTask> heldTasks = stagedInterBrokerReplicaMovements();
+    heldTasks.forEach(_interPartMoveTaskIndex::hold);
+    for (SortedSet<ExecutionTask> tasks : interPartMoveTasksByBrokerId.values()) {
+      for (ExecutionTask task : tasks) {
+        if (!heldTasks.contains(task)) {
+          _remainingInterBrokerReplicaMovements.add(task);
+        }
+      }
+    }
+  }
 
-    for (SortedSet<ExecutionTask> tasks : _interPartMoveTasksByBrokerId.values()) {
-      _remainingInterBrokerReplicaMovements.addAll(tasks);
+  /**
+   * Replace the given task in the given tasks with its single-replica hops from the current replicas of its partition, if
+   * it adds more than one replica. Each hop adds one of the replicas to add (the new leader first) and removes one of the
+   * replicas to remove (if any remains, the followers before the current leader), and the last hop reaches the new replicas
+   * of the proposal in the proposed order.
+   * All hops but the first one are held until the previous hop is completed.
+   *
+   * @param task The inter-broker replica movement task to stage.
+   * @param partitionInfo Current partition state.
+   * @param tasks The inter-broker replica movement tasks to update with the hops.
+   */
+  private void maybeStageInterBrokerReplicaMovement(ExecutionTask task, PartitionInfo partitionInfo, Set<ExecutionTask> tasks) {
+    ExecutionProposal proposal = task.proposal();
+    Map<Integer, ReplicaPlacementInfo> replicaByBrokerId = new HashMap<>();
+    proposal.oldReplicas().forEach(r -> replicaByBrokerId.put(r.brokerId(), r));
+    proposal.newReplicas().forEach(r -> replicaByBrokerId.put(r.brokerId(), r));
+    List<ReplicaPlacementInfo> replicas = new ArrayList<>();
+    for (Node node : partitionInfo.replicas()) {
+      replicas.add(replicaByBrokerId.computeIfAbsent(node.id(), ReplicaPlacementInfo::new));
+    }
+    Set<Integer> newBrokers = proposal.newReplicas().stream().map(ReplicaPlacementInfo::brokerId).collect(Collectors.toSet());
+    Set<Integer> currentBrokers = replicas.stream().map(ReplicaPlacementInfo::brokerId).collect(Collectors.toSet());
+    List<ReplicaPlacementInfo> replicasToAdd = proposal.newReplicas().stream().filter(r -> !currentBrokers.contains(r.brokerId()))
+                                                       .collect(Collectors.toList());
+    if (replicasToAdd.size() <= 1) {
+      return;
+    }
+    // Followers are removed before the current leader, which keeps the leadership until the last hop.
+    Node leaderNode = partitionInfo.leader();
+    ReplicaPlacementInfo leader = leaderNode == null || !currentBrokers.contains(leaderNode.id()) ? replicas.get(0)
+                                                                                                  : replicaByBrokerId.get(leaderNode.id());
+    List<ReplicaPlacementInfo> replicasToRemove = replicas.stream().filter(r -> !newBrokers.contains(r.brokerId()) && !r.equals(leader))
+                                                          .collect(Collectors.toList());
+    Collections.reverse(replicasToRemove);
+    if (!newBrokers.contains(leader.brokerId())) {
+      replicasToRemove.add(leader);
     }
+
+    Deque<ExecutionTask> hops = new LinkedList<>();
+    ReplicaPlacementInfo oldLeader = leader;
+    for (int i = 0; i < replicasToAdd.size(); i++) {
+      List<ReplicaPlacementInfo> hopReplicas;
+      if (i == replicasToAdd.size() - 1) {
+        hopReplicas = proposal.newReplicas();
+      } else {
+        hopReplicas = new ArrayList<>(replicas);
+        if (i < replicasToRemove.size()) {
+          hopReplicas.remove(replicasToRemove.get(i));
+        }
+        hopReplicas.add(replicasToAdd.get(i));
+      }
+      ExecutionProposal hop = new ExecutionProposal(proposal.topicPartition(), proposal.partitionSize(), oldLeader, replicas, hopReplicas);
+      long executionAlertingThresholdMs = Math.max(Math.round(hop.dataToMoveInMB() / _interBrokerReplicaMovementRateAlertingThreshold),
+                                                   _taskExecutionAlertingThresholdMs);
+      hops.add(new ExecutionTask(_executionId++, hop, INTER_BROKER_REPLICA_ACTION, executionAlertingThresholdMs));
+      replicas = hopReplicas;
+      // The leader only changes if it is removed, in which case the first replica is expected to take over.
+      oldLeader = replicas.contains(oldLeader) ? oldLeader : replicas.get(0);
+    }
+    tasks.remove(task);
+    tasks.addAll(hops);
+    // The first hop is executable right away.
+    hops.removeFirst();
+    _stagedInterBrokerReplicaMovements.put(proposal.topicPartition(), hops);
+    _stagedProposals.put(proposal.topicPartition(), proposal);
+    LOG.debug("Staged the inter-broker replica movement of proposal {} in {} hops.", proposal, hops.size() + 1);
   }
 
   /**
@@ -285,6 +384,62 @@ public class ExecutionTaskPlanner {
     return Collections.unmodifiableSet(_remainingInterBrokerReplicaMovements);
   }
 
+  /**
+   * @return The held hops of the staged inter-broker replica movements, which are not yet executable.
+   */
+  public Set<ExecutionTask> stagedInterBrokerReplicaMovements() {
+    Set<ExecutionTask> stagedInterBrokerReplicaMovements = new HashSet<>();
+    _stagedInterBrokerReplicaMovements.values().forEach(stagedInterBrokerReplicaMovements::addAll);
+    return stagedInterBrokerReplicaMovements;
+  }
+
+  /**
+   * Get the proposal of the given inter-broker replica movement task -- i.e. the proposal that it is a hop of, if the
+   * movement of its partition is staged, or the proposal of the task itself otherwise.
+   *
+   * @param task The inter-broker replica movement task.
+   * @return The proposal of the given task.
+   */
+  public ExecutionProposal originalProposal(ExecutionTask task) {
+    return _stagedProposals.getOrDefault(task.proposal().topicPartition(), task.proposal());
+  }
+
+  /**
+   * Upon completing a hop of a staged inter-broker replica movement, make the next hop of its partition executable.
+   *
+   * @param completedTask The completed inter-broker replica movement task.
+   * @return The next hop that became executable, or {@code null} if the partition has no held hop.
+   */
+  public ExecutionTask releaseStagedInterBrokerReplicaMovement(ExecutionTask completedTask) {
+    TopicPartition tp = completedTask.proposal().topicPartition();
+    Deque<ExecutionTask> hops = _stagedInterBrokerReplicaMovements.get(tp);
+    if (hops == null) {
+      return null;
+    }
+    ExecutionTask nextHop = hops.removeFirst();
+    if (hops.isEmpty()) {
+      _stagedInterBrokerReplicaMovements.remove(tp);
+    }
+    _interPartMoveTaskIndex.release(nextHop);
+    _remainingInterBrokerReplicaMovements.add(nextHop);
+    return nextHop;
+  }
+
+  /**
+   * Upon the failure of a hop of a staged inter-broker replica movement, drop the held hops of its partition.
+   *
+   * @param failedTask The aborted or dead inter-broker replica movement task.
+   * @return The dropped hops of the partition.
+   */
+  public List<ExecutionTask> cancelStagedInterBrokerReplicaMovements(ExecutionTask failedTask) {
+    Deque<ExecutionTask> hops = _stagedInterBrokerReplicaMovements.remove(failedTask.proposal().topicPartition());
+    if (hops == null) {
+      return Collections.emptyList();
+    }
+    hops.forEach(_interPartMoveTaskIndex::remove);
+    return new ArrayList<>(hops);
+  }
+
   /**
    * @return The remaining intra-broker replica movement tasks.
    */
@@ -306,6 +461,19 @@ public class ExecutionTaskPlanner {
    * @return The leadership movement tasks.
    */
   public List<ExecutionTask> getLeadershipMovementTasks(ExecutionConcurrencyManager executionConcurrencyManager) {
+    return getLeadershipMovementTasks(executionConcurrencyManager, Collections.emptySet());
+  }
+
+  /**
+   * Get the leadership movement tasks of partitions other than the given partitions to skip, and remove them from
+   * _remainingLeadershipMovements.
+   *
+   * @param executionConcurrencyManager the execution concurrency manager
+   * @param partitionsToSkip Partitions whose leadership movement should not be executed yet.
+   * @return The leadership movement tasks.
+   */
+  public List<ExecutionTask> getLeadershipMovementTasks(ExecutionConcurrencyManager executionConcurrencyManager,
+                                                        Set<TopicPartition> partitionsToSkip) {
     Map<Integer, Integer> brokerLeadershipConcurrency =
             new HashMap<>(executionConcurrencyManager.getExecutionConcurrencyPerBroker(ConcurrencyType.LEADERSHIP_BROKER));
     List<ExecutionTask> leadershipMovementsList = new ArrayList<>();
@@ -313,6 +481,9 @@ public class ExecutionTaskPlanner {
     int taskQuota = executionConcurrencyManager.maxClusterLeadershipMovements();
     while (leadershipMovementIter.hasNext() && taskQuota > 0) {
       ExecutionTask leadershipMovementTask = leadershipMovementIter.next();
+      if (partitionsToSkip.contains(leadershipMovementTask.proposal().topicPartition())) {
+        continue;
+      }
       Set<Integer> replicas = leadershipMovementTask.proposal().newReplicas().stream().map(ReplicaPlacementInfo::brokerId).collect(
           Collectors.toSet());
       boolean canSchedule = true;
@@ -340,6 +511,27 @@ public class ExecutionTaskPlanner {
     return leadershipMovementsList;
   }
 
+  /**
+   * Set the replication capacity of brokers, which is used only if the inter-broker replica movements are picked based on
+   * the bandwidth of brokers. Capacities of a broker must be in the same unit as the capacities of the other brokers.
+   *
+   * @param inboundCapacityByBrokerId Inbound replication capacity by broker id.
+   * @param outboundCapacityByBrokerId Outbound replication capacity by broker id.
+   */
+  public void setBrokerReplicationCapacity(Map<Integer, Double> inboundCapacityByBrokerId, Map<Integer, Double> outboundCapacityByBrokerId) {
+    if (_bandwidthAwareTaskScheduler != null) {
+      _bandwidthAwareTaskScheduler.setBrokerCapacity(inboundCapacityByBrokerId, outboundCapacityByBrokerId);
+    }
+  }
+
+  /**
+   * @return {@code true} if the inter-broker replica movements are picked based on the bandwidth of brokers,
+   * {@code false} if they are picked in a round-robin manner across brokers.
+   */
+  public boolean isBandwidthAwareScheduling() {
+    return _bandwidthAwareTaskScheduler != null;
+  }
+
   /**
    * Get a list of executable inter-broker replica movements that comply with the concurrency constraint
    * and partitions in move constraint provided.
@@ -355,92 +547,21 @@ public class ExecutionTaskPlanner {
                                                                 Set<TopicPartition> inProgressPartitions,
                                                                 int maxInterBrokerPartitionMovements) {
     LOG.trace("Getting inter-broker replica movement tasks for brokers with concurrency {}", readyBrokers);
-    List<ExecutionTask> executableReplicaMovements = new ArrayList<>();
-    SortedSet<Integer> interPartMoveBrokerIds = new TreeSet<>(_interPartMoveBrokerComparator);
-    List<Integer> interPartMoveBrokerIdsList = new ArrayList<>(_interPartMoveTasksByBrokerId.keySet().size());
-
+    if (_bandwidthAwareTaskScheduler != null) {
+      List<ExecutionTask> executableReplicaMovements =
+          _bandwidthAwareTaskScheduler.schedule(_remainingInterBrokerReplicaMovements, _interPartMoveTaskComparator, readyBrokers,
+                                                inProgressPartitions, maxInterBrokerPartitionMovements);
+      executableReplicaMovements.forEach(this::removeInterBrokerReplicaActionForExecution);
+      return executableReplicaMovements;
+    }
     /*
      * The algorithm avoids unfair situation where the available movement slots of a broker is completely taken
      * by another broker. It checks the proposals in a round-robin manner that makes sure each ready broker gets
      * chances to make progress.
      */
-    boolean newTaskAdded = true;
-    interPartMoveBrokerIds.addAll(_interPartMoveTasksByBrokerId.keySet());
-    Set<Integer> brokerInvolved = new HashSet<>();
-    Set<TopicPartition> partitionsInvolved = new HashSet<>();
-
-    int numInProgressPartitions = inProgressPartitions.size();
-    boolean maxPartitionMovesReached = false;
-
-    while (newTaskAdded && !maxPartitionMovesReached) {
-      newTaskAdded = false;
-      brokerInvolved.clear();
-      // To avoid ConcurrentModificationException on interPartMoveBrokerId when we remove its elements,
-      // preserving the order then iterate on another list interPartMoveBrokerIdsList.
-      interPartMoveBrokerIdsList.clear();
-      interPartMoveBrokerIdsList.addAll(interPartMoveBrokerIds);
-      for (int brokerId : interPartMoveBrokerIdsList) {
-        // If max partition moves limit reached, no need to check other brokers
-        if (maxPartitionMovesReached) {
-          break;
-        }
-        // If this broker has already involved in this round, skip it.
-        if (brokerInvolved.contains(brokerId)) {
-          continue;
-        }
-        // Check the available balancing proposals of this broker to see if we can find one ready to execute.
-        SortedSet<ExecutionTask> proposalsForBroker = _interPartMoveTasksByBrokerId.get(brokerId);
-        LOG.trace("Execution task for broker {} are {}", brokerId, proposalsForBroker);
-        for (ExecutionTask task : proposalsForBroker) {
-          // Break if max cap reached
-          if (numInProgressPartitions >= maxInterBrokerPartitionMovements) {
-            LOG.trace("In progress Partitions {} reached/exceeded Max partitions to move in cluster {}. " + "Not adding anymore tasks.",
-                      numInProgressPartitions, maxInterBrokerPartitionMovements);
-            maxPartitionMovesReached = true;
-            break;
-          }
-          // Skip this proposal if either source broker or destination broker of this proposal has already
-          // involved in this round.
-          int sourceBroker = task.proposal().oldLeader().brokerId();
-          Set<Integer> destinationBrokers = task.proposal().replicasToAdd().stream().mapToInt(ReplicaPlacementInfo::brokerId)
-                                                .boxed().collect(Collectors.toSet());
-          if (brokerInvolved.contains(sourceBroker)
-              || KafkaCruiseControlUtils.containsAny(brokerInvolved, destinationBrokers)) {
-            continue;
-          }
-          TopicPartition tp = task.proposal().topicPartition();
-          // Check if the proposal is executable.
-          if (isExecutableProposal(task.proposal(), readyBrokers)
-              && !inProgressPartitions.contains(tp)
-              && !partitionsInvolved.contains(tp)) {
-            partitionsInvolved.add(tp);
-            executableReplicaMovements.add(task);
-            // Record the brokers as involved in this round and stop involving them again in this round.
-            brokerInvolved.add(sourceBroker);
-            brokerInvolved.addAll(destinationBrokers);
-            // The first task of each involved broker might have changed.
-            // Let's remove the brokers before the tasks change, then add them again later by comparing their new first tasks.
-            interPartMoveBrokerIds.remove(sourceBroker);
-            interPartMoveBrokerIds.removeAll(destinationBrokers);
-            // Remove the proposal from the execution plan.
-            removeInterBrokerReplicaActionForExecution(task);
-            interPartMoveBrokerIds.add(sourceBroker);
-            interPartMoveBrokerIds.addAll(destinationBrokers);
-            // Decrement the slots for both source and destination brokers
-            readyBrokers.put(sourceBroker, readyBrokers.get(sourceBroker) - 1);
-            for (int broker : destinationBrokers) {
-              readyBrokers.put(broker, readyBrokers.get(broker) - 1);
-            }
-            // Mark proposal added to true so we will have another round of check.
-            newTaskAdded = true;
-            numInProgressPartitions++;
-            LOG.debug("Found ready task {} for broker {}. Broker concurrency state: {}", task, brokerId, readyBrokers);
-            // We can stop the check for proposals for this broker because we have found a proposal.
-            break;
-          }
-        }
-      }
-    }
+    List<ExecutionTask> executableReplicaMovements =
+        _interPartMoveTaskIndex.pickTasks(readyBrokers, inProgressPartitions, maxInterBrokerPartitionMovements);
+    executableReplicaMovements.forEach(_remainingInterBrokerReplicaMovements::remove);
     return executableReplicaMovements;
   }
 
@@ -451,6 +572,18 @@ public class ExecutionTaskPlanner {
    * @return A list of movements that is executable for the ready brokers.
    */
   public List<ExecutionTask> getIntraBrokerReplicaMovementTasks(Map<Integer, Integer> readyBrokers) {
+    return getIntraBrokerReplicaMovementTasks(readyBrokers, Collections.emptySet());
+  }
+
+  /**
+   * Get a list of executable intra-broker replica movements of partitions other than the given partitions to skip that
+   * comply with the concurrency constraint.
+   *
+   * @param readyBrokers The brokers that is ready to execute more movements.
+   * @param partitionsToSkip Partitions whose intra-broker replica movements should not be executed yet.
+   * @return A list of movements that is executable for the ready brokers.
+   */
+  public List<ExecutionTask> getIntraBrokerReplicaMovementTasks(Map<Integer, Integer> readyBrokers, Set<TopicPartition> partitionsToSkip) {
     LOG.trace("Getting intra-broker replica movement tasks for brokers with concurrency {}", readyBrokers);
     List<ExecutionTask> executableReplicaMovements = new ArrayList<>();
 
@@ -459,8 +592,12 @@ public class ExecutionTaskPlanner {
       int limit = brokerEntry.getValue();
       if (_intraPartMoveTasksByBrokerId.containsKey(brokerId)) {
         Iterator<ExecutionTask> tasksForBroker = _intraPartMoveTasksByBrokerId.get(brokerId).iterator();
-        while (limit-- > 0 && tasksForBroker.hasNext()) {
+        while (limit > 0 && tasksForBroker.hasNext()) {
           ExecutionTask task = tasksForBroker.next();
+          if (partitionsToSkip.contains(task.proposal().topicPartition())) {
+            continue;
+          }
+          limit--;
           executableReplicaMovements.add(task);
           // Remove the proposal from the execution plan.
           tasksForBroker.remove();
@@ -476,71 +613,26 @@ public class ExecutionTaskPlanner {
    */
   public void clear() {
     _intraPartMoveTasksByBrokerId.clear();
-    _interPartMoveTasksByBrokerId.clear();
+    _interPartMoveTaskIndex.clear();
     _remainingLeadershipMovements.clear();
     _remainingInterBrokerReplicaMovements.clear();
     _remainingIntraBrokerReplicaMovements.clear();
+    _stagedInterBrokerReplicaMovements.clear();
+    _stagedProposals.clear();
   }
 
   /**
-   * A proposal is executable if the source broker and all the destination brokers are ready. i.e. has slots to
-   * execute more proposals.
-   * @param proposal Proposal to check whether it is executable or not.
-   * @param readyBrokers Brokers that are ready to execute a proposal.
-   * @return {@code true} if the proposal is executable, {@code false} otherwise.
+   * Remove the given inter-broker replica movements from the plan without picking them -- e.g. because they are already
+   * being executed.
+   *
+   * @param tasks Inter-broker replica movements to remove.
    */
-  private boolean isExecutableProposal(ExecutionProposal proposal, Map<Integer, Integer> readyBrokers) {
-    if (readyBrokers.get(proposal.oldLeader().brokerId()) <= 0) {
-      return false;
-    }
-    for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
-      if (readyBrokers.get(destinationBroker.brokerId()) <= 0) {
-        return false;
-      }
-    }
-    return true;
+  public void removeInterBrokerReplicaMovementTasks(Collection<ExecutionTask> tasks) {
+    tasks.forEach(this::removeInterBrokerReplicaActionForExecution);
   }
 
   private void removeInterBrokerReplicaActionForExecution(ExecutionTask task) {
-    int sourceBroker = task.proposal().oldLeader().brokerId();
-    _interPartMoveTasksByBrokerId.get(sourceBroker).remove(task);
-    for (ReplicaPlacementInfo destinationBroker : task.proposal().replicasToAdd()) {
-      _interPartMoveTasksByBrokerId.get(destinationBroker.brokerId()).remove(task);
-    }
+    _interPartMoveTaskIndex.remove(task);
     _remainingInterBrokerReplicaMovements.remove(task);
   }
-
-  /**
-   * The comparing order:
-   * <ul>
-   *   <li>Priority of the the first task of each broker</li>
-   *   <li>The task set size of each broker. Prioritize broker with the larger size</li>
-   *   <li>Broker ID integer. Prioritize broker with the smaller ID</li>
-   * </ul>
-   * @param strategyOptions Strategy options to be used during application of a replica movement strategy.
-   * @param replicaMovementStrategy The strategy used to compare the order of two given tasks.
-   * @return A broker Comparator to decide which among the two given brokers should be picked first when generated replica movement tasks.
-   */
-  private Comparator<Integer> brokerComparator(StrategyOptions strategyOptions, ReplicaMovementStrategy replicaMovementStrategy) {
-    Comparator<ExecutionTask> taskComparator = replicaMovementStrategy.taskComparator(strategyOptions);
-
-    return (broker1, broker2) -> {
-      SortedSet<ExecutionTask> taskSet1 = _interPartMoveTasksByBrokerId.get(broker1);
-      SortedSet<ExecutionTask> taskSet2 = _interPartMoveTasksByBrokerId.get(broker2);
-      int taskSet1Size = taskSet1.size();
-      int taskSet2Size = taskSet2.size();
-
-      if (taskSet1Size == 0) {
-        // broker1 has no first task (broker1 has zero tasks). Let's check if broker2 has a first task by checking the task set size.
-        return taskSet2Size == 0 ? PRIORITIZE_NONE : PRIORITIZE_BROKER_2;
-      }
-      if (taskSet2Size == 0) {
-        return PRIORITIZE_BROKER_1;
-      }
-      int compareFirstTasks = taskComparator.compare(taskSet1.first(), taskSet2.first());
-      return compareFirstTasks != 0 ? compareFirstTasks
-                                    : taskSet1Size != taskSet2Size ? taskSet2Size - taskSet1Size
-                                                                   : broker1 - broker2;
-    };
-  }
 }
@@ -39,6 +39,7 @@ public class ExecutionTaskTracker {
   private final Meter _intraBrokerPartitionMovementRateMeter;
   private final Meter _leadershipMovementRateMeter;
   private final Meter _partitionDataMovementRateMeter;
+  private final ExecutionJournal _executionJournal;
 
   public static final String INTER_BROKER_REPLICA_ACTION = "replica-action";
   public static final String INTRA_BROKER_REPLICA_ACTION = "intra-broker-replica-action";
@@ -56,7 +57,7 @@ public class ExecutionTaskTracker {
   public static final String METER_LEADERSHIP_MOVEMENT_RATE = "leadership-movement-rate";
   public static final String METER_PARTITION_DATA_MOVEMENT_RATE = "partition-data-movement-rate-MB";
 
-  ExecutionTaskTracker(MetricRegistry dropwizardMetricRegistry, Time time) {
+  ExecutionTaskTracker(MetricRegistry dropwizardMetricRegistry, Time time, ExecutionJournal executionJournal) {
     List<ExecutionTaskState> states = ExecutionTaskState.cachedValues();
     List<TaskType> taskTypes = TaskType.cachedValues();
     _tasksByType = new HashMap<>();
@@ -80,6 +81,7 @@ public class ExecutionTaskTracker {
     _intraBrokerPartitionMovementRateMeter = new Meter();
     _leadershipMovementRateMeter = new Meter();
     _partitionDataMovementRateMeter = new Meter();
+    _executionJournal = executionJournal;
 
     // Register gauge sensors.
     registerGaugeSensors(dropwizardMetricRegistry);
@@ -141,8 +143,13 @@ public class ExecutionTaskTracker {
         task.abort();
         break;
       case ABORTED:
-        task.aborted(_time.milliseconds());
-        updateDataMovement(task);
+        if (task.state() == ExecutionTaskState.PENDING) {
+          task.aborted(_time.milliseconds());
+          updateDataMovementOfCancelledTask(task);
+        } else {
+          task.aborted(_time.milliseconds());
+          updateDataMovement(task);
+        }
         break;
       case COMPLETED:
         markTaskExecutionRateMeter(task);
@@ -157,6 +164,7 @@ public class ExecutionTaskTracker {
         break;
     }
     _tasksByType.get(task.type()).get(newState).add(task);
+    _executionJournal.recordTaskState(task, newState);
   }
 
   private void markTaskExecutionRateMeter(ExecutionTask task) {
@@ -201,6 +209,19 @@ public class ExecutionTaskTracker {
     }
   }
 
+  // A task cancelled before being executed never had data in execution, hence its data moves from remaining to finished directly.
+  private void updateDataMovementOfCancelledTask(ExecutionTask task) {
+    if (task.type() == TaskType.INTRA_BROKER_REPLICA_ACTION) {
+      long dataToMove = task.proposal().intraBrokerDataToMoveInMB();
+      _remainingIntraBrokerDataToMoveInMB -= dataToMove;
+      _finishedIntraBrokerDataMovementInMB += dataToMove;
+    } else if (task.type() == TaskType.INTER_BROKER_REPLICA_ACTION) {
+      long dataToMove = task.proposal().interBrokerDataToMoveInMB();
+      _remainingInterBrokerDataToMoveInMB -= dataToMove;
+      _finishedInterBrokerDataMovementInMB += dataToMove;
+    }
+  }
+
   /**
    * Add new tasks to ExecutionTaskTracker to trace their execution.
    * Tasks are added homogeneously -- all tasks have the same task type.
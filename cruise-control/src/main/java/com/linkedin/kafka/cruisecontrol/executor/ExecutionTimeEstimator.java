@@ -0,0 +1,251 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION;
+
+
+/**
+ * Estimates the time to execute inter-broker replica movements.
+ *
+ * The estimator learns the effective rate of a single replica movement in MB per second for each broker from the size
+ * and duration of the completed movements that the broker took part in, as an exponentially weighted moving average.
+ * Hence, the learned rate reflects the replication throttle and the bandwidth that the broker shares among its
+ * concurrent movements. A movement proceeds at the lowest rate among its source and destination brokers. Brokers without
+ * a learned rate are assumed to have the average rate of the others, or {@link #_defaultMovementRate} if no rate has
+ * been learned yet. If a state file is configured, the learned rates are persisted to it after each execution, and
+ * restored from it upon startup.
+ *
+ * The estimator is thread safe.
+ */
+public class ExecutionTimeEstimator {
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutionTimeEstimator.class);
+  // The weight of the latest completed movement in the learned movement rate of a broker.
+  static final double MOVEMENT_RATE_SMOOTHING_FACTOR = 0.3;
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final double MS_PER_SEC = 1000.0;
+  private final double _defaultMovementRate;
+  private final Path _stateFile;
+  private final Map<Integer, Double> _movementRateByBrokerId;
+
+  /**
+   * @param config The configurations for Cruise Control.
+   */
+  public ExecutionTimeEstimator(KafkaCruiseControlConfig config) {
+    _defaultMovementRate = config.getDouble(ExecutorConfig.EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE_CONFIG);
+    String stateFile = config.getString(ExecutorConfig.EXECUTION_TIME_ESTIMATOR_STATE_FILE_CONFIG);
+    _stateFile = stateFile == null || stateFile.isEmpty() ? null : Paths.get(stateFile);
+    _movementRateByBrokerId = new HashMap<>();
+    restore();
+  }
+
+  /**
+   * @return The learned movement rate in MB per second by broker id.
+   */
+  public synchronized Map<Integer, Double> movementRateByBrokerId() {
+    return new HashMap<>(_movementRateByBrokerId);
+  }
+
+  /**
+   * Learn the movement rate of brokers from the given tasks. Only the completed inter-broker replica movements that
+   * copy data are considered.
+   *
+   * @param tasks Finished tasks.
+   */
+  public synchronized void recordFinishedTasks(Collection<ExecutionTask> tasks) {
+    for (ExecutionTask task : tasks) {
+      ExecutionProposal proposal = task.proposal();
+      long durationMs = task.endTimeMs() - task.startTimeMs();
+      if (task.type() != INTER_BROKER_REPLICA_ACTION || task.state() != ExecutionTaskState.COMPLETED
+          || proposal.replicasToAdd().isEmpty() || proposal.partitionSize() <= 0 || durationMs <= 0) {
+        continue;
+      }
+      double rate = proposal.partitionSize() * MS_PER_SEC / durationMs;
+      for (int brokerId : participatingBrokers(proposal)) {
+        _movementRateByBrokerId.merge(brokerId, rate, (oldRate, newRate) -> oldRate + MOVEMENT_RATE_SMOOTHING_FACTOR * (newRate - oldRate));
+      }
+    }
+  }
+
+  /**
+   * Persist the learned movement rates to the state file, if configured.
+   */
+  public synchronized void persist() {
+    if (_stateFile == null) {
+      return;
+    }
+    Properties properties = new Properties();
+    _movementRateByBrokerId.forEach((brokerId, rate) -> properties.setProperty(String.valueOf(brokerId), String.valueOf(rate)));
+    Path tempFile = _stateFile.resolveSibling(_stateFile.getFileName() + TEMP_FILE_SUFFIX);
+    try {
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        properties.store(out, "Replica movement rate in MB per second by broker id");
+      }
+      Files.move(tempFile, _stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.warn("Failed to persist the replica movement rates to {}.", _stateFile, e);
+    }
+  }
+
+  private void restore() {
+    if (_stateFile == null || !Files.isRegularFile(_stateFile)) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(_stateFile)) {
+      properties.load(in);
+      for (String brokerId : properties.stringPropertyNames()) {
+        double rate = Double.parseDouble(properties.getProperty(brokerId));
+        if (rate > 0) {
+          _movementRateByBrokerId.put(Integer.parseInt(brokerId), rate);
+        }
+      }
+      LOG.info("Restored the replica movement rates of {} brokers from {}.", _movementRateByBrokerId.size(), _stateFile);
+    } catch (IOException | NumberFormatException e) {
+      LOG.warn("Failed to restore the replica movement rates from {}. The rates will be learned from scratch.", _stateFile, e);
+      _movementRateByBrokerId.clear();
+    }
+  }
+
+  private static Set<Integer> participatingBrokers(ExecutionProposal proposal) {
+    Set<Integer> brokers = new HashSet<>();
+    brokers.add(proposal.oldLeader().brokerId());
+    proposal.replicasToAdd().forEach(r -> brokers.add(r.brokerId()));
+    return brokers;
+  }
+
+  private double movementRate(int brokerId, double averageRate) {
+    return _movementRateByBrokerId.getOrDefault(brokerId, averageRate);
+  }
+
+  private double averageMovementRate() {
+    return _movementRateByBrokerId.values().stream().mapToDouble(Double::doubleValue).average().orElse(_defaultMovementRate);
+  }
+
+  // The estimated time in ms to execute the movement of the given proposal.
+  private double movementTimeMs(ExecutionProposal proposal, double averageRate) {
+    if (proposal.replicasToAdd().isEmpty()) {
+      return 0.0;
+    }
+    double rate = movementRate(proposal.oldLeader().brokerId(), averageRate);
+    for (ReplicaPlacementInfo replica : proposal.replicasToAdd()) {
+      rate = Math.min(rate, movementRate(replica.brokerId(), averageRate));
+    }
+    return proposal.partitionSize() * MS_PER_SEC / rate;
+  }
+
+  /**
+   * Estimate the time to execute the remaining inter-broker replica movements of the given planner by simulating the
+   * schedule of the planner. The planner picks new movements whenever a movement completes, and each movement takes the
+   * estimated time based on the learned movement rate of the brokers. The remaining movements of the planner are drained.
+   *
+   * @param planner The planner with the inter-broker replica movements to execute.
+   * @param brokerConcurrency The maximum number of movements that each broker can take part in at a time.
+   * @param maxInterBrokerPartitionMovements The maximum number of movements in the cluster at a time.
+   * @return The estimated time in ms to execute the inter-broker replica movements.
+   */
+  public synchronized long estimateInterBrokerReplicaMovementTimeMs(ExecutionTaskPlanner planner,
+                                                                    int brokerConcurrency,
+                                                                    int maxInterBrokerPartitionMovements) {
+    double averageRate = averageMovementRate();
+    Set<Integer> brokers = new HashSet<>();
+    planner.remainingInterBrokerReplicaMovements().forEach(task -> brokers.addAll(participatingBrokers(task.proposal())));
+    Map<ExecutionTask, Double> endTimeMsByTask = new HashMap<>();
+    Set<TopicPartition> inProgressPartitions = new HashSet<>();
+    double timeMs = 0.0;
+    while (true) {
+      Map<Integer, Integer> readyBrokers = new HashMap<>();
+      brokers.forEach(brokerId -> readyBrokers.put(brokerId, brokerConcurrency));
+      endTimeMsByTask.keySet().forEach(task -> participatingBrokers(task.proposal()).forEach(b -> readyBrokers.merge(b, -1, Integer::sum)));
+      List<ExecutionTask> tasks = planner.getInterBrokerReplicaMovementTasks(readyBrokers, new HashSet<>(inProgressPartitions),
+                                                                             maxInterBrokerPartitionMovements);
+      for (ExecutionTask task : tasks) {
+        endTimeMsByTask.put(task, timeMs + movementTimeMs(task.proposal(), averageRate));
+        inProgressPartitions.add(task.proposal().topicPartition());
+      }
+      if (endTimeMsByTask.isEmpty()) {
+        if (!planner.remainingInterBrokerReplicaMovements().isEmpty()) {
+          LOG.warn("Unable to schedule the remaining {} inter-broker replica movements in the estimation.",
+                   planner.remainingInterBrokerReplicaMovements().size());
+        }
+        return Math.round(timeMs);
+      }
+      // Advance to the next completion of a movement.
+      timeMs = endTimeMsByTask.values().stream().mapToDouble(Double::doubleValue).min().getAsDouble();
+      for (Iterator<Map.Entry<ExecutionTask, Double>> iterator = endTimeMsByTask.entrySet().iterator(); iterator.hasNext();) {
+        Map.Entry<ExecutionTask, Double> entry = iterator.next();
+        if (entry.getValue() <= timeMs) {
+          iterator.remove();
+          inProgressPartitions.remove(entry.getKey().proposal().topicPartition());
+        }
+      }
+    }
+  }
+
+  /**
+   * Estimate the remaining time to execute the given pending and in-progress inter-broker replica movements. Unlike
+   * {@link #estimateInterBrokerReplicaMovementTimeMs(ExecutionTaskPlanner, int, int)}, the estimate does not simulate the
+   * schedule, and hence is cheap to refresh during an ongoing execution. It is the time to execute the movements of the
+   * busiest broker, or all movements in the cluster, with full concurrency -- whichever takes longer.
+   *
+   * @param pendingTasks Pending inter-broker replica movements.
+   * @param inProgressTasks In-progress inter-broker replica movements.
+   * @param brokerConcurrency The maximum number of movements that a broker with the given id can take part in at a time.
+   * @param maxInterBrokerPartitionMovements The maximum number of movements in the cluster at a time.
+   * @param nowMs The current time in ms.
+   * @return The estimated remaining time in ms to execute the given inter-broker replica movements.
+   */
+  public synchronized long estimateRemainingInterBrokerReplicaMovementTimeMs(Collection<ExecutionTask> pendingTasks,
+                                                                             Collection<ExecutionTask> inProgressTasks,
+                                                                             ToIntFunction<Integer> brokerConcurrency,
+                                                                             int maxInterBrokerPartitionMovements,
+                                                                             long nowMs) {
+    double averageRate = averageMovementRate();
+    Map<Integer, Double> timeMsByBrokerId = new HashMap<>();
+    double totalTimeMs = 0.0;
+    double longestMovementTimeMs = 0.0;
+    for (Collection<ExecutionTask> tasks : List.of(pendingTasks, inProgressTasks)) {
+      for (ExecutionTask task : tasks) {
+        double movementTimeMs = movementTimeMs(task.proposal(), averageRate);
+        if (task.state() == ExecutionTaskState.IN_PROGRESS) {
+          movementTimeMs = Math.max(0.0, movementTimeMs - (nowMs - task.startTimeMs()));
+        }
+        for (int brokerId : participatingBrokers(task.proposal())) {
+          timeMsByBrokerId.merge(brokerId, movementTimeMs, Double::sum);
+        }
+        totalTimeMs += movementTimeMs;
+        longestMovementTimeMs = Math.max(longestMovementTimeMs, movementTimeMs);
+      }
+    }
+    double remainingTimeMs = Math.max(longestMovementTimeMs, totalTimeMs / Math.max(1, maxInterBrokerPartitionMovements));
+    for (Map.Entry<Integer, Double> entry : timeMsByBrokerId.entrySet()) {
+      remainingTimeMs = Math.max(remainingTimeMs, entry.getValue() / Math.max(1, brokerConcurrency.applyAsInt(entry.getKey())));
+    }
+    return Math.round(remainingTimeMs);
+  }
+}
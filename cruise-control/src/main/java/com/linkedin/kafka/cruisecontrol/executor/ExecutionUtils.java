@@ -27,6 +27,7 @@ import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AlterPartitionReassignmentsResult;
@@ -350,6 +351,19 @@ public final class ExecutionUtils {
     return ongoingPartitionReassignments(adminClient).keySet();
   }
 
+  /**
+   * Retrieve the subset of the given {@link TopicPartition partitions} that are currently being reassigned. Unlike
+   * {@link #partitionsBeingReassigned(AdminClient)}, the response is limited to the given partitions.
+   *
+   * @param adminClient The adminClient to ask for ongoing partition reassignments.
+   * @param partitions Partitions to check for ongoing reassignments.
+   * @return The subset of the given {@link TopicPartition partitions} that are being reassigned.
+   */
+  public static Set<TopicPartition> partitionsBeingReassigned(AdminClient adminClient, Set<TopicPartition> partitions)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return ongoingPartitionReassignments(() -> adminClient.listPartitionReassignments(partitions)).keySet();
+  }
+
   /**
    * Retrieve the map of {@link PartitionReassignment reassignment} by {@link TopicPartition partitions}.
    *
@@ -362,11 +376,17 @@ public final class ExecutionUtils {
    */
   public static Map<TopicPartition, PartitionReassignment> ongoingPartitionReassignments(AdminClient adminClient)
       throws InterruptedException, ExecutionException, TimeoutException {
+    return ongoingPartitionReassignments(adminClient::listPartitionReassignments);
+  }
+
+  private static Map<TopicPartition, PartitionReassignment> ongoingPartitionReassignments(
+      Supplier<ListPartitionReassignmentsResult> listPartitionReassignments)
+      throws InterruptedException, ExecutionException, TimeoutException {
     Map<TopicPartition, PartitionReassignment> partitionReassignments = null;
     int attempts = 0;
     long timeoutMs = listPartitionReassignmentsTimeoutMs;
     do {
-      ListPartitionReassignmentsResult responseResult = adminClient.listPartitionReassignments();
+      ListPartitionReassignmentsResult responseResult = listPartitionReassignments.get();
       try {
         // A successful response is expected to be non-null.
         partitionReassignments = responseResult.reassignments().get(timeoutMs, TimeUnit.MILLISECONDS);
@@ -13,19 +13,23 @@ import com.linkedin.kafka.cruisecontrol.common.TopicMinIsrCache;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.common.KafkaCruiseControlThreadFactory;
 import com.linkedin.kafka.cruisecontrol.common.MetadataClient;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
 import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
 import com.linkedin.kafka.cruisecontrol.detector.AnomalyDetectorManager;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerCapacityResolutionException;
 import com.linkedin.kafka.cruisecontrol.exception.OngoingExecutionException;
 import com.linkedin.kafka.cruisecontrol.executor.concurrency.ConcurrencyAdjustingRecommendation;
 import com.linkedin.kafka.cruisecontrol.executor.concurrency.ExecutionConcurrencyManager;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.ReplicaMovementStrategy;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
 import com.linkedin.kafka.cruisecontrol.servlet.UserTaskManager;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -49,6 +53,7 @@ import org.apache.kafka.clients.admin.DescribeConfigsResult;
 import org.apache.kafka.clients.admin.ElectLeadersResult;
 import org.apache.kafka.common.Cluster;
 import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.internals.ClusterResourceListeners;
@@ -92,7 +97,11 @@ public class Executor {
   private Long _requestedExecutionProgressCheckIntervalMs;
   private final ExecutorService _proposalExecutor;
   private final AdminClient _adminClient;
+  private final ExecutionProgressTracker _progressTracker;
   private final double _leaderMovementTimeoutMs;
+  private final boolean _pipelinedLeadershipMovementEnabled;
+  private final boolean _concurrentIntraBrokerReplicaMovementEnabled;
+  private final long _minStagedPartitionSizeInMB;
 
   private static final int NO_STOP_EXECUTION = 0;
   private static final int STOP_EXECUTION = 1;
@@ -125,6 +134,8 @@ public class Executor {
   private UserTaskManager _userTaskManager;
   private final AnomalyDetectorManager _anomalyDetectorManager;
   private final ConcurrencyAdjuster _concurrencyAdjuster;
+  private final ReplicationThrottleAdjuster _replicationThrottleAdjuster;
+  private final ExecutionTimeEstimator _executionTimeEstimator;
   private final ScheduledExecutorService _concurrencyAdjusterExecutor;
   private final ConcurrentMap<ConcurrencyType, Boolean> _concurrencyAdjusterEnabled;
   private volatile boolean _concurrencyAdjusterMinIsrCheckEnabled;
@@ -186,6 +197,8 @@ public class Executor {
     _time = time;
     _adminClient = KafkaCruiseControlUtils.createAdminClient(KafkaCruiseControlUtils.parseAdminClientConfigs(config));
     _executionTaskManager = new ExecutionTaskManager(_adminClient, dropwizardMetricRegistry, time, config);
+    _progressTracker = new ExecutionProgressTracker(_adminClient, time,
+                                                    config.getLong(ExecutorConfig.EXECUTION_PROGRESS_PROBE_INTERVAL_MS_CONFIG));
     // Register gauge sensors.
     registerGaugeSensors(dropwizardMetricRegistry);
     _metadataClient = metadataClient != null ? metadataClient
@@ -199,6 +212,9 @@ public class Executor {
     _defaultExecutionProgressCheckIntervalMs = config.getLong(ExecutorConfig.EXECUTION_PROGRESS_CHECK_INTERVAL_MS_CONFIG);
     _executionProgressCheckIntervalMs = _defaultExecutionProgressCheckIntervalMs;
     _leaderMovementTimeoutMs = config.getLong(ExecutorConfig.LEADER_MOVEMENT_TIMEOUT_MS_CONFIG);
+    _pipelinedLeadershipMovementEnabled = config.getBoolean(ExecutorConfig.PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_CONFIG);
+    _concurrentIntraBrokerReplicaMovementEnabled = config.getBoolean(ExecutorConfig.CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_CONFIG);
+    _minStagedPartitionSizeInMB = config.getLong(ExecutorConfig.STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB_CONFIG);
     _requestedExecutionProgressCheckIntervalMs = null;
     _proposalExecutor =
         Executors.newSingleThreadExecutor(new KafkaCruiseControlThreadFactory("ProposalExecutor", false, LOG));
@@ -239,6 +255,8 @@ public class Executor {
     int numMinIsrCheck = config.getInt(ExecutorConfig.CONCURRENCY_ADJUSTER_NUM_MIN_ISR_CHECK_CONFIG);
     long intervalMs = config.getLong(ExecutorConfig.CONCURRENCY_ADJUSTER_INTERVAL_MS_CONFIG) / numMinIsrCheck;
     _concurrencyAdjuster = new ConcurrencyAdjuster(numMinIsrCheck);
+    _replicationThrottleAdjuster = new ReplicationThrottleAdjuster(config);
+    _executionTimeEstimator = new ExecutionTimeEstimator(config);
     _topicMinIsrCache = new TopicMinIsrCache(Duration.ofMillis(config.getLong(ExecutorConfig.CONCURRENCY_ADJUSTER_MIN_ISR_RETENTION_MS_CONFIG)),
                                              config.getInt(ExecutorConfig.CONCURRENCY_ADJUSTER_MIN_ISR_CACHE_SIZE_CONFIG),
                                              ExecutionUtils.MIN_ISR_CACHE_CLEANER_PERIOD,
@@ -600,6 +618,46 @@ public class Executor {
       return ExecutionUtils.recommendedConcurrency(cluster, minIsrWithTimeByTopic);
     }
 
+    /**
+     * Adjust the replication throttle rate of brokers during an ongoing inter-broker replica movement. The throttle rate of
+     * brokers with replicas of (At/Under)MinISR partitions is decreased. Only if no such brokers exist, the broker metrics
+     * are checked to adjust the throttle rate of each broker.
+     *
+     * @param canRunMetricsBasedCheck {@code true} to check the broker metrics, {@code false} otherwise.
+     */
+    private synchronized void refreshReplicationThrottle(boolean canRunMetricsBasedCheck) {
+      if (!_replicationThrottleAdjuster.isStarted() || _loadMonitor == null || _stopSignal.get() != NO_STOP_EXECUTION
+          || _executorState.state() != ExecutorState.State.INTER_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS) {
+        return;
+      }
+      Set<Integer> brokersWithMinIsrViolation = brokersWithMinIsrViolation();
+      _replicationThrottleAdjuster.adjust(brokersWithMinIsrViolation.isEmpty() && canRunMetricsBasedCheck
+                                          ? _loadMonitor.currentBrokerMetricValues() : null,
+                                          brokersWithMinIsrViolation);
+    }
+
+    // Brokers with a replica of an (At/Under)MinISR partition, if the MinISR check is enabled.
+    private Set<Integer> brokersWithMinIsrViolation() {
+      if (!_concurrencyAdjusterMinIsrCheckEnabled) {
+        return Collections.emptySet();
+      }
+      Cluster cluster = _loadMonitor.kafkaCluster();
+      Map<String, TopicMinIsrCache.MinIsrWithTime> minIsrWithTimeByTopic = _topicMinIsrCache.minIsrWithTimeByTopic();
+      Set<String> topicsToCheck = new HashSet<>(cluster.topics());
+      topicsToCheck.removeAll(minIsrWithTimeByTopic.keySet());
+      maybeRetrieveAndCacheTopicMinIsr(topicsToCheck);
+
+      Set<PartitionInfo> minIsrViolations = new HashSet<>();
+      ExecutionUtils.populateMinIsrState(cluster, minIsrWithTimeByTopic, minIsrViolations, minIsrViolations, false);
+      Set<Integer> brokersWithMinIsrViolation = new HashSet<>();
+      for (PartitionInfo partitionInfo : minIsrViolations) {
+        for (Node replica : partitionInfo.replicas()) {
+          brokersWithMinIsrViolation.add(replica.id());
+        }
+      }
+      return brokersWithMinIsrViolation;
+    }
+
     private void decreaseExecutionBrokerConcurrency(int brokerId, ConcurrencyType concurrencyType) {
       int currentMovementConcurrency = _executionConcurrencyManager.getExecutionBrokerConcurrency(brokerId, concurrencyType);
       int decreasedConcurrency = getDecreasedConcurrency(currentMovementConcurrency, concurrencyType);
@@ -666,6 +724,7 @@ public class Executor {
           refreshConcurrency(canRunMetricsBasedCheck, ConcurrencyType.INTER_BROKER_REPLICA);
           // Both broker and cluster leadership movement concurrency can be refreshed with call below.
           refreshConcurrency(canRunMetricsBasedCheck, ConcurrencyType.LEADERSHIP_BROKER);
+          refreshReplicationThrottle(canRunMetricsBasedCheck);
         }
       } catch (Throwable t) {
         LOG.warn("Received exception when trying to adjust reassignment concurrency.", t);
@@ -829,7 +888,7 @@ public class Executor {
                             requestedIntraBrokerPartitionMovementConcurrency, requestedClusterLeadershipMovementConcurrency,
                             requestedBrokerLeadershipMovementConcurrency, requestedExecutionProgressCheckIntervalMs, replicaMovementStrategy,
                             isTriggeredByUserRequest, loadMonitor);
-      startExecution(loadMonitor, null, removedBrokers, replicationThrottle, isTriggeredByUserRequest);
+      startExecution(loadMonitor, null, removedBrokers, unthrottledBrokers, replicationThrottle, isTriggeredByUserRequest, false);
     } catch (Exception e) {
       processExecuteProposalsFailure();
       throw e;
@@ -869,7 +928,8 @@ public class Executor {
     _executionTaskManager.setExecutionModeForTaskTracker(_isKafkaAssignerMode);
     // Get a snapshot of (1) cluster and (2) minIsr with time by topic name.
     StrategyOptions strategyOptions = new StrategyOptions.Builder(_metadataClient.refreshMetadata().cluster())
-        .minIsrWithTimeByTopic(_topicMinIsrCache.minIsrWithTimeByTopic()).build();
+        .minIsrWithTimeByTopic(_topicMinIsrCache.minIsrWithTimeByTopic())
+        .minStagedPartitionSizeInMB(_minStagedPartitionSizeInMB).build();
     _executionTaskManager.addExecutionProposals(proposals, brokersToSkipConcurrencyCheck, strategyOptions, replicaMovementStrategy);
     _concurrencyAdjuster.initAdjustment(loadMonitor,
                                         requestedInterBrokerPartitionMovementConcurrency,
@@ -917,13 +977,68 @@ public class Executor {
       initProposalExecution(proposals, demotedBrokers, concurrentSwaps, null, 0,
                             requestedClusterLeadershipMovementConcurrency, requestedBrokerLeadershipMovementConcurrency,
                             requestedExecutionProgressCheckIntervalMs, replicaMovementStrategy, isTriggeredByUserRequest, loadMonitor);
-      startExecution(loadMonitor, demotedBrokers, null, replicationThrottle, isTriggeredByUserRequest);
+      startExecution(loadMonitor, demotedBrokers, null, demotedBrokers, replicationThrottle, isTriggeredByUserRequest, false);
     } catch (Exception e) {
       processExecuteProposalsFailure();
       throw e;
     }
   }
 
+  /**
+   * Resume the execution in the execution journal (if any), which was interrupted by a restart of Cruise Control before
+   * it finished. The inter-broker replica movements that are still ongoing in the cluster are adopted rather than submitted
+   * again, and the remaining proposals are executed with the default concurrency. The execution is not resumed if there
+   * are ongoing reassignments of partitions without a journaled proposal -- i.e. initiated by an external agent.
+   *
+   * @param loadMonitor Load monitor.
+   * @return {@code true} if an execution is resumed, {@code false} otherwise.
+   */
+  public synchronized boolean maybeResumeExecution(LoadMonitor loadMonitor) {
+    ExecutionJournal executionJournal = _executionTaskManager.executionJournal();
+    ExecutionJournal.Execution execution = executionJournal.recover();
+    if (execution == null) {
+      return false;
+    }
+    Set<TopicPartition> partitionsBeingReassigned;
+    try {
+      partitionsBeingReassigned = listPartitionsBeingReassigned();
+    } catch (TimeoutException | InterruptedException | ExecutionException e) {
+      // This may indicate transient (e.g. network) issues -- keep the journal to retry upon the next startup.
+      LOG.warn("Failed to retrieve the ongoing partition reassignments to resume execution {}.", execution.uuid(), e);
+      return false;
+    }
+    Set<TopicPartition> reassignmentsByExternalAgent = new HashSet<>(partitionsBeingReassigned);
+    execution.proposals().forEach(proposal -> reassignmentsByExternalAgent.remove(proposal.topicPartition()));
+    if (!reassignmentsByExternalAgent.isEmpty() || execution.proposals().isEmpty()) {
+      LOG.warn("Dropped execution {} in the journal with {} proposals to resume. Ongoing partition reassignments initiated by "
+               + "external agent: {}", execution.uuid(), execution.proposals().size(), reassignmentsByExternalAgent);
+      executionJournal.finishExecution();
+      return false;
+    }
+    try {
+      setGeneratingProposalsForExecution(execution.uuid(), execution::reason, false);
+    } catch (OngoingExecutionException e) {
+      LOG.warn("Cannot resume execution {}.", execution.uuid(), e);
+      return false;
+    }
+    setExecutionMode(execution.isKafkaAssignerMode());
+    _skipInterBrokerReplicaConcurrencyAdjustment = execution.skipInterBrokerReplicaConcurrencyAdjustment();
+    try {
+      initProposalExecution(execution.proposals(), execution.brokersToSkipConcurrencyCheck(), null, null, null, null, null, null, null,
+                            false, loadMonitor);
+      List<ExecutionTask> adoptedTasks = _executionTaskManager.adoptInterBrokerReplicaMovements(partitionsBeingReassigned);
+      startExecution(loadMonitor, execution.demotedBrokers(), execution.removedBrokers(), execution.brokersToSkipConcurrencyCheck(),
+                     execution.replicationThrottle(), false, true);
+      OPERATION_LOG.info("Task [{}] execution is resumed with {} proposals, adopting {} ongoing inter-broker replica movements.",
+                         execution.uuid(), execution.proposals().size(), adoptedTasks.size());
+      return true;
+    } catch (Exception e) {
+      LOG.error("Failed to resume execution {}.", execution.uuid(), e);
+      processExecuteProposalsFailure();
+      return false;
+    }
+  }
+
   /**
    * Dynamically set the per broker movement concurrency of the given type for all brokers or set the cluster concurrency.
    *
@@ -996,17 +1111,24 @@ public class Executor {
    * @param loadMonitor Load monitor.
    * @param demotedBrokers Brokers to be demoted, null if no broker has been demoted.
    * @param removedBrokers Brokers to be removed, null if no broker has been removed.
+   * @param brokersToSkipConcurrencyCheck Brokers that do not need to be throttled when moving the partitions.
    * @param replicationThrottle The replication throttle (bytes/second) to apply to both leaders and followers
    *                            while moving partitions (if null, no throttling is applied).
    * @param isTriggeredByUserRequest Whether the execution is triggered by a user request.
+   * @param isResumed {@code true} if the execution is resumed from the execution journal, {@code false} otherwise.
    */
   private void startExecution(LoadMonitor loadMonitor,
                               Collection<Integer> demotedBrokers,
                               Collection<Integer> removedBrokers,
+                              Collection<Integer> brokersToSkipConcurrencyCheck,
                               Long replicationThrottle,
-                              boolean isTriggeredByUserRequest) throws OngoingExecutionException {
+                              boolean isTriggeredByUserRequest,
+                              boolean isResumed) throws OngoingExecutionException {
     _executionStoppedByUser.set(false);
-    sanityCheckOngoingMovement();
+    // The ongoing movements of a resumed execution are adopted rather than started by external agents.
+    if (!isResumed) {
+      sanityCheckOngoingMovement();
+    }
 
     try {
       _flipOngoingExecutionMutex.acquire();
@@ -1038,8 +1160,11 @@ public class Executor {
     } else {
       _numExecutionStartedInNonKafkaAssignerMode.incrementAndGet();
     }
+    _executionTaskManager.journalExecution(new ExecutionJournal.Execution(_uuid, _reasonSupplier.get(), replicationThrottle, demotedBrokers,
+                                                                          removedBrokers, brokersToSkipConcurrencyCheck, _isKafkaAssignerMode,
+                                                                          _skipInterBrokerReplicaConcurrencyAdjustment));
     _proposalExecutor.execute(
-        new ProposalExecutionRunnable(loadMonitor, demotedBrokers, removedBrokers, replicationThrottle, isTriggeredByUserRequest));
+        new ProposalExecutionRunnable(loadMonitor, demotedBrokers, removedBrokers, replicationThrottle, isTriggeredByUserRequest, isResumed));
   }
 
   /**
@@ -1074,6 +1199,7 @@ public class Executor {
   }
 
   private void processExecuteProposalsFailure() {
+    _executionTaskManager.executionJournal().finishExecution();
     _executionTaskManager.clear();
     _uuid = null;
     _reasonSupplier = null;
@@ -1153,6 +1279,8 @@ public class Executor {
    */
   private synchronized boolean stopExecution() {
     if (_stopSignal.compareAndSet(NO_STOP_EXECUTION, STOP_EXECUTION)) {
+      // A stopped execution is not resumed, unless the journal is closed upon shutdown.
+      _executionTaskManager.executionJournal().finishExecution();
       _numExecutionStopped.incrementAndGet();
       _executionTaskManager.setStopRequested();
       return true;
@@ -1171,6 +1299,8 @@ public class Executor {
       try {
         if (_hasOngoingExecution) {
           LOG.warn("Shutdown executor may take long because execution is still in progress.");
+          // Keep the journal of the ongoing execution to resume it upon the next startup.
+          _executionTaskManager.executionJournal().close();
           stopExecution();
         }
         try {
@@ -1214,6 +1344,36 @@ public class Executor {
     return _ongoingExecutionIsBeingModified.compareAndSet(!modify, modify);
   }
 
+  /**
+   * Estimate the time to execute the inter-broker replica movements of the given proposals with the given replica movement
+   * strategy and concurrency, based on the replica movement rates learned from the past executions.
+   *
+   * @param proposals Proposals to estimate the execution time.
+   * @param replicaMovementStrategy The strategy used to determine the execution order of generated replica movement tasks,
+   *                                or {@code null} to use the default strategy.
+   * @param requestedInterBrokerPartitionMovementConcurrency The maximum number of concurrent inter-broker partition movements
+   *                                                         per broker (if null, use num.concurrent.partition.movements.per.broker).
+   * @param requestedMaxInterBrokerPartitionMovements The maximum number of concurrent inter-broker partition movements in the
+   *                                                  cluster (if null, use max.num.cluster.partition.movements).
+   * @return The estimated time in ms to execute the inter-broker replica movements of the given proposals.
+   */
+  public long estimateExecutionTimeMs(Collection<ExecutionProposal> proposals,
+                                      ReplicaMovementStrategy replicaMovementStrategy,
+                                      Integer requestedInterBrokerPartitionMovementConcurrency,
+                                      Integer requestedMaxInterBrokerPartitionMovements) {
+    ExecutionTaskPlanner planner = new ExecutionTaskPlanner(_adminClient, _config);
+    StrategyOptions strategyOptions = new StrategyOptions.Builder(_metadataClient.cluster())
+        .minIsrWithTimeByTopic(_topicMinIsrCache.minIsrWithTimeByTopic())
+        .minStagedPartitionSizeInMB(_minStagedPartitionSizeInMB).build();
+    planner.addExecutionProposals(proposals, strategyOptions, replicaMovementStrategy);
+    return _executionTimeEstimator.estimateInterBrokerReplicaMovementTimeMs(
+        planner,
+        requestedInterBrokerPartitionMovementConcurrency != null
+        ? requestedInterBrokerPartitionMovementConcurrency : _config.getInt(ExecutorConfig.NUM_CONCURRENT_PARTITION_MOVEMENTS_PER_BROKER_CONFIG),
+        requestedMaxInterBrokerPartitionMovements != null
+        ? requestedMaxInterBrokerPartitionMovements : _config.getInt(ExecutorConfig.MAX_NUM_CLUSTER_PARTITION_MOVEMENTS_CONFIG));
+  }
+
   /**
    * Whether there is an ongoing operation triggered by current Cruise Control deployment.
    *
@@ -1279,6 +1439,11 @@ public class Executor {
     return _concurrencyAdjuster.isStarted();
   }
 
+  // for testing
+  ReplicationThrottleAdjuster replicationThrottleAdjuster() {
+    return _replicationThrottleAdjuster;
+  }
+
   /**
    * This class is thread safe.
    *
@@ -1292,18 +1457,24 @@ public class Executor {
     private final Long _replicationThrottle;
     private Throwable _executionException;
     private final boolean _isTriggeredByUserRequest;
+    private final boolean _isResumed;
     private long _lastSlowTaskReportingTimeMs;
     private static final boolean FORCE_PAUSE_SAMPLING = true;
     private final Timer _executionTimerInvolveBrokerRemovalOrDemotion;
     private final UserTaskManager.UserTaskInfo _userTaskInfo;
+    // The partitions of the leadership movements in execution concurrently with inter-broker replica movements, whose
+    // topics were deleted upon the leader election.
+    private final Set<TopicPartition> _deletedUponLeaderElection;
 
     ProposalExecutionRunnable(LoadMonitor loadMonitor,
                               Collection<Integer> demotedBrokers,
                               Collection<Integer> removedBrokers,
                               Long replicationThrottle,
-                              boolean isTriggeredByUserRequest) {
+                              boolean isTriggeredByUserRequest,
+                              boolean isResumed) {
       _loadMonitor = loadMonitor;
       _executionException = null;
+      _deletedUponLeaderElection = new HashSet<>();
       if (isTriggeredByUserRequest && _userTaskManager == null) {
         processExecuteProposalsFailure();
         _hasOngoingExecution = false;
@@ -1336,6 +1507,7 @@ public class Executor {
       _recentlyRemovedBrokers = recentlyRemovedBrokers();
       _replicationThrottle = replicationThrottle;
       _isTriggeredByUserRequest = isTriggeredByUserRequest;
+      _isResumed = isResumed;
       _lastSlowTaskReportingTimeMs = -1L;
       if (removedBrokers != null && !removedBrokers.isEmpty()) {
         _executionTimerInvolveBrokerRemovalOrDemotion = _proposalExecutionTimerInvolveBrokerRemoval;
@@ -1421,6 +1593,11 @@ public class Executor {
      *   <li>Intra-broker move replicas.</li>
      *   <li>Transfer leadership.</li>
      * </ol>
+     * If {@link ExecutorConfig#PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_CONFIG} is set, the leadership of partitions without a
+     * remaining or in-execution replica movement is transferred concurrently with the inter-broker replica movements.
+     * If {@link ExecutorConfig#CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_CONFIG} is set, the replicas on brokers without
+     * a remaining or in-execution inter-broker replica movement are moved between disks concurrently with the inter-broker
+     * replica movements.
      *
      * @param userTaskInfo The task information if the task is triggered from a user request, {@code null} otherwise.
      */
@@ -1432,16 +1609,7 @@ public class Executor {
 
         // 1. Inter-broker move replicas if possible.
         if (_executorState.state() == STARTING_EXECUTION) {
-          _executorState = ExecutorState.operationInProgress(INTER_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS,
-                                                             _executionTaskManager.getExecutionTasksSummary(
-                                                                 Collections.singleton(INTER_BROKER_REPLICA_ACTION)),
-                                                             _executionTaskManager.getExecutionConcurrencyManager()
-                                                                                  .getExecutionConcurrencySummary(),
-                                                             _uuid,
-                                                             _reasonSupplier.get(),
-                                                             _recentlyDemotedBrokers,
-                                                             _recentlyRemovedBrokers,
-                                                             _isTriggeredByUserRequest);
+          _executorState = interBrokerReplicaMovementState();
           interBrokerMoveReplicas();
           updateOngoingExecutionState();
         }
@@ -1490,14 +1658,15 @@ public class Executor {
     private void notifyFinishedTask(UserTaskManager.UserTaskInfo userTaskInfo) {
       // If the finished task was triggered by a user request, update task status in user task manager; if task is triggered
       // by an anomaly self-healing, update the task status in anomaly detector.
+      // A resumed execution is neither tracked by the user task manager nor the anomaly detector of this deployment.
       if (userTaskInfo != null) {
         _userTaskManager.markTaskExecutionFinished(_uuid, _executorState.state() == STOPPING_EXECUTION || _executionException != null);
-      } else {
+      } else if (!_isResumed) {
         _anomalyDetectorManager.markSelfHealingFinished(_uuid);
       }
 
       String prefix = String.format("Task [%s] %s execution is ", _uuid,
-                                    userTaskInfo != null ? ("user" + userTaskInfo.requestUrl()) : "self-healing");
+                                    userTaskInfo != null ? ("user" + userTaskInfo.requestUrl()) : _isResumed ? "resumed" : "self-healing");
 
       if (_executorState.state() == STOPPING_EXECUTION) {
         notifyExecutionFinished(String.format("%sstopped by %s.", prefix, _executionStoppedByUser.get() ? "user" : "Cruise Control"),
@@ -1521,6 +1690,7 @@ public class Executor {
     }
 
     private void clearCompletedExecution() {
+      _executionTaskManager.executionJournal().finishExecution();
       _executionTaskManager.clear();
       _uuid = null;
       _reasonSupplier = null;
@@ -1532,6 +1702,7 @@ public class Executor {
       // Ensure that sampling mode is adjusted properly to continue collecting partition metrics after execution.
       _loadMonitor.setSamplingMode(ALL);
       _concurrencyAdjuster.clearAdjustment();
+      _replicationThrottleAdjuster.clearAdjustment();
     }
 
     private void updateOngoingExecutionState() {
@@ -1550,16 +1721,7 @@ public class Executor {
                                                                _isTriggeredByUserRequest);
             break;
           case INTER_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS:
-            _executorState = ExecutorState.operationInProgress(INTER_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS,
-                                                               _executionTaskManager.getExecutionTasksSummary(
-                                                                   Collections.singleton(INTER_BROKER_REPLICA_ACTION)),
-                                                               _executionTaskManager.getExecutionConcurrencyManager()
-                                                                                    .getExecutionConcurrencySummary(),
-                                                               _uuid,
-                                                               _reasonSupplier.get(),
-                                                               _recentlyDemotedBrokers,
-                                                               _recentlyRemovedBrokers,
-                                                               _isTriggeredByUserRequest);
+            _executorState = interBrokerReplicaMovementState();
             break;
           case INTRA_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS:
             _executorState = ExecutorState.operationInProgress(INTRA_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS,
@@ -1590,10 +1752,176 @@ public class Executor {
       }
     }
 
+    private ExecutorState interBrokerReplicaMovementState() {
+      ExecutionTasksSummary summary = _executionTaskManager.getExecutionTasksSummary(Collections.singleton(INTER_BROKER_REPLICA_ACTION));
+      ExecutionConcurrencyManager concurrencyManager = _executionTaskManager.getExecutionConcurrencyManager();
+      Map<ExecutionTaskState, Set<ExecutionTask>> tasksByState = summary.filteredTasksByState().get(INTER_BROKER_REPLICA_ACTION);
+      long estimatedRemainingTimeMs = _executionTimeEstimator.estimateRemainingInterBrokerReplicaMovementTimeMs(
+          tasksByState.get(ExecutionTaskState.PENDING),
+          tasksByState.get(ExecutionTaskState.IN_PROGRESS),
+          brokerId -> concurrencyManager.getExecutionBrokerConcurrency(brokerId, ConcurrencyType.INTER_BROKER_REPLICA),
+          concurrencyManager.maxClusterInterBrokerPartitionMovements(),
+          _time.milliseconds());
+      return ExecutorState.operationInProgress(INTER_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS,
+                                               summary,
+                                               concurrencyManager.getExecutionConcurrencySummary(),
+                                               _uuid,
+                                               _reasonSupplier.get(),
+                                               _recentlyDemotedBrokers,
+                                               _recentlyRemovedBrokers,
+                                               _isTriggeredByUserRequest,
+                                               estimatedRemainingTimeMs);
+    }
+
+    /**
+     * If the inter-broker replica movements are picked based on the bandwidth of brokers, use the network capacity of
+     * brokers as their replication capacity. If the capacity of brokers cannot be resolved, brokers are assumed to have
+     * the same capacity.
+     */
+    private void maybeSetBrokerReplicationCapacity() {
+      if (!_executionTaskManager.isBandwidthAwareScheduling()) {
+        return;
+      }
+      Map<Integer, Double> inboundCapacityByBrokerId = new HashMap<>();
+      Map<Integer, Double> outboundCapacityByBrokerId = new HashMap<>();
+      try {
+        for (Broker broker : _loadMonitor.clusterCapacity().brokers()) {
+          inboundCapacityByBrokerId.put(broker.id(), broker.capacityFor(Resource.NW_IN));
+          outboundCapacityByBrokerId.put(broker.id(), broker.capacityFor(Resource.NW_OUT));
+        }
+      } catch (TimeoutException | BrokerCapacityResolutionException e) {
+        LOG.warn("Failed to get the capacity of brokers. Assume that brokers have the same replication capacity.", e);
+      }
+      _executionTaskManager.setBrokerReplicationCapacity(inboundCapacityByBrokerId, outboundCapacityByBrokerId);
+    }
+
+    private Set<ExecutionTask> inExecutionInterBrokerReplicaTasks() {
+      return _executionTaskManager.inExecutionTasks(Collections.singleton(INTER_BROKER_REPLICA_ACTION));
+    }
+
+    private Set<ExecutionTask> inExecutionLeadershipTasks() {
+      return _executionTaskManager.inExecutionTasks(Collections.singleton(LEADER_ACTION));
+    }
+
+    /**
+     * If leadership movements are pipelined with the inter-broker replica movements, (1) check the progress of the
+     * in-execution leadership movements in the given cluster (if any), and (2) if no leadership movement is in execution,
+     * start a batch of leadership movements of partitions without a remaining or in-execution replica movement.
+     *
+     * @param cluster The cluster state containing the partitions of the in-execution tasks, or {@code null} to skip the
+     *                progress check.
+     */
+    private void maybeMoveLeadershipsConcurrently(Cluster cluster) {
+      if (!_pipelinedLeadershipMovementEnabled) {
+        return;
+      }
+      if (cluster != null) {
+        List<ExecutionTask> finishedTasks = new ArrayList<>();
+        Set<Long> deletedTaskIds = new HashSet<>();
+        for (ExecutionTask task : inExecutionLeadershipTasks()) {
+          TopicPartition tp = task.proposal().topicPartition();
+          if (_stopSignal.get() != NO_STOP_EXECUTION) {
+            LOG.debug("Task {} is marked as dead to stop the execution.", task);
+            finishedTasks.add(task);
+            _executionTaskManager.markTaskDead(task);
+          } else if (cluster.partition(tp) == null || _deletedUponLeaderElection.contains(tp)) {
+            handleProgressWithTopicDeletion(task, finishedTasks, deletedTaskIds);
+          } else if (ExecutionUtils.isLeadershipMovementDone(cluster, task)) {
+            handleProgressWithCompletion(task, finishedTasks);
+          } else if (maybeMarkTaskAsDead(cluster, null, task, null)) {
+            finishedTasks.add(task);
+          }
+        }
+        if (!finishedTasks.isEmpty()) {
+          LOG.debug("Finished leadership movements concurrently with inter-broker replica movements: {}.", finishedTasks);
+        }
+      }
+      if (_stopSignal.get() != NO_STOP_EXECUTION || !inExecutionLeadershipTasks().isEmpty()) {
+        return;
+      }
+      List<ExecutionTask> leadershipMovementTasks = _executionTaskManager.getLeadershipMovementTasksWithoutReplicaMovement();
+      if (!leadershipMovementTasks.isEmpty()) {
+        LOG.debug("Executing {} leadership movements in a batch concurrently with inter-broker replica movements.",
+                  leadershipMovementTasks.size());
+        _executionTaskManager.markTasksInProgress(leadershipMovementTasks);
+        ElectLeadersResult electLeadersResult = ExecutionUtils.submitPreferredLeaderElection(_adminClient, leadershipMovementTasks);
+        _deletedUponLeaderElection.clear();
+        ExecutionUtils.processElectLeadersResult(electLeadersResult, _deletedUponLeaderElection);
+      }
+    }
+
+    /**
+     * Wait for the leadership movements that started concurrently with the inter-broker replica movements to finish.
+     */
+    private void waitForConcurrentLeadershipMovementsToFinish() {
+      while (!inExecutionLeadershipTasks().isEmpty()) {
+        waitForLeadershipTasksToFinish(null);
+      }
+    }
+
+    /**
+     * If intra-broker replica movements are executed concurrently with the inter-broker replica movements, (1) check the
+     * progress of the in-execution intra-broker replica movements in the given cluster (if any), and (2) start the
+     * intra-broker replica movements on brokers without a remaining or in-execution inter-broker replica movement, up to
+     * the intra-broker replica movement concurrency of each broker.
+     *
+     * @param cluster The cluster state containing the partitions of the in-execution tasks, or {@code null} to skip the
+     *                progress check.
+     */
+    private void maybeMoveIntraBrokerReplicasConcurrently(Cluster cluster) {
+      if (!_concurrentIntraBrokerReplicaMovementEnabled) {
+        return;
+      }
+      Set<ExecutionTask> inExecutionTasks = _executionTaskManager.inExecutionTasks(Collections.singleton(INTRA_BROKER_REPLICA_ACTION));
+      if (cluster != null && !inExecutionTasks.isEmpty()) {
+        maybeReexecuteIntraBrokerReplicaTasks();
+        Map<ExecutionTask, ReplicaLogDirInfo> logDirInfoByTask = getLogdirInfoForExecutionTask(inExecutionTasks, _adminClient, _config);
+        List<ExecutionTask> finishedTasks = new ArrayList<>();
+        Set<Long> deletedTaskIds = new HashSet<>();
+        for (ExecutionTask task : inExecutionTasks) {
+          if (cluster.partition(task.proposal().topicPartition()) == null) {
+            handleProgressWithTopicDeletion(task, finishedTasks, deletedTaskIds);
+          } else if (ExecutionUtils.isIntraBrokerReplicaActionDone(logDirInfoByTask, task)) {
+            handleProgressWithCompletion(task, finishedTasks);
+          } else if (maybeMarkTaskAsDead(cluster, logDirInfoByTask, task, null)) {
+            finishedTasks.add(task);
+          }
+        }
+        if (!finishedTasks.isEmpty()) {
+          LOG.debug("Finished intra-broker replica movements concurrently with inter-broker replica movements: {}.", finishedTasks);
+        }
+      }
+      if (_stopSignal.get() != NO_STOP_EXECUTION) {
+        return;
+      }
+      List<ExecutionTask> tasksToExecute = _executionTaskManager.getIntraBrokerReplicaMovementTasksWithoutInterBrokerReplicaMovement();
+      if (!tasksToExecute.isEmpty()) {
+        LOG.debug("Executing {} intra-broker replica movements concurrently with inter-broker replica movements.", tasksToExecute.size());
+        _executionTaskManager.markTasksInProgress(tasksToExecute);
+        executeIntraBrokerReplicaMovements(tasksToExecute, _adminClient, _executionTaskManager, _config);
+      }
+    }
+
+    /**
+     * If the execution is stopped, wait for the intra-broker replica movements that started concurrently with the
+     * inter-broker replica movements to finish. Otherwise, these movements are left to the intra-broker replica movement
+     * phase of the execution.
+     */
+    private void maybeWaitForConcurrentIntraBrokerReplicaMovementsToFinish() {
+      if (_stopSignal.get() == NO_STOP_EXECUTION) {
+        return;
+      }
+      while (!_executionTaskManager.inExecutionTasks(Collections.singleton(INTRA_BROKER_REPLICA_ACTION)).isEmpty()) {
+        waitForIntraBrokerReplicaTasksToFinish();
+      }
+    }
+
     private void interBrokerMoveReplicas() throws InterruptedException, ExecutionException, TimeoutException {
       Set<Integer> currentDeadBrokersWithReplicas = _loadMonitor.deadBrokersWithReplicas(MAX_METADATA_WAIT_MS);
       ReplicationThrottleHelper throttleHelper = new ReplicationThrottleHelper(_adminClient, _replicationThrottle,
           currentDeadBrokersWithReplicas);
+      maybeSetBrokerReplicationCapacity();
+      _replicationThrottleAdjuster.initAdjustment(_replicationThrottle);
       int numTotalPartitionMovements = _executionTaskManager.numRemainingInterBrokerPartitionMovements();
       long totalDataToMoveInMB = _executionTaskManager.remainingInterBrokerDataToMoveInMB();
       long startTime = System.currentTimeMillis();
@@ -1601,7 +1929,9 @@ public class Executor {
 
       int partitionsToMove = numTotalPartitionMovements;
       // Exhaust all the pending partition movements.
-      while ((partitionsToMove > 0 || !inExecutionTasks().isEmpty()) && _stopSignal.get() == NO_STOP_EXECUTION) {
+      while ((partitionsToMove > 0 || !inExecutionInterBrokerReplicaTasks().isEmpty()) && _stopSignal.get() == NO_STOP_EXECUTION) {
+        // Apply the throttle rates recommended by the replication throttle adjuster (if enabled).
+        throttleHelper.updateThrottleRates(_replicationThrottleAdjuster.throttleRateByBrokerId());
         // Get tasks to execute.
         List<ExecutionTask> tasksToExecute = _executionTaskManager.getInterBrokerReplicaMovementTasks();
         LOG.info("Executor will execute {} task(s)", tasksToExecute.size());
@@ -1613,8 +1943,11 @@ public class Executor {
           _executionTaskManager.markTasksInProgress(tasksToExecute);
           result = ExecutionUtils.submitReplicaReassignmentTasks(_adminClient, tasksToExecute);
         }
+        maybeMoveLeadershipsConcurrently(null);
+        maybeMoveIntraBrokerReplicasConcurrently(null);
         // Wait indefinitely for partition movements to finish.
-        List<ExecutionTask> completedTasks = waitForInterBrokerReplicaTasksToFinish(result);
+        List<ExecutionTask> completedTasks = waitForInterBrokerReplicaTasksToFinish(result, throttleHelper);
+        _executionTimeEstimator.recordFinishedTasks(completedTasks);
         partitionsToMove = _executionTaskManager.numRemainingInterBrokerPartitionMovements();
         int numFinishedPartitionMovements = _executionTaskManager.numFinishedInterBrokerPartitionMovements();
         long finishedDataMovementInMB = _executionTaskManager.finishedInterBrokerDataMovementInMB();
@@ -1628,10 +1961,14 @@ public class Executor {
         List<ExecutionTask> inProgressTasks = tasksToExecute.stream()
             .filter(t -> t.state() == ExecutionTaskState.IN_PROGRESS)
             .collect(Collectors.toList());
-        inProgressTasks.addAll(inExecutionTasks());
+        inProgressTasks.addAll(inExecutionInterBrokerReplicaTasks());
 
         throttleHelper.clearThrottles(completedTasks, inProgressTasks);
       }
+      _replicationThrottleAdjuster.clearAdjustment();
+      _executionTimeEstimator.persist();
+      waitForConcurrentLeadershipMovementsToFinish();
+      maybeWaitForConcurrentIntraBrokerReplicaMovementsToFinish();
 
       // Currently, _executionProgressCheckIntervalMs is only runtime adjusted for inter broker move tasks, not
       // in leadership move task. Thus reset it to initial value once interBrokerMoveReplicas has stopped to
@@ -1660,12 +1997,17 @@ public class Executor {
     }
 
     private void intraBrokerMoveReplicas() {
-      int numTotalPartitionMovements = _executionTaskManager.numRemainingIntraBrokerPartitionMovements();
-      long totalDataToMoveInMB = _executionTaskManager.remainingIntraBrokerDataToMoveInMB();
+      // Include the movements that started concurrently with the inter-broker replica movements (if any).
+      int numTotalPartitionMovements = _executionTaskManager.numRemainingIntraBrokerPartitionMovements()
+                                       + _executionTaskManager.inExecutionTasks(Collections.singleton(INTRA_BROKER_REPLICA_ACTION)).size()
+                                       + _executionTaskManager.numFinishedIntraBrokerPartitionMovements();
+      long totalDataToMoveInMB = _executionTaskManager.remainingIntraBrokerDataToMoveInMB()
+                                 + _executionTaskManager.inExecutionIntraBrokerDataMovementInMB()
+                                 + _executionTaskManager.finishedIntraBrokerDataToMoveInMB();
       long startTime = System.currentTimeMillis();
       LOG.info("Starting {} intra-broker partition movements.", numTotalPartitionMovements);
 
-      int partitionsToMove = numTotalPartitionMovements;
+      int partitionsToMove = _executionTaskManager.numRemainingIntraBrokerPartitionMovements();
       // Exhaust all the pending partition movements.
       while ((partitionsToMove > 0 || !inExecutionTasks().isEmpty()) && _stopSignal.get() == NO_STOP_EXECUTION) {
         // Get tasks to execute.
@@ -1756,7 +2098,7 @@ public class Executor {
 
         ElectLeadersResult electLeadersResult = ExecutionUtils.submitPreferredLeaderElection(_adminClient, leadershipMovementTasks);
         LOG.trace("Waiting for leadership movement batch to finish.");
-        while (!inExecutionTasks().isEmpty() && _stopSignal.get() == NO_STOP_EXECUTION) {
+        while (!inExecutionLeadershipTasks().isEmpty() && _stopSignal.get() == NO_STOP_EXECUTION) {
           waitForLeadershipTasksToFinish(electLeadersResult);
         }
       }
@@ -1781,14 +2123,43 @@ public class Executor {
       return _metadataClient.refreshMetadata().cluster();
     }
 
+    /**
+     * Waits for up to {@link #executionProgressCheckIntervalMs} for the in-execution inter-broker replica tasks to make
+     * progress, then retrieves the state of their partitions for the progress check. Unlike
+     * {@link #getClusterForExecutionProgressCheck()}, the wait is over once the reassignment of any in-execution partition
+     * is over, and only the partitions of the in-execution tasks are described. If describing these partitions fails, this
+     * method falls back to refreshing the metadata of the whole cluster.
+     *
+     * @return The cluster state containing the partitions of the in-execution tasks after waiting for the execution progress.
+     */
+    private Cluster getClusterForInterBrokerReplicaProgressCheck() {
+      Set<ExecutionTask> inExecutionTasks = inExecutionTasks();
+      _progressTracker.awaitProgress(inExecutionTasks, executionProgressCheckIntervalMs(),
+                                     () -> _stopSignal.get() != NO_STOP_EXECUTION);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Tasks in execution: {}", inExecutionTasks);
+      }
+      try {
+        return _progressTracker.inExecutionCluster(inExecutionTasks());
+      } catch (ExecutionException | TimeoutException e) {
+        LOG.warn("Failed to describe the partitions of the tasks in execution. Refreshing the metadata instead.", e);
+      } catch (InterruptedException e) {
+        // let it go
+      }
+      return _metadataClient.refreshMetadata().cluster();
+    }
+
     /**
      * Periodically checks the metadata to see if inter-broker replica reassignment has finished or not.
      * @param result the result of a request to alter partition reassignments -- can be {@code null} if no new tasks
      *               for the execution are submitted.
+     * @param throttleHelper The helper to apply the throttle rates recommended by the replication throttle adjuster on
+     *                       each progress check.
      *
      * @return Finished tasks.
      */
-    private List<ExecutionTask> waitForInterBrokerReplicaTasksToFinish(AlterPartitionReassignmentsResult result)
+    private List<ExecutionTask> waitForInterBrokerReplicaTasksToFinish(AlterPartitionReassignmentsResult result,
+                                                                       ReplicationThrottleHelper throttleHelper)
         throws InterruptedException, ExecutionException, TimeoutException {
       List<ExecutionTask> finishedTasks = new ArrayList<>();
       Set<Long> stoppedTaskIds = new HashSet<>();
@@ -1807,14 +2178,18 @@ public class Executor {
 
       boolean retry;
       do {
-        Cluster cluster = getClusterForExecutionProgressCheck();
+        Cluster cluster = getClusterForInterBrokerReplicaProgressCheck();
+        // Apply the throttle rates recommended by the replication throttle adjuster (if enabled) to the ongoing movements.
+        throttleHelper.updateThrottleRates(_replicationThrottleAdjuster.throttleRateByBrokerId());
+        maybeMoveLeadershipsConcurrently(cluster);
+        maybeMoveIntraBrokerReplicasConcurrently(cluster);
         List<ExecutionTask> deadInterBrokerReplicaTasks = new ArrayList<>();
         List<ExecutionTask> stoppedInterBrokerReplicaTasks = new ArrayList<>();
         List<ExecutionTask> slowTasksToReport = new ArrayList<>();
-        final int numInExecutionTasks = inExecutionTasks().size();
+        final int numInExecutionTasks = inExecutionInterBrokerReplicaTasks().size();
         int numSuccessfullyCompletedTasks = 0;
         boolean shouldReportSlowTasks = _time.milliseconds() - _lastSlowTaskReportingTimeMs > _slowTaskAlertingBackoffTimeMs;
-        for (ExecutionTask task : inExecutionTasks()) {
+        for (ExecutionTask task : inExecutionInterBrokerReplicaTasks()) {
           TopicPartition tp = task.proposal().topicPartition();
           if (_stopSignal.get() != NO_STOP_EXECUTION) {
             // If the execution is stopped during an ongoing inter-broker replica reassignment, the
@@ -1856,7 +2231,7 @@ public class Executor {
         handleDeadInterBrokerReplicaTasks(deadInterBrokerReplicaTasks, stoppedInterBrokerReplicaTasks);
         updateOngoingExecutionState();
 
-        retry = !inExecutionTasks().isEmpty() && finishedTasks.isEmpty();
+        retry = !inExecutionInterBrokerReplicaTasks().isEmpty() && finishedTasks.isEmpty();
         // If there is no finished tasks, we need to check if anything is blocked.
         if (retry) {
           maybeReexecuteInterBrokerReplicaTasks(deletedUponSubmission, deadUponSubmission);
@@ -1884,6 +2259,7 @@ public class Executor {
       // Check to see if the task is done.
       finishedTasks.add(task);
       _executionTaskManager.markTaskDone(task);
+      _progressTracker.recordCompletion(task);
     }
 
     /**
@@ -1906,10 +2282,11 @@ public class Executor {
 
         List<ExecutionTask> slowTasksToReport = new ArrayList<>();
         boolean shouldReportSlowTasks = _time.milliseconds() - _lastSlowTaskReportingTimeMs > _slowTaskAlertingBackoffTimeMs;
-        for (ExecutionTask task : inExecutionTasks()) {
+        // Only the leadership movements are checked, as intra-broker replica movements may be in execution concurrently.
+        for (ExecutionTask task : inExecutionLeadershipTasks()) {
           TopicPartition tp = task.proposal().topicPartition();
           if (_stopSignal.get() != NO_STOP_EXECUTION) {
-            // If the execution is stopped, the executor will mark all in progress tasks as dead
+            // If the execution is stopped, the executor will mark all in progress leadership movements as dead
             LOG.debug("Task {} is marked as dead to stop the execution.", task);
             finishedTasks.add(task);
             stoppedTaskIds.add(task.executionId());
@@ -1931,7 +2308,7 @@ public class Executor {
         sendSlowExecutionAlert(slowTasksToReport);
         updateOngoingExecutionState();
 
-        retry = !inExecutionTasks().isEmpty() && finishedTasks.isEmpty();
+        retry = !inExecutionLeadershipTasks().isEmpty() && finishedTasks.isEmpty();
         // If there is no finished tasks, we need to check if anything is blocked.
         if (retry) {
           maybeReexecuteLeadershipTasks(deletedUponSubmission);
@@ -2189,7 +2566,7 @@ public class Executor {
      *                the corresponding leadership tasks. No change otherwise.
      */
     private void maybeReexecuteLeadershipTasks(Set<TopicPartition> deleted) {
-      List<ExecutionTask> leaderActionsToReexecute = new ArrayList<>(_executionTaskManager.inExecutionTasks(Collections.singleton(LEADER_ACTION)));
+      List<ExecutionTask> leaderActionsToReexecute = new ArrayList<>(inExecutionLeadershipTasks());
       if (!leaderActionsToReexecute.isEmpty()) {
         LOG.info("Reexecuting tasks {}", leaderActionsToReexecute);
         ElectLeadersResult electLeadersResult = ExecutionUtils.submitPreferredLeaderElection(_adminClient, leaderActionsToReexecute);
@@ -87,6 +87,8 @@ public final class ExecutorState {
   private static final String MINIMUM_CONCURRENT_INTER_BROKER_PARTITION_MOVEMENTS_PER_BROKER = "minimumConcurrentPartitionMovementsPerBroker";
   @JsonResponseField(required = false)
   private static final String AVERAGE_CONCURRENT_INTER_BROKER_PARTITION_MOVEMENTS_PER_BROKER = "averageConcurrentPartitionMovementsPerBroker";
+  @JsonResponseField(required = false)
+  private static final String ESTIMATED_REMAINING_INTER_BROKER_PARTITION_MOVEMENT_TIME_MS = "estimatedRemainingPartitionMovementTimeMs";
 
   @JsonResponseField(required = false)
   private static final String NUM_TOTAL_INTRA_BROKER_PARTITION_MOVEMENTS = "numTotalIntraBrokerPartitionMovements";
@@ -156,6 +158,8 @@ public final class ExecutorState {
   private final boolean _isTriggeredByUserRequest;
   private final Set<Integer> _recentlyDemotedBrokers;
   private final Set<Integer> _recentlyRemovedBrokers;
+  // Estimated remaining time to execute the inter-broker partition movements, if available.
+  private final Long _estimatedRemainingInterBrokerPartitionMovementTimeMs;
 
   private ExecutorState(State state,
                         ExecutionTasksSummary executionTasksSummary,
@@ -165,6 +169,19 @@ public final class ExecutorState {
                         Set<Integer> recentlyDemotedBrokers,
                         Set<Integer> recentlyRemovedBrokers,
                         boolean isTriggeredByUserRequest) {
+    this(state, executionTasksSummary, executionConcurrencySummary, uuid, reason, recentlyDemotedBrokers, recentlyRemovedBrokers,
+         isTriggeredByUserRequest, null);
+  }
+
+  private ExecutorState(State state,
+                        ExecutionTasksSummary executionTasksSummary,
+                        ExecutionConcurrencySummary executionConcurrencySummary,
+                        String uuid,
+                        String reason,
+                        Set<Integer> recentlyDemotedBrokers,
+                        Set<Integer> recentlyRemovedBrokers,
+                        boolean isTriggeredByUserRequest,
+                        Long estimatedRemainingInterBrokerPartitionMovementTimeMs) {
     _state = state;
     _executionTasksSummary = executionTasksSummary;
     _executionConcurrencySummary = executionConcurrencySummary;
@@ -173,6 +190,7 @@ public final class ExecutorState {
     _recentlyDemotedBrokers = recentlyDemotedBrokers;
     _recentlyRemovedBrokers = recentlyRemovedBrokers;
     _isTriggeredByUserRequest = isTriggeredByUserRequest;
+    _estimatedRemainingInterBrokerPartitionMovementTimeMs = estimatedRemainingInterBrokerPartitionMovementTimeMs;
   }
 
   /**
@@ -280,6 +298,32 @@ public final class ExecutorState {
                                                   Set<Integer> recentlyDemotedBrokers,
                                                   Set<Integer> recentlyRemovedBrokers,
                                                   boolean isTriggeredByUserRequest) {
+    return operationInProgress(state, executionTasksSummary, executionConcurrencySummary, uuid, reason, recentlyDemotedBrokers,
+                               recentlyRemovedBrokers, isTriggeredByUserRequest, null);
+  }
+
+  /**
+   * @param state State of executor.
+   * @param executionTasksSummary Summary of the execution tasks.
+   * @param executionConcurrencySummary Summary of the execution concurrency
+   * @param uuid UUID of the current execution.
+   * @param reason Reason of the current execution.
+   * @param recentlyDemotedBrokers Recently demoted broker IDs.
+   * @param recentlyRemovedBrokers Recently removed broker IDs.
+   * @param isTriggeredByUserRequest Whether the execution is triggered by a user request.
+   * @param estimatedRemainingInterBrokerPartitionMovementTimeMs Estimated remaining time in ms to execute the inter-broker
+   *                                                             partition movements, or {@code null} if not estimated.
+   * @return Executor state when execution is in progress.
+   */
+  public static ExecutorState operationInProgress(State state,
+                                                  ExecutionTasksSummary executionTasksSummary,
+                                                  ExecutionConcurrencySummary executionConcurrencySummary,
+                                                  String uuid,
+                                                  String reason,
+                                                  Set<Integer> recentlyDemotedBrokers,
+                                                  Set<Integer> recentlyRemovedBrokers,
+                                                  boolean isTriggeredByUserRequest,
+                                                  Long estimatedRemainingInterBrokerPartitionMovementTimeMs) {
     if (!IN_PROGRESS_STATES.contains(state)) {
       throw new IllegalArgumentException(String.format("%s is not an operation-in-progress executor state %s.", state, IN_PROGRESS_STATES));
     }
@@ -290,7 +334,8 @@ public final class ExecutorState {
                              reason,
                              recentlyDemotedBrokers,
                              recentlyRemovedBrokers,
-                             isTriggeredByUserRequest);
+                             isTriggeredByUserRequest,
+                             estimatedRemainingInterBrokerPartitionMovementTimeMs);
   }
 
   /**
@@ -348,6 +393,13 @@ public final class ExecutorState {
     return _executionTasksSummary;
   }
 
+  /**
+   * @return Estimated remaining time in ms to execute the inter-broker partition movements, or {@code null} if not estimated.
+   */
+  public Long estimatedRemainingInterBrokerPartitionMovementTimeMs() {
+    return _estimatedRemainingInterBrokerPartitionMovementTimeMs;
+  }
+
   private List<Object> getTaskDetails(ExecutionTask.TaskType type, ExecutionTaskState state) {
     List<Object> taskList = new ArrayList<>();
     for (ExecutionTask task : _executionTasksSummary.filteredTasksByState().get(type).get(state)) {
@@ -424,6 +476,9 @@ public final class ExecutorState {
         execState.put(NUM_TOTAL_INTER_BROKER_PARTITION_MOVEMENTS, numTotalMovements(INTER_BROKER_REPLICA_ACTION));
         execState.put(FINISHED_INTER_BROKER_DATA_MOVEMENT, _executionTasksSummary.finishedInterBrokerDataMovementInMB());
         execState.put(TOTAL_INTER_BROKER_DATA_TO_MOVE, numTotalInterBrokerDataToMove());
+        if (_estimatedRemainingInterBrokerPartitionMovementTimeMs != null) {
+          execState.put(ESTIMATED_REMAINING_INTER_BROKER_PARTITION_MOVEMENT_TIME_MS, _estimatedRemainingInterBrokerPartitionMovementTimeMs);
+        }
         if (verbose) {
           execState.put(IN_PROGRESS_INTER_BROKER_PARTITION_MOVEMENT, getTaskDetails(INTER_BROKER_REPLICA_ACTION, ExecutionTaskState.IN_PROGRESS));
           execState.put(PENDING_INTER_BROKER_PARTITION_MOVEMENT, getTaskDetails(INTER_BROKER_REPLICA_ACTION, ExecutionTaskState.PENDING));
@@ -537,10 +592,13 @@ public final class ExecutorState {
         if (numTotalInterBrokerDataToMove != 0L) {
           finishedInterBrokerDataPercent = ((double) finishedInterBrokerDataMovementInMB) / numTotalInterBrokerDataToMove * 100;
         }
+        String estimatedRemainingTime = _estimatedRemainingInterBrokerPartitionMovementTimeMs == null
+                                        ? "" : String.format(", %s: %d", ESTIMATED_REMAINING_INTER_BROKER_PARTITION_MOVEMENT_TIME_MS,
+                                                             _estimatedRemainingInterBrokerPartitionMovementTimeMs);
 
         return String.format("{%s: %s, pending(%d)/in-progress(%d)/aborting(%d)/finished(%d)/total(%d) inter-broker partition movements,"
                              + " completed(%d)/total(%d) bytes in MBs: %.2f%%, max/min/avg concurrent inter-broker partition movements per-broker:"
-                             + " %d/%d/%.2f, %s: %s, %s: %s%s%s}",
+                             + " %d/%d/%.2f%s, %s: %s, %s: %s%s%s}",
                              STATE, _state,
                              interBrokerPartitionMovementStats.get(ExecutionTaskState.PENDING),
                              interBrokerPartitionMovementStats.get(ExecutionTaskState.IN_PROGRESS),
@@ -553,6 +611,7 @@ public final class ExecutorState {
                              _executionConcurrencySummary.getMaxExecutionConcurrency(ConcurrencyType.INTER_BROKER_REPLICA),
                              _executionConcurrencySummary.getMinExecutionConcurrency(ConcurrencyType.INTER_BROKER_REPLICA),
                              _executionConcurrencySummary.getAvgExecutionConcurrency(ConcurrencyType.INTER_BROKER_REPLICA),
+                             estimatedRemainingTime,
                              _isTriggeredByUserRequest ? TRIGGERED_USER_TASK_ID : TRIGGERED_SELF_HEALING_TASK_ID, _uuid,
                              TRIGGERED_TASK_REASON, _reason, recentlyDemotedBrokers, recentlyRemovedBrokers);
       case INTRA_BROKER_REPLICA_MOVEMENT_TASK_IN_PROGRESS:
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Indexes the remaining inter-broker replica movements of an {@link ExecutionTaskPlanner}, so that the movements to execute
+ * are picked in time proportional to the number of picked movements and brokers, rather than the number of remaining
+ * movements.
+ * <p>
+ * The movements are picked in rounds. In each round, the brokers are visited in the order of their first movement (then
+ * the larger number of movements, then the smaller broker id), and each broker that has not yet taken part in a movement
+ * in the round picks its first executable movement. A movement is executable if none of its brokers has taken part in a
+ * movement in the round, all its brokers have a free movement slot, its partition is not already being moved, and it is
+ * not held -- i.e. a hop of a staged movement whose previous hop is not yet completed.
+ * <p>
+ * The index keeps the following structures up to date as movements are removed:
+ * <ul>
+ *   <li>Brokers are mapped to dense indices, so that the per-call state -- i.e. the free movement slots and the brokers
+ *   that take part in a movement in the current round -- are primitive arrays and bit sets.</li>
+ *   <li>The movements of each broker are grouped by the other brokers that take part in them (i.e. its peers). Each group
+ *   keeps its movements in the order of the replica movement strategy with a cursor at its first remaining movement,
+ *   and the groups of a broker are ordered by their first remaining movement. Hence, the first executable movement of a
+ *   broker is found by skipping the groups with a busy peer rather than each of their movements.</li>
+ *   <li>The order of the brokers is updated incrementally for the brokers of each removed movement.</li>
+ * </ul>
+ * This class is not thread safe.
+ */
+final class InterBrokerReplicaMovementIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(InterBrokerReplicaMovementIndex.class);
+  private final Comparator<ExecutionTask> _taskComparator;
+  private final BrokerPlan[] _brokerPlans;
+  private final Map<ExecutionTask, IndexedTask> _indexedTaskByTask;
+  private final TreeSet<BrokerPlan> _brokerPlansByPriority;
+
+  /**
+   * @param tasksByBrokerId The inter-broker replica movements of each broker, ordered by the replica movement strategy.
+   * @param taskComparator The comparator of the replica movement strategy.
+   */
+  InterBrokerReplicaMovementIndex(Map<Integer, SortedSet<ExecutionTask>> tasksByBrokerId, Comparator<ExecutionTask> taskComparator) {
+    _taskComparator = taskComparator;
+    int[] brokerIds = tasksByBrokerId.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+    Map<Integer, Integer> brokerIndexById = new HashMap<>(brokerIds.length);
+    _brokerPlans = new BrokerPlan[brokerIds.length];
+    for (int index = 0; index < brokerIds.length; index++) {
+      brokerIndexById.put(brokerIds[index], index);
+      _brokerPlans[index] = new BrokerPlan(index, brokerIds[index]);
+    }
+    // Each task is tracked by its source broker and at least one destination broker.
+    _indexedTaskByTask = new HashMap<>(tasksByBrokerId.values().stream().mapToInt(Set::size).sum());
+    _brokerPlansByPriority = new TreeSet<>(this::compareBrokerPlans);
+    for (BrokerPlan brokerPlan : _brokerPlans) {
+      // The tasks of the broker are already ordered by the replica movement strategy, hence so are the tasks of each group.
+      Map<List<Integer>, TaskGroup> groupByPeers = new HashMap<>();
+      for (ExecutionTask task : tasksByBrokerId.get(brokerPlan._brokerId)) {
+        IndexedTask indexedTask = _indexedTaskByTask.computeIfAbsent(task, t -> new IndexedTask(t, brokerIndices(t.proposal(),
+                                                                                                                 brokerIndexById)));
+        TaskGroup group = groupByPeers.computeIfAbsent(indexedTask.peers(brokerPlan._index), TaskGroup::new);
+        group._tasks.add(indexedTask);
+        indexedTask._groups[indexedTask.position(brokerPlan._index)] = group;
+        brokerPlan._numTasks++;
+      }
+      brokerPlan._groupsByFirstTask.addAll(groupByPeers.values());
+      if (brokerPlan._numTasks > 0) {
+        _brokerPlansByPriority.add(brokerPlan);
+      }
+    }
+  }
+
+  private static int[] brokerIndices(ExecutionProposal proposal, Map<Integer, Integer> brokerIndexById) {
+    int[] brokers = new int[1 + proposal.replicasToAdd().size()];
+    brokers[0] = brokerIndexById.get(proposal.oldLeader().brokerId());
+    int i = 1;
+    for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
+      brokers[i++] = brokerIndexById.get(destinationBroker.brokerId());
+    }
+    return brokers;
+  }
+
+  /**
+   * The comparing order:
+   * <ul>
+   *   <li>Priority of the first task of each broker</li>
+   *   <li>The number of tasks of each broker. Prioritize broker with the larger number of tasks</li>
+   *   <li>Broker ID integer. Prioritize broker with the smaller ID</li>
+   * </ul>
+   * Brokers without a task are not compared, as they are not kept in {@link #_brokerPlansByPriority}.
+   *
+   * @param brokerPlan1 The plan of the first broker to compare.
+   * @param brokerPlan2 The plan of the second broker to compare.
+   * @return A negative integer, zero, or a positive integer as the first broker has higher, equal or lower priority.
+   */
+  private int compareBrokerPlans(BrokerPlan brokerPlan1, BrokerPlan brokerPlan2) {
+    int compareFirstTasks = _taskComparator.compare(brokerPlan1.firstTask(), brokerPlan2.firstTask());
+    if (compareFirstTasks != 0) {
+      return compareFirstTasks;
+    }
+    return brokerPlan1._numTasks != brokerPlan2._numTasks ? Integer.compare(brokerPlan2._numTasks, brokerPlan1._numTasks)
+                                                          : Integer.compare(brokerPlan1._brokerId, brokerPlan2._brokerId);
+  }
+
+  /**
+   * Pick the executable inter-broker replica movements for the given ready brokers, and remove them from the index.
+   *
+   * @param readyBrokers The number of movements that each broker can take part in; updated for the picked movements.
+   *                     Brokers that are missing from the map are not ready.
+   * @param inProgressPartitions Partitions that are already being moved.
+   * @param maxInterBrokerPartitionMovements Maximum cap for number of partitions to move at any time.
+   * @return The picked movements in the order they are picked.
+   */
+  List<ExecutionTask> pickTasks(Map<Integer, Integer> readyBrokers, Set<TopicPartition> inProgressPartitions, int maxInterBrokerPartitionMovements) {
+    int[] slots = new int[_brokerPlans.length];
+    for (BrokerPlan brokerPlan : _brokerPlans) {
+      slots[brokerPlan._index] = readyBrokers.getOrDefault(brokerPlan._brokerId, 0);
+    }
+    BitSet brokersInvolved = new BitSet(_brokerPlans.length);
+    Set<TopicPartition> partitionsInvolved = new HashSet<>();
+    List<ExecutionTask> pickedTasks = new ArrayList<>();
+    int numInProgressPartitions = inProgressPartitions.size();
+    boolean newTaskAdded = true;
+    while (newTaskAdded && numInProgressPartitions < maxInterBrokerPartitionMovements) {
+      newTaskAdded = false;
+      brokersInvolved.clear();
+      // The brokers are visited in their order at the beginning of the round.
+      for (BrokerPlan brokerPlan : new ArrayList<>(_brokerPlansByPriority)) {
+        if (numInProgressPartitions >= maxInterBrokerPartitionMovements) {
+          LOG.trace("In progress Partitions {} reached/exceeded Max partitions to move in cluster {}. Not adding anymore tasks.",
+                    numInProgressPartitions, maxInterBrokerPartitionMovements);
+          break;
+        }
+        if (brokersInvolved.get(brokerPlan._index) || slots[brokerPlan._index] <= 0 || brokerPlan._numTasks == 0) {
+          continue;
+        }
+        ExecutionTask task = firstExecutableTask(brokerPlan, slots, brokersInvolved, inProgressPartitions, partitionsInvolved);
+        if (task == null) {
+          continue;
+        }
+        partitionsInvolved.add(task.proposal().topicPartition());
+        pickedTasks.add(task);
+        for (int broker : _indexedTaskByTask.get(task)._brokers) {
+          brokersInvolved.set(broker);
+          slots[broker]--;
+          readyBrokers.merge(_brokerPlans[broker]._brokerId, -1, Integer::sum);
+        }
+        remove(task);
+        newTaskAdded = true;
+        numInProgressPartitions++;
+        LOG.debug("Found ready task {} for broker {}. Broker concurrency state: {}", task, brokerPlan._brokerId, readyBrokers);
+      }
+    }
+    return pickedTasks;
+  }
+
+  // The first task of the given broker whose peers are available and whose partition is not being moved, null if none.
+  private ExecutionTask firstExecutableTask(BrokerPlan brokerPlan,
+                                            int[] slots,
+                                            BitSet brokersInvolved,
+                                            Set<TopicPartition> inProgressPartitions,
+                                            Set<TopicPartition> partitionsInvolved) {
+    IndexedTask firstTask = null;
+    for (TaskGroup group : brokerPlan._groupsByFirstTask) {
+      // The remaining groups cannot have a task before the first task found so far.
+      if (firstTask != null && _taskComparator.compare(group.first()._task, firstTask._task) > 0) {
+        break;
+      }
+      if (!isAvailable(group._peers, slots, brokersInvolved)) {
+        continue;
+      }
+      for (int i = group._cursor; i < group._tasks.size(); i++) {
+        IndexedTask indexedTask = group._tasks.get(i);
+        if (indexedTask._removed || indexedTask._held) {
+          continue;
+        }
+        if (firstTask != null && _taskComparator.compare(indexedTask._task, firstTask._task) > 0) {
+          break;
+        }
+        TopicPartition tp = indexedTask._task.proposal().topicPartition();
+        if (!inProgressPartitions.contains(tp) && !partitionsInvolved.contains(tp)) {
+          firstTask = indexedTask;
+          break;
+        }
+      }
+    }
+    return firstTask == null ? null : firstTask._task;
+  }
+
+  private static boolean isAvailable(int[] brokers, int[] slots, BitSet brokersInvolved) {
+    for (int broker : brokers) {
+      if (slots[broker] <= 0 || brokersInvolved.get(broker)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Remove the given task from the index, if present.
+   *
+   * @param task Task to remove.
+   */
+  void remove(ExecutionTask task) {
+    IndexedTask indexedTask = _indexedTaskByTask.remove(task);
+    if (indexedTask == null) {
+      return;
+    }
+    // Reposition the brokers and the groups whose order depends on the removed task.
+    for (int i = 0; i < indexedTask._brokers.length; i++) {
+      BrokerPlan brokerPlan = _brokerPlans[indexedTask._brokers[i]];
+      _brokerPlansByPriority.remove(brokerPlan);
+      if (indexedTask._groups[i].first() == indexedTask) {
+        brokerPlan._groupsByFirstTask.remove(indexedTask._groups[i]);
+      }
+    }
+    indexedTask._removed = true;
+    for (int i = 0; i < indexedTask._brokers.length; i++) {
+      BrokerPlan brokerPlan = _brokerPlans[indexedTask._brokers[i]];
+      TaskGroup group = indexedTask._groups[i];
+      if (group.first() != null) {
+        brokerPlan._groupsByFirstTask.add(group);
+      }
+      brokerPlan._numTasks--;
+      if (brokerPlan._numTasks > 0) {
+        _brokerPlansByPriority.add(brokerPlan);
+      }
+    }
+  }
+
+  /**
+   * Hold the given task in the index, if present -- i.e. the task is not picked until it is released.
+   *
+   * @param task Task to hold.
+   */
+  void hold(ExecutionTask task) {
+    IndexedTask indexedTask = _indexedTaskByTask.get(task);
+    if (indexedTask != null) {
+      indexedTask._held = true;
+    }
+  }
+
+  /**
+   * Release the given held task in the index, if present.
+   *
+   * @param task Task to release.
+   */
+  void release(ExecutionTask task) {
+    IndexedTask indexedTask = _indexedTaskByTask.get(task);
+    if (indexedTask != null) {
+      indexedTask._held = false;
+    }
+  }
+
+  /**
+   * @return The number of tasks in the index.
+   */
+  int numTasks() {
+    return _indexedTaskByTask.size();
+  }
+
+  /**
+   * Remove all tasks from the index.
+   */
+  void clear() {
+    _indexedTaskByTask.clear();
+    _brokerPlansByPriority.clear();
+    for (BrokerPlan brokerPlan : _brokerPlans) {
+      brokerPlan._groupsByFirstTask.clear();
+      brokerPlan._numTasks = 0;
+    }
+  }
+
+  /**
+   * A task with the dense indices of its brokers, i.e. the source broker followed by the destination brokers, and its
+   * group in the plan of each broker.
+   */
+  private static final class IndexedTask {
+    private final ExecutionTask _task;
+    private final int[] _brokers;
+    private final TaskGroup[] _groups;
+    private boolean _removed;
+    private boolean _held;
+
+    private IndexedTask(ExecutionTask task, int[] brokers) {
+      _task = task;
+      _brokers = brokers;
+      _groups = new TaskGroup[brokers.length];
+      _removed = false;
+      _held = false;
+    }
+
+    private List<Integer> peers(int broker) {
+      if (_brokers.length == 2) {
+        return Collections.singletonList(_brokers[0] == broker ? _brokers[1] : _brokers[0]);
+      }
+      List<Integer> peers = new ArrayList<>(_brokers.length - 1);
+      for (int peer : _brokers) {
+        if (peer != broker) {
+          peers.add(peer);
+        }
+      }
+      return peers;
+    }
+
+    private int position(int broker) {
+      for (int i = 0; i < _brokers.length; i++) {
+        if (_brokers[i] == broker) {
+          return i;
+        }
+      }
+      throw new IllegalArgumentException("Broker index " + broker + " does not take part in task " + _task);
+    }
+  }
+
+  /**
+   * The tasks of a broker with the same peers, ordered by the replica movement strategy. Removed tasks are skipped by
+   * moving the cursor past them, hence the tasks are never reordered.
+   */
+  private static final class TaskGroup {
+    private final int[] _peers;
+    private final List<IndexedTask> _tasks;
+    private int _cursor;
+
+    private TaskGroup(List<Integer> peers) {
+      _peers = peers.stream().mapToInt(Integer::intValue).toArray();
+      _tasks = new ArrayList<>();
+      _cursor = 0;
+    }
+
+    // The first task of the group that is not removed, null if none.
+    private IndexedTask first() {
+      while (_cursor < _tasks.size() && _tasks.get(_cursor)._removed) {
+        _cursor++;
+      }
+      return _cursor < _tasks.size() ? _tasks.get(_cursor) : null;
+    }
+  }
+
+  /**
+   * The groups of the tasks of a broker, ordered by their first task.
+   */
+  private final class BrokerPlan {
+    private final int _index;
+    private final int _brokerId;
+    private final TreeSet<TaskGroup> _groupsByFirstTask;
+    private int _numTasks;
+
+    private BrokerPlan(int index, int brokerId) {
+      _index = index;
+      _brokerId = brokerId;
+      _groupsByFirstTask = new TreeSet<>((group1, group2) -> _taskComparator.compare(group1.first()._task, group2.first()._task));
+      _numTasks = 0;
+    }
+
+    private ExecutionTask firstTask() {
+      return _groupsByFirstTask.first().first()._task;
+    }
+  }
+}
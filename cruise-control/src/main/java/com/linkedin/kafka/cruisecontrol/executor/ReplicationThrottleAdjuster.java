@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ValuesAndExtrapolations;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionUtils.CONCURRENCY_ADJUSTER_LIMIT_BY_METRIC_NAME;
+import static com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef.BROKER_REQUEST_HANDLER_POOL_IDLE_PERCENT;
+
+
+/**
+ * Tunes the replication throttle rate of each broker during the inter-broker replica movements of an execution, so that
+ * the data is moved as fast as the brokers can absorb without breaching the limits on their metrics.
+ *
+ * The throttle rate of each broker starts from the requested replication throttle of the execution. Upon each
+ * adjustment, it is
+ * <ul>
+ *   <li>multiplicatively decreased (MIN: {@link #_minRate}) for brokers that host a replica of an (At/Under)MinISR
+ *   partition, that have no metrics, whose metrics exceed the concurrency adjuster limits (e.g. produce local time and
+ *   request queue size), or whose request handler pool idle ratio is below {@link #_minRequestHandlerIdleRatio}, and</li>
+ *   <li>additively increased (MAX: {@link #_maxRate}) for other brokers with metrics.</li>
+ * </ul>
+ * The adjuster only recommends the throttle rates, which are applied by the {@link ReplicationThrottleHelper} of the
+ * execution to the brokers whose throttle rate is set by the execution.
+ *
+ * The adjuster is thread safe.
+ */
+class ReplicationThrottleAdjuster {
+  private static final Logger LOG = LoggerFactory.getLogger(ReplicationThrottleAdjuster.class);
+  private final boolean _enabled;
+  private final long _additiveIncrease;
+  private final int _multiplicativeDecrease;
+  private final long _minRate;
+  private final long _maxRate;
+  private final double _minRequestHandlerIdleRatio;
+  private final Map<Integer, Long> _rateByBrokerId;
+  private Long _initialRate;
+
+  /**
+   * @param config The configurations for Cruise Control.
+   */
+  ReplicationThrottleAdjuster(KafkaCruiseControlConfig config) {
+    _enabled = config.getBoolean(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_ENABLED_CONFIG);
+    _additiveIncrease = config.getLong(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE_CONFIG);
+    _multiplicativeDecrease = config.getInt(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE_CONFIG);
+    _minRate = config.getLong(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MIN_RATE_CONFIG);
+    _maxRate = Math.max(_minRate, config.getLong(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MAX_RATE_CONFIG));
+    _minRequestHandlerIdleRatio = config.getDouble(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO_CONFIG);
+    _rateByBrokerId = new HashMap<>();
+    _initialRate = null;
+  }
+
+  /**
+   * Start adjusting the throttle rates from the given replication throttle, if the adjuster is enabled.
+   *
+   * @param replicationThrottle The replication throttle of the execution, or {@code null} if the execution is not throttled,
+   *                            in which case there is nothing to adjust.
+   */
+  synchronized void initAdjustment(Long replicationThrottle) {
+    _rateByBrokerId.clear();
+    _initialRate = _enabled ? replicationThrottle : null;
+  }
+
+  /**
+   * Stop adjusting the throttle rates.
+   */
+  synchronized void clearAdjustment() {
+    _rateByBrokerId.clear();
+    _initialRate = null;
+  }
+
+  /**
+   * @return {@code true} if the throttle rates are being adjusted, {@code false} otherwise.
+   */
+  synchronized boolean isStarted() {
+    return _initialRate != null;
+  }
+
+  /**
+   * @return The throttle rate by the id of the brokers whose throttle rate has been adjusted.
+   */
+  synchronized Map<Integer, Long> throttleRateByBrokerId() {
+    return _rateByBrokerId.isEmpty() ? Collections.emptyMap() : new HashMap<>(_rateByBrokerId);
+  }
+
+  /**
+   * Adjust the throttle rate of brokers using the given broker metrics and brokers with replicas of (At/Under)MinISR partitions.
+   *
+   * @param currentMetricsByBroker Current metrics by broker, or {@code null} to adjust the rates only based on the MinISR status.
+   * @param brokersWithMinIsrViolation Brokers that host a replica of an (At/Under)MinISR partition.
+   */
+  synchronized void adjust(@Nullable Map<BrokerEntity, ValuesAndExtrapolations> currentMetricsByBroker,
+                           Set<Integer> brokersWithMinIsrViolation) {
+    if (_initialRate == null) {
+      return;
+    }
+    brokersWithMinIsrViolation.forEach(this::decreaseRate);
+    if (currentMetricsByBroker == null) {
+      return;
+    }
+    Map<String, StringBuilder> overLimitDetailsByMetricName = new HashMap<>();
+    CONCURRENCY_ADJUSTER_LIMIT_BY_METRIC_NAME.keySet().forEach(metricName -> overLimitDetailsByMetricName.put(metricName, new StringBuilder()));
+    for (Map.Entry<BrokerEntity, ValuesAndExtrapolations> entry : currentMetricsByBroker.entrySet()) {
+      int brokerId = entry.getKey().brokerId();
+      if (brokersWithMinIsrViolation.contains(brokerId)) {
+        continue;
+      }
+      if (withinLimits(brokerId, entry.getValue(), overLimitDetailsByMetricName)) {
+        increaseRate(brokerId);
+      } else {
+        decreaseRate(brokerId);
+      }
+    }
+  }
+
+  private boolean withinLimits(int brokerId, @Nullable ValuesAndExtrapolations currentMetrics,
+                               Map<String, StringBuilder> overLimitDetailsByMetricName) {
+    // Evaluate all limits to report every metric over its limit.
+    boolean withinLimits = ExecutionUtils.withinConcurrencyAdjusterLimit(brokerId, currentMetrics, overLimitDetailsByMetricName);
+    if (currentMetrics == null) {
+      return false;
+    }
+    for (Short metricId : currentMetrics.metricValues().metricIds()) {
+      if (ExecutionUtils.toMetricName(metricId).equals(BROKER_REQUEST_HANDLER_POOL_IDLE_PERCENT.name())) {
+        double idleRatio = currentMetrics.metricValues().valuesFor(metricId).latest();
+        if (idleRatio < _minRequestHandlerIdleRatio) {
+          LOG.debug("Request handler pool idle ratio {} of broker {} is below the limit {}.", idleRatio, brokerId,
+                    _minRequestHandlerIdleRatio);
+          withinLimits = false;
+        }
+      }
+    }
+    return withinLimits;
+  }
+
+  /**
+   * @param brokerId Broker id.
+   * @return The adjusted throttle rate of the given broker, or {@code null} if the rates are not being adjusted.
+   */
+  synchronized Long throttleRate(int brokerId) {
+    return _initialRate == null ? null : _rateByBrokerId.getOrDefault(brokerId, _initialRate);
+  }
+
+  private void decreaseRate(int brokerId) {
+    long currentRate = throttleRate(brokerId);
+    // Multiplicative-decrease the throttle rate (MIN: _minRate).
+    long decreasedRate = Math.min(currentRate, Math.max(_minRate, currentRate / _multiplicativeDecrease));
+    setRate(brokerId, currentRate, decreasedRate);
+  }
+
+  private void increaseRate(int brokerId) {
+    long currentRate = throttleRate(brokerId);
+    // Additive-increase the throttle rate (MAX: _maxRate).
+    long increasedRate = Math.max(currentRate, Math.min(_maxRate, currentRate + _additiveIncrease));
+    setRate(brokerId, currentRate, increasedRate);
+  }
+
+  private void setRate(int brokerId, long currentRate, long newRate) {
+    if (newRate != currentRate) {
+      _rateByBrokerId.put(brokerId, newRate);
+      LOG.info("Replication throttle adjuster changed the throttle rate of broker {} from {} to {} bytes/sec.",
+               brokerId, currentRate, newRate);
+    }
+  }
+}
@@ -10,6 +10,7 @@ import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AlterConfigOp;
 import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.config.ConfigResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,6 +37,10 @@ import java.util.stream.Stream;
 
 /**
  * See https://kafka.apache.org/documentation/#rep-throttle
+ *
+ * The throttles of all the brokers and topics involved in a batch of proposals are described and changed together in
+ * multi-resource admin requests. The configs read or written by the helper are cached for its lifetime, i.e. one
+ * execution, so the configs of a broker or topic are described at most once, and unchanged configs are not altered.
  */
 class ReplicationThrottleHelper {
   private static final Logger LOG = LoggerFactory.getLogger(ReplicationThrottleHelper.class);
@@ -49,11 +55,18 @@ class ReplicationThrottleHelper {
   static final String FOLLOWER_THROTTLED_REPLICAS = getLogConfig(LogConfig.FOLLOWER_REPLICATION_THROTTLED_REPLICAS_CONFIG);
   public static final long CLIENT_REQUEST_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
   static final int RETRIES = 30;
+  // The max number of resources to describe or alter in a single admin request.
+  static final int MAX_RESOURCES_PER_REQUEST = 1000;
 
   private final AdminClient _adminClient;
   private final Long _throttleRate;
   private final int _retries;
   private final Set<Integer> _deadBrokers;
+  private final Map<ConfigResource, Config> _configCache;
+  // The replication throttle rate configs set by this helper by the id of the throttled brokers.
+  private final Map<Integer, Set<String>> _throttledRateConfigsByBrokerId;
+  // The throttle rate by the id of the brokers whose throttle rate has been updated.
+  private final Map<Integer, Long> _throttleRateByBrokerId;
 
   ReplicationThrottleHelper(AdminClient adminClient, Long throttleRate) {
     this(adminClient, throttleRate, RETRIES);
@@ -69,6 +82,9 @@ class ReplicationThrottleHelper {
     this._throttleRate = throttleRate;
     this._retries = retries;
     this._deadBrokers = new HashSet<Integer>();
+    this._configCache = new HashMap<>();
+    this._throttledRateConfigsByBrokerId = new HashMap<>();
+    this._throttleRateByBrokerId = new HashMap<>();
   }
 
   ReplicationThrottleHelper(AdminClient adminClient, Long throttleRate, int retries, Set<Integer> deadBrokers) {
@@ -76,6 +92,9 @@ class ReplicationThrottleHelper {
     this._throttleRate = throttleRate;
     this._retries = retries;
     this._deadBrokers = deadBrokers;
+    this._configCache = new HashMap<>();
+    this._throttledRateConfigsByBrokerId = new HashMap<>();
+    this._throttleRateByBrokerId = new HashMap<>();
   }
 
   void setThrottles(List<ExecutionProposal> replicaMovementProposals)
@@ -84,15 +103,54 @@ class ReplicationThrottleHelper {
       LOG.info("Setting a rebalance throttle of {} bytes/sec", _throttleRate);
       Set<Integer> participatingBrokers = getParticipatingBrokers(replicaMovementProposals);
       Map<String, Set<String>> throttledReplicas = getThrottledReplicasByTopic(replicaMovementProposals);
+      Map<ConfigResource, Config> configs = describeConfigs(participatingBrokers, throttledReplicas.keySet());
+      Map<ConfigResource, Collection<AlterConfigOp>> ops = new LinkedHashMap<>();
       for (int broker : participatingBrokers) {
-        setThrottledRateIfUnset(broker);
+        ConfigResource cf = brokerResource(broker);
+        addIfNotEmpty(ops, cf, setThrottledRateIfUnset(broker, configs.get(cf)));
       }
       for (Map.Entry<String, Set<String>> entry : throttledReplicas.entrySet()) {
-        setThrottledReplicas(entry.getKey(), entry.getValue());
+        ConfigResource cf = topicResource(entry.getKey());
+        addIfNotEmpty(ops, cf, setThrottledReplicas(configs.get(cf), entry.getValue()));
       }
+      changeConfigs(ops);
     }
   }
 
+  /**
+   * Update the replication throttle rate of the given brokers. The rate configs are changed only on the brokers whose
+   * rate has been set by this helper, and other brokers get the updated rate once this helper throttles them.
+   *
+   * @param throttleRateByBrokerId The throttle rate by the id of the brokers to update the rate of.
+   */
+  void updateThrottleRates(Map<Integer, Long> throttleRateByBrokerId)
+  throws ExecutionException, InterruptedException, TimeoutException {
+    if (!throttlingEnabled()) {
+      return;
+    }
+    Map<ConfigResource, Collection<AlterConfigOp>> ops = new LinkedHashMap<>();
+    for (Map.Entry<Integer, Long> entry : throttleRateByBrokerId.entrySet()) {
+      int broker = entry.getKey();
+      long throttleRate = entry.getValue();
+      if (throttleRate == throttleRate(broker)) {
+        continue;
+      }
+      _throttleRateByBrokerId.put(broker, throttleRate);
+      List<AlterConfigOp> opsForBroker = new ArrayList<>();
+      for (String replicaThrottleRateConfigKey : _throttledRateConfigsByBrokerId.getOrDefault(broker, Collections.emptySet())) {
+        LOG.debug("Updating {} to {} bytes/second for broker {}", replicaThrottleRateConfigKey, throttleRate, broker);
+        opsForBroker.add(new AlterConfigOp(new ConfigEntry(replicaThrottleRateConfigKey, String.valueOf(throttleRate)),
+                                           AlterConfigOp.OpType.SET));
+      }
+      addIfNotEmpty(ops, brokerResource(broker), opsForBroker);
+    }
+    changeConfigs(ops);
+  }
+
+  private long throttleRate(int brokerId) {
+    return _throttleRateByBrokerId.getOrDefault(brokerId, _throttleRate);
+  }
+
   // Determines if a candidate task is ready to have its throttles removed.
   boolean shouldRemoveThrottleForTask(ExecutionTask task) {
     return
@@ -143,14 +201,19 @@ class ReplicationThrottleHelper {
       brokersToRemoveThrottlesFrom.removeAll(brokersWithInProgressTasks);
 
       LOG.info("Removing replica movement throttles from brokers in the cluster: {}", brokersToRemoveThrottlesFrom);
+      Map<String, Set<String>> throttledReplicas = getThrottledReplicasByTopic(completedProposals);
+      Map<ConfigResource, Config> configs = describeConfigs(brokersToRemoveThrottlesFrom, throttledReplicas.keySet());
+      Map<ConfigResource, Collection<AlterConfigOp>> ops = new LinkedHashMap<>();
       for (int broker : brokersToRemoveThrottlesFrom) {
-        removeThrottledRateFromBroker(broker);
+        ConfigResource cf = brokerResource(broker);
+        addIfNotEmpty(ops, cf, removeThrottledRateFromBroker(broker, configs.get(cf)));
+        _throttledRateConfigsByBrokerId.remove(broker);
       }
-
-      Map<String, Set<String>> throttledReplicas = getThrottledReplicasByTopic(completedProposals);
       for (Map.Entry<String, Set<String>> entry : throttledReplicas.entrySet()) {
-        removeThrottledReplicasFromTopic(entry.getKey(), entry.getValue());
+        ConfigResource cf = topicResource(entry.getKey());
+        addIfNotEmpty(ops, cf, removeThrottledReplicasFromTopic(entry.getKey(), configs.get(cf), entry.getValue()));
       }
+      changeConfigs(ops);
     }
   }
 
@@ -183,51 +246,27 @@ class ReplicationThrottleHelper {
     return throttledReplicasByTopic;
   }
 
-  private void setThrottledRateIfUnset(int brokerId) throws ExecutionException, InterruptedException, TimeoutException {
+  private List<AlterConfigOp> setThrottledRateIfUnset(int brokerId, Config brokerConfigs) {
     if (_throttleRate == null) {
       throw new IllegalStateException("Throttle rate cannot be null");
     }
-    Config brokerConfigs = getBrokerConfigs(brokerId);
     List<AlterConfigOp> ops = new ArrayList<>();
     for (String replicaThrottleRateConfigKey : Arrays.asList(LEADER_THROTTLED_RATE, FOLLOWER_THROTTLED_RATE)) {
       ConfigEntry currThrottleRate = brokerConfigs.get(replicaThrottleRateConfigKey);
       if (currThrottleRate == null) {
-        LOG.debug("Setting {} to {} bytes/second for broker {}", replicaThrottleRateConfigKey, _throttleRate, brokerId);
-       ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleRateConfigKey, String.valueOf(_throttleRate)), AlterConfigOp.OpType.SET));
+        long throttleRate = throttleRate(brokerId);
+        LOG.debug("Setting {} to {} bytes/second for broker {}", replicaThrottleRateConfigKey, throttleRate, brokerId);
+       ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleRateConfigKey, String.valueOf(throttleRate)), AlterConfigOp.OpType.SET));
+        _throttledRateConfigsByBrokerId.computeIfAbsent(brokerId, b -> new HashSet<>()).add(replicaThrottleRateConfigKey);
       } else {
         LOG.debug("Not setting {} for broker {} because pre-existing throttle of {} was already set",
                 replicaThrottleRateConfigKey, brokerId, currThrottleRate);
       }
     }
-    if (!ops.isEmpty()) {
-      changeBrokerConfigs(brokerId, ops);
-    }
+    return ops;
   }
 
-  private Config getTopicConfigs(String topic) throws ExecutionException, InterruptedException, TimeoutException {
-    try {
-      return getEntityConfigs(new ConfigResource(ConfigResource.Type.TOPIC, topic));
-    } catch (Exception e) {
-      if (!topicExists(topic)) {
-        return new Config(Collections.emptyList());
-      }
-      throw e;
-    }
-  }
-
-  private Config getBrokerConfigs(int brokerId) throws ExecutionException, InterruptedException, TimeoutException {
-    return getEntityConfigs(new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId)));
-  }
-
-  private Config getEntityConfigs(ConfigResource cf) throws ExecutionException, InterruptedException, TimeoutException {
-    Map<ConfigResource, Config> configs = _adminClient.describeConfigs(Collections.singletonList(cf)).all()
-        .get(CLIENT_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-    return configs.get(cf);
-  }
-
-  private void setThrottledReplicas(String topic, Set<String> replicas)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    Config topicConfigs = getTopicConfigs(topic);
+  private static List<AlterConfigOp> setThrottledReplicas(Config topicConfigs, Set<String> replicas) {
     List<AlterConfigOp> ops = new ArrayList<>();
     for (String replicaThrottleConfigKey : Arrays.asList(LEADER_THROTTLED_REPLICAS, FOLLOWER_THROTTLED_REPLICAS)) {
       ConfigEntry currThrottledReplicas = topicConfigs.get(replicaThrottleConfigKey);
@@ -241,46 +280,16 @@ class ReplicationThrottleHelper {
       if (currThrottledReplicas != null && !currThrottledReplicas.value().equals("")) {
         newThrottledReplicas.addAll(Arrays.asList(currThrottledReplicas.value().split(",")));
       }
-      ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleConfigKey, String.join(",", newThrottledReplicas)), AlterConfigOp.OpType.SET));
-    }
-    if (!ops.isEmpty()) {
-      changeTopicConfigs(topic, ops);
-    }
-  }
-
-  void changeTopicConfigs(String topic, Collection<AlterConfigOp> ops)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    ConfigResource cf = new ConfigResource(ConfigResource.Type.TOPIC, topic);
-    Map<ConfigResource, Collection<AlterConfigOp>> configs = Collections.singletonMap(cf, ops);
-    try {
-      _adminClient.incrementalAlterConfigs(configs).all()
-          .get(CLIENT_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-      waitForConfigs(cf, ops);
-    } catch (Exception e) {
-      if (!topicExists(topic)) {
-        LOG.debug("Failed to change configs for topic {} since it does not exist", topic);
-        return;
+      String newValue = String.join(",", newThrottledReplicas);
+      if (currThrottledReplicas == null || !newValue.equals(currThrottledReplicas.value())) {
+        ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleConfigKey, newValue), AlterConfigOp.OpType.SET));
       }
-      throw e;
     }
+    return ops;
   }
 
-  void changeBrokerConfigs(int brokerId, Collection<AlterConfigOp> ops)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    ConfigResource cf = new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
-    Map<ConfigResource, Collection<AlterConfigOp>> configs = Collections.singletonMap(cf, ops);
-    _adminClient.incrementalAlterConfigs(configs).all()
-        .get(CLIENT_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-    waitForConfigs(cf, ops);
-  }
-
-  boolean topicExists(String topic) throws InterruptedException, TimeoutException, ExecutionException {
-    try {
-      return _adminClient.listTopics().names().get(CLIENT_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS).contains(topic);
-    } catch (ExecutionException | InterruptedException | TimeoutException e) {
-      LOG.error("Unable to check if topic {} exists due to {}", topic, e.getMessage());
-      throw e;
-    }
+  private Set<String> listTopics() throws InterruptedException, TimeoutException, ExecutionException {
+    return _adminClient.listTopics().names().get(CLIENT_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
   }
 
   static String removeReplicasFromConfig(String throttleConfig, Set<String> replicas) {
@@ -291,95 +300,223 @@ class ReplicationThrottleHelper {
 
   /**
    * It gets whether there is any throttled replica specified in the configuration property. If there is and the
-   * specified throttled replica does not equal to "*", it modifies the configuration property by removing a
+   * specified throttled replica does not equal to "*", it computes the changes to the configuration property to remove a
    * given set of replicas from the set of throttled replicas
    *
    * @param topic name of topic which contains <code>replicas</code>
+   * @param topicConfigs current configs of the topic
    * @param replicas replicas to remove from the configuration properties
+   * @return The config changes to remove the given replicas from the throttled replicas of the topic.
    */
-  private void removeThrottledReplicasFromTopic(String topic, Set<String> replicas)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    Config topicConfigs = getTopicConfigs(topic);
-    if (topicConfigs == null) {
-      LOG.debug("Skip removing throttled replicas {} from topic {} since no configs can be read", String.join(",", replicas), topic);
-      return;
-    }
+  private static List<AlterConfigOp> removeThrottledReplicasFromTopic(String topic, Config topicConfigs, Set<String> replicas) {
     List<AlterConfigOp> ops = new ArrayList<>();
-
-    ConfigEntry currentLeaderThrottledReplicas = topicConfigs.get(LEADER_THROTTLED_REPLICAS);
-    if (currentLeaderThrottledReplicas != null) {
-      if (currentLeaderThrottledReplicas.value().equals(WILDCARD_ASTERISK)) {
-        LOG.debug("Existing config throttles all leader replicas. So, do not remove any leader replica throttle");
+    for (String replicaThrottleConfigKey : Arrays.asList(LEADER_THROTTLED_REPLICAS, FOLLOWER_THROTTLED_REPLICAS)) {
+      ConfigEntry currThrottledReplicas = topicConfigs.get(replicaThrottleConfigKey);
+      if (currThrottledReplicas == null || currThrottledReplicas.value() == null || currThrottledReplicas.value().isEmpty()) {
+        continue;
+      }
+      if (currThrottledReplicas.value().equals(WILDCARD_ASTERISK)) {
+        LOG.debug("Existing config {} throttles all replicas of topic {}. So, do not remove any replica throttle",
+                  replicaThrottleConfigKey, topic);
+        continue;
+      }
+      String newThrottledReplicas = removeReplicasFromConfig(currThrottledReplicas.value(), replicas);
+      if (newThrottledReplicas.equals(currThrottledReplicas.value())) {
+        continue;
+      }
+      replicas.forEach(r -> LOG.debug("Removing {} for topic {} and replica {}", replicaThrottleConfigKey, topic, r));
+      if (newThrottledReplicas.isEmpty()) {
+        ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleConfigKey, null), AlterConfigOp.OpType.DELETE));
       } else {
-        replicas.forEach(r -> LOG.debug("Removing leader throttles for topic {} and replica {}", topic, r));
-        String newThrottledReplicas = removeReplicasFromConfig(currentLeaderThrottledReplicas.value(), replicas);
-        if (newThrottledReplicas.isEmpty()) {
-          ops.add(new AlterConfigOp(new ConfigEntry(LEADER_THROTTLED_REPLICAS, null), AlterConfigOp.OpType.DELETE));
-        } else {
-          ops.add(new AlterConfigOp(new ConfigEntry(LEADER_THROTTLED_REPLICAS, newThrottledReplicas), AlterConfigOp.OpType.SET));
-        }
+        ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleConfigKey, newThrottledReplicas), AlterConfigOp.OpType.SET));
       }
     }
-    ConfigEntry currentFollowerThrottledReplicas = topicConfigs.get(FOLLOWER_THROTTLED_REPLICAS);
-    if (currentFollowerThrottledReplicas != null) {
-      if (currentFollowerThrottledReplicas.value().equals(WILDCARD_ASTERISK)) {
-        LOG.debug("Existing config throttles all follower replicas. So, do not remove any follower replica throttle");
+    return ops;
+  }
+
+  private static List<AlterConfigOp> removeThrottledRateFromBroker(int brokerId, Config brokerConfigs) {
+    List<AlterConfigOp> ops = new ArrayList<>();
+    for (String replicaThrottleRateConfigKey : Arrays.asList(LEADER_THROTTLED_RATE, FOLLOWER_THROTTLED_RATE)) {
+      ConfigEntry currThrottleRate = brokerConfigs.get(replicaThrottleRateConfigKey);
+      if (currThrottleRate == null || currThrottleRate.value() == null || currThrottleRate.value().isEmpty()) {
+        continue;
+      }
+      if (currThrottleRate.value().equals(WILDCARD_ASTERISK)) {
+        LOG.debug("Existing config {} throttles all replicas. So, do not remove the replica throttle on broker {}",
+                  replicaThrottleRateConfigKey, brokerId);
       } else {
-        replicas.forEach(r -> LOG.debug("Removing follower throttles for topic {} and replica {}", topic, r));
-        String newThrottledReplicas = removeReplicasFromConfig(currentFollowerThrottledReplicas.value(), replicas);
-        if (newThrottledReplicas.isEmpty()) {
-          ops.add(new AlterConfigOp(new ConfigEntry(FOLLOWER_THROTTLED_REPLICAS, null), AlterConfigOp.OpType.DELETE));
-        } else {
-          ops.add(new AlterConfigOp(new ConfigEntry(FOLLOWER_THROTTLED_REPLICAS, newThrottledReplicas), AlterConfigOp.OpType.SET));
-        }
+        LOG.debug("Removing {} on broker {}", replicaThrottleRateConfigKey, brokerId);
+        ops.add(new AlterConfigOp(new ConfigEntry(replicaThrottleRateConfigKey, null), AlterConfigOp.OpType.DELETE));
       }
     }
-    if (!ops.isEmpty()) {
-      changeTopicConfigs(topic, ops);
+    return ops;
+  }
+
+  private static ConfigResource brokerResource(int brokerId) {
+    return new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
+  }
+
+  private static ConfigResource topicResource(String topic) {
+    return new ConfigResource(ConfigResource.Type.TOPIC, topic);
+  }
+
+  private static void addIfNotEmpty(Map<ConfigResource, Collection<AlterConfigOp>> ops, ConfigResource cf, List<AlterConfigOp> opsForCf) {
+    if (!opsForCf.isEmpty()) {
+      ops.put(cf, opsForCf);
+    }
+  }
+
+  private static <T> List<List<T>> batches(List<T> items) {
+    List<List<T>> batches = new ArrayList<>();
+    for (int i = 0; i < items.size(); i += MAX_RESOURCES_PER_REQUEST) {
+      batches.add(items.subList(i, Math.min(items.size(), i + MAX_RESOURCES_PER_REQUEST)));
     }
+    return batches;
   }
 
-  private void removeThrottledRateFromBroker(Integer brokerId)
+  private static <T> Map<ConfigResource, ExecutionException> await(Map<ConfigResource, KafkaFuture<T>> futures,
+                                                                   Map<ConfigResource, T> results)
+  throws InterruptedException, TimeoutException {
+    Map<ConfigResource, ExecutionException> failures = new HashMap<>();
+    long deadlineMs = System.currentTimeMillis() + CLIENT_REQUEST_TIMEOUT_MS;
+    for (Map.Entry<ConfigResource, KafkaFuture<T>> entry : futures.entrySet()) {
+      try {
+        long remainingMs = Math.max(0L, deadlineMs - System.currentTimeMillis());
+        results.put(entry.getKey(), entry.getValue().get(remainingMs, TimeUnit.MILLISECONDS));
+      } catch (ExecutionException e) {
+        failures.put(entry.getKey(), e);
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * Get the configs of the given brokers and topics. The configs that are not cached are described with a few
+   * multi-resource requests, whose responses are awaited together.
+   *
+   * @param brokerIds Ids of the brokers to get the configs of.
+   * @param topics Topics to get the configs of.
+   * @return The configs of the given brokers and topics, where a topic that does not exist has empty configs.
+   */
+  Map<ConfigResource, Config> describeConfigs(Collection<Integer> brokerIds, Collection<String> topics)
   throws ExecutionException, InterruptedException, TimeoutException {
-    Config brokerConfigs = getBrokerConfigs(brokerId);
-    ConfigEntry currLeaderThrottle = brokerConfigs.get(LEADER_THROTTLED_RATE);
-    ConfigEntry currFollowerThrottle = brokerConfigs.get(FOLLOWER_THROTTLED_RATE);
-    List<AlterConfigOp> ops = new ArrayList<>();
-    if (currLeaderThrottle != null) {
-      if (currLeaderThrottle.value().equals(WILDCARD_ASTERISK)) {
-        LOG.debug("Existing config throttles all leader replicas. So, do not remove any leader replica throttle on broker {}", brokerId);
+    Map<ConfigResource, Config> configs = new HashMap<>();
+    List<ConfigResource> toDescribe = new ArrayList<>();
+    Stream.concat(brokerIds.stream().map(ReplicationThrottleHelper::brokerResource),
+                  topics.stream().map(ReplicationThrottleHelper::topicResource)).forEach(cf -> {
+      Config cachedConfig = _configCache.get(cf);
+      if (cachedConfig != null) {
+        configs.put(cf, cachedConfig);
       } else {
-        LOG.debug("Removing leader throttle on broker {}", brokerId);
-        ops.add(new AlterConfigOp(new ConfigEntry(LEADER_THROTTLED_RATE, null), AlterConfigOp.OpType.DELETE));
+        toDescribe.add(cf);
       }
+    });
+    if (toDescribe.isEmpty()) {
+      return configs;
     }
-    if (currFollowerThrottle != null) {
-      if (currFollowerThrottle.value().equals(WILDCARD_ASTERISK)) {
-        LOG.debug("Existing config throttles all follower replicas. So, do not remove any follower replica throttle on broker {}", brokerId);
-      } else {
-        LOG.debug("Removing follower throttle on broker {}", brokerId);
-        ops.add(new AlterConfigOp(new ConfigEntry(FOLLOWER_THROTTLED_RATE, null), AlterConfigOp.OpType.DELETE));
+    Map<ConfigResource, KafkaFuture<Config>> futures = new HashMap<>();
+    for (List<ConfigResource> batch : batches(toDescribe)) {
+      futures.putAll(_adminClient.describeConfigs(batch).values());
+    }
+    Map<ConfigResource, Config> describedConfigs = new HashMap<>();
+    Map<ConfigResource, ExecutionException> failures = await(futures, describedConfigs);
+    _configCache.putAll(describedConfigs);
+    configs.putAll(describedConfigs);
+    for (ConfigResource cf : ignoreFailuresOfNonExistentTopics(failures)) {
+      configs.put(cf, new Config(Collections.emptyList()));
+    }
+    return configs;
+  }
+
+  /**
+   * Apply the given config changes with a few multi-resource requests, whose responses are awaited together, and wait
+   * until the changes are visible. Changes to topics that have been deleted in the meantime are ignored.
+   *
+   * @param ops Config changes by resource.
+   */
+  void changeConfigs(Map<ConfigResource, Collection<AlterConfigOp>> ops)
+  throws ExecutionException, InterruptedException, TimeoutException {
+    if (ops.isEmpty()) {
+      return;
+    }
+    Map<ConfigResource, KafkaFuture<Void>> futures = new HashMap<>();
+    for (List<ConfigResource> batch : batches(new ArrayList<>(ops.keySet()))) {
+      Map<ConfigResource, Collection<AlterConfigOp>> opsInBatch = new HashMap<>();
+      batch.forEach(cf -> opsInBatch.put(cf, ops.get(cf)));
+      futures.putAll(_adminClient.incrementalAlterConfigs(opsInBatch).values());
+    }
+    Map<ConfigResource, ExecutionException> failures = await(futures, new HashMap<>());
+    failures.keySet().forEach(_configCache::remove);
+    Map<ConfigResource, Collection<AlterConfigOp>> appliedOps = new LinkedHashMap<>(ops);
+    for (ConfigResource cf : ignoreFailuresOfNonExistentTopics(failures)) {
+      LOG.debug("Failed to change configs for topic {} since it does not exist", cf.name());
+      appliedOps.remove(cf);
+    }
+    waitForConfigs(appliedOps);
+    appliedOps.forEach((cf, opsForCf) -> _configCache.computeIfPresent(cf, (k, config) -> applyOps(config, opsForCf)));
+  }
+
+  // Returns the failed resources that are topics deleted in the meantime, or throws the first other failure.
+  private Set<ConfigResource> ignoreFailuresOfNonExistentTopics(Map<ConfigResource, ExecutionException> failures)
+  throws ExecutionException, InterruptedException, TimeoutException {
+    if (failures.isEmpty()) {
+      return Collections.emptySet();
+    }
+    Set<String> existingTopics = null;
+    for (Map.Entry<ConfigResource, ExecutionException> entry : failures.entrySet()) {
+      if (entry.getKey().type() != ConfigResource.Type.TOPIC) {
+        throw entry.getValue();
+      }
+      if (existingTopics == null) {
+        existingTopics = listTopics();
+      }
+      if (existingTopics.contains(entry.getKey().name())) {
+        throw entry.getValue();
       }
     }
-    if (!ops.isEmpty()) {
-      changeBrokerConfigs(brokerId, ops);
+    return failures.keySet();
+  }
+
+  private static Config applyOps(Config config, Collection<AlterConfigOp> ops) {
+    Map<String, ConfigEntry> entries = new HashMap<>();
+    config.entries().forEach(entry -> entries.put(entry.name(), entry));
+    for (AlterConfigOp op : ops) {
+      if (op.opType() == AlterConfigOp.OpType.DELETE) {
+        entries.remove(op.configEntry().name());
+      } else {
+        entries.put(op.configEntry().name(), op.configEntry());
+      }
     }
+    return new Config(entries.values());
   }
 
-  // Retries until we can read the configs changes we just wrote
-  void waitForConfigs(ConfigResource cf, Collection<AlterConfigOp> ops) {
+  // Retries until we can read the configs changes we just wrote to all the given resources
+  void waitForConfigs(Map<ConfigResource, Collection<AlterConfigOp>> ops) {
+    Map<ConfigResource, Map<String, String>> pendingConfigs = new LinkedHashMap<>();
     // Use HashMap::new instead of Collectors.toMap to allow inserting null values
-    Map<String, String> expectedConfigs = ops.stream()
-            .collect(HashMap::new, (m, o) -> m.put(o.configEntry().name(), o.configEntry().value()), HashMap::putAll);
-    boolean retryResponse = CruiseControlMetricsUtils.retry(() -> {
+    ops.forEach((cf, opsForCf) -> pendingConfigs.put(cf, opsForCf.stream().collect(
+        HashMap::new, (m, o) -> m.put(o.configEntry().name(), o.configEntry().value()), HashMap::putAll)));
+    boolean retryResponse = pendingConfigs.isEmpty() || CruiseControlMetricsUtils.retry(() -> {
       try {
-        return !configsEqual(getEntityConfigs(cf), expectedConfigs);
-      } catch (ExecutionException | InterruptedException | TimeoutException e) {
+        Map<ConfigResource, KafkaFuture<Config>> futures = new HashMap<>();
+        for (List<ConfigResource> batch : batches(new ArrayList<>(pendingConfigs.keySet()))) {
+          futures.putAll(_adminClient.describeConfigs(batch).values());
+        }
+        Map<ConfigResource, Config> configs = new HashMap<>();
+        // Similar to a single resource, a resource whose configs cannot be read is not waited for.
+        await(futures, configs).keySet().forEach(pendingConfigs::remove);
+        configs.forEach((cf, config) -> {
+          if (configsEqual(config, pendingConfigs.get(cf))) {
+            pendingConfigs.remove(cf);
+          }
+        });
+        return !pendingConfigs.isEmpty();
+      } catch (InterruptedException | TimeoutException e) {
         return false;
       }
     }, _retries);
     if (!retryResponse) {
-      throw new IllegalStateException("The following configs " + ops + " were not applied to " + cf + " within the time limit");
+      throw new IllegalStateException("The configs were not applied to " + pendingConfigs.keySet() + " within the time limit");
     }
   }
 
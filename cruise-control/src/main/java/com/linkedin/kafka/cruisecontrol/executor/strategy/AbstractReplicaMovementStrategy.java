@@ -33,17 +33,17 @@ public abstract class AbstractReplicaMovementStrategy implements ReplicaMovement
       public Comparator<ExecutionTask> taskComparator(StrategyOptions strategyOptions) {
         Comparator<ExecutionTask> comparator1 = current.taskComparator(strategyOptions);
         Comparator<ExecutionTask> comparator2 = strategy.taskComparator(strategyOptions);
-
-        return (task1, task2) -> {
-          int compareResult1 = comparator1.compare(task1, task2);
-          return compareResult1 == 0 ? comparator2.compare(task1, task2) : compareResult1;
-        };
+        return comparator1.thenComparing(comparator2);
       }
 
       @Override
       public Comparator<ExecutionTask> taskComparator(Cluster cluster) {
-        StrategyOptions strategyOptions = new StrategyOptions.Builder(cluster).build();
-        return taskComparator(strategyOptions);
+        return taskComparator(new StrategyOptions.Builder(cluster).build());
+      }
+
+      @Override
+      public boolean stageReplicaMovement(ExecutionTask task, StrategyOptions strategyOptions) {
+        return current.stageReplicaMovement(task, strategyOptions) || strategy.stageReplicaMovement(task, strategyOptions);
       }
 
       @Override
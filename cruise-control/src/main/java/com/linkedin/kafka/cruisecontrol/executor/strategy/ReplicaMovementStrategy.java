@@ -74,6 +74,18 @@ public interface ReplicaMovementStrategy {
   @Deprecated
   Comparator<ExecutionTask> taskComparator(Cluster cluster);
 
+  /**
+   * Determine whether the inter-broker replica movement of the given task should be executed in staged single-replica hops
+   * -- i.e. each hop adds at most one replica to the partition, and starts once the previous hop of the partition is over.
+   *
+   * @param replicaMovementTask The inter-broker replica movement task.
+   * @param strategyOptions Strategy options to be used during application of a replica movement strategy.
+   * @return {@code true} to execute the movement in staged single-replica hops, {@code false} to execute it at once.
+   */
+  default boolean stageReplicaMovement(ExecutionTask replicaMovementTask, StrategyOptions strategyOptions) {
+    return false;
+  }
+
   /**
    * @return The name of this strategy. Name of a strategy provides an identification for the strategy in human readable format.
    */
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor.strategy;
+
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionTask;
+import java.util.Comparator;
+import org.apache.kafka.common.Cluster;
+
+/**
+ * The strategy, which executes the inter-broker replica movement of each partition that adds more than one replica and whose
+ * size is at least {@link StrategyOptions#minStagedPartitionSizeInMB()} in staged single-replica hops. Each hop adds at most
+ * one new replica to the partition, and starts once the previous hop of the partition is completed. Hence, moving a large
+ * partition to multiple new brokers does not saturate the network and disk of its brokers with several concurrent replica
+ * copies. The strategy does not change the execution order of the tasks, and is not meant to be chained with
+ * {@link SingleReplicaMovementStrategy}, which replaces the tasks with its own single-replica movements.
+ */
+public class StageLargeReplicaMovementStrategy extends AbstractReplicaMovementStrategy {
+
+  @Override
+  public Comparator<ExecutionTask> taskComparator(StrategyOptions strategyOptions) {
+    return (task1, task2) -> PRIORITIZE_NONE;
+  }
+
+  @Override
+  public Comparator<ExecutionTask> taskComparator(Cluster cluster) {
+    return taskComparator(new StrategyOptions.Builder(cluster).build());
+  }
+
+  @Override
+  public boolean stageReplicaMovement(ExecutionTask replicaMovementTask, StrategyOptions strategyOptions) {
+    ExecutionProposal proposal = replicaMovementTask.proposal();
+    return proposal.replicasToAdd().size() > 1 && proposal.partitionSize() >= strategyOptions.minStagedPartitionSizeInMB();
+  }
+
+  /**
+   * Get the name of this strategy. Name of a strategy provides an identification for the strategy in human readable format.
+   */
+  @Override
+  public String name() {
+    return StageLargeReplicaMovementStrategy.class.getSimpleName();
+  }
+}
@@ -5,6 +5,7 @@
 package com.linkedin.kafka.cruisecontrol.executor.strategy;
 
 import com.linkedin.kafka.cruisecontrol.common.TopicMinIsrCache.MinIsrWithTime;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
 import java.util.Collections;
 import java.util.Map;
 import org.apache.kafka.common.Cluster;
@@ -17,12 +18,14 @@ import static com.linkedin.cruisecontrol.common.utils.Utils.validateNotNull;
 public final class StrategyOptions {
   protected final Cluster _cluster;
   protected final Map<String, MinIsrWithTime> _minIsrWithTimeByTopic;
+  protected final long _minStagedPartitionSizeInMB;
 
   public static class Builder {
     // Required parameters
     private final Cluster _cluster;
     // Optional parameters - initialized to default values
     private Map<String, MinIsrWithTime> _minIsrWithTimeByTopic = Collections.emptyMap();
+    private long _minStagedPartitionSizeInMB = ExecutorConfig.DEFAULT_STAGED_REPLICA_MOVEMENT_MIN_PARTITION_SIZE_MB;
 
     public Builder(Cluster cluster) {
       validateNotNull(cluster, "The cluster cannot be null.");
@@ -41,6 +44,21 @@ public final class StrategyOptions {
       return this;
     }
 
+    /**
+     * (Optional) Set the minimum size of a partition whose inter-broker replica movement is executed in staged single-replica
+     * hops by {@link StageLargeReplicaMovementStrategy}.
+     *
+     * @param minStagedPartitionSizeInMB The minimum size of a partition to stage its replica movement in MB.
+     * @return this builder.
+     */
+    public Builder minStagedPartitionSizeInMB(long minStagedPartitionSizeInMB) {
+      if (minStagedPartitionSizeInMB < 0) {
+        throw new IllegalArgumentException("The minStagedPartitionSizeInMB cannot be negative.");
+      }
+      _minStagedPartitionSizeInMB = minStagedPartitionSizeInMB;
+      return this;
+    }
+
     public StrategyOptions build() {
       return new StrategyOptions(this);
     }
@@ -49,6 +67,7 @@ public final class StrategyOptions {
   private StrategyOptions(Builder builder) {
     _cluster = builder._cluster;
     _minIsrWithTimeByTopic = builder._minIsrWithTimeByTopic;
+    _minStagedPartitionSizeInMB = builder._minStagedPartitionSizeInMB;
   }
 
   public Cluster cluster() {
@@ -58,4 +77,8 @@ public final class StrategyOptions {
   public Map<String, MinIsrWithTime> minIsrWithTimeByTopic() {
     return Collections.unmodifiableMap(_minIsrWithTimeByTopic);
   }
+
+  public long minStagedPartitionSizeInMB() {
+    return _minStagedPartitionSizeInMB;
+  }
 }
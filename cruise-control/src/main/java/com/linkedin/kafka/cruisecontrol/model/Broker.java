@@ -430,10 +430,7 @@ public class Broker implements Serializable, Comparable<Broker> {
   }
 
   private void updateSortedReplicas(Replica replica) {
-    _sortedReplicas.values().forEach(sr -> {
-      sr.remove(replica);
-      sr.add(replica);
-    });
+    _sortedReplicas.values().forEach(sr -> sr.rescore(replica));
   }
 
   /**
@@ -573,6 +570,24 @@ public class Broker implements Serializable, Comparable<Broker> {
     }
     _load.addMetricValues(aggregatedMetricValues, windows);
   }
+  /**
+   * Set the load of the replica to the given load, which is shared with the given load until either load changes it.
+   * The load will be added to the broker load. Note that this method should only be called once for each replica.
+   *
+   * @param tp Topic partition that identifies the replica in this broker.
+   * @param load The load of this topic partition.
+   */
+  void setReplicaLoad(TopicPartition tp, Load load) {
+    Replica replica = replica(tp);
+    replica.setMetricValues(load);
+    if (replica.disk() != null) {
+      replica.disk().addReplicaLoad(replica);
+    }
+    if (replica.isLeader()) {
+      _leadershipLoadForNwResources.addLoad(load);
+    }
+    _load.addLoad(load);
+  }
 
   /**
    * Get disk information that corresponds to the logdir.
@@ -18,6 +18,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -72,6 +73,8 @@ public class ClusterModel implements Serializable {
   // The replication factor that each topic in the cluster created with ().
   private final Map<String, Integer> _replicationFactorByTopic;
   private final Map<String, Integer> _numReplicasByTopic;
+  private final TopicReplicaDistribution _topicReplicaDistribution;
+  private final List<ReplicaDistributionJournal> _replicaDistributionJournals;
   private final Map<Integer, Load> _potentialLeadershipLoadByBrokerId;
   private int _unknownHostId;
   private final Map<Integer, String> _capacityEstimationInfoByBrokerId;
@@ -107,6 +110,8 @@ public class ClusterModel implements Serializable {
     _maxReplicationFactor = 1;
     _replicationFactorByTopic = new HashMap<>();
     _numReplicasByTopic = new HashMap<>();
+    _topicReplicaDistribution = new TopicReplicaDistribution();
+    _replicaDistributionJournals = new ArrayList<>(2);
     _potentialLeadershipLoadByBrokerId = new HashMap<>();
     _monitoredPartitionsRatio = monitoredPartitionsRatio;
     _unknownHostId = 0;
@@ -168,35 +173,101 @@ public class ClusterModel implements Serializable {
     Map<TopicPartition, List<ReplicaPlacementInfo>> replicaDistribution = new HashMap<>();
 
     for (Map.Entry<TopicPartition, Partition> entry : _partitionsByTopicPartition.entrySet()) {
-      TopicPartition tp = entry.getKey();
-      Partition partition = entry.getValue();
-      List<ReplicaPlacementInfo> replicaPlacementInfos
-          = partition.replicas().stream().map(r -> r.disk() == null ? new ReplicaPlacementInfo(r.broker().id())
-                                                                    : new ReplicaPlacementInfo(r.broker().id(), r.disk().logDir()))
-                     .collect(Collectors.toList());
       // Add distribution of replicas in the partition.
-      replicaDistribution.put(tp, replicaPlacementInfos);
+      replicaDistribution.put(entry.getKey(), replicaPlacementInfos(entry.getValue()));
     }
 
     return replicaDistribution;
   }
 
+  /**
+   * Get the placement of the replicas of the given partition at the point of call, in the order of its replica list.
+   *
+   * @param tp Topic partition whose replica placement is requested.
+   * @return The placement of the replicas of the given partition, or {@code null} if the partition is not in the cluster.
+   */
+  public List<ReplicaPlacementInfo> replicaPlacementInfos(TopicPartition tp) {
+    Partition partition = _partitionsByTopicPartition.get(tp);
+    return partition == null ? null : replicaPlacementInfos(partition);
+  }
+
+  private static List<ReplicaPlacementInfo> replicaPlacementInfos(Partition partition) {
+    return partition.replicas().stream().map(ClusterModel::replicaPlacementInfo).collect(Collectors.toList());
+  }
+
+  /**
+   * Get the placement of the leader replica of the given partition at the point of call.
+   *
+   * @param tp Topic partition whose leader placement is requested.
+   * @return The placement of the leader replica of the given partition, or {@code null} if the partition is not in the
+   * cluster or has no leader.
+   */
+  public ReplicaPlacementInfo leaderPlacementInfo(TopicPartition tp) {
+    Partition partition = _partitionsByTopicPartition.get(tp);
+    return partition == null || partition.leader() == null ? null : replicaPlacementInfo(partition.leader());
+  }
+
+  private static ReplicaPlacementInfo replicaPlacementInfo(Replica replica) {
+    return replica.disk() == null ? new ReplicaPlacementInfo(replica.broker().id())
+                                  : new ReplicaPlacementInfo(replica.broker().id(), replica.disk().logDir());
+  }
+
   /**
    * @return Leader broker ids for each partition.
    */
   public Map<TopicPartition, ReplicaPlacementInfo> getLeaderDistribution() {
     Map<TopicPartition, ReplicaPlacementInfo> leaders = new HashMap<>();
     for (Map.Entry<TopicPartition, Partition> entry : _partitionsByTopicPartition.entrySet()) {
-      Replica leaderReplica = entry.getValue().leader();
-      if (leaderReplica.disk() == null) {
-        leaders.put(entry.getKey(), new ReplicaPlacementInfo(leaderReplica.broker().id()));
-      } else {
-        leaders.put(entry.getKey(), new ReplicaPlacementInfo(leaderReplica.broker().id(), leaderReplica.disk().logDir()));
-      }
+      leaders.put(entry.getKey(), replicaPlacementInfo(entry.getValue().leader()));
     }
     return leaders;
   }
 
+  /**
+   * Start journaling the partitions whose replica placement changes in this cluster model, until the returned journal is
+   * closed. Journaling allows to find the changes in the replica distribution without taking snapshots of the whole
+   * replica distribution via {@link #getReplicaDistribution()} and {@link #getLeaderDistribution()}.
+   *
+   * @return A new replica distribution journal, which is updated upon the changes of this cluster model until it is closed.
+   */
+  public ReplicaDistributionJournal startReplicaDistributionJournal() {
+    ReplicaDistributionJournal journal = new ReplicaDistributionJournal(this);
+    _replicaDistributionJournals.add(journal);
+    return journal;
+  }
+
+  /**
+   * Stop updating the given journal upon the changes of this cluster model.
+   *
+   * @param journal Replica distribution journal to stop.
+   */
+  void stopReplicaDistributionJournal(ReplicaDistributionJournal journal) {
+    _replicaDistributionJournals.remove(journal);
+  }
+
+  /**
+   * Journal the current placement of the given partition in the active replica distribution journals, which have not
+   * journaled the partition yet. Must be called before changing the replica placement of the partition.
+   *
+   * @param tp Topic partition whose replica placement is about to change.
+   */
+  void journal(TopicPartition tp) {
+    List<ReplicaPlacementInfo> replicaPlacement = null;
+    ReplicaPlacementInfo leaderPlacement = null;
+    boolean hasPlacement = false;
+    for (ReplicaDistributionJournal journal : _replicaDistributionJournals) {
+      if (!journal.isJournaled(tp)) {
+        if (!hasPlacement) {
+          // Journals share the placement, which is never modified.
+          replicaPlacement = replicaPlacementInfos(tp);
+          leaderPlacement = leaderPlacementInfo(tp);
+          hasPlacement = true;
+        }
+        journal.journal(tp, replicaPlacement, leaderPlacement);
+      }
+    }
+  }
+
   /**
    * @return Replicas eligible for self-healing.
    */
@@ -247,6 +318,13 @@ public class ClusterModel implements Serializable {
     return _partitionsByTopicPartition.get(tp);
   }
 
+  /**
+   * @return All the partitions in the cluster.
+   */
+  public Collection<Partition> partitions() {
+    return Collections.unmodifiableCollection(_partitionsByTopicPartition.values());
+  }
+
   /**
    * @return A map of partitions by topic names.
    */
@@ -360,6 +438,7 @@ public class ClusterModel implements Serializable {
    * @param destinationLogdir Destination logdir.
    */
   public void relocateReplica(TopicPartition tp, int brokerId, String destinationLogdir) {
+    journal(tp);
     Replica replicaToMove = _partitionsByTopicPartition.get(tp).replica(brokerId);
     // Move replica from the source disk to destination disk on the same broker.
     replicaToMove.broker().moveReplicaBetweenDisks(tp, replicaToMove.disk().logDir(), destinationLogdir);
@@ -378,6 +457,7 @@ public class ClusterModel implements Serializable {
    * @param destinationBrokerId     Destination broker id.
    */
   public void relocateReplica(TopicPartition tp, int sourceBrokerId, int destinationBrokerId) {
+    journal(tp);
     // Removes the replica and related load from the source broker / source rack / cluster.
     Replica replica = removeReplica(sourceBrokerId, tp);
     if (replica == null) {
@@ -387,6 +467,7 @@ public class ClusterModel implements Serializable {
     replica.setBroker(broker(destinationBrokerId));
 
     // Add this replica and related load to the destination broker / destination rack / cluster.
+    _topicReplicaDistribution.addReplica(tp.topic(), replica.broker().numReplicasOfTopicInBroker(tp.topic()));
     replica.broker().rack().addReplica(replica);
     // Increment the number of replicas per this topic.
     _numReplicasByTopic.merge(tp.topic(), 1, Integer::sum);
@@ -426,6 +507,7 @@ public class ClusterModel implements Serializable {
     // given replica.
     // (2) Add the outbound network load and CPU load associated with leadership to the given replica.
     //
+    journal(tp);
     // Remove the load from the source rack.
     Rack rack = broker(sourceBrokerId).rack();
     AggregatedMetricValues leadershipLoadDelta = rack.makeFollower(sourceBrokerId, tp);
@@ -440,6 +522,136 @@ public class ClusterModel implements Serializable {
     return true;
   }
 
+  /**
+   * Relocate the replicas and the leadership of the given partition to match the given placement:
+   * (1) Relocate the replicas residing on brokers that are not in the given placement to the brokers of the placement
+   * that do not contain a replica of the partition,
+   * (2) Relocate the leadership to the given leader broker,
+   * (3) Reorder the replicas of the partition to match the order of the given placement.
+   * Replica placement over disks is ignored, hence this method should not be used to move replicas between disks.
+   *
+   * @param tp Topic partition to relocate.
+   * @param replicaPlacement The placement of the replicas, in the order of the replica list of the partition.
+   * @param leaderPlacement The placement of the leader replica.
+   */
+  public void relocatePartition(TopicPartition tp, List<ReplicaPlacementInfo> replicaPlacement, ReplicaPlacementInfo leaderPlacement) {
+    Partition partition = _partitionsByTopicPartition.get(tp);
+    if (partition == null || partition.replicas().size() != replicaPlacement.size()) {
+      throw new IllegalArgumentException(String.format("Cannot relocate partition %s to %s since %s.", tp, replicaPlacement,
+                                                       partition == null ? "it is not in the cluster" : "its replication factor differs"));
+    }
+    journal(tp);
+    Set<Integer> destinationBrokerIds = replicaPlacement.stream().map(ReplicaPlacementInfo::brokerId).collect(Collectors.toSet());
+    Set<Integer> currentBrokerIds = partition.partitionBrokers().stream().map(Broker::id).collect(Collectors.toSet());
+    List<Integer> sourceBrokerIds = new ArrayList<>();
+    for (Replica replica : partition.replicas()) {
+      if (!destinationBrokerIds.contains(replica.broker().id())) {
+        sourceBrokerIds.add(replica.broker().id());
+      }
+    }
+    int sourceIndex = 0;
+    for (ReplicaPlacementInfo placement : replicaPlacement) {
+      if (!currentBrokerIds.contains(placement.brokerId())) {
+        relocateReplica(tp, sourceBrokerIds.get(sourceIndex++), placement.brokerId());
+      }
+    }
+
+    int leaderBrokerId = partition.leader().broker().id();
+    if (leaderBrokerId != leaderPlacement.brokerId()) {
+      relocateLeadership(tp, leaderBrokerId, leaderPlacement.brokerId());
+    }
+
+    List<Replica> replicas = partition.replicas();
+    for (int i = 0; i < replicaPlacement.size(); i++) {
+      int brokerId = replicaPlacement.get(i).brokerId();
+      for (int j = i; j < replicas.size(); j++) {
+        if (replicas.get(j).broker().id() == brokerId) {
+          if (j != i) {
+            partition.swapReplicaPositions(i, j);
+          }
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Create a new cluster model with the given brokers, their racks and the partitions whose replicas reside on these
+   * brokers. The new cluster model has the same broker capacities, broker states, replica loads and the current replica
+   * placement of this cluster model. The current replica placement becomes the original replica placement of the new
+   * cluster model.
+   *
+   * The replica loads of the new cluster model share their values with the replica loads of this cluster model until
+   * either replica load is changed, e.g. by a leadership relocation. Hence, creating the new cluster model does not copy
+   * the load values of the replicas, and changing either cluster model does not affect the other. This cluster model
+   * must not be changed while the new cluster model is created.
+   *
+   * This method does not copy the replica placement over disks. Hence, it should not be used for cluster models that
+   * populate replica placement over disks.
+   *
+   * @param brokerIds Ids of the brokers to include in the new cluster model. Each replica of a partition that has a replica
+   *                  on these brokers is expected to reside on these brokers as well.
+   * @return A new cluster model with the given brokers.
+   */
+  public ClusterModel subClusterModel(Set<Integer> brokerIds) {
+    return subClusterModel(brokerIds, _generation, _monitoredPartitionsRatio);
+  }
+
+  private ClusterModel subClusterModel(Set<Integer> brokerIds, ModelGeneration generation, double monitoredPartitionsRatio) {
+    ClusterModel subClusterModel = new ClusterModel(generation, monitoredPartitionsRatio);
+    for (int brokerId : brokerIds) {
+      Broker broker = broker(brokerId);
+      if (broker == null) {
+        throw new IllegalArgumentException("Broker " + brokerId + " does not exist.");
+      }
+      Map<Resource, Double> capacity = new HashMap<>();
+      // Dead brokers have a negative capacity, which is restored when their state is set.
+      Resource.cachedValues().forEach(r -> capacity.put(r, Math.max(0.0, broker.capacityFor(r))));
+      subClusterModel.createRack(broker.rack().id());
+      subClusterModel.createBroker(broker.rack().id(), broker.host().name(), brokerId,
+                                   new BrokerCapacityInfo(capacity, _capacityEstimationInfoByBrokerId.get(brokerId)), false);
+    }
+
+    for (Partition partition : _partitionsByTopicPartition.values()) {
+      if (!brokerIds.contains(partition.leader().broker().id())) {
+        continue;
+      }
+      TopicPartition tp = partition.topicPartition();
+      List<Replica> replicas = partition.replicas();
+      for (int index = 0; index < replicas.size(); index++) {
+        Replica replica = replicas.get(index);
+        int brokerId = replica.broker().id();
+        if (!brokerIds.contains(brokerId)) {
+          throw new IllegalArgumentException(String.format("Partition %s has a replica on broker %d, which is not in %s.",
+                                                           tp, brokerId, brokerIds));
+        }
+        String rackId = replica.broker().rack().id();
+        subClusterModel.createReplica(rackId, brokerId, tp, index, replica.isLeader(), replica.isCurrentOffline(), null, false);
+        subClusterModel.setReplicaLoad(rackId, brokerId, tp, replica.load());
+      }
+    }
+
+    for (int brokerId : brokerIds) {
+      Broker.State state = broker(brokerId).state();
+      if (state != Broker.State.ALIVE) {
+        subClusterModel.setBrokerState(brokerId, state);
+      }
+    }
+    return subClusterModel;
+  }
+
+  /**
+   * Create a new cluster model with all brokers and partitions of this cluster model, the given generation and the given
+   * monitored partitions ratio. See {@link #subClusterModel(Set)} for the state that is copied.
+   *
+   * @param generation Model generation of the new cluster model.
+   * @param monitoredPartitionsRatio Monitored partitions ratio of the new cluster model.
+   * @return A new cluster model with the same brokers and partitions as this cluster model.
+   */
+  public ClusterModel copy(ModelGeneration generation, double monitoredPartitionsRatio) {
+    return subClusterModel(_brokerIdToRack.keySet(), generation, monitoredPartitionsRatio);
+  }
+
   /**
    * @return The alive brokers in the cluster.
    */
@@ -544,10 +756,12 @@ public class ClusterModel implements Serializable {
    * otherwise.
    */
   public Replica removeReplica(int brokerId, TopicPartition tp) {
+    journal(tp);
     for (Rack rack : _racksById.values()) {
       // Remove the replica and the associated load from the rack that it resides in.
       Replica removedReplica = rack.removeReplica(brokerId, tp);
       if (removedReplica != null) {
+        _topicReplicaDistribution.removeReplica(tp.topic(), removedReplica.broker().numReplicasOfTopicInBroker(tp.topic()) + 1);
         // Decrement the number of replicas per this topic.
         _numReplicasByTopic.merge(tp.topic(), -1, Integer::sum);
         if (_numReplicasByTopic.get(tp.topic()) == 0) {
@@ -671,6 +885,16 @@ public class ClusterModel implements Serializable {
     return _numReplicasByTopic.getOrDefault(topic, 0);
   }
 
+  /**
+   * Package private for {@link ClusterModelStats}.
+   *
+   * @return The distribution of the replicas of each topic over the brokers, which is kept up to date as replicas are
+   * created, relocated and removed.
+   */
+  TopicReplicaDistribution topicReplicaDistribution() {
+    return _topicReplicaDistribution;
+  }
+
   /**
    * Get the number of leader replicas in cluster.
    *
@@ -760,6 +984,22 @@ public class ClusterModel implements Serializable {
       }
     }
   }
+  // Set the load of the given replica to the given load, which is shared with the given load until either load changes it.
+  private void setReplicaLoad(String rackId, int brokerId, TopicPartition tp, Load load) {
+    if (!broker(brokerId).replica(tp).load().isEmpty()) {
+      throw new IllegalStateException(String.format("The load for %s on broker %d, rack %s already has metric values.",
+                                                    tp, brokerId, rackId));
+    }
+
+    rack(rackId).setReplicaLoad(brokerId, tp, load);
+    _load.addLoad(load);
+    Replica leader = partition(tp).leader();
+    if (leader != null && leader.broker().id() == brokerId) {
+      for (Replica replica : partition(tp).replicas()) {
+        _potentialLeadershipLoadByBrokerId.get(replica.broker().id()).addLoad(load);
+      }
+    }
+  }
 
   /**
    * If the rack or broker does not exist, create them with UNKNOWN host name. This allows handling
@@ -827,6 +1067,7 @@ public class ClusterModel implements Serializable {
                                boolean isOffline,
                                String logdir,
                                boolean isFuture) {
+    journal(tp);
     Replica replica;
     Broker broker = broker(brokerId);
     if (!isFuture) {
@@ -847,6 +1088,7 @@ public class ClusterModel implements Serializable {
       replica = new Replica(tp, GENESIS_BROKER, false);
       replica.setBroker(broker);
     }
+    _topicReplicaDistribution.addReplica(tp.topic(), broker.numReplicasOfTopicInBroker(tp.topic()));
     rack(rackId).addReplica(replica);
     // Increment the number of replicas per this topic.
     _numReplicasByTopic.merge(tp.topic(), 1, Integer::sum);
@@ -854,7 +1096,7 @@ public class ClusterModel implements Serializable {
     // Add replica to its partition.
     if (!_partitionsByTopicPartition.containsKey(tp)) {
       // Partition has not been created before.
-      _partitionsByTopicPartition.put(tp, new Partition(tp));
+      _partitionsByTopicPartition.put(tp, new Partition(tp, this));
       _replicationFactorByTopic.putIfAbsent(tp.topic(), 1);
     }
 
@@ -902,6 +1144,37 @@ public class ClusterModel implements Serializable {
     _replicationFactorByTopic.put(topicPartition.topic(), partition.replicas().size());
   }
 
+  /**
+   * Remove the given partition and all of its replicas, with their load, from the cluster. The caller of this method is
+   * expected to call {@link #refreshReplicationFactor()} after all partition removals.
+   *
+   * @param tp Topic partition to remove.
+   * @return The removed partition, or {@code null} if the partition is not in the cluster.
+   */
+  public Partition removePartition(TopicPartition tp) {
+    Partition partition = _partitionsByTopicPartition.get(tp);
+    if (partition == null) {
+      return null;
+    }
+    for (Replica replica : new ArrayList<>(partition.replicas())) {
+      removeReplica(replica.broker().id(), tp);
+      _selfHealingEligibleReplicas.remove(replica);
+    }
+    _partitionsByTopicPartition.remove(tp);
+    return partition;
+  }
+
+  /**
+   * Refresh the replication factor of each topic and the maximum replication factor from the partitions in the cluster.
+   */
+  public void refreshReplicationFactor() {
+    _replicationFactorByTopic.clear();
+    for (Partition partition : _partitionsByTopicPartition.values()) {
+      _replicationFactorByTopic.merge(partition.topicPartition().topic(), partition.replicas().size(), Math::max);
+    }
+    _maxReplicationFactor = _replicationFactorByTopic.values().stream().max(Integer::compareTo).orElse(1);
+  }
+
   /**
    * Refresh the maximum topic replication factor statistic.
    */
@@ -1125,20 +1398,6 @@ public class ClusterModel implements Serializable {
     return aliveBrokersOverThreshold;
   }
 
-  /**
-   * Sort the partitions in the cluster by the utilization of the given resource.
-   * @param resource The resource type.
-   * @param wantMaxLoad {@code true} if the requested utilization represents the peak load, {@code false} otherwise.
-   * @param wantAvgLoad {@code true} if the requested utilization represents the avg load, {@code false} otherwise.
-   * @return A list of partitions sorted by utilization of the given resource.
-   */
-  public List<Partition> replicasSortedByUtilization(Resource resource, boolean wantMaxLoad, boolean wantAvgLoad) {
-    List<Partition> partitionList = new ArrayList<>(_partitionsByTopicPartition.values());
-    partitionList.sort((o1, o2) -> Double.compare(o2.leader().load().expectedUtilizationFor(resource, wantMaxLoad, wantAvgLoad),
-                                                  o1.leader().load().expectedUtilizationFor(resource, wantMaxLoad, wantAvgLoad)));
-    return partitionList;
-  }
-
   /**
    * (1) Check whether each load in the cluster contains exactly the number of windows defined by the Load.
    * (2) Check whether sum of loads in the cluster / rack / broker / replica are consistent with each other.
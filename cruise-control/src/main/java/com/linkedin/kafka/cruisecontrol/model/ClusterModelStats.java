@@ -12,9 +12,11 @@ import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.common.Statistic;
 import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseField;
 import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseClass;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -84,7 +86,8 @@ public class ClusterModelStats {
   ClusterModelStats populate(ClusterModel clusterModel, BalancingConstraint balancingConstraint, OptimizationOptions optimizationOptions) {
     final SortedSet<Broker> brokers = clusterModel.brokers();
     final Set<Broker> aliveBrokers = clusterModel.aliveBrokers();
-    Set<String> topics = clusterModel.topics();
+    TopicReplicaDistribution topicReplicaDistribution = clusterModel.topicReplicaDistribution();
+    Set<String> topics = topicReplicaDistribution.topics();
     _numBrokers = brokers.size();
     _numTopics = topics.size();
     _balancingConstraint = balancingConstraint;
@@ -93,7 +96,7 @@ public class ClusterModelStats {
     utilizationForPotentialNwOut(clusterModel, optimizationOptions, aliveBrokers);
     numForReplicas(clusterModel, brokers, aliveBrokers);
     numForLeaderReplicas(brokers, aliveBrokers);
-    numForAvgTopicReplicas(clusterModel, brokers, topics);
+    numForAvgTopicReplicas(clusterModel, brokers, topicReplicaDistribution);
     _utilizationMatrix = clusterModel.utilizationMatrix();
     _numSnapshotWindows = clusterModel.load().numWindows();
     _monitoredPartitionsRatio = clusterModel.monitoredPartitionsRatio();
@@ -438,30 +441,50 @@ public class ClusterModelStats {
   /**
    * Generate statistics for topic replicas in the given cluster.
    * Average and standard deviation calculations are based on brokers not excluded for replica moves.
+   * The statistics of each topic are computed from its replica distribution over brokers, which is maintained by the cluster
+   * model, and the number of its replicas in the brokers excluded for replica moves, rather than from each broker.
    *
    * @param clusterModel The state of the cluster.
    * @param brokers Brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
-   * @param topics Topics in the cluster -- passed to this function to avoid recomputing them using cluster model.
+   * @param topicReplicaDistribution The distribution of the replicas of each topic over the brokers.
    */
-  private void numForAvgTopicReplicas(ClusterModel clusterModel, SortedSet<Broker> brokers, Set<String> topics) {
+  private void numForAvgTopicReplicas(ClusterModel clusterModel, SortedSet<Broker> brokers, TopicReplicaDistribution topicReplicaDistribution) {
     _topicReplicaStats.put(Statistic.AVG, 0.0);
     _topicReplicaStats.put(Statistic.MAX, 0);
     _topicReplicaStats.put(Statistic.MIN, Integer.MAX_VALUE);
     _topicReplicaStats.put(Statistic.ST_DEV, 0.0);
-    for (String topic : topics) {
+    List<Broker> brokersExcludedFromStDev = new ArrayList<>();
+    for (Broker broker : brokers) {
+      if (!broker.isAlive() || !_brokersAllowedReplicaMove.contains(broker.id())) {
+        brokersExcludedFromStDev.add(broker);
+      }
+    }
+    for (String topic : topicReplicaDistribution.topics()) {
+      int[] numBrokersByNumReplicas = topicReplicaDistribution.numBrokersByNumReplicas(topic);
       int maxTopicReplicasInBroker = 0;
       int minTopicReplicasInBroker = Integer.MAX_VALUE;
       double avgTopicReplicas = ((double) clusterModel.numTopicReplicas(topic)) / _brokersAllowedReplicaMove.size();
-      double variance = 0.0;
-      for (Broker broker : brokers) {
-        int numTopicReplicasInBroker = broker.numReplicasOfTopicInBroker(topic);
-        maxTopicReplicasInBroker = Math.max(maxTopicReplicasInBroker, numTopicReplicasInBroker);
-        minTopicReplicasInBroker = Math.min(minTopicReplicasInBroker, numTopicReplicasInBroker);
-        if (broker.isAlive() && _brokersAllowedReplicaMove.contains(broker.id())) {
-          // Standard deviation of replicas in brokers allowed replica move.
-          variance += (Math.pow(numTopicReplicasInBroker - avgTopicReplicas, 2) / _brokersAllowedReplicaMove.size());
+      // Sum of squared deviations over all brokers, starting with the brokers without a replica of the topic.
+      int numBrokersWithoutReplicas = brokers.size();
+      double squaredDeviationSum = 0.0;
+      for (int numReplicas = 1; numReplicas < numBrokersByNumReplicas.length; numReplicas++) {
+        int numBrokers = numBrokersByNumReplicas[numReplicas];
+        if (numBrokers > 0) {
+          maxTopicReplicasInBroker = numReplicas;
+          minTopicReplicasInBroker = Math.min(minTopicReplicasInBroker, numReplicas);
+          numBrokersWithoutReplicas -= numBrokers;
+          squaredDeviationSum += numBrokers * Math.pow(numReplicas - avgTopicReplicas, 2);
         }
       }
+      if (numBrokersWithoutReplicas > 0) {
+        minTopicReplicasInBroker = 0;
+        squaredDeviationSum += numBrokersWithoutReplicas * Math.pow(avgTopicReplicas, 2);
+      }
+      // Standard deviation of replicas in brokers allowed replica move.
+      for (Broker broker : brokersExcludedFromStDev) {
+        squaredDeviationSum -= Math.pow(broker.numReplicasOfTopicInBroker(topic) - avgTopicReplicas, 2);
+      }
+      double variance = Math.max(0.0, squaredDeviationSum / _brokersAllowedReplicaMove.size());
 
       _topicReplicaStats.put(Statistic.AVG, _topicReplicaStats.get(Statistic.AVG).doubleValue() + avgTopicReplicas);
       _topicReplicaStats.put(Statistic.MAX,
@@ -227,6 +227,11 @@ public class Host implements Serializable {
     broker.setReplicaLoad(tp, aggregatedMetricValues, windows);
     _load.addMetricValues(aggregatedMetricValues, windows);
   }
+  void setReplicaLoad(int brokerId, TopicPartition tp, Load load) {
+    Broker broker = _brokers.get(brokerId);
+    broker.setReplicaLoad(tp, load);
+    _load.addLoad(load);
+  }
 
   void clearLoad() {
     _brokers.values().forEach(Broker::clearLoad);
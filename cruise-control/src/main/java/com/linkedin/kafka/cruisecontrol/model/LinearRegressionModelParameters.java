@@ -7,6 +7,9 @@ package com.linkedin.kafka.cruisecontrol.model;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerMetricSample;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -214,6 +217,113 @@ public class LinearRegressionModelParameters {
                                           CPU_UTIL_ESTIMATION_ERROR_STATS);
   }
 
+  /**
+   * Write the metric observations and the model coefficients to the given output for a checkpoint.
+   *
+   * @param out The output to write the checkpoint to.
+   */
+  public synchronized void writeCheckpoint(DataOutput out) throws IOException {
+    out.writeInt(numObservationsPerUtilBucket);
+    out.writeInt(INDICES.size());
+    for (Map.Entry<Integer, AtomicInteger> entry : INDICES.entrySet()) {
+      int utilBucket = entry.getKey();
+      int index = entry.getValue().get();
+      out.writeInt(utilBucket);
+      out.writeInt(index);
+      double[][] byteRateObservations = BYTE_RATE_OBSERVATIONS.get(utilBucket);
+      double[] cpuUtilObservations = CPU_UTIL_OBSERVATIONS.get(utilBucket);
+      for (int i = 0; i < Math.min(numObservationsPerUtilBucket, index); i++) {
+        for (double byteRate : byteRateObservations[i]) {
+          out.writeDouble(byteRate);
+        }
+        out.writeDouble(cpuUtilObservations[i]);
+      }
+    }
+    writeHistogram(out, OBSERVED_LEADER_TO_FOLLOWER_BYTES_RATIO);
+    writeHistogram(out, OBSERVED_LEADER_BYTES_IN_TO_BYTES_OUT_RATIO);
+    writeHistogram(out, CPU_UTIL_ESTIMATION_ERROR_STATS);
+    out.writeInt(COEFFICIENTS.size());
+    for (Map.Entry<ModelCoefficient, Double> entry : COEFFICIENTS.entrySet()) {
+      out.writeUTF(entry.getKey().name());
+      out.writeDouble(entry.getValue());
+    }
+  }
+
+  /**
+   * Replace the metric observations and the model coefficients with the ones in a checkpoint written by
+   * {@link #writeCheckpoint(DataOutput)}. The model is not modified if the checkpoint cannot be read.
+   *
+   * @param in The input to read the checkpoint from.
+   * @throws IOException If the checkpoint cannot be read, or was written with a different number of observations per
+   * CPU utilization bucket.
+   */
+  public synchronized void readCheckpoint(DataInput in) throws IOException {
+    int numObservationsPerBucket = in.readInt();
+    if (numObservationsPerBucket != numObservationsPerUtilBucket) {
+      throw new IOException("The checkpoint with " + numObservationsPerBucket + " observations per CPU utilization bucket "
+                            + "does not match the linear regression model.");
+    }
+    Map<Integer, AtomicInteger> indices = new HashMap<>();
+    Map<Integer, double[][]> byteRateObservations = new HashMap<>();
+    Map<Integer, double[]> cpuUtilObservations = new HashMap<>();
+    int numBuckets = in.readInt();
+    for (int b = 0; b < numBuckets; b++) {
+      int utilBucket = in.readInt();
+      int index = in.readInt();
+      double[][] byteRates = new double[numObservationsPerUtilBucket][];
+      double[] cpuUtils = new double[numObservationsPerUtilBucket];
+      for (int i = 0; i < Math.min(numObservationsPerUtilBucket, index); i++) {
+        byteRates[i] = new double[]{in.readDouble(), in.readDouble(), in.readDouble()};
+        cpuUtils[i] = in.readDouble();
+      }
+      indices.put(utilBucket, new AtomicInteger(index));
+      byteRateObservations.put(utilBucket, byteRates);
+      cpuUtilObservations.put(utilBucket, cpuUtils);
+    }
+    Map<Integer, Integer> observedLeaderToFollowerBytesRatio = readHistogram(in);
+    Map<Integer, Integer> observedLeaderBytesInToBytesOutRatio = readHistogram(in);
+    Map<Integer, Integer> cpuUtilEstimationErrorStats = readHistogram(in);
+    Map<ModelCoefficient, Double> coefficients = new HashMap<>();
+    int numCoefficients = in.readInt();
+    for (int i = 0; i < numCoefficients; i++) {
+      try {
+        coefficients.put(ModelCoefficient.valueOf(in.readUTF()), in.readDouble());
+      } catch (IllegalArgumentException e) {
+        throw new IOException("The checkpoint has an unknown model coefficient.", e);
+      }
+    }
+
+    replace(INDICES, indices);
+    replace(BYTE_RATE_OBSERVATIONS, byteRateObservations);
+    replace(CPU_UTIL_OBSERVATIONS, cpuUtilObservations);
+    replace(OBSERVED_LEADER_TO_FOLLOWER_BYTES_RATIO, observedLeaderToFollowerBytesRatio);
+    replace(OBSERVED_LEADER_BYTES_IN_TO_BYTES_OUT_RATIO, observedLeaderBytesInToBytesOutRatio);
+    replace(CPU_UTIL_ESTIMATION_ERROR_STATS, cpuUtilEstimationErrorStats);
+    replace(COEFFICIENTS, coefficients);
+  }
+
+  private static void writeHistogram(DataOutput out, Map<Integer, Integer> histogram) throws IOException {
+    out.writeInt(histogram.size());
+    for (Map.Entry<Integer, Integer> entry : histogram.entrySet()) {
+      out.writeInt(entry.getKey());
+      out.writeInt(entry.getValue());
+    }
+  }
+
+  private static Map<Integer, Integer> readHistogram(DataInput in) throws IOException {
+    Map<Integer, Integer> histogram = new HashMap<>();
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      histogram.put(in.readInt(), in.readInt());
+    }
+    return histogram;
+  }
+
+  private static <K, V> void replace(Map<K, V> map, Map<K, V> newContent) {
+    map.clear();
+    map.putAll(newContent);
+  }
+
   private Set<Integer> validBuckets() {
     Set<Integer> validBuckets = new HashSet<>();
     for (Map.Entry<Integer, AtomicInteger> entry : INDICES.entrySet()) {
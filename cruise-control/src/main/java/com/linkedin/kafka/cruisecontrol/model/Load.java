@@ -15,6 +15,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,32 +26,58 @@ import static java.lang.Math.max;
 /**
  * A class for representing load information for each resource. Each Load in a cluster must have the same number of
  * windows.
+ *
+ * The values of all metrics are kept in a single array indexed by metric id and window, and the sum of the values of
+ * each metric over windows is kept in another array indexed by metric id. Compared to holding an
+ * {@link AggregatedMetricValues} with a {@link MetricValues} per metric, this keeps the number of objects per load
+ * constant, which matters for the replica loads of large cluster models.
+ *
+ * A load can be {@link #initializeFrom(Load) initialized from} another load without copying its values. The two loads
+ * then share the arrays of values, and either load copies them before changing them for the first time.
  */
 public class Load implements Serializable {
+  private static final float[] NO_VALUES = new float[0];
+  private static final double[] NO_SUM_FOR_AVG = new double[0];
   // load by their time.
   private List<Long> _windows;
-  private final AggregatedMetricValues _metricValues;
+  // The number of windows of each metric, or 0 if the load is empty.
+  private int _numWindows;
+  // The number of metrics, i.e. one more than the largest metric id, or 0 if the load is empty.
+  private int _numMetrics;
+  // Values of metric id m in window w are at index m * _numWindows + w. The newest window is at w = 0.
+  private float[] _values;
+  // Sum of the values over windows by metric id, used for the average value.
+  private double[] _sumForAvg;
+  // Whether _values and _sumForAvg may be shared with another load, hence must be copied before they are changed.
+  private boolean _shared;
 
   /**
    * Package constructor for load with given load properties.
    */
   public Load() {
     _windows = null;
-    _metricValues = new AggregatedMetricValues();
+    clearLoad();
   }
 
   /**
+   * Get the metric values by windows of this load. The returned values are a copy, hence changing them does not
+   * change this load.
+   *
    * @return Aggregated metric values associated with the load.
    */
   public AggregatedMetricValues loadByWindows() {
-    return _metricValues;
+    AggregatedMetricValues aggregatedMetricValues = new AggregatedMetricValues();
+    for (short metricId = 0; metricId < _numMetrics; metricId++) {
+      aggregatedMetricValues.add(metricId, valuesFor(metricId));
+    }
+    return aggregatedMetricValues;
   }
 
   /**
    * @return The number of windows in the load.
    */
   public int numWindows() {
-    return _metricValues.length();
+    return _numWindows;
   }
 
   /**
@@ -82,20 +109,26 @@ public class Load implements Serializable {
     if (wantMaxLoad && wantAvgLoad) {
       throw new IllegalArgumentException("Attempt to request expected utilization with both max and avg load.");
     }
-    if (_metricValues.isEmpty()) {
+    if (isEmpty()) {
       return 0.0;
     }
     double result = 0;
     for (MetricInfo info : KafkaMetricDef.resourceToMetricInfo(resource)) {
-      MetricValues valuesForId = _metricValues.valuesFor(info.id());
-      result += wantMaxLoad ? valuesForId.max()
-                            : (resource == Resource.DISK && !wantAvgLoad ? valuesForId.latest() : valuesForId.avg());
+      short metricId = info.id();
+      result += wantMaxLoad ? maxOf(metricId) : (resource == Resource.DISK && !wantAvgLoad ? latestOf(metricId) : avgOf(metricId));
     }
     return max(result, 0.0);
   }
 
+  /**
+   * Get a single snapshot value that is representative for the given resource, which is the latest utilization for
+   * disk space usage, and the mean utilization for other resources.
+   *
+   * @param resource Resource for which the expected utilization will be provided.
+   * @return A single representative utilization value on a resource.
+   */
   public double expectedUtilizationFor(Resource resource) {
-    return ModelUtils.expectedUtilizationFor(resource, _metricValues);
+    return expectedUtilizationFor(resource, false, false);
   }
 
   /**
@@ -127,29 +160,61 @@ public class Load implements Serializable {
       default:
         throw new IllegalArgumentException("Metric scope " + metric.defScope() + " for metric " + metric.name() + " is invalid.");
     }
-    if (_metricValues.isEmpty()) {
+    if (isEmpty()) {
       return 0.0;
     }
-    MetricValues valuesForId = _metricValues.valuesFor(info.id());
+    short metricId = info.id();
     if (wantMaxLoad) {
-      return max(valuesForId.max(), 0.0);
+      return max(maxOf(metricId), 0.0);
     } else if (wantAvgLoad) {
-      return max(valuesForId.avg(), 0.0);
+      return max(avgOf(metricId), 0.0);
     }
     switch (metric.valueComputingStrategy()) {
-      case MAX: return max(valuesForId.max(), 0.0);
-      case AVG: return max(valuesForId.avg(), 0.0);
-      case LATEST: return max(valuesForId.latest(), 0.0);
+      case MAX: return max(maxOf(metricId), 0.0);
+      case AVG: return max(avgOf(metricId), 0.0);
+      case LATEST: return max(latestOf(metricId), 0.0);
       default: throw new IllegalArgumentException("Metric value computing strategy " + metric.valueComputingStrategy()
                                                   + " for metric " + metric.name() + " is invalid.");
     }
   }
 
+  /**
+   * Get the average over windows of the sum of the values of the metrics in the given group.
+   *
+   * @param metricGroup The metric group in {@link KafkaMetricDef#commonMetricDef()}.
+   * @return The average value of the given metric group.
+   */
+  double avgForGroup(String metricGroup) {
+    if (isEmpty()) {
+      return 0.0;
+    }
+    double sumForAvg = 0.0;
+    for (MetricInfo info : KafkaMetricDef.commonMetricDef().metricInfoForGroup(metricGroup)) {
+      sumForAvg += _sumForAvg[validMetricId(info.id())];
+    }
+    return (float) (sumForAvg / _numWindows);
+  }
+
   /**
    * @return {@code true} if this load is empty, {@code false} otherwise.
    */
   boolean isEmpty() {
-    return _metricValues.isEmpty();
+    return _numMetrics == 0;
+  }
+
+  /**
+   * Get a copy of the values of the given metric by windows.
+   *
+   * @param metricId The metric id to get the values for.
+   * @return The values of the given metric by windows.
+   */
+  MetricValues valuesFor(short metricId) {
+    int offset = validMetricId(metricId) * _numWindows;
+    MetricValues metricValues = new MetricValues(_numWindows);
+    for (int i = 0; i < _numWindows; i++) {
+      metricValues.set(i, _values[offset + i]);
+    }
+    return metricValues;
   }
 
   /**
@@ -158,17 +223,10 @@ public class Load implements Serializable {
    * @param loadToSet Load to set.
    */
   void setLoad(AggregatedMetricValues loadToSet) {
-    if (loadToSet.length() != _metricValues.length()) {
-      throw new IllegalArgumentException("Load to set and load for the resources must have exactly "
-                                         + _metricValues.length() + " entries.");
-    }
-    loadToSet.metricIds().forEach(id -> {
-      MetricValues valuesToSet = loadToSet.valuesFor(id);
-      MetricValues values = _metricValues.valuesFor(id);
-      for (int i = 0; i < values.length(); i++) {
-        values.set(i, (float) valuesToSet.get(i));
-      }
-    });
+    if (loadToSet.length() != _numWindows) {
+      throw new IllegalArgumentException("Load to set and load for the resources must have exactly " + _numWindows + " entries.");
+    }
+    loadToSet.metricIds().forEach(id -> setLoad(id, loadToSet.valuesFor(id)));
   }
 
   /**
@@ -178,13 +236,15 @@ public class Load implements Serializable {
    * @param loadToSet Load for the given metric id to overwrite the original load by snapshot time.
    */
   void setLoad(short metricId, MetricValues loadToSet) {
-    if (loadToSet.length() != _metricValues.length()) {
-      throw new IllegalArgumentException("Load to set and load for the resources must have exactly "
-                                         + _metricValues.length() + " entries.");
+    if (loadToSet.length() != _numWindows) {
+      throw new IllegalArgumentException("Load to set and load for the resources must have exactly " + _numWindows + " entries.");
     }
-    MetricValues values = _metricValues.valuesFor(metricId);
-    for (int i = 0; i < loadToSet.length(); i++) {
-      values.set(i, (float) loadToSet.get(i));
+    int offset = validMetricId(metricId) * _numWindows;
+    unshare();
+    for (int i = 0; i < _numWindows; i++) {
+      double value = loadToSet.get(i);
+      _sumForAvg[metricId] += value - _values[offset + i];
+      _values[offset + i] = (float) value;
     }
   }
 
@@ -194,7 +254,12 @@ public class Load implements Serializable {
    * @param resource Resource for which the utilization will be cleared.
    */
   void clearLoadFor(Resource resource) {
-    KafkaMetricDef.resourceToMetricIds(resource).forEach(id -> _metricValues.valuesFor(id).clear());
+    unshare();
+    KafkaMetricDef.resourceToMetricIds(resource).forEach(id -> {
+      int offset = validMetricId(id) * _numWindows;
+      Arrays.fill(_values, offset, offset + _numWindows, 0.0f);
+      _sumForAvg[id] = 0.0;
+    });
   }
 
   /**
@@ -205,11 +270,30 @@ public class Load implements Serializable {
    * @param windows the list of windows corresponding to the metric values.
    */
   void initializeMetricValues(AggregatedMetricValues aggregatedMetricValues, List<Long> windows) {
-    if (!_metricValues.isEmpty()) {
+    if (!isEmpty()) {
       throw new IllegalStateException("Metric values already exists, cannot set it again.");
     }
     _windows = windows;
-    _metricValues.add(aggregatedMetricValues);
+    add(aggregatedMetricValues);
+  }
+
+  /**
+   * Initialize this load with the windows and values of the given load. The values are shared with the given load until
+   * either load changes them. This method should only be called once for initialization.
+   *
+   * @param load The load to initialize this load from.
+   */
+  void initializeFrom(Load load) {
+    if (!isEmpty()) {
+      throw new IllegalStateException("Metric values already exists, cannot set it again.");
+    }
+    _windows = load._windows;
+    _numWindows = load._numWindows;
+    _numMetrics = load._numMetrics;
+    _values = load._values;
+    _sumForAvg = load._sumForAvg;
+    _shared = !load.isEmpty();
+    load._shared |= _shared;
   }
 
   /**
@@ -221,7 +305,7 @@ public class Load implements Serializable {
     if (_windows == null) {
       _windows = windows;
     }
-    _metricValues.add(aggregatedMetricValues);
+    add(aggregatedMetricValues);
   }
 
   /**
@@ -230,7 +314,20 @@ public class Load implements Serializable {
    * @param loadToAdd Load to add to this load.
    */
   void addLoad(Load loadToAdd) {
-    _metricValues.add(loadToAdd.loadByWindows());
+    if (loadToAdd.isEmpty()) {
+      return;
+    }
+    if (_windows == null) {
+      _windows = loadToAdd._windows;
+    }
+    ensureCapacity(loadToAdd._numMetrics, loadToAdd._numWindows);
+    unshare();
+    // Both loads have the same number of windows, hence the same layout up to the number of metrics of the load to add.
+    for (int i = 0; i < loadToAdd._values.length; i++) {
+      float toAdd = loadToAdd._values[i];
+      _values[i] += toAdd;
+      _sumForAvg[i / _numWindows] += toAdd;
+    }
   }
 
   /**
@@ -239,8 +336,8 @@ public class Load implements Serializable {
    * @param loadToAdd Load to add to this load for the given resource.
    */
   void addLoad(AggregatedMetricValues loadToAdd) {
-    if (!_metricValues.isEmpty()) {
-      _metricValues.add(loadToAdd);
+    if (!isEmpty()) {
+      add(loadToAdd);
     }
   }
 
@@ -250,7 +347,19 @@ public class Load implements Serializable {
    * @param loadToSubtract Load to subtract from this load.
    */
   void subtractLoad(Load loadToSubtract) {
-    _metricValues.subtract(loadToSubtract.loadByWindows());
+    if (loadToSubtract.isEmpty()) {
+      return;
+    }
+    if (loadToSubtract._numMetrics > _numMetrics) {
+      throw new IllegalStateException("Cannot subtract a values from a non-existing MetricValues");
+    }
+    checkNumWindows(loadToSubtract._numWindows);
+    unshare();
+    for (int i = 0; i < loadToSubtract._values.length; i++) {
+      float toDeduct = loadToSubtract._values[i];
+      _values[i] -= toDeduct;
+      _sumForAvg[i / _numWindows] -= toDeduct;
+    }
   }
 
   /**
@@ -259,8 +368,22 @@ public class Load implements Serializable {
    * @param loadToSubtract Load to subtract from this load for the given resource.
    */
   void subtractLoad(AggregatedMetricValues loadToSubtract) {
-    if (!_metricValues.isEmpty()) {
-      _metricValues.subtract(loadToSubtract);
+    if (isEmpty()) {
+      return;
+    }
+    unshare();
+    for (short metricId : loadToSubtract.metricIds()) {
+      if (metricId >= _numMetrics) {
+        throw new IllegalStateException("Cannot subtract a values from a non-existing MetricValues");
+      }
+      MetricValues valuesToSubtract = loadToSubtract.valuesFor(metricId);
+      checkNumWindows(valuesToSubtract.length());
+      int offset = metricId * _numWindows;
+      for (int i = 0; i < _numWindows; i++) {
+        double toDeduct = valuesToSubtract.get(i);
+        _values[offset + i] -= toDeduct;
+        _sumForAvg[metricId] -= toDeduct;
+      }
     }
   }
 
@@ -268,22 +391,96 @@ public class Load implements Serializable {
    * Clear the content of the circular list for each resource.
    */
   void clearLoad() {
-    _metricValues.clear();
+    _numWindows = 0;
+    _numMetrics = 0;
+    _values = NO_VALUES;
+    _sumForAvg = NO_SUM_FOR_AVG;
+    _shared = false;
   }
 
   /**
    * Get the load for the requested resource across all the windows. The returned value may include multiple
-   * metrics that are associated with the requested resource.
+   * metrics that are associated with the requested resource. The returned value is a copy, hence changing it does
+   * not change this load.
    *
    * @param resource Resource for which the load will be provided.
-   * @param shareValueArray Whether the returned result should share the value array with this class or not. When this
-   *                  value is set to true, the returned result share the same value array with this object.
-   *                  Otherwise, data copy will be made and a dedicated result will be returned.
-   *
    * @return Load of the requested resource as a mapping from snapshot time to utilization for the given resource.
    */
-  AggregatedMetricValues loadFor(Resource resource, boolean shareValueArray) {
-    return _metricValues.valuesFor(KafkaMetricDef.resourceToMetricIds(resource), shareValueArray);
+  AggregatedMetricValues loadFor(Resource resource) {
+    AggregatedMetricValues aggregatedMetricValues = new AggregatedMetricValues();
+    for (short metricId : KafkaMetricDef.resourceToMetricIds(resource)) {
+      aggregatedMetricValues.add(metricId, valuesFor(metricId));
+    }
+    return aggregatedMetricValues;
+  }
+
+  private void add(AggregatedMetricValues aggregatedMetricValues) {
+    unshare();
+    for (short metricId : aggregatedMetricValues.metricIds()) {
+      MetricValues valuesToAdd = aggregatedMetricValues.valuesFor(metricId);
+      ensureCapacity(metricId + 1, valuesToAdd.length());
+      int offset = metricId * _numWindows;
+      for (int i = 0; i < _numWindows; i++) {
+        double toAdd = valuesToAdd.get(i);
+        _values[offset + i] += toAdd;
+        _sumForAvg[metricId] += toAdd;
+      }
+    }
+  }
+
+  // Ensure that this load has values for at least the given number of metrics, each with the given number of windows.
+  // An empty load takes the given number of windows.
+  private void ensureCapacity(int numMetrics, int numWindows) {
+    if (isEmpty()) {
+      _numWindows = numWindows;
+    } else {
+      checkNumWindows(numWindows);
+    }
+    if (numMetrics > _numMetrics) {
+      _values = Arrays.copyOf(_values, numMetrics * _numWindows);
+      _sumForAvg = Arrays.copyOf(_sumForAvg, numMetrics);
+      _numMetrics = numMetrics;
+      _shared = false;
+    }
+  }
+
+  // Copy the values that may be shared with another load, so that they can be changed.
+  private void unshare() {
+    if (_shared) {
+      _values = _values.clone();
+      _sumForAvg = _sumForAvg.clone();
+      _shared = false;
+    }
+  }
+
+  private void checkNumWindows(int numWindows) {
+    if (numWindows != _numWindows) {
+      throw new IllegalStateException("The two values arrays have different lengths " + _numWindows + " and " + numWindows);
+    }
+  }
+
+  private int validMetricId(short metricId) {
+    if (metricId < 0 || metricId >= _numMetrics) {
+      throw new IllegalArgumentException("Metric id " + metricId + " does not exist.");
+    }
+    return metricId;
+  }
+
+  private double avgOf(short metricId) {
+    return (float) (_sumForAvg[validMetricId(metricId)] / _numWindows);
+  }
+
+  private double maxOf(short metricId) {
+    int offset = validMetricId(metricId) * _numWindows;
+    float max = _values[offset];
+    for (int i = 1; i < _numWindows; i++) {
+      max = Math.max(max, _values[offset + i]);
+    }
+    return max;
+  }
+
+  private double latestOf(short metricId) {
+    return _values[validMetricId(metricId) * _numWindows];
   }
 
   /**
@@ -294,11 +491,11 @@ public class Load implements Serializable {
     Map<String, Object> loadMap = new HashMap<>();
     List<Object> metricValueList = new ArrayList<>();
     for (MetricInfo metricInfo : metricDef.all()) {
-      MetricValues metricValues = _metricValues.valuesFor(metricInfo.id());
-      if (metricValues != null) {
+      short metricId = metricInfo.id();
+      if (metricId < _numMetrics) {
         Map<Long, Double> metricValuesMap = new HashMap<>();
         for (int i = 0; i < _windows.size(); i++) {
-          metricValuesMap.put(_windows.get(i), metricValues.get(i));
+          metricValuesMap.put(_windows.get(i), (double) _values[metricId * _numWindows + i]);
         }
         metricValueList.add(metricValuesMap);
       }
@@ -313,7 +510,7 @@ public class Load implements Serializable {
    */
   public void writeTo(OutputStream out) throws IOException {
     out.write("<Load>".getBytes(StandardCharsets.UTF_8));
-    _metricValues.writeTo(out);
+    loadByWindows().writeTo(out);
     out.write("</Load>%n".getBytes(StandardCharsets.UTF_8));
   }
 
@@ -322,6 +519,6 @@ public class Load implements Serializable {
    */
   @Override
   public String toString() {
-    return String.format("Load[metricValues=%s]", _metricValues);
+    return String.format("Load[metricValues=%s]", loadByWindows());
   }
 }
@@ -7,6 +7,9 @@ package com.linkedin.kafka.cruisecontrol.model;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerMetricSample;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Collection;
 import javax.annotation.Nonnull;
 import org.apache.kafka.common.record.CompressionType;
@@ -82,6 +85,24 @@ public final class ModelParameters {
     LINEAR_REGRESSION_PARAMETERS.addMetricObservation(trainingData);
   }
 
+  /**
+   * Write the linear regression model to the given output for a checkpoint.
+   *
+   * @param out The output to write the checkpoint to.
+   */
+  public static void writeCheckpoint(DataOutput out) throws IOException {
+    LINEAR_REGRESSION_PARAMETERS.writeCheckpoint(out);
+  }
+
+  /**
+   * Restore the linear regression model from a checkpoint.
+   *
+   * @param in The input to read the checkpoint from.
+   */
+  public static void readCheckpoint(DataInput in) throws IOException {
+    LINEAR_REGRESSION_PARAMETERS.readCheckpoint(in);
+  }
+
   @Nonnull
   public static LinearRegressionModelParameters.LinearRegressionModelState linearRegressionModelState() {
     return LINEAR_REGRESSION_PARAMETERS.modelState();
@@ -23,14 +23,18 @@ public class Partition implements Serializable {
   private Replica _leader;
   // Set of brokers which are unable to host replica of this partition.
   private final Set<Broker> _ineligibleBrokers;
+  // The cluster model to journal the changes of the replica order in.
+  private final ClusterModel _clusterModel;
 
   /**
    * Constructor for Partition class.
    *
    * @param tp Topic partition information for the replica in this partition,
+   * @param clusterModel The cluster model containing this partition.
    */
-  Partition(TopicPartition tp) {
+  Partition(TopicPartition tp, ClusterModel clusterModel) {
     _tp = tp;
+    _clusterModel = clusterModel;
     _replicas = new ArrayList<>();
     _leader = null;
     _ineligibleBrokers = new HashSet<>();
@@ -167,6 +171,7 @@ public class Partition implements Serializable {
       throw new IllegalArgumentException(String.format("%s is not a follower.",
                                                        follower1.isLeader() ? follower1 : follower2));
     }
+    _clusterModel.journal(_tp);
     _replicas.set(index2, follower1);
     _replicas.set(index1, follower2);
   }
@@ -181,6 +186,7 @@ public class Partition implements Serializable {
     Replica replica1 = _replicas.get(index1);
     Replica replica2 = _replicas.get(index2);
 
+    _clusterModel.journal(_tp);
     _replicas.set(index2, replica1);
     _replicas.set(index1, replica2);
   }
@@ -190,6 +196,7 @@ public class Partition implements Serializable {
    * @param replica the replica to move to the end.
    */
   public void moveReplicaToEnd(Replica replica) {
+    _clusterModel.journal(_tp);
     if (!_replicas.remove(replica)) {
       throw new IllegalStateException(String.format("Did not find replica %s for partition %s.", replica, _tp));
     }
@@ -250,6 +257,7 @@ public class Partition implements Serializable {
    * Clear the leader to null and clear followers.
    */
   public void clear() {
+    _clusterModel.journal(_tp);
     _replicas.clear();
     _leader = null;
   }
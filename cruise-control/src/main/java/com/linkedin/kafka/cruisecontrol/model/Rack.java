@@ -243,6 +243,19 @@ public class Rack implements Serializable {
     // Update the recent load of this rack.
     _load.addMetricValues(aggregatedMetricValues, windows);
   }
+  /**
+   * Set the replica load to the given load, which is shared with the given load until either load changes it.
+   *
+   * @param brokerId Broker Id containing the replica with the given topic partition.
+   * @param tp Topic partition that identifies the replica in this broker.
+   * @param load The load of this replica.
+   */
+  void setReplicaLoad(int brokerId, TopicPartition tp, Load load) {
+    Host host = _brokers.get(brokerId).host();
+    host.setReplicaLoad(brokerId, tp, load);
+    // Update the recent load of this rack.
+    _load.addLoad(load);
+  }
 
   /**
    * Create a broker under this rack, and get the created broker.
@@ -193,6 +193,15 @@ public class Replica implements Serializable, Comparable<Replica> {
     _load.initializeMetricValues(aggregatedMetricValues, windows);
   }
 
+  /**
+   * Set the load of this replica to the given load, whose values are shared until either load changes them.
+   *
+   * @param load The load to set.
+   */
+  void setMetricValues(Load load) {
+    _load.initializeFrom(load);
+  }
+
   /**
    * Clear the content of monitoring data at each replica in the broker.
    */
@@ -226,11 +235,10 @@ public class Replica implements Serializable, Comparable<Replica> {
       throw new IllegalArgumentException("This method can only be invoked on a leader replica.");
     }
     // Get the inbound/outbound network and cpu load associated with leadership from the given replica.
-    // All the following metric values are in a shared mode to avoid data copy.
     // Just get the first metric id because CPU only has one metric id in the group. Eventually the per replica
     // CPU utilization will be removed to use resource estimation at broker level.
     short cpuMetricId = KafkaMetricDef.resourceToMetricIds(Resource.CPU).get(0);
-    AggregatedMetricValues leadershipNwOutLoad = _load.loadFor(Resource.NW_OUT, true);
+    AggregatedMetricValues leadershipNwOutLoad = _load.loadFor(Resource.NW_OUT);
 
     // Create a leadership load delta to store the load change.
     AggregatedMetricValues leadershipLoadDelta = new AggregatedMetricValues();
@@ -274,9 +282,8 @@ public class Replica implements Serializable, Comparable<Replica> {
     // Just get the first metric id because CPU only has one metric id in the group. Eventually the per replica
     // CPU utilization will be removed to use resource estimation at broker level.
     short cpuMetricId = KafkaMetricDef.resourceToMetricIds(Resource.CPU).get(0);
-    // Use the shared data structure so we can set the load directly.
-    MetricValues cpuLoad = _load.loadFor(Resource.CPU, true).valuesFor(cpuMetricId);
-    AggregatedMetricValues leadershipNwInLoad = _load.loadFor(Resource.NW_IN, true);
+    MetricValues cpuLoad = _load.valuesFor(cpuMetricId);
+    AggregatedMetricValues leadershipNwInLoad = _load.loadFor(Resource.NW_IN);
 
     MetricValues cpuLoadChange = new MetricValues(_load.numWindows());
     MetricValues totalNetworkOutLoad =
@@ -293,6 +300,9 @@ public class Replica implements Serializable, Comparable<Replica> {
         cpuLoad.set(i, newCpuLoad);
       }
     }
+    if (updateLoad) {
+      _load.setLoad(cpuMetricId, cpuLoad);
+    }
     return cpuLoadChange;
   }
 
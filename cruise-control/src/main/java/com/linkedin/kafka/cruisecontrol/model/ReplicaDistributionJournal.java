@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * A journal of the partitions of a {@link ClusterModel} whose replica placement may have changed since the journal was
+ * started via {@link ClusterModel#startReplicaDistributionJournal()}. The journal records the placement of the replicas
+ * and the leader of each partition just before it is changed for the first time. Hence, the replica distribution of the
+ * cluster model at the start of the journal is the recorded placement of the journaled partitions and the current
+ * placement of the other partitions, and the changes since the start of the journal can be found in time proportional to
+ * the number of journaled partitions rather than the number of partitions in the cluster model.
+ * <p>
+ * The cluster model keeps updating the journal until it is closed.
+ */
+public class ReplicaDistributionJournal implements AutoCloseable, Serializable {
+  private static final long serialVersionUID = -1502968367316920176L;
+  private final ClusterModel _clusterModel;
+  // The initial placement is null for the partitions created after the start of the journal.
+  private final Map<TopicPartition, List<ReplicaPlacementInfo>> _initialReplicaDistribution;
+  private final Map<TopicPartition, ReplicaPlacementInfo> _initialLeaderDistribution;
+
+  ReplicaDistributionJournal(ClusterModel clusterModel) {
+    _clusterModel = clusterModel;
+    _initialReplicaDistribution = new HashMap<>();
+    _initialLeaderDistribution = new HashMap<>();
+  }
+
+  /**
+   * @param tp Topic partition to check.
+   * @return {@code true} if the given partition has been journaled, {@code false} otherwise.
+   */
+  boolean isJournaled(TopicPartition tp) {
+    return _initialReplicaDistribution.containsKey(tp);
+  }
+
+  /**
+   * Journal the given partition with the given placement, unless the partition has already been journaled.
+   *
+   * @param tp Topic partition to journal.
+   * @param replicaPlacement The current placement of the replicas of the partition, or {@code null} if the partition does
+   *                         not exist.
+   * @param leaderPlacement The current placement of the leader of the partition, or {@code null} if the partition has no
+   *                        leader.
+   */
+  void journal(TopicPartition tp, List<ReplicaPlacementInfo> replicaPlacement, ReplicaPlacementInfo leaderPlacement) {
+    if (!isJournaled(tp)) {
+      _initialReplicaDistribution.put(tp, replicaPlacement);
+      _initialLeaderDistribution.put(tp, leaderPlacement);
+    }
+  }
+
+  /**
+   * @return The partitions whose replica placement may have changed since the start of the journal.
+   */
+  public Set<TopicPartition> journaledPartitions() {
+    return Collections.unmodifiableSet(_initialReplicaDistribution.keySet());
+  }
+
+  /**
+   * Get the distribution of the replicas of the journaled partitions at the start of the journal. Replica distribution is
+   * represented by the map: topic-partition -&gt; broker-id-of-replicas, where the value is {@code null} if the partition
+   * was created after the start of the journal.
+   *
+   * @return The distribution of the replicas of the journaled partitions at the start of the journal.
+   */
+  public Map<TopicPartition, List<ReplicaPlacementInfo>> initialReplicaDistribution() {
+    return Collections.unmodifiableMap(_initialReplicaDistribution);
+  }
+
+  /**
+   * @return The leader placement of the journaled partitions at the start of the journal.
+   */
+  public Map<TopicPartition, ReplicaPlacementInfo> initialLeaderDistribution() {
+    return Collections.unmodifiableMap(_initialLeaderDistribution);
+  }
+
+  /**
+   * Stop journaling the changes of the cluster model. The journaled partitions remain available after closing the journal.
+   */
+  @Override
+  public void close() {
+    _clusterModel.stopReplicaDistributionJournal(this);
+  }
+}
@@ -5,9 +5,7 @@
 
 package com.linkedin.kafka.cruisecontrol.model;
 
-import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricValues;
 import com.linkedin.kafka.cruisecontrol.common.Resource;
-import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -49,12 +47,7 @@ public final class ReplicaSortFunctionFactory {
    *         the metric group value, the higher the score.
    */
   public static Function<Replica, Double> sortByMetricGroupValue(String metricGroup) {
-    return r -> {
-      MetricValues metricValues = r.load()
-                                   .loadByWindows()
-                                   .valuesForGroup(metricGroup, KafkaMetricDef.commonMetricDef(), true);
-      return (double) metricValues.avg();
-    };
+    return r -> r.load().avgForGroup(metricGroup);
   }
 
   /**
@@ -63,12 +56,7 @@ public final class ReplicaSortFunctionFactory {
    *         the metric group value, the lower the score.
    */
   public static Function<Replica, Double> reverseSortByMetricGroupValue(String metricGroup) {
-    return r -> {
-      MetricValues metricValues = r.load()
-                                   .loadByWindows()
-                                   .valuesForGroup(metricGroup, KafkaMetricDef.commonMetricDef(), true);
-      return -(double) metricValues.avg();
-    };
+    return r -> -r.load().avgForGroup(metricGroup);
   }
 
   // Priority functions
@@ -5,9 +5,14 @@
 
 package com.linkedin.kafka.cruisecontrol.model;
 
-import java.util.Collections;
+import java.util.AbstractSet;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -43,10 +48,20 @@ import java.util.function.Function;
  *   The SortedReplicas are initialized lazily, i.e. until one of {@link #sortedReplicas(boolean)} is invoked, the sorted replicas
  *   will not be populated.
  * </p>
+ *
+ * <p>
+ *   The priorities, the score and the offline status of a replica are computed once when the replica is added, and are kept
+ *   with the replica until it is removed or {@link #rescore(Replica) rescored}. Hence, comparing two replicas does not apply
+ *   the priority and score functions, and a replica whose load or status has changed since it was added (e.g. due to a
+ *   leadership change or a relocation) is still found at its position in the sorted replicas.
+ * </p>
  */
 public class SortedReplicas {
+  private static final Comparator<SortKey> SORT_KEY_COMPARATOR = SortedReplicas::compare;
   private final Broker _broker;
   private final Disk _disk;
+  private final NavigableSet<SortKey> _sortKeys;
+  private final Map<Replica, SortKey> _sortKeyByReplica;
   private final SortedSet<Replica> _sortedReplicas;
   private final Set<Function<Replica, Boolean>> _selectionFuncs;
   private final List<Function<Replica, Integer>> _priorityFuncs;
@@ -72,23 +87,10 @@ public class SortedReplicas {
     _selectionFuncs = selectionFuncs;
     _scoreFunc = scoreFunc;
     _priorityFuncs = priorityFuncs;
-    _replicaComparator = (Replica r1, Replica r2) -> {
-      // First apply priority functions.
-      int result = comparePriority(r1, r2);
-      if (result != 0) {
-        return result;
-      }
-      // Then apply score function.
-      if (_scoreFunc != null) {
-        result = Double.compare(_scoreFunc.apply(r1), _scoreFunc.apply(r2));
-        if (result != 0) {
-          return result;
-        }
-      }
-      // Fall back to replica's own comparing method.
-      return r1.compareTo(r2);
-    };
-    _sortedReplicas = new TreeSet<>(_replicaComparator);
+    _replicaComparator = (Replica r1, Replica r2) -> compare(sortKey(r1), sortKey(r2));
+    _sortKeys = new TreeSet<>(SORT_KEY_COMPARATOR);
+    _sortKeyByReplica = new HashMap<>();
+    _sortedReplicas = new ReplicaSet(_sortKeys, _sortKeyByReplica, false);
     // If the sorted replicas need to be initialized, we set the initialized to false and initialize the replicas
     // lazily. If the sorted replicas do not need to be initialized, we simply set the initialized to true, so that
     // all the methods will function normally.
@@ -101,16 +103,54 @@ public class SortedReplicas {
    *
    * @param clone whether return a clone of the replica set or the set itself. In general, the clone should be avoided
    *              whenever possible, it is only needed where the sorted replica will be updated in the middle of being iterated.
+   *              Replicas can be removed from the clone, but not added to it. See {@link #cursor()} for an alternative
+   *              to the clone.
    * @return The sorted replicas in the ascending order of their priority and score.
    */
   public SortedSet<Replica> sortedReplicas(boolean clone) {
     ensureInitialize();
     if (clone) {
-      SortedSet<Replica> result = new TreeSet<>(_replicaComparator);
-      result.addAll(_sortedReplicas);
-      return result;
+      return new ReplicaSet(new TreeSet<>(_sortKeys), new HashMap<>(_sortKeyByReplica), true);
     }
-    return Collections.unmodifiableSortedSet(_sortedReplicas);
+    return _sortedReplicas;
+  }
+
+  /**
+   * Get a cursor over the sorted replicas in the ascending order of their priority and score, which can be used while the
+   * sorted replicas are being updated, e.g. by relocating the replica it has returned last, without cloning them.
+   * The cursor returns the replica following the last returned replica in the current sorted replicas. Hence, a replica
+   * removed before the cursor reaches it is skipped, and a replica added or rescored after the last returned replica is
+   * returned. This method initialize the sorted replicas if it hasn't been initialized.
+   *
+   * @return A cursor over the sorted replicas.
+   */
+  public Iterator<Replica> cursor() {
+    ensureInitialize();
+    return new Iterator<Replica>() {
+      private SortKey _last = null;
+
+      @Override
+      public boolean hasNext() {
+        return nextSortKey() != null;
+      }
+
+      @Override
+      public Replica next() {
+        SortKey next = nextSortKey();
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        _last = next;
+        return next._replica;
+      }
+
+      private SortKey nextSortKey() {
+        if (_last == null) {
+          return _sortKeys.isEmpty() ? null : _sortKeys.first();
+        }
+        return _sortKeys.higher(_last);
+      }
+    };
   }
 
   /**
@@ -141,9 +181,11 @@ public class SortedReplicas {
    * @param replica the replica to add.
    */
   public void add(Replica replica) {
-    if (_initialized) {
+    if (_initialized && !_sortKeyByReplica.containsKey(replica)) {
       if (_selectionFuncs == null || _selectionFuncs.stream().allMatch(func -> func.apply(replica))) {
-        _sortedReplicas.add(replica);
+        SortKey sortKey = newSortKey(replica);
+        _sortKeyByReplica.put(replica, sortKey);
+        _sortKeys.add(sortKey);
       }
     }
   }
@@ -156,13 +198,28 @@ public class SortedReplicas {
    */
   void remove(Replica replica) {
     if (_initialized) {
-      _sortedReplicas.remove(replica);
+      SortKey sortKey = _sortKeyByReplica.remove(replica);
+      if (sortKey != null) {
+        _sortKeys.remove(sortKey);
+      }
     }
   }
 
+  /**
+   * Recompute the priorities and the score of the given replica, and move it to its new position in the sorted replicas.
+   * The replica is removed if it no longer satisfies the requirement of all selection functions, or added if it now does.
+   * It has no impact if this {@link SortedReplicas} has not been initialized.
+   *
+   * @param replica the replica whose state (e.g. leadership or load) has changed.
+   */
+  void rescore(Replica replica) {
+    remove(replica);
+    add(replica);
+  }
+
   // Unit test only function.
   int numReplicas() {
-    return _sortedReplicas.size();
+    return _sortKeys.size();
   }
 
   private void ensureInitialize() {
@@ -176,18 +233,177 @@ public class SortedReplicas {
     }
   }
 
-  private int comparePriority(Replica replica1, Replica replica2) {
+  private SortKey sortKey(Replica replica) {
+    SortKey sortKey = _sortKeyByReplica.get(replica);
+    // A replica that is not in the sorted replicas may still be compared, e.g. when a subset of the sorted replicas is requested.
+    return sortKey != null ? sortKey : newSortKey(replica);
+  }
+
+  private SortKey newSortKey(Replica replica) {
+    int[] priorities = null;
     if (_priorityFuncs != null) {
-      // Apply priority functions one by one until the priority is resolved.
-      for (Function<Replica, Integer> priorityFunction : _priorityFuncs) {
-        int p1 = priorityFunction.apply(replica1);
-        int p2 = priorityFunction.apply(replica2);
-        int result = Integer.compare(p1, p2);
+      priorities = new int[_priorityFuncs.size()];
+      for (int i = 0; i < priorities.length; i++) {
+        priorities[i] = _priorityFuncs.get(i).apply(replica);
+      }
+    }
+    return new SortKey(replica, priorities, _scoreFunc == null ? 0.0 : _scoreFunc.apply(replica));
+  }
+
+  private static int compare(SortKey sortKey1, SortKey sortKey2) {
+    // First compare the priorities one by one until the priority is resolved.
+    if (sortKey1._priorities != null) {
+      for (int i = 0; i < sortKey1._priorities.length; i++) {
+        int result = Integer.compare(sortKey1._priorities[i], sortKey2._priorities[i]);
         if (result != 0) {
           return result;
         }
       }
     }
-    return 0;
+    // Then compare the score.
+    int result = Double.compare(sortKey1._score, sortKey2._score);
+    if (result != 0) {
+      return result;
+    }
+    // Fall back to the order of Replica#compareTo, but with the offline status at the time the replicas were added.
+    if (sortKey1._offline != sortKey2._offline) {
+      return sortKey1._offline ? -1 : 1;
+    }
+    Replica replica1 = sortKey1._replica;
+    Replica replica2 = sortKey2._replica;
+    result = Integer.compare(replica1.topicPartition().partition(), replica2.topicPartition().partition());
+    if (result != 0) {
+      return result;
+    }
+    result = Integer.compare(replica1.originalBroker().id(), replica2.originalBroker().id());
+    return result != 0 ? result : replica1.topicPartition().topic().compareTo(replica2.topicPartition().topic());
+  }
+
+  /**
+   * A replica with its priorities, score and offline status at the time it was added to the sorted replicas.
+   */
+  private static final class SortKey {
+    private final Replica _replica;
+    private final int[] _priorities;
+    private final double _score;
+    private final boolean _offline;
+
+    private SortKey(Replica replica, int[] priorities, double score) {
+      _replica = replica;
+      _priorities = priorities;
+      _score = score;
+      _offline = replica.isCurrentOffline();
+    }
+  }
+
+  /**
+   * A sorted set of replicas backed by a sorted set of their sort keys.
+   */
+  private final class ReplicaSet extends AbstractSet<Replica> implements SortedSet<Replica> {
+    private final NavigableSet<SortKey> _keys;
+    // The sort key of each replica in the keys, which is used for lookups, or null if the keys are a view of a range of
+    // the sort keys, which is not indexed.
+    private final Map<Replica, SortKey> _keyByReplica;
+    private final boolean _removable;
+
+    private ReplicaSet(NavigableSet<SortKey> keys, Map<Replica, SortKey> keyByReplica, boolean removable) {
+      _keys = keys;
+      _keyByReplica = keyByReplica;
+      _removable = removable;
+    }
+
+    @Override
+    public Iterator<Replica> iterator() {
+      Iterator<SortKey> iterator = _keys.iterator();
+      return new Iterator<Replica>() {
+        private Replica _last = null;
+
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Replica next() {
+          _last = iterator.next()._replica;
+          return _last;
+        }
+
+        @Override
+        public void remove() {
+          ensureRemovable();
+          iterator.remove();
+          if (_keyByReplica != null) {
+            _keyByReplica.remove(_last);
+          }
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return _keys.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (_keyByReplica == null) {
+        return super.contains(o);
+      }
+      SortKey key = _keyByReplica.get(o);
+      // The index of a clone may keep the replicas removed through its views.
+      return key != null && (!_removable || _keys.contains(key));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (_keyByReplica == null) {
+        return super.remove(o);
+      }
+      ensureRemovable();
+      SortKey key = _keyByReplica.remove(o);
+      return key != null && _keys.remove(key);
+    }
+
+    private SortKey keyOf(Replica replica) {
+      SortKey key = _keyByReplica != null ? _keyByReplica.get(replica) : null;
+      return key != null ? key : sortKey(replica);
+    }
+
+    private void ensureRemovable() {
+      if (!_removable) {
+        throw new UnsupportedOperationException("The sorted replicas cannot be modified.");
+      }
+    }
+
+    @Override
+    public Comparator<? super Replica> comparator() {
+      return _replicaComparator;
+    }
+
+    @Override
+    public SortedSet<Replica> subSet(Replica fromElement, Replica toElement) {
+      return new ReplicaSet(_keys.subSet(keyOf(fromElement), true, keyOf(toElement), false), null, _removable);
+    }
+
+    @Override
+    public SortedSet<Replica> headSet(Replica toElement) {
+      return new ReplicaSet(_keys.headSet(keyOf(toElement), false), null, _removable);
+    }
+
+    @Override
+    public SortedSet<Replica> tailSet(Replica fromElement) {
+      return new ReplicaSet(_keys.tailSet(keyOf(fromElement), true), null, _removable);
+    }
+
+    @Override
+    public Replica first() {
+      return _keys.first()._replica;
+    }
+
+    @Override
+    public Replica last() {
+      return _keys.last()._replica;
+    }
   }
 }
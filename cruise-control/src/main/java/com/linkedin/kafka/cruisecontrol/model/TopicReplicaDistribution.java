@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Keeps track of the distribution of the replicas of each topic over the brokers of a {@link ClusterModel} -- i.e. the
+ * number of brokers that host each number of replicas of the topic -- as replicas are added to and removed from brokers.
+ * Hence, the replica distribution stats of a topic are computed in time proportional to the maximum number of its replicas
+ * in a broker, rather than the number of brokers.
+ * <p>
+ * Similar to {@link Broker#topics()}, a topic is kept once a replica of it has been added to a broker, even if all of its
+ * replicas are removed later.
+ */
+class TopicReplicaDistribution implements Serializable {
+  private static final long serialVersionUID = 2419504273386219812L;
+  // The element at index i of a topic is the number of brokers that host exactly i replicas of the topic. The element at
+  // index 0 is unused, as the number of brokers without a replica of the topic depends on the number of brokers.
+  private final Map<String, int[]> _numBrokersByNumReplicasByTopic;
+
+  TopicReplicaDistribution() {
+    _numBrokersByNumReplicasByTopic = new HashMap<>();
+  }
+
+  /**
+   * Update the distribution upon adding a replica of the given topic to a broker.
+   *
+   * @param topic Topic of the added replica.
+   * @param numReplicasInBroker Number of replicas of the topic in the broker before the addition.
+   */
+  void addReplica(String topic, int numReplicasInBroker) {
+    int[] numBrokersByNumReplicas = _numBrokersByNumReplicasByTopic.computeIfAbsent(topic, t -> new int[2]);
+    if (numReplicasInBroker + 1 >= numBrokersByNumReplicas.length) {
+      numBrokersByNumReplicas = Arrays.copyOf(numBrokersByNumReplicas, 2 * (numReplicasInBroker + 1));
+      _numBrokersByNumReplicasByTopic.put(topic, numBrokersByNumReplicas);
+    }
+    if (numReplicasInBroker > 0) {
+      numBrokersByNumReplicas[numReplicasInBroker]--;
+    }
+    numBrokersByNumReplicas[numReplicasInBroker + 1]++;
+  }
+
+  /**
+   * Update the distribution upon removing a replica of the given topic from a broker.
+   *
+   * @param topic Topic of the removed replica.
+   * @param numReplicasInBroker Number of replicas of the topic in the broker before the removal.
+   */
+  void removeReplica(String topic, int numReplicasInBroker) {
+    int[] numBrokersByNumReplicas = _numBrokersByNumReplicasByTopic.get(topic);
+    numBrokersByNumReplicas[numReplicasInBroker]--;
+    if (numReplicasInBroker > 1) {
+      numBrokersByNumReplicas[numReplicasInBroker - 1]++;
+    }
+  }
+
+  /**
+   * @return Topics that have been hosted by a broker.
+   */
+  Set<String> topics() {
+    return Collections.unmodifiableSet(_numBrokersByNumReplicasByTopic.keySet());
+  }
+
+  /**
+   * Get the number of brokers by the number of replicas of the given topic that they host, except the brokers without a
+   * replica of the topic -- i.e. the element at index i is the number of brokers that host exactly i replicas of the topic,
+   * for i greater than 0. The array may have trailing zeros.
+   *
+   * @param topic Topic for which the distribution will be returned.
+   * @return The number of brokers by the number of replicas of the given topic that they host.
+   */
+  int[] numBrokersByNumReplicas(String topic) {
+    return _numBrokersByNumReplicasByTopic.getOrDefault(topic, new int[1]);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor;
+
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ValuesAndExtrapolations;
+import com.linkedin.kafka.cruisecontrol.config.BrokerCapacityConfigResolver;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.brokersWithOfflineReplicas;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.deadBrokersWithReplicas;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.populatePartitionLoad;
+
+
+/**
+ * Keeps the last cluster model generated by the {@link LoadMonitor} as a base cluster model, which is never handed out,
+ * and creates subsequent cluster models from it.
+ *
+ * The base cluster model can be reused as long as the load it contains is still valid -- i.e. the load generation and
+ * the aggregated windows are the same, and the brokers are the same. In that case, only the metadata of the partitions
+ * might have changed. The partitions whose replica placement or leadership has changed, as well as the added or removed
+ * partitions, are then repopulated in the base cluster model, and a copy of it is returned. Broker capacities are
+ * resolved only when a cluster model is generated from scratch.
+ *
+ * The base cluster model is kept only for clusters without dead brokers or offline replicas, and without replica placement
+ * information over disks. A change in the load generation, such as a rolled window, invalidates the load of all partitions
+ * and requires a new cluster model to be generated from scratch.
+ */
+final class ClusterModelCache {
+  private static final Logger LOG = LoggerFactory.getLogger(ClusterModelCache.class);
+  private final BrokerCapacityConfigResolver _brokerCapacityConfigResolver;
+  private ClusterModel _baseClusterModel;
+  private Cluster _cluster;
+  private Set<Node> _nodes;
+  private long _loadGeneration;
+  private List<Long> _windows;
+  private boolean _allowCapacityEstimation;
+
+  /**
+   * @param brokerCapacityConfigResolver The resolver for retrieving broker capacities.
+   */
+  ClusterModelCache(BrokerCapacityConfigResolver brokerCapacityConfigResolver) {
+    _brokerCapacityConfigResolver = brokerCapacityConfigResolver;
+  }
+
+  /**
+   * Get a cluster model for the given cluster and load from the base cluster model, if the base cluster model has the same
+   * load generation, windows and brokers.
+   *
+   * @param cluster Kafka cluster.
+   * @param modelGeneration Model generation of the cluster model to create.
+   * @param monitoredPartitionsRatio Monitored partitions ratio of the cluster model to create.
+   * @param valuesAndExtrapolations The values and extrapolations of each partition to populate in the cluster model.
+   * @param allowCapacityEstimation whether allow capacity estimation in cluster model if the underlying live broker capacity is unavailable.
+   * @return A new cluster model, or {@code null} if the cluster model cannot be created from the base cluster model.
+   */
+  synchronized ClusterModel clusterModel(Cluster cluster,
+                                         ModelGeneration modelGeneration,
+                                         double monitoredPartitionsRatio,
+                                         Map<PartitionEntity, ValuesAndExtrapolations> valuesAndExtrapolations,
+                                         boolean allowCapacityEstimation)
+      throws TimeoutException {
+    if (_baseClusterModel == null
+        || _loadGeneration != modelGeneration.loadGeneration()
+        || _allowCapacityEstimation != allowCapacityEstimation
+        || !Objects.equals(_windows, windows(valuesAndExtrapolations))
+        || !_nodes.equals(new HashSet<>(cluster.nodes()))
+        || !isHealthy(cluster)) {
+      return null;
+    }
+
+    Set<TopicPartition> partitions = new HashSet<>(valuesAndExtrapolations.size());
+    valuesAndExtrapolations.keySet().forEach(entity -> partitions.add(entity.tp()));
+    List<TopicPartition> removedPartitions = new ArrayList<>();
+    for (TopicPartition tp : _baseClusterModel.getLeaderDistribution().keySet()) {
+      if (!partitions.contains(tp) || (cluster != _cluster && !hasSamePlacement(_cluster.partition(tp), cluster.partition(tp)))) {
+        removedPartitions.add(tp);
+      }
+    }
+    removedPartitions.forEach(_baseClusterModel::removePartition);
+
+    int numPopulatedPartitions = 0;
+    try {
+      for (Map.Entry<PartitionEntity, ValuesAndExtrapolations> entry : valuesAndExtrapolations.entrySet()) {
+        TopicPartition tp = entry.getKey().tp();
+        if (_baseClusterModel.partition(tp) == null) {
+          populatePartitionLoad(cluster, _baseClusterModel, tp, entry.getValue(), null, _brokerCapacityConfigResolver,
+                                allowCapacityEstimation);
+          numPopulatedPartitions++;
+        }
+      }
+    } catch (TimeoutException e) {
+      // The base cluster model is partially updated.
+      clear();
+      throw e;
+    }
+    if (!removedPartitions.isEmpty() || numPopulatedPartitions > 0) {
+      _baseClusterModel.refreshReplicationFactor();
+      LOG.debug("Updated the base cluster model by removing {} partitions and populating {} partitions.",
+                removedPartitions.size(), numPopulatedPartitions);
+    }
+    _cluster = cluster;
+    return _baseClusterModel.copy(modelGeneration, monitoredPartitionsRatio);
+  }
+
+  /**
+   * Keep a copy of the given cluster model, which has been generated from scratch, as the base cluster model if it is
+   * eligible, otherwise drop the current base cluster model.
+   *
+   * @param clusterModel The cluster model generated from scratch without replica placement information over disks.
+   * @param cluster Kafka cluster that the cluster model was generated from.
+   * @param valuesAndExtrapolations The values and extrapolations of each partition populated in the cluster model.
+   * @param allowCapacityEstimation whether allow capacity estimation in cluster model if the underlying live broker capacity is unavailable.
+   */
+  synchronized void update(ClusterModel clusterModel,
+                           Cluster cluster,
+                           Map<PartitionEntity, ValuesAndExtrapolations> valuesAndExtrapolations,
+                           boolean allowCapacityEstimation) {
+    if (!isHealthy(cluster)) {
+      clear();
+      return;
+    }
+    _baseClusterModel = clusterModel.copy(clusterModel.generation(), clusterModel.monitoredPartitionsRatio());
+    _cluster = cluster;
+    _nodes = new HashSet<>(cluster.nodes());
+    _loadGeneration = clusterModel.generation().loadGeneration();
+    _windows = windows(valuesAndExtrapolations);
+    _allowCapacityEstimation = allowCapacityEstimation;
+  }
+
+  /**
+   * Drop the base cluster model.
+   */
+  synchronized void clear() {
+    _baseClusterModel = null;
+    _cluster = null;
+    _nodes = null;
+    _windows = null;
+  }
+
+  private static List<Long> windows(Map<PartitionEntity, ValuesAndExtrapolations> valuesAndExtrapolations) {
+    return valuesAndExtrapolations.isEmpty() ? null : valuesAndExtrapolations.values().iterator().next().windows();
+  }
+
+  private static boolean isHealthy(Cluster cluster) {
+    return deadBrokersWithReplicas(cluster).isEmpty() && brokersWithOfflineReplicas(cluster).isEmpty();
+  }
+
+  private static boolean hasSamePlacement(PartitionInfo oldPartitionInfo, PartitionInfo newPartitionInfo) {
+    if (oldPartitionInfo == null || newPartitionInfo == null) {
+      return false;
+    }
+    return Objects.equals(oldPartitionInfo.leader(), newPartitionInfo.leader())
+           && Arrays.equals(oldPartitionInfo.replicas(), newPartitionInfo.replicas())
+           && Arrays.equals(oldPartitionInfo.offlineReplicas(), newPartitionInfo.offlineReplicas());
+  }
+}
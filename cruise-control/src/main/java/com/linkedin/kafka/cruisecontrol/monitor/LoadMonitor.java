@@ -101,6 +101,8 @@ public class LoadMonitor {
   private final ThreadLocal<Boolean> _acquiredClusterModelSemaphore;
   private final ModelCompletenessRequirements _defaultModelCompletenessRequirements;
   private final Time _time;
+  // The cache of the last generated cluster model, or null if incremental cluster model generation is disabled.
+  private final ClusterModelCache _clusterModelCache;
 
   // Sensor values
   private volatile int _numValidSnapshotWindows;
@@ -151,6 +153,8 @@ public class LoadMonitor {
     _time = time;
     _brokerCapacityConfigResolver = config.getConfiguredInstance(MonitorConfig.BROKER_CAPACITY_CONFIG_RESOLVER_CLASS_CONFIG,
                                                                  BrokerCapacityConfigResolver.class);
+    _clusterModelCache = config.getBoolean(MonitorConfig.INCREMENTAL_CLUSTER_MODEL_ENABLED_CONFIG)
+                         ? new ClusterModelCache(_brokerCapacityConfigResolver) : null;
     long monitorStateUpdateIntervalMs = config.getLong(MonitorConfig.MONITOR_STATE_UPDATE_INTERVAL_MS_CONFIG);
     _monitorStateUpdateTimeoutMs = 10 * monitorStateUpdateIntervalMs;
     _topicConfigProvider = config.getConfiguredInstance(
@@ -505,13 +509,27 @@ public class LoadMonitor {
     GeneratingClusterModel step = new GeneratingClusterModel(partitionValuesAndExtrapolations.size());
     operationProgress.addStep(step);
 
-    // Create an empty cluster model first.
     long currentLoadGeneration = partitionMetricSampleAggregationResult.generation();
     ModelGeneration modelGeneration = new ModelGeneration(clusterAndGeneration.generation(), currentLoadGeneration);
-    ClusterModel clusterModel = new ClusterModel(modelGeneration, partitionMetricSampleAggregationResult.validEntityRatioOfCompleteness());
-
     final Timer.Context ctx = _clusterModelCreationTimer.time();
     try {
+      // The cached cluster model does not contain replica placement information.
+      boolean useClusterModelCache = _clusterModelCache != null && !populateReplicaPlacementInfo;
+      if (useClusterModelCache) {
+        ClusterModel clusterModel = _clusterModelCache.clusterModel(cluster, modelGeneration,
+                                                                    partitionMetricSampleAggregationResult.validEntityRatioOfCompleteness(),
+                                                                    partitionValuesAndExtrapolations, allowCapacityEstimation);
+        if (clusterModel != null) {
+          partitionValuesAndExtrapolations.keySet().forEach(entity -> step.incrementPopulatedNumPartitions());
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Generated cluster model from the cached cluster model in {} ms", _time.milliseconds() - startMs);
+          }
+          return clusterModel;
+        }
+      }
+
+      // Create an empty cluster model first.
+      ClusterModel clusterModel = new ClusterModel(modelGeneration, partitionMetricSampleAggregationResult.validEntityRatioOfCompleteness());
       populateClusterCapacity(populateReplicaPlacementInfo, allowCapacityEstimation, clusterModel, cluster);
 
       // Populate replica placement information for the cluster model if requested.
@@ -529,14 +547,17 @@ public class LoadMonitor {
       }
       // Set the state of bad brokers in clusterModel based on the Kafka cluster state.
       setBadBrokerState(clusterModel, cluster);
+      if (useClusterModelCache) {
+        _clusterModelCache.update(clusterModel, cluster, partitionValuesAndExtrapolations, allowCapacityEstimation);
+      }
 
       if (LOG.isDebugEnabled()) {
         LOG.debug("Generated cluster model in {} ms", _time.milliseconds() - startMs);
       }
+      return clusterModel;
     } finally {
       ctx.stop();
     }
-    return clusterModel;
   }
 
   /**
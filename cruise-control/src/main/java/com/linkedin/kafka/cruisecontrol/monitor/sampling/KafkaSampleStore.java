@@ -380,15 +380,19 @@ public class KafkaSampleStore extends AbstractKafkaSampleStore {
      * Config the sample loading consumers to consume from proper starting offsets. The sample store Kafka topic may contain data
      * which are too old for {@link com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator} to keep in memory,
      * to prevent loading these stale data, manually seek the consumers' staring offset to the offset at proper timestamp.
+     * If the earlier samples have been restored from a checkpoint, seek to the offset at the checkpoint time instead. The
+     * samples are stored after they are sampled, so no sample after the checkpoint time is stored before it.
      */
     protected void prepareConsumerOffset() {
       Map<TopicPartition, Long> beginningTimestamp = new HashMap<>();
       long currentTimeMs = System.currentTimeMillis();
       for (TopicPartition tp : _consumer.assignment()) {
         if (tp.topic().equals(_brokerMetricSampleStoreTopic)) {
-          beginningTimestamp.put(tp, currentTimeMs - _sampleLoader.brokerMonitoringPeriodMs());
+          beginningTimestamp.put(tp, Math.max(currentTimeMs - _sampleLoader.brokerMonitoringPeriodMs(),
+                                              _sampleLoader.loadSamplesAfterMs()));
         } else {
-          beginningTimestamp.put(tp, currentTimeMs - _sampleLoader.partitionMonitoringPeriodMs());
+          beginningTimestamp.put(tp, Math.max(currentTimeMs - _sampleLoader.partitionMonitoringPeriodMs(),
+                                              _sampleLoader.loadSamplesAfterMs()));
         }
       }
 
@@ -10,6 +10,8 @@ import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaBrokerM
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaPartitionMetricSampleAggregator;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerMetricSample;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -53,28 +55,57 @@ public interface SampleStore extends CruiseControlConfigurable {
    * This class is to simplify user interface.
    */
   class SampleLoader {
+    public static final long LOAD_ALL_SAMPLES = -1L;
     private final KafkaPartitionMetricSampleAggregator _partitionMetricSampleAggregator;
     private final KafkaBrokerMetricSampleAggregator _brokerMetricSampleAggregator;
+    private final long _loadSamplesAfterMs;
 
     public SampleLoader(KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
                         KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator) {
+      this(partitionMetricSampleAggregator, brokerMetricSampleAggregator, LOAD_ALL_SAMPLES);
+    }
+
+    /**
+     * @param partitionMetricSampleAggregator The partition metric sample aggregator to load the samples to.
+     * @param brokerMetricSampleAggregator The broker metric sample aggregator to load the samples to.
+     * @param loadSamplesAfterMs Only the samples with a sample time after this time are loaded, e.g. because the earlier
+     *                           samples have been restored from a checkpoint. {@link #LOAD_ALL_SAMPLES} to load all samples.
+     */
+    public SampleLoader(KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
+                        KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator,
+                        long loadSamplesAfterMs) {
       _partitionMetricSampleAggregator = partitionMetricSampleAggregator;
       _brokerMetricSampleAggregator = brokerMetricSampleAggregator;
+      _loadSamplesAfterMs = loadSamplesAfterMs;
     }
 
     /**
-     * Load the given samples to the relevant metric sample aggregators.
+     * Load the given samples to the relevant metric sample aggregators. The samples that are not after
+     * {@link #loadSamplesAfterMs()} are skipped.
      *
      * @param samples Samples to load.
      */
     public void loadSamples(MetricSampler.Samples samples) {
       for (PartitionMetricSample sample : samples.partitionMetricSamples()) {
-        _partitionMetricSampleAggregator.addSample(sample, false);
+        if (sample.sampleTime() > _loadSamplesAfterMs) {
+          _partitionMetricSampleAggregator.addSample(sample, false);
+        }
       }
+      List<BrokerMetricSample> brokerMetricSamples = new ArrayList<>(samples.brokerMetricSamples().size());
       for (BrokerMetricSample sample : samples.brokerMetricSamples()) {
-        _brokerMetricSampleAggregator.addSample(sample);
+        if (sample.sampleTime() > _loadSamplesAfterMs) {
+          _brokerMetricSampleAggregator.addSample(sample);
+          brokerMetricSamples.add(sample);
+        }
       }
-      ModelParameters.addMetricObservation(samples.brokerMetricSamples());
+      ModelParameters.addMetricObservation(brokerMetricSamples);
+    }
+
+    /**
+     * @return The time after which the samples are loaded, or {@link #LOAD_ALL_SAMPLES} if all samples are loaded.
+     */
+    public long loadSamplesAfterMs() {
+      return _loadSamplesAfterMs;
     }
 
     public long partitionSampleCount() {
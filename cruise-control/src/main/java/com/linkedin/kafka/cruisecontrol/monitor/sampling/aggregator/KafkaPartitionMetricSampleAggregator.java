@@ -6,9 +6,11 @@ package com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator;
 
 import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregationOptions;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ColumnarRawValuesStore;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregationResult;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleCompleteness;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.RawValuesStore;
 import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
 import com.linkedin.kafka.cruisecontrol.async.progress.RetrievingMetrics;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
@@ -58,7 +60,8 @@ public class KafkaPartitionMetricSampleAggregator extends MetricSampleAggregator
           config.getLong(MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG),
           config.getInt(MonitorConfig.MIN_SAMPLES_PER_PARTITION_METRICS_WINDOW_CONFIG).byteValue(),
           config.getInt(MonitorConfig.PARTITION_METRIC_SAMPLE_AGGREGATOR_COMPLETENESS_CACHE_SIZE_CONFIG),
-          KafkaMetricDef.commonMetricDef());
+          KafkaMetricDef.commonMetricDef(),
+          rawValuesStore(config));
     _metadata = metadata;
     _maxAllowedExtrapolationsPerPartition =
         config.getInt(MonitorConfig.MAX_ALLOWED_EXTRAPOLATIONS_PER_PARTITION_CONFIG);
@@ -66,6 +69,14 @@ public class KafkaPartitionMetricSampleAggregator extends MetricSampleAggregator
 
   }
 
+  private static RawValuesStore rawValuesStore(KafkaCruiseControlConfig config) {
+    // Keep one more window for the active window.
+    int numWindowsToKeep = config.getInt(MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG) + 1;
+    return config.getBoolean(MonitorConfig.PARTITION_METRIC_SAMPLE_AGGREGATOR_OFF_HEAP_STORE_ENABLED_CONFIG)
+           ? new ColumnarRawValuesStore(numWindowsToKeep, KafkaMetricDef.commonMetricDef())
+           : RawValuesStore.onHeap(numWindowsToKeep);
+  }
+
   /**
    * Add a sample to the metric aggregator. This method is thread safe.
    *
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.EntitySerde;
+import com.linkedin.kafka.cruisecontrol.model.ModelParameters;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * A checkpoint of the partition and broker metric sample aggregators and the linear regression model parameters in a
+ * local file. Restoring the checkpoint at startup lets the sample store load only the samples newer than the checkpoint,
+ * instead of all the samples in the monitoring period.
+ *
+ * The checkpoint file consists of a header with the checkpoint time, the checkpoints of the partition metric sample
+ * aggregator, the broker metric sample aggregator and the linear regression model, followed by a CRC32 checksum of all
+ * the preceding bytes. The checkpoint is first written to a temporary file, which then atomically replaces the previous
+ * checkpoint, so a crash while writing a checkpoint leaves the previous checkpoint intact.
+ */
+public class MetricSampleAggregatorCheckpoint {
+  private static final int MAGIC = 0x43434150;
+  private static final int VERSION = 1;
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final EntitySerde<PartitionEntity> PARTITION_ENTITY_SERDE = new EntitySerde<PartitionEntity>() {
+    @Override
+    public void serialize(PartitionEntity entity, DataOutput out) throws IOException {
+      out.writeUTF(entity.tp().topic());
+      out.writeInt(entity.tp().partition());
+    }
+
+    @Override
+    public PartitionEntity deserialize(DataInput in) throws IOException {
+      return new PartitionEntity(new TopicPartition(in.readUTF(), in.readInt()));
+    }
+  };
+  private static final EntitySerde<BrokerEntity> BROKER_ENTITY_SERDE = new EntitySerde<BrokerEntity>() {
+    @Override
+    public void serialize(BrokerEntity entity, DataOutput out) throws IOException {
+      out.writeBoolean(entity.host() != null);
+      if (entity.host() != null) {
+        out.writeUTF(entity.host());
+      }
+      out.writeInt(entity.brokerId());
+    }
+
+    @Override
+    public BrokerEntity deserialize(DataInput in) throws IOException {
+      String host = in.readBoolean() ? in.readUTF() : null;
+      return new BrokerEntity(host, in.readInt());
+    }
+  };
+  private final Path _file;
+
+  /**
+   * @param file The checkpoint file.
+   */
+  public MetricSampleAggregatorCheckpoint(Path file) {
+    _file = file;
+  }
+
+  /**
+   * @return The checkpoint file.
+   */
+  public Path file() {
+    return _file;
+  }
+
+  /**
+   * @return {@code true} if a checkpoint has been written to the checkpoint file, {@code false} otherwise.
+   */
+  public boolean exists() {
+    return Files.isRegularFile(_file);
+  }
+
+  /**
+   * Write a checkpoint of the given metric sample aggregators and the linear regression model parameters.
+   *
+   * @param checkpointTimeMs The time up to which all the samples have been added to the aggregators and stored in the
+   *                         sample store.
+   * @param partitionMetricSampleAggregator The partition metric sample aggregator.
+   * @param brokerMetricSampleAggregator The broker metric sample aggregator.
+   */
+  public void write(long checkpointTimeMs,
+                    KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
+                    KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator) throws IOException {
+    Path tempFile = _file.resolveSibling(_file.getFileName() + TEMP_FILE_SUFFIX);
+    try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+      CRC32 checksum = new CRC32();
+      // Do not close the stream, which would close the channel before the checksum is written.
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          new CheckedOutputStream(Channels.newOutputStream(channel), checksum)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(checkpointTimeMs);
+      partitionMetricSampleAggregator.writeCheckpoint(out, PARTITION_ENTITY_SERDE);
+      brokerMetricSampleAggregator.writeCheckpoint(out, BROKER_ENTITY_SERDE);
+      ModelParameters.writeCheckpoint(out);
+      out.flush();
+      ByteBuffer checksumBuffer = ByteBuffer.allocate(Long.BYTES).putLong(0, checksum.getValue());
+      while (checksumBuffer.hasRemaining()) {
+        channel.write(checksumBuffer);
+      }
+      channel.force(true);
+    }
+    Files.move(tempFile, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Restore the given empty metric sample aggregators and the linear regression model parameters from the checkpoint.
+   *
+   * @param partitionMetricSampleAggregator The partition metric sample aggregator.
+   * @param brokerMetricSampleAggregator The broker metric sample aggregator.
+   * @return The time up to which all the samples are in the restored aggregators.
+   * @throws IOException If the checkpoint cannot be read, is corrupted, or does not match the configuration of the
+   * aggregators. The aggregators may have been partially restored in this case.
+   */
+  public long read(KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
+                   KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator) throws IOException {
+    verifyChecksum();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(_file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("File " + _file + " is not a metric sample aggregator checkpoint.");
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported metric sample aggregator checkpoint version " + version + ".");
+      }
+      long checkpointTimeMs = in.readLong();
+      partitionMetricSampleAggregator.readCheckpoint(in, PARTITION_ENTITY_SERDE);
+      brokerMetricSampleAggregator.readCheckpoint(in, BROKER_ENTITY_SERDE);
+      ModelParameters.readCheckpoint(in);
+      return checkpointTimeMs;
+    }
+  }
+
+  private void verifyChecksum() throws IOException {
+    long size = Files.size(_file);
+    if (size < Long.BYTES) {
+      throw new IOException("Checkpoint " + _file + " is truncated.");
+    }
+    CRC32 checksum = new CRC32();
+    byte[] buffer = new byte[64 * 1024];
+    try (InputStream in = new CheckedInputStream(Files.newInputStream(_file), checksum)) {
+      long remaining = size - Long.BYTES;
+      while (remaining > 0) {
+        int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (read < 0) {
+          throw new IOException("Checkpoint " + _file + " is truncated.");
+        }
+        remaining -= read;
+      }
+      long actualChecksum = checksum.getValue();
+      if (new DataInputStream(in).readLong() != actualChecksum) {
+        throw new IOException("Checkpoint " + _file + " is corrupted.");
+      }
+    }
+  }
+}
@@ -16,6 +16,9 @@ import com.linkedin.kafka.cruisecontrol.monitor.sampling.MetricSampler;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.SampleStore;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaBrokerMetricSampleAggregator;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaPartitionMetricSampleAggregator;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregatorCheckpoint;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -46,6 +49,10 @@ public class LoadMonitorTaskRunner {
   // check if a bootstrap is done or not.
   private final int _configuredNumWindows;
   private final long _configuredWindowMs;
+  // The checkpoint of the metric sample aggregators, or null if the checkpoint is disabled.
+  private final MetricSampleAggregatorCheckpoint _checkpoint;
+  private final long _checkpointIntervalMs;
+  private long _lastCheckpointMs;
 
   private final AtomicReference<LoadMonitorTaskRunnerState> _state;
   private volatile double _bootstrapProgress;
@@ -118,6 +125,11 @@ public class LoadMonitorTaskRunner {
     _samplingIntervalMs = samplingIntervalMs;
     _configuredNumWindows = config.getInt(MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG);
     _configuredWindowMs = config.getLong(MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG);
+    String checkpointFile = config.getString(MonitorConfig.METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_FILE_CONFIG);
+    _checkpoint = checkpointFile == null || checkpointFile.isEmpty()
+                  ? null : new MetricSampleAggregatorCheckpoint(Paths.get(checkpointFile));
+    _checkpointIntervalMs = config.getLong(MonitorConfig.METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_CONFIG);
+    _lastCheckpointMs = _time.milliseconds();
 
     _state = new AtomicReference<>(NOT_STARTED);
     _bootstrapProgress = -1.0;
@@ -196,6 +208,7 @@ public class LoadMonitorTaskRunner {
       _samplingScheduler.execute(new SampleLoadingTask(_sampleStore,
                                                       _partitionMetricSampleAggregator,
                                                       _brokerMetricSampleAggregator,
+                                                      _checkpoint,
                                                       this));
     } else {
       throw new IllegalStateException("Cannot load samples because the load monitor is in "
@@ -347,6 +360,27 @@ public class LoadMonitorTaskRunner {
     return _samplingMode;
   }
 
+  /**
+   * Checkpoint the metric sample aggregators if the checkpoint is enabled and the checkpoint interval has elapsed since the
+   * last checkpoint. This method is called by the sampling task after a successful metric sampling, so that all the samples
+   * up to the given time have been added to the aggregators and stored in the sample store.
+   *
+   * @param samplingPeriodEndMs The end time of the last successful metric sampling.
+   */
+  void maybeCheckpoint(long samplingPeriodEndMs) {
+    long startMs = _time.milliseconds();
+    if (_checkpoint == null || startMs < _lastCheckpointMs + _checkpointIntervalMs) {
+      return;
+    }
+    try {
+      _checkpoint.write(samplingPeriodEndMs, _partitionMetricSampleAggregator, _brokerMetricSampleAggregator);
+      LOG.info("Checkpointed the metric sample aggregators to {} in {} ms.", _checkpoint.file(), _time.milliseconds() - startMs);
+    } catch (IOException e) {
+      LOG.warn("Failed to checkpoint the metric sample aggregators to {}.", _checkpoint.file(), e);
+    }
+    _lastCheckpointMs = startMs;
+  }
+
   boolean compareAndSetState(LoadMonitorTaskRunnerState expectedState, LoadMonitorTaskRunnerState newState) {
     return _state.compareAndSet(expectedState, newState);
   }
@@ -8,28 +8,37 @@ import com.linkedin.kafka.cruisecontrol.model.ModelParameters;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.SampleStore;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaBrokerMetricSampleAggregator;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaPartitionMetricSampleAggregator;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregatorCheckpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class SampleLoadingTask implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(SampleLoadingTask.class);
   private final SampleStore _sampleStore;
   private final KafkaPartitionMetricSampleAggregator _partitionMetricSampleAggregator;
   private final KafkaBrokerMetricSampleAggregator _brokerMetricSampleAggregator;
+  private final MetricSampleAggregatorCheckpoint _checkpoint;
   private final LoadMonitorTaskRunner _loadMonitorTaskRunner;
 
   SampleLoadingTask(SampleStore sampleStore,
                     KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
                     KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator,
+                    MetricSampleAggregatorCheckpoint checkpoint,
                     LoadMonitorTaskRunner loadMonitorTaskRunner) {
     _sampleStore = sampleStore;
     _partitionMetricSampleAggregator = partitionMetricSampleAggregator;
     _brokerMetricSampleAggregator = brokerMetricSampleAggregator;
+    _checkpoint = checkpoint;
     _loadMonitorTaskRunner = loadMonitorTaskRunner;
   }
 
   @Override
   public void run() {
     try {
+      long loadSamplesAfterMs = maybeRestoreCheckpoint();
       _sampleStore.loadSamples(new SampleStore.SampleLoader(_partitionMetricSampleAggregator,
-                                                            _brokerMetricSampleAggregator));
+                                                            _brokerMetricSampleAggregator,
+                                                            loadSamplesAfterMs));
       ModelParameters.updateModelCoefficient();
     } finally {
       // The sample loading task is run before the load monitor starts regardless of any ongoing execution.
@@ -37,4 +46,27 @@ public class SampleLoadingTask implements Runnable {
                                                 LoadMonitorTaskRunner.LoadMonitorTaskRunnerState.RUNNING);
     }
   }
+
+  /**
+   * Restore the metric sample aggregators from the checkpoint, if any.
+   *
+   * @return The time up to which the samples are restored from the checkpoint, or {@link SampleStore.SampleLoader#LOAD_ALL_SAMPLES}
+   * if no checkpoint is restored.
+   */
+  private long maybeRestoreCheckpoint() {
+    if (_checkpoint == null || !_checkpoint.exists()) {
+      return SampleStore.SampleLoader.LOAD_ALL_SAMPLES;
+    }
+    try {
+      long checkpointTimeMs = _checkpoint.read(_partitionMetricSampleAggregator, _brokerMetricSampleAggregator);
+      LOG.info("Restored the metric sample aggregators from checkpoint {} at {}, loading only the newer samples.",
+               _checkpoint.file(), checkpointTimeMs);
+      return checkpointTimeMs;
+    } catch (Exception e) {
+      LOG.warn("Failed to restore the metric sample aggregators from checkpoint {}, loading all the samples.", _checkpoint.file(), e);
+      _partitionMetricSampleAggregator.clear();
+      _brokerMetricSampleAggregator.clear();
+      return SampleStore.SampleLoader.LOAD_ALL_SAMPLES;
+    }
+  }
 }
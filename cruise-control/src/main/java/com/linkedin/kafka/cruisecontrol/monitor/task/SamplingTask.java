@@ -71,6 +71,7 @@ class SamplingTask implements Runnable {
             throw new TimeoutException();
           }
         } while (hasSamplingError);
+        _loadMonitorTaskRunner.maybeCheckpoint(_lastSamplingPeriodEndTimeMs);
       } catch (TimeoutException e) {
         LOG.warn("Sampling did not finish in {} ms, skipping this sampling interval.", _samplingIntervalMs);
         // Advance the last sampling period end time.
@@ -4,6 +4,7 @@
 
 package com.linkedin.kafka.cruisecontrol.servlet;
 
+import com.google.common.base.Utf8;
 import com.google.gson.Gson;
 import com.linkedin.cruisecontrol.http.CruiseControlHttpSession;
 import com.linkedin.cruisecontrol.http.CruiseControlRequestContext;
@@ -15,7 +16,8 @@ import io.vertx.core.http.impl.headers.HeadersMultiMap;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Enumeration;
@@ -109,15 +111,16 @@ public class ServletRequestContext implements CruiseControlRequestContext {
     @Override
     public void writeResponseToOutputStream(int responseCode, boolean json, boolean wantJsonSchema,
                                             String responseMessage) throws IOException {
-        OutputStream out = _response.getOutputStream();
         ResponseUtils.setResponseCode(_response, responseCode, json, _config);
         _response.addHeader("Cruise-Control-Version", KafkaCruiseControl.cruiseControlVersion());
         _response.addHeader("Cruise-Control-Commit_Id", KafkaCruiseControl.cruiseControlCommitId());
         if (json && wantJsonSchema) {
             _response.addHeader("Cruise-Control-JSON-Schema", ResponseUtils.getJsonSchema(responseMessage));
         }
-        _response.setContentLength(responseMessage.length());
-        out.write(responseMessage.getBytes(StandardCharsets.UTF_8));
+        _response.setContentLength(Utf8.encodedLength(responseMessage));
+        // Encode the response to the output stream in chunks rather than copying the whole response to a byte array.
+        Writer out = new OutputStreamWriter(_response.getOutputStream(), StandardCharsets.UTF_8);
+        out.write(responseMessage);
         out.flush();
     }
 
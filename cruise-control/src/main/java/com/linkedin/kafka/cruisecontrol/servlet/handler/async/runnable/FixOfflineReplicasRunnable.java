@@ -74,7 +74,10 @@ public class FixOfflineReplicasRunnable extends GoalBasedOperationRunnable {
 
   @Override
   protected OptimizationResult getResult() throws Exception {
-    return new OptimizationResult(computeResult(), _kafkaCruiseControl.config());
+    OptimizerResult result = computeResult();
+    _kafkaCruiseControl.maybeEstimateExecutionTime(result, _replicaMovementStrategy, _concurrentInterBrokerPartitionMovements,
+                                                   _maxInterBrokerPartitionMovements);
+    return new OptimizationResult(result, _kafkaCruiseControl.config());
   }
 
   @Override
@@ -5,12 +5,18 @@
 package com.linkedin.kafka.cruisecontrol.servlet.handler.async.runnable;
 
 import com.linkedin.kafka.cruisecontrol.KafkaCruiseControl;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.servlet.parameters.PartitionLoadCursor;
 import com.linkedin.kafka.cruisecontrol.servlet.parameters.PartitionLoadParameters;
 import com.linkedin.kafka.cruisecontrol.servlet.response.PartitionLoadState;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import com.linkedin.kafka.cruisecontrol.model.Partition;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
 
 import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.MIN_VALID_PARTITION_RATIO_CONFIG;
 
@@ -39,15 +45,28 @@ public class PartitionLoadRunnable extends OperationRunnable {
     }
     ClusterModel clusterModel = loadRunnable.clusterModel(minValidPartitionRatio);
     int topicNameLength = clusterModel.topics().stream().mapToInt(String::length).max().orElse(20) + 5;
-    List<Partition> partitionList = clusterModel.replicasSortedByUtilization(_parameters.resource(),
-                                                                             _parameters.wantMaxLoad(),
-                                                                             _parameters.wantAvgLoad());
-    if (!_parameters.brokerIds().isEmpty()) {
-      partitionList = partitionList.stream()
-                                   .filter(partition -> partition.partitionBrokers().stream().anyMatch(
-                                       broker -> _parameters.brokerIds().contains(broker.id())))
-                                   .collect(Collectors.toList());
+    Predicate<Partition> filter = partition -> (_parameters.topic() == null
+                                                || _parameters.topic().matcher(partition.topicPartition().topic()).matches())
+                                               && partition.topicPartition().partition() >= _parameters.partitionLowerBoundary()
+                                               && partition.topicPartition().partition() <= _parameters.partitionUpperBoundary()
+                                               && (_parameters.brokerIds().isEmpty()
+                                                   || partition.partitionBrokers().stream().anyMatch(
+                                                       broker -> _parameters.brokerIds().contains(broker.id())));
+    List<PartitionUtilization> topPartitions = topPartitionsByUtilization(clusterModel.partitions(),
+                                                                          filter,
+                                                                          _parameters.resource(),
+                                                                          _parameters.wantMaxLoad(),
+                                                                          _parameters.wantAvgLoad(),
+                                                                          _parameters.cursor(),
+                                                                          _parameters.entries());
+    // A partition beyond the requested entries indicates that there is a next page, which starts after the last returned partition.
+    String nextCursor = null;
+    if (topPartitions.size() > _parameters.entries()) {
+      topPartitions.remove(topPartitions.size() - 1);
+      nextCursor = topPartitions.get(topPartitions.size() - 1).cursor().toString();
     }
+    List<Partition> partitionList = new ArrayList<>(topPartitions.size());
+    topPartitions.forEach(partitionUtilization -> partitionList.add(partitionUtilization.partition()));
     return new PartitionLoadState(partitionList,
                                   _parameters.wantMaxLoad(),
                                   _parameters.wantAvgLoad(),
@@ -56,6 +75,82 @@ public class PartitionLoadRunnable extends OperationRunnable {
                                   _parameters.partitionLowerBoundary(),
                                   _parameters.topic(),
                                   topicNameLength,
-                                  _kafkaCruiseControl.config());
+                                  _kafkaCruiseControl.config(),
+                                  nextCursor);
+  }
+
+  /**
+   * Select the partitions with the highest utilization of the given resource after the given cursor, without sorting all
+   * partitions in the cluster. The utilization of each partition is computed once.
+   *
+   * @param partitions Partitions to select from.
+   * @param filter Predicate that the selected partitions must satisfy.
+   * @param resource Resource to sort the partitions by.
+   * @param wantMaxLoad True if the requested utilization represents the peak load, false otherwise.
+   * @param wantAvgLoad True if the requested utilization represents the avg load, false otherwise.
+   * @param cursor The position to select the partitions after, or {@code null} to select from the first partition.
+   * @param entries Number of partitions to select.
+   * @return Up to {@code entries + 1} selected partitions in the order of {@link PartitionLoadCursor#compare}, where the
+   * extra partition, if any, indicates that more partitions are available after the requested entries.
+   */
+  static List<PartitionUtilization> topPartitionsByUtilization(Collection<Partition> partitions,
+                                                               Predicate<Partition> filter,
+                                                               Resource resource,
+                                                               boolean wantMaxLoad,
+                                                               boolean wantAvgLoad,
+                                                               PartitionLoadCursor cursor,
+                                                               int entries) {
+    long capacity = (long) entries + 1;
+    // The partition that is the last in the order is at the head of the queue.
+    PriorityQueue<PartitionUtilization> topPartitions = new PriorityQueue<>(Comparator.reverseOrder());
+    for (Partition partition : partitions) {
+      if (!filter.test(partition)) {
+        continue;
+      }
+      double utilization = partition.leader().load().expectedUtilizationFor(resource, wantMaxLoad, wantAvgLoad);
+      if (cursor != null && !cursor.precedes(partition.topicPartition(), utilization)) {
+        continue;
+      }
+      PartitionUtilization partitionUtilization = new PartitionUtilization(partition, utilization);
+      if (topPartitions.size() < capacity) {
+        topPartitions.add(partitionUtilization);
+      } else if (partitionUtilization.compareTo(topPartitions.peek()) < 0) {
+        topPartitions.poll();
+        topPartitions.add(partitionUtilization);
+      }
+    }
+    List<PartitionUtilization> sortedPartitions = new ArrayList<>(topPartitions);
+    sortedPartitions.sort(null);
+    return sortedPartitions;
+  }
+
+  /**
+   * A partition with the utilization of the requested resource.
+   */
+  static final class PartitionUtilization implements Comparable<PartitionUtilization> {
+    private final Partition _partition;
+    private final double _utilization;
+
+    PartitionUtilization(Partition partition, double utilization) {
+      _partition = partition;
+      _utilization = utilization;
+    }
+
+    Partition partition() {
+      return _partition;
+    }
+
+    double utilization() {
+      return _utilization;
+    }
+
+    PartitionLoadCursor cursor() {
+      return new PartitionLoadCursor(_partition.topicPartition(), _utilization);
+    }
+
+    @Override
+    public int compareTo(PartitionUtilization o) {
+      return PartitionLoadCursor.compare(_partition.topicPartition(), _utilization, o._partition.topicPartition(), o._utilization);
+    }
   }
 }
@@ -80,7 +80,9 @@ public class ProposalsRunnable extends GoalBasedOperationRunnable {
 
   @Override
   protected OptimizationResult getResult() throws Exception {
-    return new OptimizationResult(computeResult(), _kafkaCruiseControl.config());
+    OptimizerResult result = computeResult();
+    _kafkaCruiseControl.maybeEstimateExecutionTime(result, null, null, null);
+    return new OptimizationResult(result, _kafkaCruiseControl.config());
   }
 
   @Override
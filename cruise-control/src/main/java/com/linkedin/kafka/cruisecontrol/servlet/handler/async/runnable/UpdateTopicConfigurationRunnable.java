@@ -154,7 +154,10 @@ public class UpdateTopicConfigurationRunnable extends GoalBasedOperationRunnable
   @Override
   public OptimizationResult getResult() throws Exception {
     if (_topicPatternByReplicationFactor != null) {
-      return new OptimizationResult(computeResult(), _kafkaCruiseControl.config());
+      OptimizerResult result = computeResult();
+      _kafkaCruiseControl.maybeEstimateExecutionTime(result, _replicaMovementStrategy, _concurrentInterBrokerPartitionMovements,
+                                                     _maxInterBrokerPartitionMovements);
+      return new OptimizationResult(result, _kafkaCruiseControl.config());
     }
     // Never reaches here.
     throw new IllegalArgumentException("Nothing executable found in request.");
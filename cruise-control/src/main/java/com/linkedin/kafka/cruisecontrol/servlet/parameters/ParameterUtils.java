@@ -67,6 +67,7 @@ public final class ParameterUtils {
   public static final String START_MS_PARAM = "start";
   public static final String END_MS_PARAM = "end";
   public static final String ENTRIES_PARAM = "entries";
+  public static final String CURSOR_PARAM = "cursor";
   public static final String ALLOW_CAPACITY_ESTIMATION_PARAM = "allow_capacity_estimation";
   public static final String STOP_ONGOING_EXECUTION_PARAM = "stop_ongoing_execution";
   public static final String CLEAR_METRICS_PARAM = "clearmetrics";
@@ -795,6 +796,17 @@ public final class ParameterUtils {
     return entries;
   }
 
+  /**
+   * Get the specified value for the {@link #CURSOR_PARAM} parameter.
+   *
+   * @param requestContext HTTP request received by Cruise Control.
+   * @return The specified value for the {@link #CURSOR_PARAM} parameter, or {@code null} if the parameter is missing.
+   */
+  public static PartitionLoadCursor partitionLoadCursor(CruiseControlRequestContext requestContext) {
+    String parameterString = caseSensitiveParameterName(requestContext.getParameterMap(), CURSOR_PARAM);
+    return parameterString == null ? null : PartitionLoadCursor.fromString(requestContext.getParameter(parameterString));
+  }
+
   /**
    * @param values Integer values
    * @return A set of negative integer values contained in the given set.
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.servlet.parameters;
+
+import com.linkedin.kafka.cruisecontrol.servlet.CruiseControlEndPoint;
+import com.linkedin.kafka.cruisecontrol.servlet.UserRequestException;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * The position of a partition in the partition load of {@link CruiseControlEndPoint#PARTITION_LOAD}, which is sorted by
+ * the utilization of the requested resource in descending order, then by topic and partition in ascending order.
+ *
+ * A partition load request with a cursor returns only the partitions after the position of the cursor. Hence, a client
+ * can page through the partition load by passing the cursor of the last partition of a page to get the next page. Unlike an
+ * offset, the cursor is not affected by the partitions that are added to or removed from the earlier pages between requests.
+ *
+ * The cursor is encoded as {@code [topic]-[partition]@[utilization]}.
+ */
+public final class PartitionLoadCursor {
+  private static final char UTILIZATION_DELIMITER = '@';
+  private static final char PARTITION_DELIMITER = '-';
+  private final TopicPartition _topicPartition;
+  private final double _utilization;
+
+  /**
+   * @param topicPartition Topic partition at the position of the cursor.
+   * @param utilization Utilization of the requested resource by the partition at the position of the cursor.
+   */
+  public PartitionLoadCursor(TopicPartition topicPartition, double utilization) {
+    _topicPartition = topicPartition;
+    _utilization = utilization;
+  }
+
+  /**
+   * @param cursor The encoded cursor.
+   * @return The decoded cursor.
+   */
+  public static PartitionLoadCursor fromString(String cursor) {
+    int utilizationIndex = cursor.lastIndexOf(UTILIZATION_DELIMITER);
+    int partitionIndex = utilizationIndex < 0 ? -1 : cursor.lastIndexOf(PARTITION_DELIMITER, utilizationIndex);
+    if (partitionIndex <= 0) {
+      throw new UserRequestException(String.format("Invalid cursor %s. The cursor must be in the form of "
+                                                   + "[topic]-[partition]@[utilization].", cursor));
+    }
+    try {
+      int partition = Integer.parseInt(cursor.substring(partitionIndex + 1, utilizationIndex));
+      double utilization = Double.parseDouble(cursor.substring(utilizationIndex + 1));
+      return new PartitionLoadCursor(new TopicPartition(cursor.substring(0, partitionIndex), partition), utilization);
+    } catch (NumberFormatException e) {
+      throw new UserRequestException(String.format("Invalid cursor %s. The cursor must be in the form of "
+                                                   + "[topic]-[partition]@[utilization].", cursor));
+    }
+  }
+
+  /**
+   * Compare the position of two partitions in the partition load.
+   *
+   * @param tp1 The first topic partition.
+   * @param utilization1 Utilization of the requested resource by the first partition.
+   * @param tp2 The second topic partition.
+   * @param utilization2 Utilization of the requested resource by the second partition.
+   * @return A negative integer, zero, or a positive integer if the first partition is before, at, or after the position of
+   * the second partition.
+   */
+  public static int compare(TopicPartition tp1, double utilization1, TopicPartition tp2, double utilization2) {
+    int result = Double.compare(utilization2, utilization1);
+    if (result != 0) {
+      return result;
+    }
+    result = tp1.topic().compareTo(tp2.topic());
+    return result != 0 ? result : Integer.compare(tp1.partition(), tp2.partition());
+  }
+
+  /**
+   * @param tp Topic partition.
+   * @param utilization Utilization of the requested resource by the partition.
+   * @return {@code true} if the given partition is after the position of this cursor, {@code false} otherwise.
+   */
+  public boolean precedes(TopicPartition tp, double utilization) {
+    return compare(_topicPartition, _utilization, tp, utilization) < 0;
+  }
+
+  @Override
+  public String toString() {
+    return _topicPartition.topic() + PARTITION_DELIMITER + _topicPartition.partition() + UTILIZATION_DELIMITER + _utilization;
+  }
+}
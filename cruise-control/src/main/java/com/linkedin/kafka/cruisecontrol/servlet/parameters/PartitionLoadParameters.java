@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.ALLOW_CAPACITY_ESTIMATION_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.AVG_LOAD_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.BROKER_ID_PARAM;
+import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.CURSOR_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.END_MS_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.ENTRIES_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.MAX_LOAD_PARAM;
@@ -35,7 +36,8 @@ import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils
  * Get the partition load sorted by the utilization of a given resource and filtered by given topic regular expression
  *    and partition number/range
  *    GET /kafkacruisecontrol/partition_load?resource=[RESOURCE]&amp;start=[START_TIMESTAMP]&amp;end=[END_TIMESTAMP]
- *    &amp;entries=[number-of-entries-to-show]&amp;topic=[topic]&amp;partition=[partition/start_partition-end_partition]
+ *    &amp;entries=[number-of-entries-to-show]&amp;cursor=[cursor]&amp;topic=[topic]
+ *    &amp;partition=[partition/start_partition-end_partition]
  *    &amp;min_valid_partition_ratio=[min_valid_partition_ratio]&amp;allow_capacity_estimation=[true/false]
  *    &amp;max_load=[true/false]&amp;avg_load=[true/false]&amp;json=[true/false]&amp;brokerid=[brokerid]
  *    &amp;get_response_schema=[true/false]&amp;doAs=[user]&amp;reason=[reason-for-request]
@@ -49,6 +51,7 @@ public class PartitionLoadParameters extends AbstractParameters {
     validParameterNames.add(START_MS_PARAM);
     validParameterNames.add(END_MS_PARAM);
     validParameterNames.add(ENTRIES_PARAM);
+    validParameterNames.add(CURSOR_PARAM);
     validParameterNames.add(TOPIC_PARAM);
     validParameterNames.add(PARTITION_PARAM);
     validParameterNames.add(MIN_VALID_PARTITION_RATIO_PARAM);
@@ -64,6 +67,7 @@ public class PartitionLoadParameters extends AbstractParameters {
   protected long _startMs;
   protected long _endMs;
   protected int _entries;
+  protected PartitionLoadCursor _cursor;
   protected Pattern _topic;
   protected int _partitionUpperBoundary;
   protected int _partitionLowerBoundary;
@@ -97,6 +101,7 @@ public class PartitionLoadParameters extends AbstractParameters {
     _partitionLowerBoundary = ParameterUtils.partitionBoundary(_requestContext, false);
     _partitionUpperBoundary = ParameterUtils.partitionBoundary(_requestContext, true);
     _entries = ParameterUtils.entries(_requestContext);
+    _cursor = ParameterUtils.partitionLoadCursor(_requestContext);
     _minValidPartitionRatio = ParameterUtils.minValidPartitionRatio(_requestContext);
     _allowCapacityEstimation = ParameterUtils.allowCapacityEstimation(_requestContext);
     _brokerIds = ParameterUtils.brokerIds(_requestContext, true);
@@ -121,6 +126,10 @@ public class PartitionLoadParameters extends AbstractParameters {
     return _entries;
   }
 
+  public PartitionLoadCursor cursor() {
+    return _cursor;
+  }
+
   public Pattern topic() {
     return _topic;
   }
@@ -4,16 +4,18 @@
 
 package com.linkedin.kafka.cruisecontrol.servlet.response;
 
-import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.linkedin.kafka.cruisecontrol.common.Resource;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.model.Load;
 import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
 import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
 import com.linkedin.cruisecontrol.servlet.parameters.CruiseControlParameters;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -24,6 +26,8 @@ import static com.linkedin.kafka.cruisecontrol.servlet.response.ResponseUtils.VE
 public class PartitionLoadState extends AbstractCruiseControlResponse {
   @JsonResponseField
   protected static final String RECORDS = "records";
+  @JsonResponseField(required = false)
+  protected static final String NEXT_CURSOR = "nextCursor";
   protected final List<Partition> _sortedPartitions;
   protected final boolean _wantMaxLoad;
   protected final boolean _wantAvgLoad;
@@ -31,6 +35,7 @@ public class PartitionLoadState extends AbstractCruiseControlResponse {
   protected final int _partitionUpperBoundary;
   protected final int _partitionLowerBoundary;
   protected final int _topicNameLength;
+  protected final String _nextCursor;
   protected Pattern _topic;
 
   public PartitionLoadState(List<Partition> sortedPartitions,
@@ -42,6 +47,32 @@ public class PartitionLoadState extends AbstractCruiseControlResponse {
                             Pattern topic,
                             int topicNameLength,
                             KafkaCruiseControlConfig config) {
+    this(sortedPartitions, wantMaxLoad, wantAvgLoad, entries, partitionUpperBoundary, partitionLowerBoundary, topic,
+         topicNameLength, config, null);
+  }
+
+  /**
+   * @param sortedPartitions Partitions sorted by the utilization of the requested resource.
+   * @param wantMaxLoad True if the requested utilization represents the peak load, false otherwise.
+   * @param wantAvgLoad True if the requested utilization represents the avg load, false otherwise.
+   * @param entries Number of partitions to show.
+   * @param partitionUpperBoundary The upper boundary of the partitions to show.
+   * @param partitionLowerBoundary The lower boundary of the partitions to show.
+   * @param topic The pattern of the topics to show, or {@code null} to show all topics.
+   * @param topicNameLength The length of the partition column in plaintext response.
+   * @param config The configurations for Cruise Control.
+   * @param nextCursor The cursor to get the next page of the partition load, or {@code null} if there is no next page.
+   */
+  public PartitionLoadState(List<Partition> sortedPartitions,
+                            boolean wantMaxLoad,
+                            boolean wantAvgLoad,
+                            int entries,
+                            int partitionUpperBoundary,
+                            int partitionLowerBoundary,
+                            Pattern topic,
+                            int topicNameLength,
+                            KafkaCruiseControlConfig config,
+                            String nextCursor) {
     super(config);
     _sortedPartitions = sortedPartitions;
     _wantMaxLoad = wantMaxLoad;
@@ -51,6 +82,7 @@ public class PartitionLoadState extends AbstractCruiseControlResponse {
     _partitionLowerBoundary = partitionLowerBoundary;
     _topic = topic;
     _topicNameLength = topicNameLength;
+    _nextCursor = nextCursor;
   }
 
   protected String getPlaintext() {
@@ -100,23 +132,37 @@ public class PartitionLoadState extends AbstractCruiseControlResponse {
     _topic = null;
   }
 
+  /**
+   * Write the JSON response record by record, without building the intermediate JSON structure of the partition load.
+   *
+   * @return JSON response.
+   */
   protected String getJsonString() {
-    Map<String, Object> partitionMap = new HashMap<>();
-    List<Object> partitionList = new ArrayList<>();
-    partitionMap.put(VERSION, JSON_VERSION);
-    int numEntries = 0;
-    for (Partition p : _sortedPartitions) {
-      if (shouldSkipPartition(p)) {
-        continue;
+    StringWriter stringWriter = new StringWriter();
+    try (JsonWriter writer = new JsonWriter(stringWriter)) {
+      writer.beginObject();
+      writer.name(VERSION).value(JSON_VERSION);
+      writer.name(RECORDS).beginArray();
+      int numEntries = 0;
+      for (Partition p : _sortedPartitions) {
+        if (shouldSkipPartition(p)) {
+          continue;
+        }
+        if (++numEntries > _entries) {
+          break;
+        }
+        new PartitionLoadRecord(p).writeJson(writer);
       }
-      if (++numEntries > _entries) {
-        break;
+      writer.endArray();
+      if (_nextCursor != null) {
+        writer.name(NEXT_CURSOR).value(_nextCursor);
       }
-      partitionList.add(new PartitionLoadRecord(p).getJsonStructure());
+      writer.endObject();
+    } catch (IOException e) {
+      // StringWriter does not throw IOException.
+      throw new UncheckedIOException(e);
     }
-    partitionMap.put(RECORDS, partitionList);
-    Gson gson = new Gson();
-    return gson.toJson(partitionMap);
+    return stringWriter.toString();
   }
 
   @JsonResponseClass
@@ -138,15 +184,23 @@ public class PartitionLoadState extends AbstractCruiseControlResponse {
       _partition = partition;
     }
 
-    protected Map<String, Object> getJsonStructure() {
-      List<Integer> followers = _partition.followers().stream().map(replica -> replica.broker().id()).collect(Collectors.toList());
-      return Map.of(TOPIC, _partition.leader().topicPartition().topic(), PARTITION, _partition.leader().topicPartition().partition(),
-                    LEADER, _partition.leader().broker().id(), FOLLOWERS, followers,
-                    Resource.CPU.resource(), _partition.leader().load().expectedUtilizationFor(Resource.CPU, _wantMaxLoad, _wantAvgLoad),
-                    Resource.DISK.resource(), _partition.leader().load().expectedUtilizationFor(Resource.DISK, _wantMaxLoad, _wantAvgLoad),
-                    Resource.NW_IN.resource(), _partition.leader().load().expectedUtilizationFor(Resource.NW_IN, _wantMaxLoad, _wantAvgLoad),
-                    Resource.NW_OUT.resource(), _partition.leader().load().expectedUtilizationFor(Resource.NW_OUT, _wantMaxLoad, _wantAvgLoad),
-                    MSG_IN, _partition.leader().load().expectedUtilizationFor(KafkaMetricDef.MESSAGE_IN_RATE, _wantMaxLoad, _wantAvgLoad));
+    protected void writeJson(JsonWriter writer) throws IOException {
+      writer.beginObject();
+      writer.name(TOPIC).value(_partition.leader().topicPartition().topic());
+      writer.name(PARTITION).value(_partition.leader().topicPartition().partition());
+      writer.name(LEADER).value(_partition.leader().broker().id());
+      writer.name(FOLLOWERS).beginArray();
+      for (Replica follower : _partition.followers()) {
+        writer.value(follower.broker().id());
+      }
+      writer.endArray();
+      Load load = _partition.leader().load();
+      writer.name(Resource.CPU.resource()).value(load.expectedUtilizationFor(Resource.CPU, _wantMaxLoad, _wantAvgLoad));
+      writer.name(Resource.DISK.resource()).value(load.expectedUtilizationFor(Resource.DISK, _wantMaxLoad, _wantAvgLoad));
+      writer.name(Resource.NW_IN.resource()).value(load.expectedUtilizationFor(Resource.NW_IN, _wantMaxLoad, _wantAvgLoad));
+      writer.name(Resource.NW_OUT.resource()).value(load.expectedUtilizationFor(Resource.NW_OUT, _wantMaxLoad, _wantAvgLoad));
+      writer.name(MSG_IN).value(load.expectedUtilizationFor(KafkaMetricDef.MESSAGE_IN_RATE, _wantMaxLoad, _wantAvgLoad));
+      writer.endObject();
     }
   }
 }
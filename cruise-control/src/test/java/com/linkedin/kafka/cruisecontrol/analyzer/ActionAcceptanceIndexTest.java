@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.CpuCapacityGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.DiskCapacityGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.NetworkInboundCapacityGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.NetworkOutboundCapacityGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.RackAwareGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.ReplicaCapacityGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.ReplicaDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance.ACCEPT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit tests for verifying that {@link ActionAcceptanceIndex} rejects exactly the inter-broker replica movements that the
+ * goals publishing their limits reject.
+ */
+public class ActionAcceptanceIndexTest {
+  private static final Map<Resource, Double> BROKER_CAPACITY = Map.of(Resource.CPU, TestConstants.TYPICAL_CPU_CAPACITY,
+                                                                      Resource.DISK, 400.0,
+                                                                      Resource.NW_IN, 400.0,
+                                                                      Resource.NW_OUT, 400.0);
+
+  @Test
+  public void testIndexMatchesGoalAcceptance() throws Exception {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(BROKER_CAPACITY);
+    Set<Goal> goals = new LinkedHashSet<>();
+    for (Class<? extends Goal> goalClass : List.of(RackAwareGoal.class, ReplicaCapacityGoal.class, DiskCapacityGoal.class,
+                                                   NetworkInboundCapacityGoal.class, NetworkOutboundCapacityGoal.class,
+                                                   CpuCapacityGoal.class)) {
+      goals.add(AnalyzerUnitTestUtils.goal(goalClass));
+    }
+    ActionAcceptanceIndex index = ActionAcceptanceIndex.compile(goals, clusterModel);
+
+    List<Boolean> indexAcceptances = new ArrayList<>();
+    for (Broker sourceBroker : clusterModel.brokers()) {
+      for (Replica replica : sourceBroker.replicas()) {
+        for (Broker broker : clusterModel.brokers()) {
+          if (broker.replica(replica.topicPartition()) != null) {
+            continue;
+          }
+          BalancingAction action = new BalancingAction(replica.topicPartition(), sourceBroker.id(), broker.id(),
+                                                       ActionType.INTER_BROKER_REPLICA_MOVEMENT);
+          boolean indexAcceptance = index.mayAcceptReplicaMovement(replica, broker, clusterModel);
+          assertEquals(action.toString(), AnalyzerUtils.isProposalAcceptableForOptimizedGoals(goals, action, clusterModel) == ACCEPT,
+                       indexAcceptance);
+          indexAcceptances.add(indexAcceptance);
+        }
+      }
+    }
+    // The cluster has both acceptable and unacceptable replica movements.
+    assertTrue(indexAcceptances.contains(true));
+    assertTrue(indexAcceptances.contains(false));
+  }
+
+  @Test
+  public void testGoalsWithoutLimits() throws Exception {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(BROKER_CAPACITY);
+    ActionAcceptanceIndex index = ActionAcceptanceIndex.compile(Set.of(AnalyzerUnitTestUtils.goal(ReplicaDistributionGoal.class)),
+                                                                clusterModel);
+    for (Replica replica : clusterModel.brokers().first().replicas()) {
+      for (Broker broker : clusterModel.brokers()) {
+        assertTrue(index.mayAcceptReplicaMovement(replica, broker, clusterModel));
+      }
+    }
+  }
+}
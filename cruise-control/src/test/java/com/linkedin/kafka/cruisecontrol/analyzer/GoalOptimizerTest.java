@@ -5,28 +5,46 @@
 package com.linkedin.kafka.cruisecontrol.analyzer;
 
 import com.codahale.metrics.MetricRegistry;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregatedMetricValues;
 import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.AbstractGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.DiskUsageDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.GoalUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.ReplicaDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
 import com.linkedin.kafka.cruisecontrol.common.TestConstants;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
 import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.regex.Pattern;
 import junit.framework.AssertionFailedError;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.utils.SystemTime;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
 
+import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils.getAggregatedMetricValues;
+import static com.linkedin.kafka.cruisecontrol.common.DeterministicCluster.RACK_BY_BROKER4;
+
 
 public class GoalOptimizerTest {
 
@@ -90,6 +108,151 @@ public class GoalOptimizerTest {
     EasyMock.verify(clusterModel);
   }
 
+  @Test
+  public void testOptimizationsOverShards() throws KafkaCruiseControlException {
+    // Broker sets are Blue: {0, 1, 2} and Green: {3, 4, 5}.
+    Set<Integer> blueBrokerIds = Set.of(0, 1, 2);
+    ClusterModel clusterModel = unbalancedClusterModel();
+
+    Properties properties = new Properties();
+    properties.setProperty(AnalyzerConfig.OPTIMIZATION_SHARDING_ENABLED_CONFIG, "true");
+    properties.setProperty(AnalyzerConfig.NUM_OPTIMIZATION_SHARDING_THREADS_CONFIG, "2");
+    GoalOptimizer goalOptimizer = createGoalOptimizer(properties);
+    try {
+      OptimizerResult result = goalOptimizer.optimizations(clusterModel, new OperationProgress());
+      Assert.assertFalse(result.goalProposals().isEmpty());
+      for (ExecutionProposal proposal : result.goalProposals()) {
+        boolean isBlue = blueBrokerIds.contains(proposal.oldLeader().brokerId());
+        for (ReplicaPlacementInfo replica : proposal.newReplicas()) {
+          Assert.assertEquals("Replica of " + proposal.topicPartition() + " moved across shards",
+                              isBlue, blueBrokerIds.contains(replica.brokerId()));
+        }
+      }
+      // The cluster model reflects the proposals.
+      for (ExecutionProposal proposal : result.goalProposals()) {
+        List<ReplicaPlacementInfo> replicas = clusterModel.getReplicaDistribution().get(proposal.topicPartition());
+        Assert.assertEquals(proposal.newReplicas(), replicas);
+      }
+    } finally {
+      goalOptimizer.shutdown();
+    }
+  }
+
+  @Test
+  public void testPartitionShards() {
+    // Partitions of T1 are on brokers 0 and 1, partitions of T2 are on brokers 3 and 4, and brokers 2 and 5 have no replicas.
+    List<Set<Integer>> shards = OptimizationShard.partitionShards(unbalancedClusterModel());
+    Assert.assertEquals(List.of(Set.of(0, 1), Set.of(2), Set.of(3, 4), Set.of(5)), shards);
+  }
+
+  @Test
+  public void testShardGoalsKeepConfiguration() throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty(AnalyzerConfig.REPLICA_COUNT_BALANCE_THRESHOLD_CONFIG, "10");
+    AbstractGoal goal = (AbstractGoal) AnalyzerUnitTestUtils.goal(ReplicaDistributionGoal.class, properties);
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(),
+                                                                      Collections.emptySet());
+    // The new instance keeps the loose replica count balance threshold of the goal, hence no replica is moved.
+    ClusterModel clusterModel = unbalancedClusterModel();
+    Map<TopicPartition, List<ReplicaPlacementInfo>> initialReplicaDistribution = clusterModel.getReplicaDistribution();
+    goal.newInstanceWithSameConfiguration().optimize(clusterModel, Collections.emptySet(), optimizationOptions);
+    Assert.assertEquals(initialReplicaDistribution, clusterModel.getReplicaDistribution());
+
+    // Whereas the goal with the default replica count balance threshold moves replicas.
+    AnalyzerUnitTestUtils.goal(ReplicaDistributionGoal.class).optimize(clusterModel, Collections.emptySet(), optimizationOptions);
+    Assert.assertNotEquals(initialReplicaDistribution, clusterModel.getReplicaDistribution());
+  }
+
+  @Test
+  public void testParallelCandidateBrokerEvaluation() throws KafkaCruiseControlException {
+    GoalOptimizer goalOptimizer = createGoalOptimizer();
+    Properties properties = new Properties();
+    properties.setProperty(AnalyzerConfig.NUM_CANDIDATE_BROKER_EVALUATION_THREADS_CONFIG, "4");
+    GoalOptimizer parallelGoalOptimizer = createGoalOptimizer(properties);
+    try {
+      OptimizerResult result = goalOptimizer.optimizations(unbalancedClusterModel(), new OperationProgress());
+      OptimizerResult parallelResult = parallelGoalOptimizer.optimizations(unbalancedClusterModel(), new OperationProgress());
+      // Evaluating the candidate brokers in parallel picks the same destination brokers.
+      Assert.assertFalse(result.goalProposals().isEmpty());
+      Assert.assertEquals(result.goalProposals(), parallelResult.goalProposals());
+      Assert.assertEquals(result.violatedGoalsAfterOptimization(), parallelResult.violatedGoalsAfterOptimization());
+    } finally {
+      goalOptimizer.shutdown();
+      parallelGoalOptimizer.shutdown();
+    }
+  }
+
+  @Test
+  public void testOptimizationTimeBudget() throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty(AnalyzerConfig.OPTIMIZATION_TIME_BUDGET_MS_CONFIG, "0");
+    GoalOptimizer goalOptimizer = createGoalOptimizer();
+    GoalOptimizer budgetedGoalOptimizer = createGoalOptimizer(properties);
+    try {
+      Set<String> hardGoalNames = new HashSet<>();
+      for (String goalClassName : TestConstants.DEFAULT_GOALS_VALUES.split(",")) {
+        Goal goal = (Goal) Class.forName(goalClassName).getConstructor().newInstance();
+        if (goal.isHardGoal()) {
+          hardGoalNames.add(goal.name());
+        }
+      }
+      OptimizerResult result = goalOptimizer.optimizations(unbalancedClusterModel(), new OperationProgress());
+      Assert.assertFalse(result.isPartial());
+
+      // Soft goals are cut at the exhausted budget, whereas hard goals are optimized to completion.
+      OptimizerResult budgetedResult = budgetedGoalOptimizer.optimizations(unbalancedClusterModel(), new OperationProgress());
+      Assert.assertTrue(budgetedResult.isPartial());
+      Assert.assertTrue(Collections.disjoint(hardGoalNames, budgetedResult.partiallyOptimizedGoals()));
+      Assert.assertTrue(Collections.disjoint(hardGoalNames, budgetedResult.violatedGoalsAfterOptimization()));
+    } finally {
+      goalOptimizer.shutdown();
+      budgetedGoalOptimizer.shutdown();
+    }
+  }
+
+  @Test
+  public void testGoalOptimizationTimeBudgetWithOfflineReplicas() throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_TIME_BUDGET_MS_CONFIG, "0");
+    Goal goal = AnalyzerUnitTestUtils.goal(DiskUsageDistributionGoal.class, properties);
+    ClusterModel clusterModel = unbalancedClusterModel();
+    clusterModel.setBrokerState(0, Broker.State.DEAD);
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(),
+                                                                      Collections.emptySet());
+    // The exhausted budget does not stop the goal before the replicas of the dead broker are moved.
+    goal.optimize(clusterModel, Collections.emptySet(), optimizationOptions);
+    Assert.assertTrue(clusterModel.broker(0).replicas().isEmpty());
+    GoalUtils.ensureNoOfflineReplicas(clusterModel, goal.name());
+  }
+
+  /**
+   * @return A cluster model with broker sets Blue: {0, 1, 2} and Green: {3, 4, 5}, in which all partitions of T1 are on
+   * brokers 0 and 1 of Blue, and all partitions of T2 are on brokers 3 and 4 of Green.
+   */
+  private static ClusterModel unbalancedClusterModel() {
+    ClusterModel clusterModel = DeterministicCluster.getHomogeneousCluster(RACK_BY_BROKER4, TestConstants.BROKER_CAPACITY, null);
+    AggregatedMetricValues aggregatedMetricValues = getAggregatedMetricValues(TestConstants.TYPICAL_CPU_CAPACITY / 20,
+                                                                              TestConstants.LARGE_BROKER_CAPACITY / 20,
+                                                                              TestConstants.MEDIUM_BROKER_CAPACITY / 20,
+                                                                              TestConstants.LARGE_BROKER_CAPACITY / 20);
+    // Place all partitions of T1 on brokers 0 and 1 of Blue, and all partitions of T2 on brokers 3 and 4 of Green.
+    for (int partition = 0; partition < 6; partition++) {
+      for (int index = 0; index < 2; index++) {
+        int blueBrokerId = (partition + index) % 2;
+        TopicPartition blueTp = new TopicPartition(DeterministicCluster.T1, partition);
+        clusterModel.createReplica(RACK_BY_BROKER4.get(blueBrokerId).toString(), blueBrokerId, blueTp, index, index == 0);
+        clusterModel.setReplicaLoad(RACK_BY_BROKER4.get(blueBrokerId).toString(), blueBrokerId, blueTp, aggregatedMetricValues,
+                                    Collections.singletonList(1L));
+        int greenBrokerId = blueBrokerId + 3;
+        TopicPartition greenTp = new TopicPartition(DeterministicCluster.T2, partition);
+        clusterModel.createReplica(RACK_BY_BROKER4.get(greenBrokerId).toString(), greenBrokerId, greenTp, index, index == 0);
+        clusterModel.setReplicaLoad(RACK_BY_BROKER4.get(greenBrokerId).toString(), greenBrokerId, greenTp, aggregatedMetricValues,
+                                    Collections.singletonList(1L));
+      }
+    }
+    return clusterModel;
+  }
+
   private GoalOptimizer createGoalOptimizer() {
     return createGoalOptimizer(new Properties());
   }
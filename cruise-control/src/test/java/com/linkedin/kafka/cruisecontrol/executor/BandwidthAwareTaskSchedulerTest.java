@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link BandwidthAwareTaskScheduler}, which compares the total execution time of the inter-broker replica
+ * movements that it picks with the round-robin manner of {@link ExecutionTaskPlanner} via {@link InterBrokerReplicaMovementSimulator}.
+ */
+public class BandwidthAwareTaskSchedulerTest {
+  private static final int NUM_BROKERS = 5;
+  private static final int BROKER_CONCURRENCY = 2;
+  private static final long LARGE_PARTITION_SIZE_IN_MB = 1000L;
+  private static final long SMALL_PARTITION_SIZE_IN_MB = 10L;
+  private static final int NUM_SMALL_PARTITIONS = 90;
+  private static final double DELTA = 1E-6;
+
+  /**
+   * Broker 0 moves one large partition to broker 1, and many small partitions to brokers 2, 3 and 4. The outbound
+   * capacity of broker 0 is high, so the inbound capacity of the destination brokers bounds the execution time, and the
+   * movement to broker 1 is on the critical path. The large partition is proposed last.
+   *
+   * @return Proposals to execute.
+   */
+  private static List<ExecutionProposal> proposalsWithLargePartitionLast() {
+    List<ExecutionProposal> proposals = new ArrayList<>();
+    for (int i = 0; i < NUM_SMALL_PARTITIONS; i++) {
+      proposals.add(proposal(new TopicPartition("small", i), SMALL_PARTITION_SIZE_IN_MB, 0, 2 + i % 3));
+    }
+    proposals.add(proposal(new TopicPartition("large", 0), LARGE_PARTITION_SIZE_IN_MB, 0, 1));
+    return proposals;
+  }
+
+  private static ExecutionProposal proposal(TopicPartition tp, long sizeInMB, int sourceBroker, int destinationBroker) {
+    ReplicaPlacementInfo source = new ReplicaPlacementInfo(sourceBroker);
+    return new ExecutionProposal(tp, sizeInMB, source, Collections.singletonList(source),
+                                 Collections.singletonList(new ReplicaPlacementInfo(destinationBroker)));
+  }
+
+  private static ExecutionTaskPlanner planner(List<ExecutionProposal> proposals, boolean bandwidthAware) {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(ExecutorConfig.BANDWIDTH_AWARE_INTER_BROKER_REPLICA_MOVEMENT_SCHEDULING_ENABLED_CONFIG,
+                      Boolean.toString(bandwidthAware));
+    ExecutionTaskPlanner planner = new ExecutionTaskPlanner(null, new KafkaCruiseControlConfig(props));
+
+    List<Node> nodes = new ArrayList<>();
+    for (int brokerId = 0; brokerId < NUM_BROKERS; brokerId++) {
+      nodes.add(new Node(brokerId, "host" + brokerId, 9092));
+    }
+    Set<PartitionInfo> partitions = new HashSet<>();
+    for (ExecutionProposal proposal : proposals) {
+      Node[] replicas = proposal.oldReplicas().stream().map(r -> nodes.get(r.brokerId())).toArray(Node[]::new);
+      partitions.add(new PartitionInfo(proposal.topic(), proposal.partitionId(), replicas[0], replicas, replicas));
+    }
+    Cluster cluster = new Cluster(null, nodes, partitions, Collections.emptySet(), Collections.emptySet());
+    planner.addExecutionProposals(proposals, new StrategyOptions.Builder(cluster).build(), null);
+    return planner;
+  }
+
+  private static Map<Integer, Double> capacity(double capacityOfBroker0, double capacityOfOtherBrokers) {
+    Map<Integer, Double> capacityByBrokerId = new HashMap<>();
+    for (int brokerId = 0; brokerId < NUM_BROKERS; brokerId++) {
+      capacityByBrokerId.put(brokerId, brokerId == 0 ? capacityOfBroker0 : capacityOfOtherBrokers);
+    }
+    return capacityByBrokerId;
+  }
+
+  @Test
+  public void testScheduleCriticalPathFirst() {
+    ExecutionTaskPlanner planner = planner(proposalsWithLargePartitionLast(), true);
+    Map<Integer, Integer> readyBrokers = new HashMap<>();
+    for (int brokerId = 0; brokerId < NUM_BROKERS; brokerId++) {
+      readyBrokers.put(brokerId, BROKER_CONCURRENCY);
+    }
+    List<ExecutionTask> tasks = planner.getInterBrokerReplicaMovementTasks(readyBrokers, Collections.emptySet(), Integer.MAX_VALUE);
+    // Broker 0 takes part in all movements, so it bounds the number of movements to start.
+    assertEquals(BROKER_CONCURRENCY, tasks.size());
+    assertEquals(new TopicPartition("large", 0), tasks.get(0).proposal().topicPartition());
+    assertEquals(0, (int) readyBrokers.get(0));
+    assertEquals(NUM_SMALL_PARTITIONS + 1 - BROKER_CONCURRENCY, planner.remainingInterBrokerReplicaMovements().size());
+
+    // The movements of in-progress partitions and movements beyond the cluster cap are not picked.
+    readyBrokers.put(0, BROKER_CONCURRENCY);
+    tasks = planner.getInterBrokerReplicaMovementTasks(readyBrokers, Collections.singleton(new TopicPartition("small", 1)), 2);
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void testMakespanLowerBound() {
+    BandwidthAwareTaskScheduler scheduler = new BandwidthAwareTaskScheduler();
+    scheduler.setBrokerCapacity(capacity(100.0, 1.0), capacity(100.0, 1.0));
+    ExecutionTaskPlanner planner = planner(proposalsWithLargePartitionLast(), true);
+    // The inbound traffic of broker 1 takes the longest.
+    assertEquals(LARGE_PARTITION_SIZE_IN_MB, scheduler.makespanLowerBound(planner.remainingInterBrokerReplicaMovements()), DELTA);
+
+    // Brokers with unknown capacity have the average capacity of the others.
+    Map<Integer, Double> inboundCapacity = capacity(100.0, 1.0);
+    inboundCapacity.remove(1);
+    scheduler.setBrokerCapacity(inboundCapacity, capacity(100.0, 1.0));
+    double averageInboundCapacity = (100.0 + 3 * 1.0) / 4;
+    assertEquals(LARGE_PARTITION_SIZE_IN_MB / averageInboundCapacity,
+                 scheduler.makespanLowerBound(Collections.singleton(planner.remainingInterBrokerReplicaMovements().stream()
+                     .filter(task -> task.proposal().topic().equals("large")).findFirst().orElseThrow())),
+                 DELTA);
+  }
+
+  @Test
+  public void testShorterExecutionThanRoundRobin() {
+    InterBrokerReplicaMovementSimulator simulator =
+        new InterBrokerReplicaMovementSimulator(capacity(100.0, 1.0), capacity(100.0, 1.0), BROKER_CONCURRENCY, Integer.MAX_VALUE);
+
+    double roundRobinSec = simulator.simulate(planner(proposalsWithLargePartitionLast(), false));
+    ExecutionTaskPlanner bandwidthAwarePlanner = planner(proposalsWithLargePartitionLast(), true);
+    bandwidthAwarePlanner.setBrokerReplicationCapacity(capacity(100.0, 1.0), capacity(100.0, 1.0));
+    double bandwidthAwareSec = simulator.simulate(bandwidthAwarePlanner);
+
+    // The round-robin manner starts the large movement once the small movements are over.
+    double smallMovementsSec = (double) NUM_SMALL_PARTITIONS * SMALL_PARTITION_SIZE_IN_MB / BROKER_CONCURRENCY;
+    assertEquals(smallMovementsSec + LARGE_PARTITION_SIZE_IN_MB, roundRobinSec, DELTA);
+    // The bandwidth-aware scheduler starts the large movement first, and reaches the lower bound.
+    assertEquals(LARGE_PARTITION_SIZE_IN_MB, bandwidthAwareSec, DELTA);
+    assertTrue(bandwidthAwarePlanner.remainingInterBrokerReplicaMovements().isEmpty());
+  }
+
+  @Test
+  public void testShorterExecutionWithSlowDestination() {
+    // Broker 1 has half of the inbound capacity of the others, which slows down the movements into it.
+    Map<Integer, Double> inboundCapacity = capacity(100.0, 2.0);
+    inboundCapacity.put(1, 1.0);
+    Map<Integer, Double> outboundCapacity = capacity(100.0, 2.0);
+    List<ExecutionProposal> proposals = new ArrayList<>();
+    // The same amount of data moves into each of brokers 1 to 4, and broker 1 is proposed last.
+    for (int i = 0; i < 40; i++) {
+      proposals.add(proposal(new TopicPartition("topic", i), SMALL_PARTITION_SIZE_IN_MB, 0, 4 - i % 4));
+    }
+    InterBrokerReplicaMovementSimulator simulator =
+        new InterBrokerReplicaMovementSimulator(inboundCapacity, outboundCapacity, BROKER_CONCURRENCY, Integer.MAX_VALUE);
+
+    double roundRobinSec = simulator.simulate(planner(proposals, false));
+    ExecutionTaskPlanner bandwidthAwarePlanner = planner(proposals, true);
+    bandwidthAwarePlanner.setBrokerReplicationCapacity(inboundCapacity, outboundCapacity);
+    double bandwidthAwareSec = simulator.simulate(bandwidthAwarePlanner);
+    assertTrue(String.format("Bandwidth-aware: %f, round-robin: %f", bandwidthAwareSec, roundRobinSec), bandwidthAwareSec < roundRobinSec);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link ExecutionJournal}.
+ */
+public class ExecutionJournalTest {
+  private static final String UUID = "execution-uuid";
+  private static final String REASON = "test";
+  private static final Long REPLICATION_THROTTLE = 1000L;
+
+  private static KafkaCruiseControlConfig config(String journalFile) {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(ExecutorConfig.EXECUTION_JOURNAL_FILE_CONFIG, journalFile);
+    return new KafkaCruiseControlConfig(props);
+  }
+
+  private static ExecutionProposal proposal(TopicPartition tp, int sourceBroker, int destinationBroker) {
+    ReplicaPlacementInfo source = new ReplicaPlacementInfo(sourceBroker);
+    return new ExecutionProposal(tp, 100L, source, Arrays.asList(source, new ReplicaPlacementInfo(2)),
+                                 Arrays.asList(new ReplicaPlacementInfo(destinationBroker), new ReplicaPlacementInfo(2)));
+  }
+
+  private static ExecutionJournal.Execution execution() {
+    return new ExecutionJournal.Execution(UUID, REASON, REPLICATION_THROTTLE, Collections.singleton(1), null,
+                                          Collections.singleton(2), false, true);
+  }
+
+  private static File journalFile() throws IOException {
+    File journalFile = File.createTempFile("execution-journal", ".log");
+    assertTrue(journalFile.delete());
+    return journalFile;
+  }
+
+  @Test
+  public void testRecoverExecution() throws IOException {
+    File journalFile = journalFile();
+    try {
+      ExecutionProposal completed = proposal(new TopicPartition("topic", 0), 0, 1);
+      ExecutionProposal dead = proposal(new TopicPartition("topic", 1), 0, 1);
+      ExecutionProposal pending = proposal(new TopicPartition("topic", 2), 1, 0);
+      ExecutionJournal journal = new ExecutionJournal(config(journalFile.getAbsolutePath()));
+      assertTrue(journal.isEnabled());
+      assertNull(journal.recover());
+
+      journal.startExecution(execution(), Arrays.asList(completed, dead, pending));
+      ExecutionTask completedTask = new ExecutionTask(0L, completed, INTER_BROKER_REPLICA_ACTION, Long.MAX_VALUE);
+      ExecutionTask deadTask = new ExecutionTask(1L, dead, INTER_BROKER_REPLICA_ACTION, Long.MAX_VALUE);
+      journal.recordTaskState(completedTask, ExecutionTaskState.IN_PROGRESS);
+      journal.recordTaskState(completedTask, ExecutionTaskState.COMPLETED);
+      journal.recordTaskState(deadTask, ExecutionTaskState.IN_PROGRESS);
+      journal.recordTaskState(deadTask, ExecutionTaskState.DEAD);
+      // Cruise Control shuts down, hence stopping the execution keeps the journal.
+      journal.close();
+      journal.finishExecution();
+      assertTrue(journalFile.isFile());
+      // A record partially written upon a crash is skipped.
+      Files.write(journalFile.toPath(), "task {\"_top".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+      ExecutionJournal.Execution recovered = new ExecutionJournal(config(journalFile.getAbsolutePath())).recover();
+      assertEquals(UUID, recovered.uuid());
+      assertEquals(REASON, recovered.reason());
+      assertEquals(REPLICATION_THROTTLE, recovered.replicationThrottle());
+      assertEquals(Collections.singleton(1), recovered.demotedBrokers());
+      assertTrue(recovered.removedBrokers().isEmpty());
+      assertEquals(Collections.singleton(2), recovered.brokersToSkipConcurrencyCheck());
+      assertFalse(recovered.isKafkaAssignerMode());
+      assertTrue(recovered.skipInterBrokerReplicaConcurrencyAdjustment());
+      // The proposal with a dead task is dropped.
+      List<ExecutionProposal> proposals = recovered.proposals();
+      assertEquals(Arrays.asList(completed, pending), proposals);
+      assertEquals(pending.oldReplicas(), proposals.get(1).oldReplicas());
+      assertEquals(pending.newReplicas(), proposals.get(1).newReplicas());
+      assertEquals(pending.partitionSize(), proposals.get(1).partitionSize());
+    } finally {
+      Files.deleteIfExists(journalFile.toPath());
+    }
+  }
+
+  @Test
+  public void testFinishExecution() throws IOException {
+    File journalFile = journalFile();
+    try {
+      ExecutionJournal journal = new ExecutionJournal(config(journalFile.getAbsolutePath()));
+      journal.startExecution(execution(), Collections.singletonList(proposal(new TopicPartition("topic", 0), 0, 1)));
+      assertTrue(journalFile.isFile());
+      journal.finishExecution();
+      assertFalse(journalFile.exists());
+      assertNull(journal.recover());
+    } finally {
+      Files.deleteIfExists(journalFile.toPath());
+    }
+  }
+
+  @Test
+  public void testDisabledJournal() {
+    ExecutionJournal journal = new ExecutionJournal(config(""));
+    assertFalse(journal.isEnabled());
+    journal.startExecution(execution(), Collections.singletonList(proposal(new TopicPartition("topic", 0), 0, 1)));
+    journal.finishExecution();
+    assertNull(journal.recover());
+  }
+}
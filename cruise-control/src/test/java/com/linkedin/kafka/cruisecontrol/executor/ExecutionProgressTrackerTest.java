@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListPartitionReassignmentsResult;
+import org.apache.kafka.clients.admin.PartitionReassignment;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.apache.kafka.common.utils.MockTime;
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION;
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.LEADER_ACTION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link ExecutionProgressTracker}.
+ */
+public class ExecutionProgressTrackerTest {
+  private static final String TOPIC0 = "topic0";
+  private static final String TOPIC1 = "topic1";
+  private static final TopicPartition T0P0 = new TopicPartition(TOPIC0, 0);
+  private static final TopicPartition T1P0 = new TopicPartition(TOPIC1, 0);
+  private static final long PARTITION_SIZE_IN_MB = 100L;
+  private static final long EXECUTION_ALERTING_THRESHOLD_MS = 100L;
+  private static final long PROBE_INTERVAL_MS = 10L;
+  private static final Node NODE0 = new Node(0, "host0", 100);
+  private static final Node NODE1 = new Node(1, "host1", 100);
+
+  private static ExecutionTask interBrokerReplicaTask(TopicPartition tp, long startTimeMs) {
+    ExecutionProposal proposal = new ExecutionProposal(tp, PARTITION_SIZE_IN_MB, new ReplicaPlacementInfo(0),
+                                                       Collections.singletonList(new ReplicaPlacementInfo(0)),
+                                                       Collections.singletonList(new ReplicaPlacementInfo(1)));
+    ExecutionTask task = new ExecutionTask(0L, proposal, INTER_BROKER_REPLICA_ACTION, EXECUTION_ALERTING_THRESHOLD_MS);
+    task.inProgress(startTimeMs);
+    return task;
+  }
+
+  @Test
+  public void testExpectedCompletionDelay() {
+    MockTime time = new MockTime(0L, 0L, 0L);
+    ExecutionProgressTracker tracker = new ExecutionProgressTracker(EasyMock.mock(AdminClient.class), time, PROBE_INTERVAL_MS);
+    ExecutionTask inProgressTask = interBrokerReplicaTask(T0P0, 0L);
+    // The completion cannot be estimated before any movement completes.
+    assertTrue(tracker.msPerMB() < 0);
+    assertEquals(0L, tracker.expectedCompletionDelayMs(Collections.singleton(inProgressTask)));
+
+    // 100MB in 1000ms.
+    ExecutionTask completedTask = interBrokerReplicaTask(T1P0, 0L);
+    completedTask.completed(1000L);
+    tracker.recordCompletion(completedTask);
+    assertEquals(10.0, tracker.msPerMB(), 0.0);
+    // 100MB in 2000ms.
+    completedTask = interBrokerReplicaTask(T1P0, 0L);
+    completedTask.completed(2000L);
+    tracker.recordCompletion(completedTask);
+    double expectedMsPerMB = (1 - ExecutionProgressTracker.MS_PER_MB_SMOOTHING_FACTOR) * 10.0
+                             + ExecutionProgressTracker.MS_PER_MB_SMOOTHING_FACTOR * 20.0;
+    assertEquals(expectedMsPerMB, tracker.msPerMB(), 1E-9);
+
+    // Other tasks do not affect the estimate.
+    ExecutionTask leadershipTask = new ExecutionTask(0L, completedTask.proposal(), LEADER_ACTION, EXECUTION_ALERTING_THRESHOLD_MS);
+    leadershipTask.inProgress(0L);
+    leadershipTask.completed(100000L);
+    tracker.recordCompletion(leadershipTask);
+    assertEquals(expectedMsPerMB, tracker.msPerMB(), 1E-9);
+
+    time.setCurrentTimeMs(500L);
+    long expectedDelayMs = (long) (PARTITION_SIZE_IN_MB * expectedMsPerMB) - 500L;
+    assertEquals(expectedDelayMs, tracker.expectedCompletionDelayMs(Collections.singleton(inProgressTask)));
+    // The earliest expected completion applies.
+    ExecutionTask laterTask = interBrokerReplicaTask(T1P0, 400L);
+    assertEquals(expectedDelayMs, tracker.expectedCompletionDelayMs(Arrays.asList(laterTask, inProgressTask)));
+    // Overdue tasks are expected to complete at once.
+    time.setCurrentTimeMs(10000L);
+    assertEquals(0L, tracker.expectedCompletionDelayMs(Collections.singleton(inProgressTask)));
+  }
+
+  @Test
+  public void testAwaitProgressEndsUponCompletedReassignment() {
+    AdminClient adminClient = EasyMock.mock(AdminClient.class);
+    Set<TopicPartition> partitions = Set.of(T0P0, T1P0);
+    EasyMock.expect(adminClient.listPartitionReassignments(partitions))
+            .andReturn(listPartitionReassignmentsResult(partitions))
+            .once();
+    // The reassignment of T1P0 is over in the second probe.
+    EasyMock.expect(adminClient.listPartitionReassignments(partitions))
+            .andReturn(listPartitionReassignmentsResult(Collections.singleton(T0P0)))
+            .once();
+    EasyMock.replay(adminClient);
+
+    ExecutionProgressTracker tracker = new ExecutionProgressTracker(adminClient, new MockTime(), PROBE_INTERVAL_MS);
+    long startMs = System.currentTimeMillis();
+    long maxWaitMs = 60000L;
+    tracker.awaitProgress(Arrays.asList(interBrokerReplicaTask(T0P0, 0L), interBrokerReplicaTask(T1P0, 0L)), maxWaitMs, () -> false);
+    assertTrue(System.currentTimeMillis() - startMs < maxWaitMs);
+    EasyMock.verify(adminClient);
+  }
+
+  @Test
+  public void testAwaitProgressEndsUponStopRequest() {
+    AdminClient adminClient = EasyMock.mock(AdminClient.class);
+    EasyMock.replay(adminClient);
+
+    ExecutionProgressTracker tracker = new ExecutionProgressTracker(adminClient, new MockTime(), PROBE_INTERVAL_MS);
+    long startMs = System.currentTimeMillis();
+    long maxWaitMs = 60000L;
+    tracker.awaitProgress(Collections.singleton(interBrokerReplicaTask(T0P0, 0L)), maxWaitMs, () -> true);
+    assertTrue(System.currentTimeMillis() - startMs < maxWaitMs);
+    EasyMock.verify(adminClient);
+  }
+
+  @Test
+  public void testInExecutionCluster() throws Exception {
+    AdminClient adminClient = EasyMock.mock(AdminClient.class);
+    DescribeClusterResult describeClusterResult = EasyMock.mock(DescribeClusterResult.class);
+    EasyMock.expect(describeClusterResult.nodes()).andReturn(KafkaFuture.completedFuture(Arrays.asList(NODE0, NODE1))).once();
+    EasyMock.expect(adminClient.describeCluster()).andReturn(describeClusterResult).once();
+    List<Node> replicas = Arrays.asList(NODE0, NODE1);
+    TopicDescription topic0 = new TopicDescription(TOPIC0, false, Collections.singletonList(
+        new TopicPartitionInfo(0, NODE1, replicas, Collections.singletonList(NODE1))));
+    // topic1 has been deleted.
+    KafkaFutureImpl<TopicDescription> deletedTopic = new KafkaFutureImpl<>();
+    deletedTopic.completeExceptionally(new UnknownTopicOrPartitionException());
+    DescribeTopicsResult describeTopicsResult = EasyMock.mock(DescribeTopicsResult.class);
+    EasyMock.expect(describeTopicsResult.topicNameValues())
+            .andReturn(Map.of(TOPIC0, KafkaFuture.completedFuture(topic0), TOPIC1, deletedTopic)).once();
+    EasyMock.expect(adminClient.describeTopics(Set.of(TOPIC0, TOPIC1))).andReturn(describeTopicsResult).once();
+    EasyMock.replay(adminClient, describeClusterResult, describeTopicsResult);
+
+    ExecutionProgressTracker tracker = new ExecutionProgressTracker(adminClient, new MockTime(), PROBE_INTERVAL_MS);
+    Cluster cluster = tracker.inExecutionCluster(Arrays.asList(interBrokerReplicaTask(T0P0, 0L), interBrokerReplicaTask(T1P0, 0L)));
+    assertEquals(2, cluster.nodes().size());
+    assertNotNull(cluster.partition(T0P0));
+    assertEquals(NODE1, cluster.partition(T0P0).leader());
+    assertEquals(2, cluster.partition(T0P0).replicas().length);
+    assertEquals(1, cluster.partition(T0P0).inSyncReplicas().length);
+    assertNull(cluster.partition(T1P0));
+    EasyMock.verify(adminClient, describeClusterResult, describeTopicsResult);
+  }
+
+  private static ListPartitionReassignmentsResult listPartitionReassignmentsResult(Set<TopicPartition> reassigningPartitions) {
+    Map<TopicPartition, PartitionReassignment> reassignments = new HashMap<>();
+    reassigningPartitions.forEach(tp -> reassignments.put(tp, new PartitionReassignment(Arrays.asList(0, 1),
+                                                                                        Collections.singletonList(1),
+                                                                                        Collections.emptyList())));
+    ListPartitionReassignmentsResult result = EasyMock.mock(ListPartitionReassignmentsResult.class);
+    EasyMock.expect(result.reassignments()).andReturn(KafkaFuture.completedFuture(reassignments)).once();
+    EasyMock.replay(result);
+    return result;
+  }
+}
@@ -8,6 +8,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StageLargeReplicaMovementStrategy;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import java.util.ArrayList;
@@ -123,6 +124,53 @@ public class ExecutionTaskManagerTest {
         taskManager.getExecutionConcurrencyManager().getExecutionClusterLeadershipConcurrency());
   }
 
+  @Test
+  public void testCancelStagedInterBrokerReplicaMovement() {
+    TopicPartition tp = new TopicPartition("topic", 1);
+    ReplicaPlacementInfo r0 = new ReplicaPlacementInfo(0);
+    ReplicaPlacementInfo r1 = new ReplicaPlacementInfo(1);
+    ReplicaPlacementInfo r2 = new ReplicaPlacementInfo(2);
+    ReplicaPlacementInfo r3 = new ReplicaPlacementInfo(3);
+    // Adding two replicas stages the movement in two hops.
+    ExecutionProposal proposal = new ExecutionProposal(tp, 10, r0, Arrays.asList(r0, r2), Arrays.asList(r1, r3));
+    List<Node> nodes = new ArrayList<>();
+    for (int brokerId = 0; brokerId < 4; brokerId++) {
+      nodes.add(new Node(brokerId, "null", -1));
+    }
+    Node[] replicas = {nodes.get(0), nodes.get(2)};
+    Cluster cluster = new Cluster(null, nodes, Collections.singleton(new PartitionInfo(tp.topic(), tp.partition(), replicas[0], replicas, replicas)),
+                                  Collections.emptySet(), Collections.emptySet());
+    StrategyOptions strategyOptions = new StrategyOptions.Builder(cluster).minStagedPartitionSizeInMB(0).build();
+
+    taskManager.clear();
+    taskManager.setExecutionModeForTaskTracker(false);
+    taskManager.addExecutionProposals(Collections.singletonList(proposal), Collections.emptySet(), strategyOptions,
+                                      new StageLargeReplicaMovementStrategy());
+    taskManager.getExecutionConcurrencyManager().setExecutionConcurrencyForAllBrokersOrCluster(null, ConcurrencyType.INTER_BROKER_REPLICA);
+    List<ExecutionTask> tasks = taskManager.getInterBrokerReplicaMovementTasks();
+    assertEquals(1, tasks.size());
+    ExecutionTask firstHop = tasks.get(0);
+    taskManager.markTasksInProgress(tasks);
+    taskManager.markTaskDead(firstHop);
+
+    // The held hop is cancelled without being executed.
+    ExecutionTaskTracker.ExecutionTasksSummary executionTasksSummary =
+        taskManager.getExecutionTasksSummary(Collections.singleton(ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION));
+    Map<ExecutionTaskState, Integer> taskStat = executionTasksSummary.taskStat().get(ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION);
+    assertEquals(0, (int) taskStat.get(ExecutionTaskState.PENDING));
+    assertEquals(0, (int) taskStat.get(ExecutionTaskState.IN_PROGRESS));
+    assertEquals(1, (int) taskStat.get(ExecutionTaskState.ABORTED));
+    assertEquals(1, (int) taskStat.get(ExecutionTaskState.DEAD));
+    ExecutionTask secondHop = executionTasksSummary.filteredTasksByState()
+                                                   .get(ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION)
+                                                   .get(ExecutionTaskState.ABORTED).iterator().next();
+    assertEquals(-1L, secondHop.startTimeMs());
+    assertEquals(0, executionTasksSummary.remainingInterBrokerDataToMoveInMB());
+    assertEquals(0, executionTasksSummary.inExecutionInterBrokerDataMovementInMB());
+    assertEquals(20, executionTasksSummary.finishedInterBrokerDataMovementInMB());
+    assertEquals(Collections.emptyList(), taskManager.getInterBrokerReplicaMovementTasks());
+  }
+
   private void verifyStateChangeSequence(List<ExecutionTaskState> stateSequence,
                                          ExecutionTask task,
                                          ExecutionTaskManager taskManager) {
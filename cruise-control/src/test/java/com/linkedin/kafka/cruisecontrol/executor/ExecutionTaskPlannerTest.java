@@ -15,6 +15,7 @@ import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeLargeReplica
 import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeMinIsrWithOfflineReplicasStrategy;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeOneAboveMinIsrWithOfflineReplicasStrategy;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeSmallReplicaMovementStrategy;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StageLargeReplicaMovementStrategy;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import java.lang.reflect.Constructor;
@@ -187,6 +188,20 @@ public class ExecutionTaskPlannerTest {
     leaderMovementTasks = planner.getLeadershipMovementTasks(manager);
     assertEquals("1 of the leader movements should return in one batch", 1, leaderMovementTasks.size());
     assertEquals(leaderMovementTasks.get(0).proposal(), _leaderMovement3);
+
+    // 4: task of a partition to skip is not returned, and does not take the concurrency of other tasks.
+    manager.setExecutionConcurrencyForAllBrokersOrCluster(3, ConcurrencyType.LEADERSHIP_CLUSTER);
+    manager.setExecutionConcurrencyForBroker(1, MAX_BROKER_CONCURRENCY, ConcurrencyType.LEADERSHIP_BROKER);
+    planner = new ExecutionTaskPlanner(null, new KafkaCruiseControlConfig(props));
+    planner.addExecutionProposals(proposals, strategyOptions, null);
+    leaderMovementTasks = planner.getLeadershipMovementTasks(manager, Collections.singleton(_leaderMovement1.topicPartition()));
+    assertEquals("3 of the leader movements should return in one batch", 3, leaderMovementTasks.size());
+    assertEquals(leaderMovementTasks.get(0).proposal(), _leaderMovement2);
+    assertEquals(leaderMovementTasks.get(1).proposal(), _leaderMovement3);
+    assertEquals(leaderMovementTasks.get(2).proposal(), _leaderMovement4);
+    leaderMovementTasks = planner.getLeadershipMovementTasks(manager);
+    assertEquals("1 of the leader movements should return in one batch", 1, leaderMovementTasks.size());
+    assertEquals(leaderMovementTasks.get(0).proposal(), _leaderMovement1);
   }
 
   @Test
@@ -412,6 +427,93 @@ public class ExecutionTaskPlannerTest {
     assertEquals("Fourth task", _partitionMovement1, partitionMovementTasks.get(3).proposal());
   }
 
+  @Test
+  public void testStagedInterBrokerPartitionMovementTasks() {
+    List<ExecutionProposal> proposals = List.of(_rf4PartitionMovement0, _rf4PartitionMovement1);
+    ExecutionTaskPlanner planner =
+        new ExecutionTaskPlanner(null, new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+
+    Set<PartitionInfo> partitions = new HashSet<>();
+    partitions.add(generatePartitionInfo(_rf4PartitionMovement0, false));
+    partitions.add(generatePartitionInfo(_rf4PartitionMovement1, false));
+    Cluster expectedCluster = new Cluster(null, _rf4ExpectedNodes, partitions, Collections.emptySet(), Collections.emptySet());
+    // Only the movement of the larger partition is staged.
+    StrategyOptions strategyOptions = new StrategyOptions.Builder(expectedCluster).minStagedPartitionSizeInMB(20).build();
+
+    Map<Integer, Integer> readyBrokers = new HashMap<>();
+    for (Node node : _rf4ExpectedNodes) {
+      readyBrokers.put(node.id(), 8);
+    }
+    planner.addExecutionProposals(proposals, strategyOptions, new StageLargeReplicaMovementStrategy());
+    assertEquals(2, planner.remainingInterBrokerReplicaMovements().size());
+    assertEquals(1, planner.stagedInterBrokerReplicaMovements().size());
+    List<ExecutionTask> partitionMovementTasks = planner.getInterBrokerReplicaMovementTasks(new HashMap<>(readyBrokers),
+                                                                                            Collections.emptySet(),
+                                                                                            _defaultPartitionsMaxCap);
+    assertEquals(2, partitionMovementTasks.size());
+    ExecutionTask firstHop = partitionMovementTasks.stream()
+                                                   .filter(task -> task.proposal().topicPartition().equals(_rf4PartitionMovement1.topicPartition()))
+                                                   .findFirst().orElseThrow();
+    // The first hop removes a follower and adds the new leader.
+    assertEquals(_rf4PartitionMovement1.oldReplicas(), firstHop.proposal().oldReplicas());
+    assertEquals(List.of(_r1, _r3, _r4, _r2), firstHop.proposal().newReplicas());
+    assertEquals(_rf4PartitionMovement1, planner.originalProposal(firstHop));
+
+    // The second hop is executable once the first hop is completed, and reaches the proposed replicas.
+    ExecutionTask secondHop = planner.releaseStagedInterBrokerReplicaMovement(firstHop);
+    assertEquals(List.of(_r1, _r3, _r4, _r2), secondHop.proposal().oldReplicas());
+    assertEquals(_rf4PartitionMovement1.newReplicas(), secondHop.proposal().newReplicas());
+    assertEquals(0, planner.stagedInterBrokerReplicaMovements().size());
+    partitionMovementTasks = planner.getInterBrokerReplicaMovementTasks(new HashMap<>(readyBrokers), Collections.emptySet(),
+                                                                        _defaultPartitionsMaxCap);
+    assertEquals(List.of(secondHop), partitionMovementTasks);
+
+    // The held hops of a failed movement are dropped.
+    planner.clear();
+    planner.addExecutionProposals(proposals, strategyOptions, new StageLargeReplicaMovementStrategy());
+    partitionMovementTasks = planner.getInterBrokerReplicaMovementTasks(new HashMap<>(readyBrokers), Collections.emptySet(),
+                                                                        _defaultPartitionsMaxCap);
+    assertEquals(2, partitionMovementTasks.size());
+    for (ExecutionTask task : partitionMovementTasks) {
+      assertEquals(task.proposal().topicPartition().equals(_rf4PartitionMovement1.topicPartition()) ? 1 : 0,
+                   planner.cancelStagedInterBrokerReplicaMovements(task).size());
+    }
+    assertEquals(0, planner.stagedInterBrokerReplicaMovements().size());
+    assertEquals(0, planner.getInterBrokerReplicaMovementTasks(new HashMap<>(readyBrokers), Collections.emptySet(),
+                                                               _defaultPartitionsMaxCap).size());
+  }
+
+  @Test
+  public void testStagedInterBrokerPartitionMovementTasksRemoveCurrentLeaderLast() {
+    ExecutionTaskPlanner planner =
+        new ExecutionTaskPlanner(null, new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    // The current leader (broker 5) is not the first replica of the partition.
+    Node[] replicas = generateExpectedReplicas(_rf4PartitionMovement1);
+    PartitionInfo partition = new PartitionInfo(TOPIC3, 1, replicas[2], replicas, replicas);
+    Cluster expectedCluster = new Cluster(null, _rf4ExpectedNodes, Collections.singleton(partition), Collections.emptySet(),
+                                          Collections.emptySet());
+    StrategyOptions strategyOptions = new StrategyOptions.Builder(expectedCluster).minStagedPartitionSizeInMB(20).build();
+
+    Map<Integer, Integer> readyBrokers = new HashMap<>();
+    for (Node node : _rf4ExpectedNodes) {
+      readyBrokers.put(node.id(), 8);
+    }
+    planner.addExecutionProposals(List.of(_rf4PartitionMovement1), strategyOptions, new StageLargeReplicaMovementStrategy());
+    List<ExecutionTask> partitionMovementTasks = planner.getInterBrokerReplicaMovementTasks(new HashMap<>(readyBrokers),
+                                                                                            Collections.emptySet(),
+                                                                                            _defaultPartitionsMaxCap);
+    assertEquals(1, partitionMovementTasks.size());
+    // The first hop removes the follower rather than the current leader, which keeps the leadership.
+    ExecutionTask firstHop = partitionMovementTasks.get(0);
+    assertEquals(_r5, firstHop.proposal().oldLeader());
+    assertEquals(List.of(_r3, _r5, _r4, _r2), firstHop.proposal().newReplicas());
+
+    ExecutionTask secondHop = planner.releaseStagedInterBrokerReplicaMovement(firstHop);
+    assertEquals(_r5, secondHop.proposal().oldLeader());
+    assertEquals(List.of(_r3, _r5, _r4, _r2), secondHop.proposal().oldReplicas());
+    assertEquals(_rf4PartitionMovement1.newReplicas(), secondHop.proposal().newReplicas());
+  }
+
   @Test
   public void testGetIntraBrokerPartitionMovementTasks() {
     ReplicaPlacementInfo r0d0 = new ReplicaPlacementInfo(0, "d0");
@@ -468,9 +570,29 @@ public class ExecutionTaskPlannerTest {
     planner.addExecutionProposals(proposals, strategyOptions, null);
     assertEquals(1, planner.remainingLeadershipMovements().size());
     assertEquals(2, planner.remainingIntraBrokerReplicaMovements().size());
+
+    // Tasks of a partition to skip are not returned.
+    Map<Integer, Integer> readyBrokers = new HashMap<>();
+    readyBrokers.put(0, 1);
+    readyBrokers.put(1, 1);
+    assertEquals(0, planner.getIntraBrokerReplicaMovementTasks(readyBrokers, Collections.singleton(new TopicPartition(TOPIC2, 0))).size());
+    assertEquals(2, planner.remainingIntraBrokerReplicaMovements().size());
+    readyBrokers.remove(1);
+    List<ExecutionTask> intraBrokerReplicaMovementTasks = planner.getIntraBrokerReplicaMovementTasks(readyBrokers);
+    assertEquals(1, intraBrokerReplicaMovementTasks.size());
+    assertEquals(0, intraBrokerReplicaMovementTasks.get(0).brokerId());
+    assertEquals(1, planner.remainingIntraBrokerReplicaMovements().size());
     planner.clear();
     assertEquals(0, planner.remainingLeadershipMovements().size());
     assertEquals(0, planner.remainingIntraBrokerReplicaMovements().size());
+
+    // Executing intra-broker replica movements concurrently does not keep the inter-broker replica swaps that come with them.
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(ExecutorConfig.CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_CONFIG, "true");
+    planner = new ExecutionTaskPlanner(mockAdminClient, new KafkaCruiseControlConfig(props));
+    planner.addExecutionProposals(proposals, strategyOptions, null);
+    assertEquals(0, planner.remainingInterBrokerReplicaMovements().size());
+    assertEquals(2, planner.remainingIntraBrokerReplicaMovements().size());
     EasyMock.verify(mockAdminClient);
   }
 
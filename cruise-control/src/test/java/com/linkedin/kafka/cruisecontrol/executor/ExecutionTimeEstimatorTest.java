@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION;
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTimeEstimator.MOVEMENT_RATE_SMOOTHING_FACTOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link ExecutionTimeEstimator}.
+ */
+public class ExecutionTimeEstimatorTest {
+  private static final int NUM_BROKERS = 3;
+  private static final double DEFAULT_MOVEMENT_RATE = 10.0;
+  private static final long PARTITION_SIZE_IN_MB = 100L;
+  // The time to move a partition at the default movement rate.
+  private static final long MOVEMENT_TIME_MS = 10000L;
+  private static final double DELTA = 1E-6;
+
+  private static KafkaCruiseControlConfig config(String stateFile) {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(ExecutorConfig.EXECUTION_TIME_ESTIMATOR_DEFAULT_REPLICA_MOVEMENT_RATE_CONFIG, Double.toString(DEFAULT_MOVEMENT_RATE));
+    props.setProperty(ExecutorConfig.EXECUTION_TIME_ESTIMATOR_STATE_FILE_CONFIG, stateFile);
+    return new KafkaCruiseControlConfig(props);
+  }
+
+  private static ExecutionProposal proposal(TopicPartition tp, long sizeInMB, int sourceBroker, int destinationBroker) {
+    ReplicaPlacementInfo source = new ReplicaPlacementInfo(sourceBroker);
+    return new ExecutionProposal(tp, sizeInMB, source, Collections.singletonList(source),
+                                 Collections.singletonList(new ReplicaPlacementInfo(destinationBroker)));
+  }
+
+  private static ExecutionTask task(long executionId, ExecutionProposal proposal) {
+    return new ExecutionTask(executionId, proposal, INTER_BROKER_REPLICA_ACTION, Long.MAX_VALUE);
+  }
+
+  private static ExecutionTask completedTask(long executionId, ExecutionProposal proposal, long durationMs) {
+    ExecutionTask task = task(executionId, proposal);
+    task.inProgress(0L);
+    task.completed(durationMs);
+    return task;
+  }
+
+  private static ExecutionTaskPlanner planner(List<ExecutionProposal> proposals) {
+    ExecutionTaskPlanner planner = new ExecutionTaskPlanner(null, config(""));
+    List<Node> nodes = new ArrayList<>();
+    for (int brokerId = 0; brokerId < NUM_BROKERS; brokerId++) {
+      nodes.add(new Node(brokerId, "host" + brokerId, 9092));
+    }
+    Set<PartitionInfo> partitions = new HashSet<>();
+    for (ExecutionProposal proposal : proposals) {
+      Node[] replicas = proposal.oldReplicas().stream().map(r -> nodes.get(r.brokerId())).toArray(Node[]::new);
+      partitions.add(new PartitionInfo(proposal.topic(), proposal.partitionId(), replicas[0], replicas, replicas));
+    }
+    Cluster cluster = new Cluster(null, nodes, partitions, Collections.emptySet(), Collections.emptySet());
+    planner.addExecutionProposals(proposals, new StrategyOptions.Builder(cluster).build(), null);
+    return planner;
+  }
+
+  @Test
+  public void testLearnAndPersistMovementRates() throws IOException {
+    File stateFile = File.createTempFile("execution-time-estimator", ".properties");
+    assertTrue(stateFile.delete());
+    try {
+      ExecutionTimeEstimator estimator = new ExecutionTimeEstimator(config(stateFile.getAbsolutePath()));
+      assertTrue(estimator.movementRateByBrokerId().isEmpty());
+
+      // Broker 0 moves 100 MB in 10 seconds to broker 1, and 200 MB in 10 seconds to broker 2.
+      ExecutionTask inProgressTask = task(2L, proposal(new TopicPartition("topic", 2), PARTITION_SIZE_IN_MB, 1, 2));
+      inProgressTask.inProgress(0L);
+      estimator.recordFinishedTasks(Arrays.asList(completedTask(0L, proposal(new TopicPartition("topic", 0), PARTITION_SIZE_IN_MB, 0, 1),
+                                                                MOVEMENT_TIME_MS),
+                                                  completedTask(1L, proposal(new TopicPartition("topic", 1), 2 * PARTITION_SIZE_IN_MB, 0, 2),
+                                                                MOVEMENT_TIME_MS),
+                                                  inProgressTask));
+      Map<Integer, Double> movementRateByBrokerId = estimator.movementRateByBrokerId();
+      assertEquals(NUM_BROKERS, movementRateByBrokerId.size());
+      assertEquals(10.0 + MOVEMENT_RATE_SMOOTHING_FACTOR * (20.0 - 10.0), movementRateByBrokerId.get(0), DELTA);
+      assertEquals(10.0, movementRateByBrokerId.get(1), DELTA);
+      assertEquals(20.0, movementRateByBrokerId.get(2), DELTA);
+
+      // The learned movement rates survive restarts.
+      estimator.persist();
+      assertTrue(stateFile.isFile());
+      ExecutionTimeEstimator restoredEstimator = new ExecutionTimeEstimator(config(stateFile.getAbsolutePath()));
+      assertEquals(movementRateByBrokerId, restoredEstimator.movementRateByBrokerId());
+    } finally {
+      Files.deleteIfExists(stateFile.toPath());
+    }
+  }
+
+  @Test
+  public void testEstimateInterBrokerReplicaMovementTime() {
+    // Broker 0 moves four partitions to broker 1 at the default movement rate, two at a time.
+    List<ExecutionProposal> proposals = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      proposals.add(proposal(new TopicPartition("topic", i), PARTITION_SIZE_IN_MB, 0, 1));
+    }
+    ExecutionTimeEstimator estimator = new ExecutionTimeEstimator(config(""));
+    ExecutionTaskPlanner planner = planner(proposals);
+    assertEquals(2 * MOVEMENT_TIME_MS, estimator.estimateInterBrokerReplicaMovementTimeMs(planner, 2, Integer.MAX_VALUE));
+    assertTrue(planner.remainingInterBrokerReplicaMovements().isEmpty());
+
+    // The cluster concurrency bounds the movements as well.
+    assertEquals(4 * MOVEMENT_TIME_MS, estimator.estimateInterBrokerReplicaMovementTimeMs(planner(proposals), 2, 1));
+
+    // Once broker 1 is learned to be twice as slow, the movements to broker 1 take twice as long.
+    estimator.recordFinishedTasks(Collections.singletonList(
+        completedTask(0L, proposal(new TopicPartition("other", 0), PARTITION_SIZE_IN_MB, 2, 1), 2 * MOVEMENT_TIME_MS)));
+    assertEquals(4 * MOVEMENT_TIME_MS, estimator.estimateInterBrokerReplicaMovementTimeMs(planner(proposals), 2, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testEstimateRemainingInterBrokerReplicaMovementTime() {
+    ExecutionTimeEstimator estimator = new ExecutionTimeEstimator(config(""));
+    List<ExecutionTask> pendingTasks = Arrays.asList(task(0L, proposal(new TopicPartition("topic", 0), PARTITION_SIZE_IN_MB, 0, 1)),
+                                                     task(1L, proposal(new TopicPartition("topic", 1), PARTITION_SIZE_IN_MB, 0, 1)));
+    ExecutionTask inProgressTask = task(2L, proposal(new TopicPartition("topic", 2), PARTITION_SIZE_IN_MB, 0, 2));
+    long startTimeMs = 1000L;
+    long elapsedTimeMs = 4000L;
+    inProgressTask.inProgress(startTimeMs);
+    List<ExecutionTask> inProgressTasks = Collections.singletonList(inProgressTask);
+
+    // Broker 0 takes part in all movements, one at a time.
+    assertEquals(3 * MOVEMENT_TIME_MS - elapsedTimeMs,
+                 estimator.estimateRemainingInterBrokerReplicaMovementTimeMs(pendingTasks, inProgressTasks, brokerId -> 1, 10,
+                                                                             startTimeMs + elapsedTimeMs));
+    // Broker 0 takes part in two movements at a time.
+    assertEquals((3 * MOVEMENT_TIME_MS - elapsedTimeMs) / 2,
+                 estimator.estimateRemainingInterBrokerReplicaMovementTimeMs(pendingTasks, inProgressTasks, brokerId -> 2, 10,
+                                                                             startTimeMs + elapsedTimeMs));
+    // A single movement cannot be completed faster than its own movement time.
+    assertEquals(MOVEMENT_TIME_MS,
+                 estimator.estimateRemainingInterBrokerReplicaMovementTimeMs(pendingTasks, inProgressTasks, brokerId -> 10, 10,
+                                                                             startTimeMs + elapsedTimeMs));
+    // No movement remains.
+    assertEquals(0L, estimator.estimateRemainingInterBrokerReplicaMovementTimeMs(Collections.emptyList(), Collections.emptyList(),
+                                                                                 brokerId -> 1, 10, startTimeMs));
+  }
+}
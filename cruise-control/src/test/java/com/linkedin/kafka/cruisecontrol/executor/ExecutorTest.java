@@ -5,6 +5,9 @@
 package com.linkedin.kafka.cruisecontrol.executor;
 
 import com.codahale.metrics.MetricRegistry;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregatedMetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ValuesAndExtrapolations;
 import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
 import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils;
 import com.linkedin.kafka.cruisecontrol.common.MetadataClient;
@@ -17,10 +20,14 @@ import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
 import com.linkedin.kafka.cruisecontrol.detector.AnomalyDetectorManager;
 import com.linkedin.kafka.cruisecontrol.exception.OngoingExecutionException;
+import com.linkedin.kafka.cruisecontrol.metricsreporter.utils.CCEmbeddedBroker;
 import com.linkedin.kafka.cruisecontrol.metricsreporter.utils.CCKafkaClientsIntegrationTestHarness;
+import com.linkedin.kafka.cruisecontrol.metricsreporter.utils.CCKafkaTestUtils;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.NoopSampler;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
 import com.linkedin.kafka.cruisecontrol.monitor.task.LoadMonitorTaskRunner;
 import com.linkedin.kafka.cruisecontrol.servlet.UserTaskManager;
 import java.util.ArrayList;
@@ -38,10 +45,14 @@ import java.util.HashSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import kafka.server.KafkaConfig;
 import kafka.zk.KafkaZkClient;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.AlterPartitionReassignmentsResult;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeReplicaLogDirsResult.ReplicaLogDirInfo;
 import org.apache.kafka.clients.admin.ElectLeadersResult;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
@@ -52,6 +63,8 @@ import org.apache.kafka.common.Cluster;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionReplica;
+import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.protocol.Errors;
 import org.apache.kafka.common.utils.MockTime;
 import org.apache.kafka.common.utils.SystemTime;
@@ -80,6 +93,7 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
   private static final TopicPartition TP3 = new TopicPartition(TOPIC3, PARTITION);
   private static final int BROKER_ID_0 = 0;
   private static final int BROKER_ID_1 = 1;
+  private static final int BROKER_ID_2 = 2;
   private static final Random RANDOM = new Random(0xDEADBEEF);
   private static final int MOCK_BROKER_ID_TO_DROP = 1;
   private static final long MOCK_CURRENT_TIME = 1596842708000L;
@@ -118,6 +132,74 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
     }
   }
 
+  @Test
+  public void testReplicaReassignmentWithPipelinedLeadershipMovement() throws InterruptedException, OngoingExecutionException {
+    KafkaZkClient kafkaZkClient = KafkaCruiseControlUtils.createKafkaZkClient(zookeeper().connectionString(),
+                                                                              "ExecutorTestMetricGroup",
+                                                                              "ReplicaReassignmentWithPipelinedLeadershipMovement",
+                                                                              false,
+                                                                              _zkClientConfig);
+    try {
+      List<ExecutionProposal> proposalsToExecute = new ArrayList<>();
+      List<ExecutionProposal> proposalsToCheck = new ArrayList<>();
+      populateProposals(proposalsToExecute, proposalsToCheck, 0);
+      Properties props = getExecutorProperties();
+      props.setProperty(ExecutorConfig.PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_CONFIG, "true");
+      executeAndVerifyProposals(kafkaZkClient, proposalsToExecute, proposalsToCheck, false, null, false, true,
+                                new KafkaCruiseControlConfig(props));
+    } finally {
+      KafkaCruiseControlUtils.closeKafkaZkClientWithTimeout(kafkaZkClient);
+    }
+  }
+
+  @Test
+  public void testIntraBrokerReplicaMovementWithPipelinedLeadershipAndConcurrentIntraBrokerMovements() throws Exception {
+    KafkaZkClient kafkaZkClient = KafkaCruiseControlUtils.createKafkaZkClient(zookeeper().connectionString(),
+                                                                              "ExecutorTestMetricGroup",
+                                                                              "IntraBrokerReplicaMovementWithConcurrentMovements",
+                                                                              false,
+                                                                              _zkClientConfig);
+    // A broker with two log dirs.
+    Map<Object, Object> brokerConfig = createBrokerConfig(BROKER_ID_2);
+    brokerConfig.put(KafkaConfig.LogDirsProp(), CCKafkaTestUtils.newTempDir().getAbsolutePath() + ","
+                                                + CCKafkaTestUtils.newTempDir().getAbsolutePath());
+    _brokers.put(BROKER_ID_2, new CCEmbeddedBroker(brokerConfig));
+    AdminClient adminClient = KafkaCruiseControlUtils.createAdminClient(Collections.singletonMap(
+        AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker(BROKER_ID_0).plaintextAddr()));
+    try {
+      TopicPartition intraBrokerTp = new TopicPartition("intra-broker-topic", PARTITION);
+      adminClient.createTopics(Collections.singletonList(
+          new NewTopic(intraBrokerTp.topic(), Collections.singletonMap(PARTITION, List.of(BROKER_ID_2))))).all().get();
+      try (Producer<String, String> producer = createProducer(new Properties())) {
+        producer.send(new ProducerRecord<>(intraBrokerTp.topic(), PARTITION, null, "x".repeat(10000))).get();
+      }
+      TopicPartitionReplica intraBrokerReplica = new TopicPartitionReplica(intraBrokerTp.topic(), PARTITION, BROKER_ID_2);
+      String currentLogDir = adminClient.describeReplicaLogDirs(Collections.singleton(intraBrokerReplica)).all().get()
+                                        .get(intraBrokerReplica).getCurrentReplicaLogDir();
+      String newLogDir = brokerConfig.get(KafkaConfig.LogDirsProp()).toString().split(",")[0];
+      if (newLogDir.equals(currentLogDir)) {
+        newLogDir = brokerConfig.get(KafkaConfig.LogDirsProp()).toString().split(",")[1];
+      }
+      ReplicaPlacementInfo currentReplica = new ReplicaPlacementInfo(BROKER_ID_2, currentLogDir);
+      ExecutionProposal intraBrokerProposal = new ExecutionProposal(intraBrokerTp, 0, currentReplica, List.of(currentReplica),
+                                                                    List.of(new ReplicaPlacementInfo(BROKER_ID_2, newLogDir)));
+
+      Properties props = getExecutorProperties();
+      props.setProperty(ExecutorConfig.PIPELINED_LEADERSHIP_MOVEMENT_ENABLED_CONFIG, "true");
+      props.setProperty(ExecutorConfig.CONCURRENT_INTRA_BROKER_REPLICA_MOVEMENT_ENABLED_CONFIG, "true");
+      executeAndVerifyProposals(kafkaZkClient, Collections.singletonList(intraBrokerProposal), Collections.singletonList(intraBrokerProposal),
+                                false, null, false, true, new KafkaCruiseControlConfig(props));
+
+      ReplicaLogDirInfo logDirInfo = adminClient.describeReplicaLogDirs(Collections.singleton(intraBrokerReplica)).all().get()
+                                                .get(intraBrokerReplica);
+      assertEquals(newLogDir, logDirInfo.getCurrentReplicaLogDir());
+      assertNull(logDirInfo.getFutureReplicaLogDir());
+    } finally {
+      KafkaCruiseControlUtils.closeAdminClientWithTimeout(adminClient);
+      KafkaCruiseControlUtils.closeKafkaZkClientWithTimeout(kafkaZkClient);
+    }
+  }
+
   @Test
   public void testReplicaReassignmentProgressWithThrottle() throws InterruptedException, OngoingExecutionException {
     KafkaZkClient kafkaZkClient = KafkaCruiseControlUtils.createKafkaZkClient(zookeeper().connectionString(),
@@ -136,6 +218,47 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
     }
   }
 
+  @Test
+  public void testReplicationThrottleAdjustmentDuringReplicaMovement() throws Exception {
+    KafkaZkClient kafkaZkClient = KafkaCruiseControlUtils.createKafkaZkClient(zookeeper().connectionString(),
+                                                                              "ExecutorTestMetricGroup",
+                                                                              "ReplicationThrottleAdjustmentDuringReplicaMovement",
+                                                                              false,
+                                                                              _zkClientConfig);
+    AdminClient adminClient = KafkaCruiseControlUtils.createAdminClient(Collections.singletonMap(
+        AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker(BROKER_ID_0).plaintextAddr()));
+    try {
+      List<ExecutionProposal> proposalsToExecute = new ArrayList<>();
+      List<ExecutionProposal> proposalsToCheck = new ArrayList<>();
+      populateProposals(proposalsToExecute, proposalsToCheck, 3 * PRODUCE_SIZE_IN_BYTES);
+      // A single replica movement, which the throttle keeps in progress for long.
+      ExecutionProposal proposal = proposalsToCheck.get(0);
+      long replicationThrottle = PRODUCE_SIZE_IN_BYTES / 10;
+      long adjustedThrottle = replicationThrottle + ExecutorConfig.DEFAULT_REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE;
+      int sourceBroker = proposal.oldLeader().brokerId();
+      int destinationBroker = proposal.newReplicas().get(0).brokerId();
+      Properties props = getExecutorProperties();
+      props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_ENABLED_CONFIG, "true");
+      executeAndVerifyProposals(kafkaZkClient, Collections.singletonList(proposal), Collections.singletonList(proposal), false,
+                                replicationThrottle, true, true, new KafkaCruiseControlConfig(props), executor -> {
+        // The adjusted throttle rates reach the brokers while the replica movement is in progress.
+        Map<BrokerEntity, ValuesAndExtrapolations> metricsByBroker = new HashMap<>();
+        metricsByBroker.put(new BrokerEntity("localhost", sourceBroker), brokerMetricsWithinLimits());
+        metricsByBroker.put(new BrokerEntity("localhost", destinationBroker), brokerMetricsWithinLimits());
+        executor.replicationThrottleAdjuster().adjust(metricsByBroker, Collections.emptySet());
+        waitUntilTrue(() -> Long.toString(adjustedThrottle).equals(brokerConfig(adminClient, sourceBroker,
+                                                                                ReplicationThrottleHelper.LEADER_THROTTLED_RATE))
+                            && Long.toString(adjustedThrottle).equals(brokerConfig(adminClient, destinationBroker,
+                                                                                   ReplicationThrottleHelper.FOLLOWER_THROTTLED_RATE)),
+                      "The adjusted throttle rates were not applied during the replica movement",
+                      EXECUTION_DEADLINE_MS, EXECUTION_REGULAR_CHECK_MS);
+      });
+    } finally {
+      KafkaCruiseControlUtils.closeAdminClientWithTimeout(adminClient);
+      KafkaCruiseControlUtils.closeKafkaZkClientWithTimeout(kafkaZkClient);
+    }
+  }
+
   @Test
   public void testBrokerDiesBeforeMovingPartition() throws Exception {
     KafkaZkClient kafkaZkClient = KafkaCruiseControlUtils.createKafkaZkClient(zookeeper().connectionString(),
@@ -666,6 +789,28 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
     return topicDescriptions0;
   }
 
+  // Broker metrics within the concurrency adjuster limits and with an idle request handler pool.
+  private static ValuesAndExtrapolations brokerMetricsWithinLimits() {
+    MetricValues metricValues = new MetricValues(1);
+    metricValues.add(new double[] {1.0});
+    short metricId = KafkaMetricDef.brokerMetricDef().metricInfo(KafkaMetricDef.BROKER_REQUEST_HANDLER_POOL_IDLE_PERCENT.name()).id();
+    ValuesAndExtrapolations metrics = new ValuesAndExtrapolations(new AggregatedMetricValues(Collections.singletonMap(metricId, metricValues)),
+                                                                  null);
+    metrics.setWindows(Collections.singletonList(1L));
+    return metrics;
+  }
+
+  // The value of the given dynamic config of the given broker, or null if the config is not set.
+  private static String brokerConfig(AdminClient adminClient, int brokerId, String configName) {
+    ConfigResource broker = new ConfigResource(ConfigResource.Type.BROKER, Integer.toString(brokerId));
+    try {
+      ConfigEntry entry = adminClient.describeConfigs(Collections.singleton(broker)).all().get().get(broker).get(configName);
+      return entry == null ? null : entry.value();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new IllegalStateException("Failed to describe the config of broker " + brokerId, e);
+    }
+  }
+
   private void verifyOngoingPartitionReassignments(Set<TopicPartition> partitions) {
     AdminClient adminClient = KafkaCruiseControlUtils.createAdminClient(Collections.singletonMap(
         AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker(BROKER_ID_0).plaintextAddr()));
@@ -714,7 +859,7 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
     return mockUserTaskManager;
   }
 
-  private static LoadMonitor getMockLoadMonitor() {
+  private LoadMonitor getMockLoadMonitor() {
     LoadMonitor mockLoadMonitor = EasyMock.mock(LoadMonitor.class);
     EasyMock.expect(mockLoadMonitor.taskRunnerState())
             .andReturn(LoadMonitorTaskRunner.LoadMonitorTaskRunnerState.RUNNING)
@@ -729,7 +874,7 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
     expectLastCall().anyTimes();
     mockLoadMonitor.setSamplingMode(ALL);
     expectLastCall().anyTimes();
-    EasyMock.expect(mockLoadMonitor.brokersWithReplicas(anyLong())).andReturn(Set.of(BROKER_ID_0, BROKER_ID_1)).anyTimes();
+    EasyMock.expect(mockLoadMonitor.brokersWithReplicas(anyLong())).andReturn(new HashSet<>(_brokers.keySet())).anyTimes();
     return mockLoadMonitor;
   }
 
@@ -759,7 +904,33 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
                                          boolean verifyProgress,
                                          boolean isTriggeredByUserRequest)
       throws OngoingExecutionException {
-    KafkaCruiseControlConfig configs = new KafkaCruiseControlConfig(getExecutorProperties());
+    executeAndVerifyProposals(kafkaZkClient, proposalsToExecute, proposalsToCheck, completeWithError, replicationThrottle,
+                              verifyProgress, isTriggeredByUserRequest, new KafkaCruiseControlConfig(getExecutorProperties()));
+  }
+
+  private void executeAndVerifyProposals(KafkaZkClient kafkaZkClient,
+                                         Collection<ExecutionProposal> proposalsToExecute,
+                                         Collection<ExecutionProposal> proposalsToCheck,
+                                         boolean completeWithError,
+                                         Long replicationThrottle,
+                                         boolean verifyProgress,
+                                         boolean isTriggeredByUserRequest,
+                                         KafkaCruiseControlConfig configs)
+      throws OngoingExecutionException {
+    executeAndVerifyProposals(kafkaZkClient, proposalsToExecute, proposalsToCheck, completeWithError, replicationThrottle,
+                              verifyProgress, isTriggeredByUserRequest, configs, executor -> { });
+  }
+
+  private void executeAndVerifyProposals(KafkaZkClient kafkaZkClient,
+                                         Collection<ExecutionProposal> proposalsToExecute,
+                                         Collection<ExecutionProposal> proposalsToCheck,
+                                         boolean completeWithError,
+                                         Long replicationThrottle,
+                                         boolean verifyProgress,
+                                         boolean isTriggeredByUserRequest,
+                                         KafkaCruiseControlConfig configs,
+                                         Consumer<Executor> duringExecution)
+      throws OngoingExecutionException {
     UserTaskManager.UserTaskInfo mockUserTaskInfo = getMockUserTaskInfo();
     UserTaskManager mockUserTaskManager = isTriggeredByUserRequest ? getMockUserTaskManager(RANDOM_UUID, mockUserTaskInfo,
                                                                                             Collections.singletonList(completeWithError))
@@ -801,6 +972,7 @@ public class ExecutorTest extends CCKafkaClientsIntegrationTestHarness {
       assertTrue("Concurrency adjuster is not started during execution", executor.isConcurrencyAdjusterStarted());
       assertTrue("Concurrency manager is not initialized during execution", executor.isConcurrencyManagerInitialized());
     }
+    duringExecution.accept(executor);
 
     waitUntilTrue(() -> (!executor.hasOngoingExecution() && executor.state().state() == ExecutorState.State.NO_TASK_IN_PROGRESS),
                   "Proposal execution did not finish within the time limit",
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.executor.strategy.BaseReplicaMovementStrategy;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeLargeReplicaMovementStrategy;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.PrioritizeSmallReplicaMovementStrategy;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.ReplicaMovementStrategy;
+import com.linkedin.kafka.cruisecontrol.executor.strategy.StrategyOptions;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC0;
+import static com.linkedin.kafka.cruisecontrol.executor.ExecutionTask.TaskType.INTER_BROKER_REPLICA_ACTION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test class for verifying that {@link InterBrokerReplicaMovementIndex} picks the same inter-broker replica movements
+ * in the same order as the round-robin selection that scans the movements of each broker.
+ */
+public class InterBrokerReplicaMovementIndexTest {
+  private static final int NUM_BROKERS = 8;
+  private static final int NUM_TASKS = 400;
+  private static final int MAX_BROKER_CONCURRENCY = 3;
+  private static final long EXECUTION_ALERTING_THRESHOLD_MS = 1000L;
+  private static final StrategyOptions STRATEGY_OPTIONS = new StrategyOptions.Builder(Cluster.empty()).build();
+
+  @Test
+  public void testPickTasks() {
+    // Broker 0 -> 1, 0 -> 2, 1 -> 2 and 2 -> 0, in the order of their execution ids.
+    List<ExecutionTask> tasks = List.of(task(0, 0, 0, 1), task(1, 1, 0, 2), task(2, 2, 1, 2), task(3, 3, 2, 0));
+    ReplicaMovementStrategy strategy = new BaseReplicaMovementStrategy();
+    InterBrokerReplicaMovementIndex index = new InterBrokerReplicaMovementIndex(strategy.applyStrategy(new HashSet<>(tasks),
+                                                                                                       STRATEGY_OPTIONS),
+                                                                                strategy.taskComparator(STRATEGY_OPTIONS));
+    index.hold(tasks.get(0));
+
+    // Broker 0 skips its held task, then brokers 1 and 2 have no movement with an available peer.
+    Map<Integer, Integer> readyBrokers = readyBrokers(1, 1, 1);
+    assertEquals(List.of(tasks.get(1)), index.pickTasks(readyBrokers, Collections.emptySet(), Integer.MAX_VALUE));
+    assertEquals(Map.of(0, 0, 1, 1, 2, 0), readyBrokers);
+
+    // Broker 0 has no free movement slot.
+    index.release(tasks.get(0));
+    assertEquals(List.of(tasks.get(2)), index.pickTasks(readyBrokers(0, 1, 1), Collections.emptySet(), Integer.MAX_VALUE));
+
+    // The partition of one of the movements is already being moved, and the cluster-wide cap allows a single movement.
+    Set<TopicPartition> inProgressPartitions = Set.of(tasks.get(0).proposal().topicPartition());
+    assertEquals(Collections.emptyList(), index.pickTasks(readyBrokers(1, 1, 1), inProgressPartitions, 1));
+    assertEquals(List.of(tasks.get(3)), index.pickTasks(readyBrokers(1, 1, 1), inProgressPartitions, 2));
+    assertEquals(1, index.numTasks());
+    assertEquals(List.of(tasks.get(0)), index.pickTasks(readyBrokers(1, 1, 1), Collections.emptySet(), 1));
+    assertEquals(0, index.numTasks());
+  }
+
+  @Test
+  public void testPickTasksMatchesRoundRobin() {
+    for (ReplicaMovementStrategy strategy : List.of(new BaseReplicaMovementStrategy(),
+                                                    new PrioritizeLargeReplicaMovementStrategy().chain(new BaseReplicaMovementStrategy()),
+                                                    new PrioritizeSmallReplicaMovementStrategy().chain(new BaseReplicaMovementStrategy()))) {
+      for (long seed = 0; seed < 5; seed++) {
+        verifyPickTasksMatchesRoundRobin(strategy, new Random(seed));
+      }
+    }
+  }
+
+  // Pick batches of movements from the index and from the round-robin selection, with random per-broker concurrency limits,
+  // partitions being moved, cluster-wide caps and held movements, until all movements are picked.
+  private static void verifyPickTasksMatchesRoundRobin(ReplicaMovementStrategy strategy, Random random) {
+    Set<ExecutionTask> tasks = new HashSet<>();
+    for (int i = 0; i < NUM_TASKS; i++) {
+      tasks.add(randomTask(i, random));
+    }
+    Comparator<ExecutionTask> taskComparator = strategy.taskComparator(STRATEGY_OPTIONS);
+    InterBrokerReplicaMovementIndex index = new InterBrokerReplicaMovementIndex(strategy.applyStrategy(tasks, STRATEGY_OPTIONS),
+                                                                                taskComparator);
+    RoundRobinSelection roundRobin = new RoundRobinSelection(strategy.applyStrategy(tasks, STRATEGY_OPTIONS), taskComparator);
+    List<ExecutionTask> remainingTasks = new ArrayList<>(tasks);
+    for (ExecutionTask task : remainingTasks) {
+      if (random.nextInt(5) == 0) {
+        index.hold(task);
+        roundRobin._heldTasks.add(task);
+      }
+    }
+
+    int numBatches = 0;
+    while (!remainingTasks.isEmpty()) {
+      assertTrue("Failed to pick all movements", numBatches++ < 10 * NUM_TASKS);
+      Map<Integer, Integer> readyBrokers = new HashMap<>();
+      for (int brokerId = 0; brokerId < NUM_BROKERS; brokerId++) {
+        readyBrokers.put(brokerId, random.nextInt(MAX_BROKER_CONCURRENCY + 1));
+      }
+      Set<TopicPartition> inProgressPartitions = new HashSet<>();
+      for (int i = random.nextInt(3); i > 0; i--) {
+        inProgressPartitions.add(remainingTasks.get(random.nextInt(remainingTasks.size())).proposal().topicPartition());
+      }
+      int maxInterBrokerPartitionMovements = inProgressPartitions.size() + random.nextInt(2 * NUM_BROKERS);
+
+      Map<Integer, Integer> expectedReadyBrokers = new HashMap<>(readyBrokers);
+      List<ExecutionTask> expectedTasks = roundRobin.pickTasks(expectedReadyBrokers, inProgressPartitions, maxInterBrokerPartitionMovements);
+      assertEquals(expectedTasks, index.pickTasks(readyBrokers, inProgressPartitions, maxInterBrokerPartitionMovements));
+      assertEquals(expectedReadyBrokers, readyBrokers);
+      remainingTasks.removeAll(expectedTasks);
+
+      // Release some of the held movements, and drop a movement, e.g. once its partition is moved by another execution.
+      for (ExecutionTask heldTask : new ArrayList<>(roundRobin._heldTasks)) {
+        if (random.nextInt(3) == 0) {
+          index.release(heldTask);
+          roundRobin._heldTasks.remove(heldTask);
+        }
+      }
+      if (!remainingTasks.isEmpty() && random.nextInt(4) == 0) {
+        ExecutionTask droppedTask = remainingTasks.remove(random.nextInt(remainingTasks.size()));
+        index.remove(droppedTask);
+        roundRobin.remove(droppedTask);
+        roundRobin._heldTasks.remove(droppedTask);
+      }
+      assertEquals(remainingTasks.size(), index.numTasks());
+    }
+  }
+
+  // A task that moves a replica from a random broker to one or two other random brokers.
+  private static ExecutionTask randomTask(int partition, Random random) {
+    List<Integer> brokers = new ArrayList<>();
+    for (int brokerId = 0; brokerId < NUM_BROKERS; brokerId++) {
+      brokers.add(brokerId);
+    }
+    Collections.shuffle(brokers, random);
+    int numReplicasToAdd = 1 + random.nextInt(2);
+    List<ReplicaPlacementInfo> oldReplicas = List.of(new ReplicaPlacementInfo(brokers.get(0)));
+    List<ReplicaPlacementInfo> newReplicas = brokers.subList(1, 1 + numReplicasToAdd).stream().map(ReplicaPlacementInfo::new)
+                                                    .collect(Collectors.toList());
+    // Sizes repeat, so that the strategies comparing the sizes of the movements also break ties by execution id.
+    ExecutionProposal proposal = new ExecutionProposal(new TopicPartition(TOPIC0, partition), random.nextInt(10), oldReplicas.get(0),
+                                                       oldReplicas, newReplicas);
+    return new ExecutionTask(partition, proposal, INTER_BROKER_REPLICA_ACTION, EXECUTION_ALERTING_THRESHOLD_MS);
+  }
+
+  private static ExecutionTask task(long executionId, int partition, int sourceBroker, int destinationBroker) {
+    ReplicaPlacementInfo source = new ReplicaPlacementInfo(sourceBroker);
+    ExecutionProposal proposal = new ExecutionProposal(new TopicPartition(TOPIC0, partition), 0, source, List.of(source),
+                                                       List.of(new ReplicaPlacementInfo(destinationBroker)));
+    return new ExecutionTask(executionId, proposal, INTER_BROKER_REPLICA_ACTION, EXECUTION_ALERTING_THRESHOLD_MS);
+  }
+
+  private static Map<Integer, Integer> readyBrokers(int... slots) {
+    Map<Integer, Integer> readyBrokers = new HashMap<>();
+    for (int brokerId = 0; brokerId < slots.length; brokerId++) {
+      readyBrokers.put(brokerId, slots[brokerId]);
+    }
+    return readyBrokers;
+  }
+
+  /**
+   * The round-robin selection of inter-broker replica movements that scans the movements of each broker from the start,
+   * skipping the held movements.
+   */
+  private static final class RoundRobinSelection {
+    private final Map<Integer, SortedSet<ExecutionTask>> _tasksByBrokerId;
+    private final Comparator<Integer> _brokerComparator;
+    private final Set<ExecutionTask> _heldTasks;
+
+    private RoundRobinSelection(Map<Integer, SortedSet<ExecutionTask>> tasksByBrokerId, Comparator<ExecutionTask> taskComparator) {
+      _tasksByBrokerId = tasksByBrokerId;
+      _brokerComparator = (broker1, broker2) -> {
+        SortedSet<ExecutionTask> taskSet1 = _tasksByBrokerId.get(broker1);
+        SortedSet<ExecutionTask> taskSet2 = _tasksByBrokerId.get(broker2);
+        if (taskSet1.isEmpty()) {
+          return taskSet2.isEmpty() ? 0 : 1;
+        }
+        if (taskSet2.isEmpty()) {
+          return -1;
+        }
+        int compareFirstTasks = taskComparator.compare(taskSet1.first(), taskSet2.first());
+        return compareFirstTasks != 0 ? compareFirstTasks
+                                      : taskSet1.size() != taskSet2.size() ? taskSet2.size() - taskSet1.size() : broker1 - broker2;
+      };
+      _heldTasks = new HashSet<>();
+    }
+
+    private List<ExecutionTask> pickTasks(Map<Integer, Integer> readyBrokers,
+                                          Set<TopicPartition> inProgressPartitions,
+                                          int maxInterBrokerPartitionMovements) {
+      List<ExecutionTask> executableReplicaMovements = new ArrayList<>();
+      SortedSet<Integer> brokerIds = new TreeSet<>(_brokerComparator);
+      brokerIds.addAll(_tasksByBrokerId.keySet());
+      Set<Integer> brokerInvolved = new HashSet<>();
+      Set<TopicPartition> partitionsInvolved = new HashSet<>();
+      int numInProgressPartitions = inProgressPartitions.size();
+      boolean maxPartitionMovesReached = false;
+      boolean newTaskAdded = true;
+      while (newTaskAdded && !maxPartitionMovesReached) {
+        newTaskAdded = false;
+        brokerInvolved.clear();
+        for (int brokerId : new ArrayList<>(brokerIds)) {
+          if (maxPartitionMovesReached) {
+            break;
+          }
+          if (brokerInvolved.contains(brokerId)) {
+            continue;
+          }
+          for (ExecutionTask task : _tasksByBrokerId.get(brokerId)) {
+            if (numInProgressPartitions >= maxInterBrokerPartitionMovements) {
+              maxPartitionMovesReached = true;
+              break;
+            }
+            Set<Integer> brokers = brokers(task);
+            if (_heldTasks.contains(task) || brokers.stream().anyMatch(brokerInvolved::contains)) {
+              continue;
+            }
+            TopicPartition tp = task.proposal().topicPartition();
+            if (brokers.stream().allMatch(b -> readyBrokers.get(b) > 0)
+                && !inProgressPartitions.contains(tp)
+                && !partitionsInvolved.contains(tp)) {
+              partitionsInvolved.add(tp);
+              executableReplicaMovements.add(task);
+              brokerInvolved.addAll(brokers);
+              brokerIds.removeAll(brokers);
+              remove(task);
+              brokerIds.addAll(brokers);
+              brokers.forEach(b -> readyBrokers.put(b, readyBrokers.get(b) - 1));
+              newTaskAdded = true;
+              numInProgressPartitions++;
+              break;
+            }
+          }
+        }
+      }
+      return executableReplicaMovements;
+    }
+
+    private void remove(ExecutionTask task) {
+      brokers(task).forEach(b -> _tasksByBrokerId.get(b).remove(task));
+    }
+
+    private static Set<Integer> brokers(ExecutionTask task) {
+      Set<Integer> brokers = task.proposal().replicasToAdd().stream().map(ReplicaPlacementInfo::brokerId).collect(Collectors.toSet());
+      brokers.add(task.proposal().oldLeader().brokerId());
+      return brokers;
+    }
+  }
+}
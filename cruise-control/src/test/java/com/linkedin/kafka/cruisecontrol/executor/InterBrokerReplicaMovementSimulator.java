@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * Simulates the execution of the inter-broker replica movements that an {@link ExecutionTaskPlanner} picks, to compare
+ * the total execution time of the ways to pick the movements.
+ * <p>
+ * Each replica to add is copied from the source broker (i.e. the old leader) to its destination broker. The copies out
+ * of (into) a broker evenly share the outbound (inbound) capacity of the broker, and each copy proceeds at the lower of
+ * its shares at the source and destination brokers. Each broker can take part in up to the given number of movements
+ * at a time. Once a movement completes, the planner is asked for new movements to execute.
+ */
+final class InterBrokerReplicaMovementSimulator {
+  private static final double EPSILON = 1E-9;
+  private final Map<Integer, Double> _inboundCapacityByBrokerId;
+  private final Map<Integer, Double> _outboundCapacityByBrokerId;
+  private final int _brokerConcurrency;
+  private final int _maxInterBrokerPartitionMovements;
+
+  /**
+   * @param inboundCapacityByBrokerId Inbound replication capacity in MB per second by broker id of all brokers.
+   * @param outboundCapacityByBrokerId Outbound replication capacity in MB per second by broker id of all brokers.
+   * @param brokerConcurrency The maximum number of movements that each broker can take part in at a time.
+   * @param maxInterBrokerPartitionMovements The maximum number of movements in the cluster at a time.
+   */
+  InterBrokerReplicaMovementSimulator(Map<Integer, Double> inboundCapacityByBrokerId,
+                                      Map<Integer, Double> outboundCapacityByBrokerId,
+                                      int brokerConcurrency,
+                                      int maxInterBrokerPartitionMovements) {
+    _inboundCapacityByBrokerId = inboundCapacityByBrokerId;
+    _outboundCapacityByBrokerId = outboundCapacityByBrokerId;
+    _brokerConcurrency = brokerConcurrency;
+    _maxInterBrokerPartitionMovements = maxInterBrokerPartitionMovements;
+  }
+
+  /**
+   * Execute the remaining inter-broker replica movements of the given planner.
+   *
+   * @param planner The planner with the inter-broker replica movements to execute.
+   * @return The total execution time in seconds.
+   */
+  double simulate(ExecutionTaskPlanner planner) {
+    Map<ExecutionTask, Double> remainingMBByTask = new HashMap<>();
+    Set<TopicPartition> inProgressPartitions = new HashSet<>();
+    double timeSec = 0.0;
+    while (true) {
+      List<ExecutionTask> tasks = planner.getInterBrokerReplicaMovementTasks(readyBrokers(remainingMBByTask.keySet()),
+                                                                             new HashSet<>(inProgressPartitions),
+                                                                             _maxInterBrokerPartitionMovements);
+      for (ExecutionTask task : tasks) {
+        remainingMBByTask.put(task, (double) task.proposal().partitionSize());
+        inProgressPartitions.add(task.proposal().topicPartition());
+      }
+      if (remainingMBByTask.isEmpty()) {
+        if (!planner.remainingInterBrokerReplicaMovements().isEmpty()) {
+          throw new IllegalStateException("No movement is picked while movements remain to execute.");
+        }
+        return timeSec;
+      }
+
+      // Advance to the next completion of a movement.
+      Map<ExecutionTask, Double> rateByTask = rates(remainingMBByTask.keySet());
+      double stepSec = Double.MAX_VALUE;
+      for (Map.Entry<ExecutionTask, Double> entry : remainingMBByTask.entrySet()) {
+        double rate = rateByTask.get(entry.getKey());
+        stepSec = Math.min(stepSec, rate == Double.MAX_VALUE ? 0.0 : entry.getValue() / rate);
+      }
+      timeSec += stepSec;
+      for (Iterator<Map.Entry<ExecutionTask, Double>> iterator = remainingMBByTask.entrySet().iterator(); iterator.hasNext();) {
+        Map.Entry<ExecutionTask, Double> entry = iterator.next();
+        double rate = rateByTask.get(entry.getKey());
+        double remainingMB = rate == Double.MAX_VALUE ? 0.0 : entry.getValue() - rate * stepSec;
+        if (remainingMB <= EPSILON) {
+          iterator.remove();
+          inProgressPartitions.remove(entry.getKey().proposal().topicPartition());
+        } else {
+          entry.setValue(remainingMB);
+        }
+      }
+    }
+  }
+
+  private Map<Integer, Integer> readyBrokers(Set<ExecutionTask> inProgressTasks) {
+    Map<Integer, Integer> readyBrokers = new HashMap<>();
+    _inboundCapacityByBrokerId.keySet().forEach(brokerId -> readyBrokers.put(brokerId, _brokerConcurrency));
+    for (ExecutionTask task : inProgressTasks) {
+      readyBrokers.merge(task.proposal().oldLeader().brokerId(), -1, Integer::sum);
+      task.proposal().replicasToAdd().forEach(r -> readyBrokers.merge(r.brokerId(), -1, Integer::sum));
+    }
+    return readyBrokers;
+  }
+
+  // The rate in MB per second of each copy of the given in-progress movements.
+  private Map<ExecutionTask, Double> rates(Set<ExecutionTask> inProgressTasks) {
+    Map<Integer, Integer> numOutboundCopiesByBrokerId = new HashMap<>();
+    Map<Integer, Integer> numInboundCopiesByBrokerId = new HashMap<>();
+    for (ExecutionTask task : inProgressTasks) {
+      ExecutionProposal proposal = task.proposal();
+      numOutboundCopiesByBrokerId.merge(proposal.oldLeader().brokerId(), proposal.replicasToAdd().size(), Integer::sum);
+      proposal.replicasToAdd().forEach(r -> numInboundCopiesByBrokerId.merge(r.brokerId(), 1, Integer::sum));
+    }
+    Map<ExecutionTask, Double> rateByTask = new HashMap<>();
+    for (ExecutionTask task : inProgressTasks) {
+      ExecutionProposal proposal = task.proposal();
+      int sourceBroker = proposal.oldLeader().brokerId();
+      double rate = Double.MAX_VALUE;
+      for (ReplicaPlacementInfo destinationBroker : proposal.replicasToAdd()) {
+        rate = Math.min(rate, _outboundCapacityByBrokerId.get(sourceBroker) / numOutboundCopiesByBrokerId.get(sourceBroker));
+        rate = Math.min(rate, _inboundCapacityByBrokerId.get(destinationBroker.brokerId())
+                              / numInboundCopiesByBrokerId.get(destinationBroker.brokerId()));
+      }
+      rateByTask.put(task, rate);
+    }
+    return rateByTask;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.executor;
+
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregatedMetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ValuesAndExtrapolations;
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef.BROKER_PRODUCE_LOCAL_TIME_MS_999TH;
+import static com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef.BROKER_REQUEST_HANDLER_POOL_IDLE_PERCENT;
+import static com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef.BROKER_REQUEST_QUEUE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link ReplicationThrottleAdjuster}.
+ */
+public class ReplicationThrottleAdjusterTest {
+  private static final long INITIAL_RATE = 100L;
+  private static final long ADDITIVE_INCREASE = 30L;
+  private static final int MULTIPLICATIVE_DECREASE = 4;
+  private static final long MIN_RATE = 10L;
+  private static final long MAX_RATE = 150L;
+  private static final double MIN_REQUEST_HANDLER_IDLE_RATIO = 0.3;
+  private static final double REQUEST_QUEUE_SIZE_LIMIT = 100.0;
+
+  /**
+   * Setup the test.
+   */
+  @BeforeClass
+  public static void setup() {
+    ExecutionUtils.init(config(true));
+  }
+
+  private static KafkaCruiseControlConfig config(boolean enabled) {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_ENABLED_CONFIG, Boolean.toString(enabled));
+    props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_ADDITIVE_INCREASE_CONFIG, Long.toString(ADDITIVE_INCREASE));
+    props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MULTIPLICATIVE_DECREASE_CONFIG, Integer.toString(MULTIPLICATIVE_DECREASE));
+    props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MIN_RATE_CONFIG, Long.toString(MIN_RATE));
+    props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MAX_RATE_CONFIG, Long.toString(MAX_RATE));
+    props.setProperty(ExecutorConfig.REPLICATION_THROTTLE_ADJUSTER_MIN_REQUEST_HANDLER_IDLE_RATIO_CONFIG,
+                      Double.toString(MIN_REQUEST_HANDLER_IDLE_RATIO));
+    props.setProperty(ExecutorConfig.CONCURRENCY_ADJUSTER_LIMIT_REQUEST_QUEUE_SIZE_CONFIG, Double.toString(REQUEST_QUEUE_SIZE_LIMIT));
+    return new KafkaCruiseControlConfig(props);
+  }
+
+  private static ValuesAndExtrapolations metrics(double requestQueueSize, double requestHandlerIdleRatio) {
+    Map<Short, MetricValues> valuesByMetricId = new HashMap<>();
+    Map<KafkaMetricDef, Double> valueByMetric = new HashMap<>();
+    valueByMetric.put(BROKER_REQUEST_QUEUE_SIZE, requestQueueSize);
+    valueByMetric.put(BROKER_PRODUCE_LOCAL_TIME_MS_999TH, 1.0);
+    valueByMetric.put(BROKER_REQUEST_HANDLER_POOL_IDLE_PERCENT, requestHandlerIdleRatio);
+    for (Map.Entry<KafkaMetricDef, Double> entry : valueByMetric.entrySet()) {
+      MetricValues metricValues = new MetricValues(1);
+      metricValues.add(new double[] {entry.getValue()});
+      valuesByMetricId.put(KafkaMetricDef.brokerMetricDef().metricInfo(entry.getKey().name()).id(), metricValues);
+    }
+    ValuesAndExtrapolations valuesAndExtrapolations = new ValuesAndExtrapolations(new AggregatedMetricValues(valuesByMetricId), null);
+    valuesAndExtrapolations.setWindows(Collections.singletonList(1L));
+    return valuesAndExtrapolations;
+  }
+
+  private static Map<BrokerEntity, ValuesAndExtrapolations> metricsByBroker(ValuesAndExtrapolations... metricsOfBrokers) {
+    Map<BrokerEntity, ValuesAndExtrapolations> metricsByBroker = new HashMap<>();
+    for (int brokerId = 0; brokerId < metricsOfBrokers.length; brokerId++) {
+      metricsByBroker.put(new BrokerEntity("host" + brokerId, brokerId), metricsOfBrokers[brokerId]);
+    }
+    return metricsByBroker;
+  }
+
+  @Test
+  public void testAdjustBasedOnMetrics() {
+    ReplicationThrottleAdjuster adjuster = new ReplicationThrottleAdjuster(config(true));
+    adjuster.initAdjustment(INITIAL_RATE);
+    assertTrue(adjuster.isStarted());
+    assertTrue(adjuster.throttleRateByBrokerId().isEmpty());
+
+    // Broker 0: within limits, broker 1: request queue over limit, broker 2: request handlers too busy, broker 3: no metrics.
+    Map<BrokerEntity, ValuesAndExtrapolations> metricsByBroker = metricsByBroker(metrics(1.0, 0.9),
+                                                                                 metrics(REQUEST_QUEUE_SIZE_LIMIT + 1, 0.9),
+                                                                                 metrics(1.0, MIN_REQUEST_HANDLER_IDLE_RATIO / 2),
+                                                                                 null);
+    adjuster.adjust(metricsByBroker, Collections.emptySet());
+    assertEquals(INITIAL_RATE + ADDITIVE_INCREASE, (long) adjuster.throttleRate(0));
+    assertEquals(INITIAL_RATE / MULTIPLICATIVE_DECREASE, (long) adjuster.throttleRate(1));
+    assertEquals(INITIAL_RATE / MULTIPLICATIVE_DECREASE, (long) adjuster.throttleRate(2));
+    assertEquals(INITIAL_RATE / MULTIPLICATIVE_DECREASE, (long) adjuster.throttleRate(3));
+    // Brokers missing from the given metrics keep the initial rate.
+    assertEquals(INITIAL_RATE, (long) adjuster.throttleRate(4));
+    assertEquals(4, adjuster.throttleRateByBrokerId().size());
+
+    // The rates are bounded by the min and max rates.
+    adjuster.adjust(metricsByBroker, Collections.emptySet());
+    assertEquals(MAX_RATE, (long) adjuster.throttleRate(0));
+    assertEquals(MIN_RATE, (long) adjuster.throttleRate(1));
+    adjuster.adjust(metricsByBroker, Collections.emptySet());
+    assertEquals(MAX_RATE, (long) adjuster.throttleRate(0));
+    assertEquals(MIN_RATE, (long) adjuster.throttleRate(1));
+
+    adjuster.clearAdjustment();
+    assertFalse(adjuster.isStarted());
+    assertNull(adjuster.throttleRate(0));
+    assertTrue(adjuster.throttleRateByBrokerId().isEmpty());
+  }
+
+  @Test
+  public void testAdjustBasedOnMinIsr() {
+    ReplicationThrottleAdjuster adjuster = new ReplicationThrottleAdjuster(config(true));
+    adjuster.initAdjustment(INITIAL_RATE);
+    // Brokers with MinISR violations are decreased regardless of their metrics, and others without metrics are not changed.
+    adjuster.adjust(metricsByBroker(metrics(1.0, 0.9), metrics(1.0, 0.9)), Collections.singleton(1));
+    assertEquals(INITIAL_RATE + ADDITIVE_INCREASE, (long) adjuster.throttleRate(0));
+    assertEquals(INITIAL_RATE / MULTIPLICATIVE_DECREASE, (long) adjuster.throttleRate(1));
+    adjuster.adjust(null, Collections.singleton(2));
+    assertEquals(INITIAL_RATE + ADDITIVE_INCREASE, (long) adjuster.throttleRate(0));
+    assertEquals(INITIAL_RATE / MULTIPLICATIVE_DECREASE, (long) adjuster.throttleRate(2));
+  }
+
+  @Test
+  public void testNoAdjustmentWhenDisabledOrUnthrottled() {
+    ReplicationThrottleAdjuster disabledAdjuster = new ReplicationThrottleAdjuster(config(false));
+    disabledAdjuster.initAdjustment(INITIAL_RATE);
+    assertFalse(disabledAdjuster.isStarted());
+    disabledAdjuster.adjust(metricsByBroker(metrics(1.0, 0.9)), Collections.singleton(1));
+    assertTrue(disabledAdjuster.throttleRateByBrokerId().isEmpty());
+
+    ReplicationThrottleAdjuster adjuster = new ReplicationThrottleAdjuster(config(true));
+    adjuster.initAdjustment(null);
+    assertFalse(adjuster.isStarted());
+    adjuster.adjust(metricsByBroker(metrics(1.0, 0.9)), Collections.singleton(1));
+    assertTrue(adjuster.throttleRateByBrokerId().isEmpty());
+  }
+}
@@ -20,6 +20,7 @@ import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
 import org.easymock.EasyMock;
 import org.junit.After;
 import org.junit.Before;
@@ -49,6 +50,10 @@ import static org.junit.Assert.assertTrue;
 
 public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness {
   private static final Config EMPTY_CONFIG = new Config(Collections.emptyList());
+  // All participating brokers have throttled rate set already
+  private static final Config THROTTLED_BROKER_CONFIG = new Config(Arrays.asList(
+      new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_RATE, "100"),
+      new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_RATE, "100")));
 
   /**
    * The admin client
@@ -89,13 +94,12 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
   }
 
   private static void setWildcardThrottleReplicaForTopic(ReplicationThrottleHelper helper, String topicName) throws Exception {
+    Collection<AlterConfigOp> configs = new ArrayList<>();
     for (String replicaThrottleProp : Arrays.asList(ReplicationThrottleHelper.LEADER_THROTTLED_REPLICAS,
                                                     ReplicationThrottleHelper.FOLLOWER_THROTTLED_REPLICAS)) {
-      Collection<AlterConfigOp> configs = Collections.singletonList(
-              new AlterConfigOp(new ConfigEntry(replicaThrottleProp, ReplicationThrottleHelper.WILDCARD_ASTERISK), AlterConfigOp.OpType.SET)
-      );
-      helper.changeTopicConfigs(topicName, configs);
+      configs.add(new AlterConfigOp(new ConfigEntry(replicaThrottleProp, ReplicationThrottleHelper.WILDCARD_ASTERISK), AlterConfigOp.OpType.SET));
     }
+    helper.changeConfigs(Collections.singletonMap(topicResource(topicName), configs));
   }
 
   private ExecutionTask inProgressTaskForProposal(long id, ExecutionProposal proposal) {
@@ -149,11 +153,12 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     ReplicationThrottleHelper throttleHelper = new ReplicationThrottleHelper(mockAdminClient, throttleRate);
 
     // Case 1: a situation where Topic0 does not exist. Hence no property is returned upon read.
-    expectDescribeBrokerConfigs(mockAdminClient, brokers);
-    expectIncrementalBrokerConfigs(mockAdminClient, brokers);
-    expectDescribeBrokerConfigs(mockAdminClient, brokers, EMPTY_CONFIG);
-    expectDescribeTopicConfigs(mockAdminClient, TOPIC0, EMPTY_CONFIG, false);
+    Map<ConfigResource, KafkaFuture<Config>> configs = configFutures(brokers, THROTTLED_BROKER_CONFIG);
+    configs.put(topicResource(TOPIC0), failedFuture(new UnknownTopicOrPartitionException()));
+    expectDescribeConfigs(mockAdminClient, resources(brokers, TOPIC0), configs);
     expectListTopics(mockAdminClient, Collections.emptySet());
+    expectIncrementalAlterConfigs(mockAdminClient, alterFutures(resources(brokers), Collections.emptyList()));
+    expectDescribeConfigs(mockAdminClient, resources(brokers), configFutures(brokers, EMPTY_CONFIG));
     ExecutionTask mockCompleteTask = prepareMockCompleteTask(proposal);
     EasyMock.replay(mockAdminClient);
 
@@ -162,16 +167,17 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
 
     // Case 2: a situation where Topic0 gets deleted after its configs were read.
     EasyMock.reset(mockAdminClient);
-    expectDescribeBrokerConfigs(mockAdminClient, brokers);
-    expectIncrementalBrokerConfigs(mockAdminClient, brokers);
-    expectDescribeBrokerConfigs(mockAdminClient, brokers, EMPTY_CONFIG);
-    String throttledReplicas = brokerId0 + "," + brokerId1;
+    throttleHelper = new ReplicationThrottleHelper(mockAdminClient, throttleRate);
+    configs = configFutures(brokers, THROTTLED_BROKER_CONFIG);
+    String throttledReplicas = "0:0,0:1,1:0";
     Config topicConfigProps = new Config(Arrays.asList(
             new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_REPLICAS, throttledReplicas),
             new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_REPLICAS, throttledReplicas)));
-    expectDescribeTopicConfigs(mockAdminClient, TOPIC0, topicConfigProps, true);
-    expectIncrementalTopicConfigs(mockAdminClient, TOPIC0, false);
+    configs.put(topicResource(TOPIC0), KafkaFuture.completedFuture(topicConfigProps));
+    expectDescribeConfigs(mockAdminClient, resources(brokers, TOPIC0), configs);
+    expectIncrementalAlterConfigs(mockAdminClient, alterFutures(resources(brokers), Collections.singletonList(topicResource(TOPIC0))));
     expectListTopics(mockAdminClient, Collections.emptySet());
+    expectDescribeConfigs(mockAdminClient, resources(brokers), configFutures(brokers, EMPTY_CONFIG));
     mockCompleteTask = prepareMockCompleteTask(proposal);
     EasyMock.replay(mockAdminClient);
 
@@ -199,10 +205,11 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     ReplicationThrottleHelper throttleHelper = new ReplicationThrottleHelper(mockAdminClient, throttleRate);
 
     // Case 1: a situation where Topic0 does not exist. Hence no property is returned upon read.
-    expectDescribeBrokerConfigs(mockAdminClient, brokers);
-    expectDescribeTopicConfigs(mockAdminClient, TOPIC0, EMPTY_CONFIG, false);
+    Map<ConfigResource, KafkaFuture<Config>> configs = configFutures(brokers, THROTTLED_BROKER_CONFIG);
+    configs.put(topicResource(TOPIC0), failedFuture(new UnknownTopicOrPartitionException()));
+    expectDescribeConfigs(mockAdminClient, resources(brokers, TOPIC0), configs);
     expectListTopics(mockAdminClient, Collections.emptySet());
-    expectIncrementalTopicConfigs(mockAdminClient, TOPIC0, false);
+    expectIncrementalAlterConfigs(mockAdminClient, alterFutures(Collections.emptyList(), Collections.singletonList(topicResource(TOPIC0))));
     expectListTopics(mockAdminClient, Collections.emptySet());
     EasyMock.replay(mockAdminClient);
     // Expect no exception
@@ -211,13 +218,15 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
 
     // Case 2: a situation where Topic0 gets deleted after its configs were read. Change configs should not fail.
     EasyMock.reset(mockAdminClient);
-    expectDescribeBrokerConfigs(mockAdminClient, brokers);
-    String throttledReplicas = brokerId0 + "," + brokerId1;
+    throttleHelper = new ReplicationThrottleHelper(mockAdminClient, throttleRate);
+    configs = configFutures(brokers, THROTTLED_BROKER_CONFIG);
+    String throttledReplicas = "1:0,1:1";
     Config topicConfigs = new Config(Arrays.asList(
       new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_REPLICAS, throttledReplicas),
       new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_REPLICAS, throttledReplicas)));
-    expectDescribeTopicConfigs(mockAdminClient, TOPIC0, topicConfigs, true);
-    expectIncrementalTopicConfigs(mockAdminClient, TOPIC0, false);
+    configs.put(topicResource(TOPIC0), KafkaFuture.completedFuture(topicConfigs));
+    expectDescribeConfigs(mockAdminClient, resources(brokers, TOPIC0), configs);
+    expectIncrementalAlterConfigs(mockAdminClient, alterFutures(Collections.emptyList(), Collections.singletonList(topicResource(TOPIC0))));
     expectListTopics(mockAdminClient, Collections.emptySet());
     EasyMock.replay(mockAdminClient);
     // Expect no exception
@@ -225,6 +234,61 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     EasyMock.verify(mockAdminClient);
   }
 
+  @Test
+  public void testDescribeAndChangeConfigsInBatches() throws Exception {
+    final long throttleRate = 100L;
+    final List<Integer> brokers = Arrays.asList(0, 1, 2);
+    // Proposals to move partitions of two topics from broker 0 and 1 to broker 0 and 2
+    List<ExecutionProposal> proposals = new ArrayList<>();
+    for (String topic : Arrays.asList(TOPIC0, TOPIC1)) {
+      proposals.add(new ExecutionProposal(new TopicPartition(topic, 0),
+                                          100,
+                                          new ReplicaPlacementInfo(0),
+                                          Arrays.asList(new ReplicaPlacementInfo(0), new ReplicaPlacementInfo(1)),
+                                          Arrays.asList(new ReplicaPlacementInfo(0), new ReplicaPlacementInfo(2))));
+    }
+    List<ConfigResource> topicResources = Arrays.asList(topicResource(TOPIC0), topicResource(TOPIC1));
+    List<ConfigResource> allResources = new ArrayList<>(resources(brokers));
+    allResources.addAll(topicResources);
+
+    AdminClient mockAdminClient = EasyMock.strictMock(AdminClient.class);
+    ReplicationThrottleHelper throttleHelper = new ReplicationThrottleHelper(mockAdminClient, throttleRate);
+    // The configs of all the brokers and topics are described in a single request and changed in a single request.
+    Map<ConfigResource, KafkaFuture<Config>> configs = configFutures(brokers, EMPTY_CONFIG);
+    topicResources.forEach(cf -> configs.put(cf, KafkaFuture.completedFuture(EMPTY_CONFIG)));
+    expectDescribeConfigs(mockAdminClient, null, configs);
+    expectIncrementalAlterConfigs(mockAdminClient, alterFutures(allResources, Collections.emptyList()));
+    Config throttledTopicConfig = new Config(Arrays.asList(
+        new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_REPLICAS, "0:0,0:1,0:2"),
+        new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_REPLICAS, "0:0,0:1,0:2")));
+    Map<ConfigResource, KafkaFuture<Config>> changedConfigs = configFutures(brokers, THROTTLED_BROKER_CONFIG);
+    topicResources.forEach(cf -> changedConfigs.put(cf, KafkaFuture.completedFuture(throttledTopicConfig)));
+    expectDescribeConfigs(mockAdminClient, null, changedConfigs);
+    EasyMock.replay(mockAdminClient);
+    throttleHelper.setThrottles(proposals);
+    EasyMock.verify(mockAdminClient);
+
+    // The cached configs are not described again, and the unchanged configs are not altered again.
+    EasyMock.reset(mockAdminClient);
+    EasyMock.replay(mockAdminClient);
+    throttleHelper.setThrottles(proposals);
+    EasyMock.verify(mockAdminClient);
+
+    // Clearing the throttles uses the cached configs as well.
+    EasyMock.reset(mockAdminClient);
+    expectIncrementalAlterConfigs(mockAdminClient, alterFutures(allResources, Collections.emptyList()));
+    Map<ConfigResource, KafkaFuture<Config>> clearedConfigs = configFutures(brokers, EMPTY_CONFIG);
+    topicResources.forEach(cf -> clearedConfigs.put(cf, KafkaFuture.completedFuture(EMPTY_CONFIG)));
+    expectDescribeConfigs(mockAdminClient, null, clearedConfigs);
+    EasyMock.replay(mockAdminClient);
+    List<ExecutionTask> completedTasks = new ArrayList<>();
+    for (ExecutionProposal proposal : proposals) {
+      completedTasks.add(completedTaskForProposal(completedTasks.size(), proposal));
+    }
+    throttleHelper.clearThrottles(completedTasks, Collections.emptyList());
+    EasyMock.verify(mockAdminClient);
+  }
+
   @Test
   public void testAddingThrottlesWithNoPreExistingThrottles() throws Exception {
     createTopics();
@@ -282,7 +346,7 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
               new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_RATE, String.valueOf(preExistingBroker0ThrottleRate)),
               AlterConfigOp.OpType.SET)
     );
-    throttleHelper.changeBrokerConfigs(0, broker0Configs);
+    throttleHelper.changeConfigs(Collections.singletonMap(brokerResource(0), broker0Configs));
 
     // Partition 1 (which is not involved in any execution proposal) has pre-existing throttled
     // replicas (on both leaders and followers); we expect these configurations to be merged
@@ -290,13 +354,13 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     List<AlterConfigOp> topic0Configs = Arrays.asList(
       new AlterConfigOp(new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_REPLICAS, "1:0,1:1"), AlterConfigOp.OpType.SET),
       new AlterConfigOp(new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_REPLICAS, "1:0,1:1"), AlterConfigOp.OpType.SET));
-    throttleHelper.changeTopicConfigs(TOPIC0, topic0Configs);
+    throttleHelper.changeConfigs(Collections.singletonMap(topicResource(TOPIC0), topic0Configs));
 
     // Topic 1 is not involved in any execution proposal. It has pre-existing throttled replicas.
     List<AlterConfigOp> topic1Config = Arrays.asList(
       new AlterConfigOp(new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_REPLICAS, "1:1"), AlterConfigOp.OpType.SET),
       new AlterConfigOp(new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_REPLICAS, "1:1"), AlterConfigOp.OpType.SET));
-    throttleHelper.changeTopicConfigs(TOPIC1, topic1Config);
+    throttleHelper.changeConfigs(Collections.singletonMap(topicResource(TOPIC1), topic1Config));
 
     throttleHelper.setThrottles(Collections.singletonList(proposal));
 
@@ -323,6 +387,57 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     assertExpectedThrottledReplicas(TOPIC1, "1:1");
   }
 
+  @Test
+  public void testUpdateThrottleRates() throws Exception {
+    createTopics();
+
+    final long throttleRate = 100L;
+    ReplicationThrottleHelper throttleHelper = new ReplicationThrottleHelper(_adminClient, throttleRate);
+    ExecutionProposal proposal = new ExecutionProposal(
+        new TopicPartition(TOPIC0, 0),
+        100,
+        new ReplicaPlacementInfo(0),
+        Arrays.asList(new ReplicaPlacementInfo(0), new ReplicaPlacementInfo(1)),
+        Arrays.asList(new ReplicaPlacementInfo(0), new ReplicaPlacementInfo(2)));
+
+    // Broker 0 has an existing leader and follower throttle; we expect these to be preserved.
+    long preExistingBroker0ThrottleRate = 200L;
+    throttleHelper.changeConfigs(Collections.singletonMap(brokerResource(0), Arrays.asList(
+        new AlterConfigOp(new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_RATE, String.valueOf(preExistingBroker0ThrottleRate)),
+                          AlterConfigOp.OpType.SET),
+        new AlterConfigOp(new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_RATE, String.valueOf(preExistingBroker0ThrottleRate)),
+                          AlterConfigOp.OpType.SET))));
+    throttleHelper.setThrottles(Collections.singletonList(proposal));
+
+    final long updatedThrottleRate = 50L;
+    Map<Integer, Long> throttleRateByBrokerId = new HashMap<>();
+    for (int i = 0; i < clusterSize(); i++) {
+      throttleRateByBrokerId.put(i, updatedThrottleRate);
+    }
+    throttleRateByBrokerId.put(2, throttleRate);
+    throttleHelper.updateThrottleRates(throttleRateByBrokerId);
+
+    assertExpectedThrottledRateForBroker(0, preExistingBroker0ThrottleRate);
+    assertExpectedThrottledRateForBroker(1, updatedThrottleRate);
+    assertExpectedThrottledRateForBroker(2, throttleRate);
+    // Broker 3 is not throttled yet, and gets the updated rate once it is throttled.
+    assertExpectedThrottledRateForBroker(3, null);
+    ExecutionProposal proposalToBroker3 = new ExecutionProposal(
+        new TopicPartition(TOPIC1, 0),
+        100,
+        new ReplicaPlacementInfo(1),
+        Arrays.asList(new ReplicaPlacementInfo(1), new ReplicaPlacementInfo(2)),
+        Arrays.asList(new ReplicaPlacementInfo(1), new ReplicaPlacementInfo(3)));
+    throttleHelper.setThrottles(Collections.singletonList(proposalToBroker3));
+    assertExpectedThrottledRateForBroker(3, updatedThrottleRate);
+
+    throttleHelper.clearThrottles(Arrays.asList(completedTaskForProposal(0, proposal), completedTaskForProposal(1, proposalToBroker3)),
+                                  Collections.emptyList());
+    for (int i = 0; i < clusterSize(); i++) {
+      assertExpectedThrottledRateForBroker(i, null);
+    }
+  }
+
   @Test
   public void testDoNotModifyExistingWildcardReplicaThrottles() throws Exception {
     createTopics();
@@ -469,21 +584,23 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     AdminClient mockAdminClient = EasyMock.strictMock(AdminClient.class);
     int retries = 3;
     // Case 1: queue more responses than RETRIES and expect checkConfigs to throw
+    ConfigResource cf = topicResource(TOPIC0);
     for (int i = 0; i < retries + 1; i++) {
-      expectDescribeTopicConfigs(mockAdminClient, TOPIC0, EMPTY_CONFIG, true);
+      expectDescribeConfigs(mockAdminClient, Collections.singletonList(cf),
+                            Collections.singletonMap(cf, KafkaFuture.completedFuture(EMPTY_CONFIG)));
     }
     EasyMock.replay(mockAdminClient);
     ReplicationThrottleHelper throttleHelper = new ReplicationThrottleHelper(mockAdminClient, 100L, retries);
-    ConfigResource cf = new ConfigResource(ConfigResource.Type.TOPIC, TOPIC0);
-    assertThrows(IllegalStateException.class, () -> throttleHelper.waitForConfigs(cf, Collections.singletonList(
+    assertThrows(IllegalStateException.class, () -> throttleHelper.waitForConfigs(Collections.singletonMap(cf, Collections.singletonList(
             new AlterConfigOp(new ConfigEntry("k", "v"), AlterConfigOp.OpType.SET)
-    )));
+    ))));
 
     // Case 2: queue a single result and call checkConfigs with matching configs, so it succeeds
     EasyMock.reset(mockAdminClient);
-    expectDescribeTopicConfigs(mockAdminClient, TOPIC0, EMPTY_CONFIG, true);
+    expectDescribeConfigs(mockAdminClient, Collections.singletonList(cf),
+                          Collections.singletonMap(cf, KafkaFuture.completedFuture(EMPTY_CONFIG)));
     EasyMock.replay(mockAdminClient);
-    throttleHelper.waitForConfigs(cf, Collections.emptyList());
+    throttleHelper.waitForConfigs(Collections.singletonMap(cf, Collections.emptyList()));
   }
 
   @Test
@@ -521,39 +638,6 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     return mockCompleteTask;
   }
 
-  private void expectDescribeTopicConfigs(AdminClient adminClient, String topic, Config topicConfig, boolean topicExists)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    ConfigResource cf = new ConfigResource(ConfigResource.Type.TOPIC, topic);
-    Map<ConfigResource, Config> topicConfigs = Collections.singletonMap(cf, topicConfig);
-    DescribeConfigsResult mockDescribeConfigsResult = EasyMock.mock(DescribeConfigsResult.class);
-    KafkaFuture<Map<ConfigResource, Config>> mockFuture = EasyMock.mock(KafkaFuture.class);
-    if (topicExists) {
-      EasyMock.expect(mockFuture.get(EasyMock.anyLong(), EasyMock.anyObject())).andReturn(topicConfigs);
-    } else {
-      EasyMock.expect(mockFuture.get(EasyMock.anyLong(), EasyMock.anyObject()))
-              .andThrow(new ExecutionException(new UnknownTopicOrPartitionException()));
-    }
-    EasyMock.expect(mockDescribeConfigsResult.all()).andReturn(mockFuture);
-    EasyMock.expect(adminClient.describeConfigs(Collections.singletonList(cf))).andReturn(mockDescribeConfigsResult);
-    EasyMock.replay(mockDescribeConfigsResult, mockFuture);
-  }
-
-  private void expectIncrementalTopicConfigs(AdminClient adminClient, String topic, boolean topicExists)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    ConfigResource cf = new ConfigResource(ConfigResource.Type.TOPIC, topic);
-    AlterConfigsResult mockAlterConfigsResult = EasyMock.mock(AlterConfigsResult.class);
-    KafkaFuture<Void> mockFuture = EasyMock.mock(KafkaFuture.class);
-    EasyMock.expect(mockAlterConfigsResult.all()).andReturn(mockFuture);
-    if (topicExists) {
-      EasyMock.expect(mockFuture.get(EasyMock.anyLong(), EasyMock.anyObject())).andReturn(null);
-    } else {
-      EasyMock.expect(mockFuture.get(EasyMock.anyLong(), EasyMock.anyObject()))
-              .andThrow(new ExecutionException(new UnknownTopicOrPartitionException()));
-    }
-    EasyMock.expect(adminClient.incrementalAlterConfigs(Collections.singletonMap(cf, EasyMock.anyObject()))).andReturn(mockAlterConfigsResult);
-    EasyMock.replay(mockAlterConfigsResult, mockFuture);
-  }
-
   private void expectListTopics(AdminClient adminClient, Set<String> topics)
   throws ExecutionException, InterruptedException, TimeoutException {
     ListTopicsResult mockListTopicsResult = EasyMock.mock(ListTopicsResult.class);
@@ -564,40 +648,57 @@ public class ReplicationThrottleHelperTest extends CCKafkaIntegrationTestHarness
     EasyMock.replay(mockListTopicsResult, mockFuture);
   }
 
-  private void expectDescribeBrokerConfigs(AdminClient adminClient, List<Integer> brokers)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    // All participating brokers have throttled rate set already
-    Config brokerConfig = new Config(Arrays.asList(
-      new ConfigEntry(ReplicationThrottleHelper.LEADER_THROTTLED_RATE, "100"),
-      new ConfigEntry(ReplicationThrottleHelper.FOLLOWER_THROTTLED_RATE, "100")));
-    expectDescribeBrokerConfigs(adminClient, brokers, brokerConfig);
+  private static ConfigResource brokerResource(int brokerId) {
+    return new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
   }
 
-  private void expectDescribeBrokerConfigs(AdminClient adminClient, List<Integer> brokers, Config brokerConfig)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    for (int i : brokers) {
-      ConfigResource cf = new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(i));
-      Map<ConfigResource, Config> brokerConfigs = Collections.singletonMap(cf, brokerConfig);
-      DescribeConfigsResult mockDescribeConfigsResult = EasyMock.mock(DescribeConfigsResult.class);
-      KafkaFuture<Map<ConfigResource, Config>> mockFuture = EasyMock.mock(KafkaFuture.class);
-      EasyMock.expect(mockFuture.get(EasyMock.anyLong(), EasyMock.anyObject())).andReturn(brokerConfigs);
-      EasyMock.expect(mockDescribeConfigsResult.all()).andReturn(mockFuture);
-      EasyMock.expect(adminClient.describeConfigs(Collections.singletonList(cf))).andReturn(mockDescribeConfigsResult);
-      EasyMock.replay(mockDescribeConfigsResult, mockFuture);
-    }
+  private static ConfigResource topicResource(String topic) {
+    return new ConfigResource(ConfigResource.Type.TOPIC, topic);
   }
 
-  private void expectIncrementalBrokerConfigs(AdminClient adminClient, List<Integer> brokers)
-  throws ExecutionException, InterruptedException, TimeoutException {
-    for (int brokerId : brokers) {
-      ConfigResource cf = new ConfigResource(ConfigResource.Type.BROKER, String.valueOf(brokerId));
-      AlterConfigsResult mockAlterConfigsResult = EasyMock.mock(AlterConfigsResult.class);
-      KafkaFuture<Void> mockFuture = EasyMock.mock(KafkaFuture.class);
-      EasyMock.expect(mockAlterConfigsResult.all()).andReturn(mockFuture);
-      EasyMock.expect(mockFuture.get(EasyMock.anyLong(), EasyMock.anyObject())).andReturn(null);
-      EasyMock.expect(adminClient.incrementalAlterConfigs(Collections.singletonMap(cf, EasyMock.anyObject()))).andReturn(mockAlterConfigsResult);
-      EasyMock.replay(mockAlterConfigsResult, mockFuture);
-    }
+  private static List<ConfigResource> resources(List<Integer> brokers, String... topics) {
+    List<ConfigResource> resources = new ArrayList<>();
+    brokers.forEach(brokerId -> resources.add(brokerResource(brokerId)));
+    Arrays.stream(topics).forEach(topic -> resources.add(topicResource(topic)));
+    return resources;
+  }
+
+  private static <T> KafkaFuture<T> failedFuture(Throwable exception) {
+    KafkaFutureImpl<T> future = new KafkaFutureImpl<>();
+    future.completeExceptionally(exception);
+    return future;
+  }
+
+  private static Map<ConfigResource, KafkaFuture<Config>> configFutures(List<Integer> brokers, Config brokerConfig) {
+    Map<ConfigResource, KafkaFuture<Config>> configs = new HashMap<>();
+    brokers.forEach(brokerId -> configs.put(brokerResource(brokerId), KafkaFuture.completedFuture(brokerConfig)));
+    return configs;
+  }
+
+  private static Map<ConfigResource, KafkaFuture<Void>> alterFutures(List<ConfigResource> succeeded,
+                                                                      List<ConfigResource> nonExistentTopics) {
+    Map<ConfigResource, KafkaFuture<Void>> futures = new HashMap<>();
+    succeeded.forEach(cf -> futures.put(cf, KafkaFuture.completedFuture(null)));
+    nonExistentTopics.forEach(cf -> futures.put(cf, failedFuture(new UnknownTopicOrPartitionException())));
+    return futures;
+  }
+
+  // Expect a request to describe the given resources, or any resources if null.
+  private void expectDescribeConfigs(AdminClient adminClient,
+                                     Collection<ConfigResource> resources,
+                                     Map<ConfigResource, KafkaFuture<Config>> configs) {
+    DescribeConfigsResult mockDescribeConfigsResult = EasyMock.mock(DescribeConfigsResult.class);
+    EasyMock.expect(mockDescribeConfigsResult.values()).andReturn(configs);
+    EasyMock.replay(mockDescribeConfigsResult);
+    Collection<ConfigResource> expectedResources = resources == null ? EasyMock.anyObject() : EasyMock.eq(resources);
+    EasyMock.expect(adminClient.describeConfigs(expectedResources)).andReturn(mockDescribeConfigsResult);
+  }
+
+  private void expectIncrementalAlterConfigs(AdminClient adminClient, Map<ConfigResource, KafkaFuture<Void>> futures) {
+    AlterConfigsResult mockAlterConfigsResult = EasyMock.mock(AlterConfigsResult.class);
+    EasyMock.expect(mockAlterConfigsResult.values()).andReturn(futures);
+    EasyMock.replay(mockAlterConfigsResult);
+    EasyMock.expect(adminClient.incrementalAlterConfigs(EasyMock.anyObject())).andReturn(mockAlterConfigsResult);
   }
 
   private void assertExpectedThrottledRateForBroker(int brokerId, Long expectedRate) throws ExecutionException, InterruptedException {
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregatedMetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricValues;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link Load}.
+ */
+public class LoadTest {
+  private static final double DELTA = 1e-6;
+  private static final List<Long> WINDOWS = Arrays.asList(3L, 2L, 1L);
+
+  /**
+   * @param valuesByWindow Values by window, the newest window first.
+   * @return Values of each common metric, which are (metric id + 1) multiplied by the given values by window.
+   */
+  private static AggregatedMetricValues aggregatedMetricValues(double... valuesByWindow) {
+    AggregatedMetricValues aggregatedMetricValues = new AggregatedMetricValues();
+    for (MetricInfo info : KafkaMetricDef.commonMetricDef().all()) {
+      MetricValues metricValues = new MetricValues(valuesByWindow.length);
+      for (int i = 0; i < valuesByWindow.length; i++) {
+        metricValues.set(i, (info.id() + 1) * valuesByWindow[i]);
+      }
+      aggregatedMetricValues.add(info.id(), metricValues);
+    }
+    return aggregatedMetricValues;
+  }
+
+  private static double sumOfIds(Resource resource) {
+    return KafkaMetricDef.resourceToMetricIds(resource).stream().mapToInt(id -> id + 1).sum();
+  }
+
+  @Test
+  public void testExpectedUtilization() {
+    Load load = new Load();
+    assertTrue(load.isEmpty());
+    assertEquals(0.0, load.expectedUtilizationFor(Resource.CPU), DELTA);
+
+    load.initializeMetricValues(aggregatedMetricValues(1.0, 2.0, 6.0), WINDOWS);
+    assertFalse(load.isEmpty());
+    assertEquals(3, load.numWindows());
+    // Mean for CPU and network, latest for disk.
+    assertEquals(3.0 * sumOfIds(Resource.CPU), load.expectedUtilizationFor(Resource.CPU), DELTA);
+    assertEquals(3.0 * sumOfIds(Resource.NW_IN), load.expectedUtilizationFor(Resource.NW_IN), DELTA);
+    assertEquals(1.0 * sumOfIds(Resource.DISK), load.expectedUtilizationFor(Resource.DISK), DELTA);
+    assertEquals(6.0 * sumOfIds(Resource.DISK), load.expectedUtilizationFor(Resource.DISK, true, false), DELTA);
+    assertEquals(3.0 * sumOfIds(Resource.DISK), load.expectedUtilizationFor(Resource.DISK, false, true), DELTA);
+  }
+
+  @Test
+  public void testAddAndSubtractLoad() {
+    Load replicaLoad = new Load();
+    replicaLoad.initializeMetricValues(aggregatedMetricValues(1.0, 2.0, 6.0), WINDOWS);
+    Load otherReplicaLoad = new Load();
+    otherReplicaLoad.initializeMetricValues(aggregatedMetricValues(2.0, 2.0, 2.0), WINDOWS);
+
+    Load brokerLoad = new Load();
+    brokerLoad.addLoad(replicaLoad);
+    brokerLoad.addLoad(otherReplicaLoad);
+    assertEquals(5.0 * sumOfIds(Resource.NW_OUT), brokerLoad.expectedUtilizationFor(Resource.NW_OUT), DELTA);
+    assertEquals(8.0 * sumOfIds(Resource.NW_OUT), brokerLoad.expectedUtilizationFor(Resource.NW_OUT, true, false), DELTA);
+
+    brokerLoad.subtractLoad(replicaLoad);
+    assertEquals(2.0 * sumOfIds(Resource.NW_OUT), brokerLoad.expectedUtilizationFor(Resource.NW_OUT), DELTA);
+    brokerLoad.subtractLoad(otherReplicaLoad.loadFor(Resource.NW_OUT));
+    assertEquals(0.0, brokerLoad.expectedUtilizationFor(Resource.NW_OUT), DELTA);
+    assertEquals(2.0 * sumOfIds(Resource.CPU), brokerLoad.expectedUtilizationFor(Resource.CPU), DELTA);
+  }
+
+  @Test
+  public void testSetAndClearLoad() {
+    Load load = new Load();
+    load.initializeMetricValues(aggregatedMetricValues(1.0, 2.0, 6.0), WINDOWS);
+    load.setLoad(aggregatedMetricValues(4.0, 4.0, 4.0));
+    assertEquals(4.0 * sumOfIds(Resource.CPU), load.expectedUtilizationFor(Resource.CPU), DELTA);
+    assertEquals(4.0 * sumOfIds(Resource.CPU), load.expectedUtilizationFor(Resource.CPU, true, false), DELTA);
+
+    load.clearLoadFor(Resource.NW_IN);
+    assertEquals(0.0, load.expectedUtilizationFor(Resource.NW_IN), DELTA);
+    assertEquals(4.0 * sumOfIds(Resource.NW_OUT), load.expectedUtilizationFor(Resource.NW_OUT), DELTA);
+
+    load.clearLoad();
+    assertTrue(load.isEmpty());
+    assertEquals(0, load.numWindows());
+  }
+
+  @Test
+  public void testLoadByWindowsIsACopy() {
+    Load load = new Load();
+    load.initializeMetricValues(aggregatedMetricValues(1.0, 2.0, 6.0), WINDOWS);
+    AggregatedMetricValues loadByWindows = load.loadByWindows();
+    assertEquals(KafkaMetricDef.commonMetricDef().size(), loadByWindows.metricIds().size());
+    for (short metricId : loadByWindows.metricIds()) {
+      assertEquals((metricId + 1) * 6.0, loadByWindows.valuesFor(metricId).get(2), DELTA);
+    }
+
+    loadByWindows.clear();
+    assertEquals(3.0 * sumOfIds(Resource.CPU), load.expectedUtilizationFor(Resource.CPU), DELTA);
+  }
+
+  @Test
+  public void testInitializeFromSharesValuesUntilChanged() {
+    Load load = new Load();
+    load.initializeMetricValues(aggregatedMetricValues(1.0, 2.0, 6.0), WINDOWS);
+    Load sharedLoad = new Load();
+    sharedLoad.initializeFrom(load);
+    assertEquals(WINDOWS, sharedLoad.windows());
+    assertEquals(3.0 * sumOfIds(Resource.CPU), sharedLoad.expectedUtilizationFor(Resource.CPU), DELTA);
+
+    // Changing either load does not change the other.
+    sharedLoad.clearLoadFor(Resource.CPU);
+    assertEquals(0.0, sharedLoad.expectedUtilizationFor(Resource.CPU), DELTA);
+    assertEquals(3.0 * sumOfIds(Resource.CPU), load.expectedUtilizationFor(Resource.CPU), DELTA);
+    load.addLoad(aggregatedMetricValues(1.0, 1.0, 1.0));
+    assertEquals(4.0 * sumOfIds(Resource.NW_IN), load.expectedUtilizationFor(Resource.NW_IN), DELTA);
+    assertEquals(3.0 * sumOfIds(Resource.NW_IN), sharedLoad.expectedUtilizationFor(Resource.NW_IN), DELTA);
+
+    // A load initialized from the same load as another load does not change with the other load.
+    Load otherSharedLoad = new Load();
+    otherSharedLoad.initializeFrom(load);
+    load.subtractLoad(load.loadFor(Resource.NW_IN));
+    assertEquals(0.0, load.expectedUtilizationFor(Resource.NW_IN), DELTA);
+    assertEquals(4.0 * sumOfIds(Resource.NW_IN), otherSharedLoad.expectedUtilizationFor(Resource.NW_IN), DELTA);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddLoadWithDifferentNumWindows() {
+    Load load = new Load();
+    load.initializeMetricValues(aggregatedMetricValues(1.0, 2.0, 6.0), WINDOWS);
+    load.addLoad(aggregatedMetricValues(1.0, 2.0));
+  }
+}
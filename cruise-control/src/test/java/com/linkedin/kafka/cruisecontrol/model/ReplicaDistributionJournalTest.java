@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit tests for verifying that the diff found via {@link ReplicaDistributionJournal} matches the diff of the whole replica
+ * distribution.
+ */
+public class ReplicaDistributionJournalTest {
+  private static final Map<Resource, Double> BROKER_CAPACITY = Map.of(Resource.CPU, TestConstants.LARGE_BROKER_CAPACITY,
+                                                                      Resource.DISK, TestConstants.LARGE_BROKER_CAPACITY,
+                                                                      Resource.NW_IN, TestConstants.LARGE_BROKER_CAPACITY,
+                                                                      Resource.NW_OUT, TestConstants.MEDIUM_BROKER_CAPACITY);
+  private static final TopicPartition T1P0 = new TopicPartition(DeterministicCluster.T1, 0);
+  private static final TopicPartition T1P1 = new TopicPartition(DeterministicCluster.T1, 1);
+  private static final TopicPartition T2P0 = new TopicPartition(DeterministicCluster.T2, 0);
+  private static final TopicPartition T2P1 = new TopicPartition(DeterministicCluster.T2, 1);
+  private static final TopicPartition T2P2 = new TopicPartition(DeterministicCluster.T2, 2);
+
+  @Test
+  public void testJournalDiffMatchesFullDiff() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(BROKER_CAPACITY);
+    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
+    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
+
+    ReplicaDistributionJournal journal = clusterModel.startReplicaDistributionJournal();
+    try (ReplicaDistributionJournal goalJournal = clusterModel.startReplicaDistributionJournal()) {
+      assertFalse(AnalyzerUtils.hasDiff(goalJournal, clusterModel));
+      // Replica relocation, leadership relocation and reordering the replicas of a partition are journaled.
+      clusterModel.relocateReplica(T1P0, 2, 1);
+      clusterModel.relocateLeadership(T1P1, 1, 0);
+      clusterModel.partition(T2P1).swapReplicaPositions(0, 1);
+      // A partition relocated back to its initial placement is journaled without a diff.
+      clusterModel.relocateReplica(T2P0, 2, 0);
+      clusterModel.relocateReplica(T2P0, 0, 2);
+
+      assertEquals(Set.of(T1P0, T1P1, T2P0, T2P1), goalJournal.journaledPartitions());
+      assertEquals(initReplicaDistribution.get(T1P0), goalJournal.initialReplicaDistribution().get(T1P0));
+      assertEquals(initLeaderDistribution.get(T1P1), goalJournal.initialLeaderDistribution().get(T1P1));
+      assertTrue(AnalyzerUtils.hasDiff(goalJournal, clusterModel));
+    }
+    // A closed journal is no longer updated.
+    clusterModel.relocateReplica(T2P2, 1, 2);
+    assertEquals(Set.of(T1P0, T1P1, T2P0, T2P1, T2P2), journal.journaledPartitions());
+
+    assertEquals(AnalyzerUtils.getDiff(initReplicaDistribution, initLeaderDistribution, clusterModel),
+                 AnalyzerUtils.getDiff(journal, clusterModel, false));
+    assertEquals(4, AnalyzerUtils.getDiff(journal, clusterModel, false).size());
+    journal.close();
+  }
+
+  @Test
+  public void testJournalDiffWithDifferentPartitions() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(BROKER_CAPACITY);
+    try (ReplicaDistributionJournal journal = clusterModel.startReplicaDistributionJournal()) {
+      clusterModel.createReplica("0", 0, new TopicPartition("NEW_TOPIC", 0), 0, true);
+
+      assertTrue(journal.initialReplicaDistribution().containsKey(new TopicPartition("NEW_TOPIC", 0)));
+      assertThrows(IllegalArgumentException.class, () -> AnalyzerUtils.getDiff(journal, clusterModel, false));
+    }
+  }
+}
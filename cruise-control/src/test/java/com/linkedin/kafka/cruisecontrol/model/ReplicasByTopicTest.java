@@ -4,10 +4,18 @@
 
 package com.linkedin.kafka.cruisecontrol.model;
 
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
+import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
 import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.Statistic;
 import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.Test;
 
@@ -34,6 +42,7 @@ public class ReplicasByTopicTest {
     smallReplicaMoveClusterModel.relocateReplica(pInfoT10, 0, 1);
     int numTopicReplicasAfter = smallReplicaMoveClusterModel.numTopicReplicas(DeterministicCluster.T1);
     assertEquals(numTopicReplicasBefore, numTopicReplicasAfter);
+    assertTopicReplicaDistribution(smallReplicaMoveClusterModel);
   }
 
   @Test
@@ -45,6 +54,7 @@ public class ReplicasByTopicTest {
     smallReplicaMoveClusterModel.removeReplica(0, pInfoT10);
     int numTopicReplicasAfter = smallReplicaMoveClusterModel.numTopicReplicas(DeterministicCluster.T1);
     assertEquals(numTopicReplicasBefore - 1, numTopicReplicasAfter);
+    assertTopicReplicaDistribution(smallReplicaMoveClusterModel);
   }
 
   @Test
@@ -56,6 +66,7 @@ public class ReplicasByTopicTest {
     smallReplicaMoveClusterModel.createReplica("0", 0, pInfoNewTopic0, 0, true);
     int numTopicReplicasAfter = smallReplicaMoveClusterModel.numTopicReplicas(NEW_TOPIC);
     assertEquals(numTopicReplicasBefore + 1, numTopicReplicasAfter);
+    assertTopicReplicaDistribution(smallReplicaMoveClusterModel);
   }
 
   @Test
@@ -67,5 +78,67 @@ public class ReplicasByTopicTest {
     smallReplicaMoveClusterModel.deleteReplica(pInfoT10, 0);
     int numTopicReplicasAfter = smallReplicaMoveClusterModel.numTopicReplicas(DeterministicCluster.T1);
     assertEquals(numTopicReplicasBefore - 1, numTopicReplicasAfter);
+    assertTopicReplicaDistribution(smallReplicaMoveClusterModel);
+  }
+
+  @Test
+  public void testTopicReplicaStats() {
+    ClusterModel smallReplicaMoveClusterModel = DeterministicCluster.smallClusterModel(BROKER_CAPACITY);
+    smallReplicaMoveClusterModel.relocateReplica(new TopicPartition(DeterministicCluster.T2, 0), 1, 0);
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    Set<Integer> excludedBrokersForReplicaMove = Collections.singleton(2);
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(),
+                                                                      excludedBrokersForReplicaMove);
+    Map<Statistic, Number> topicReplicaStats =
+        smallReplicaMoveClusterModel.getClusterStats(balancingConstraint, optimizationOptions).topicReplicaStats();
+
+    // Compute the expected stats from the number of replicas of each topic in each broker.
+    int numBrokersAllowedReplicaMove = smallReplicaMoveClusterModel.brokers().size() - excludedBrokersForReplicaMove.size();
+    Set<String> topics = smallReplicaMoveClusterModel.topics();
+    double avg = 0.0;
+    double stDev = 0.0;
+    int max = 0;
+    int min = Integer.MAX_VALUE;
+    for (String topic : topics) {
+      double avgTopicReplicas = ((double) smallReplicaMoveClusterModel.numTopicReplicas(topic)) / numBrokersAllowedReplicaMove;
+      double variance = 0.0;
+      for (Broker broker : smallReplicaMoveClusterModel.brokers()) {
+        int numTopicReplicasInBroker = broker.numReplicasOfTopicInBroker(topic);
+        max = Math.max(max, numTopicReplicasInBroker);
+        min = Math.min(min, numTopicReplicasInBroker);
+        if (!excludedBrokersForReplicaMove.contains(broker.id())) {
+          variance += Math.pow(numTopicReplicasInBroker - avgTopicReplicas, 2) / numBrokersAllowedReplicaMove;
+        }
+      }
+      avg += avgTopicReplicas;
+      stDev += Math.sqrt(variance);
+    }
+    assertEquals(avg / topics.size(), topicReplicaStats.get(Statistic.AVG).doubleValue(), 1E-9);
+    assertEquals(stDev / topics.size(), topicReplicaStats.get(Statistic.ST_DEV).doubleValue(), 1E-9);
+    assertEquals(max, topicReplicaStats.get(Statistic.MAX).intValue());
+    assertEquals(min, topicReplicaStats.get(Statistic.MIN).intValue());
+  }
+
+  private static void assertTopicReplicaDistribution(ClusterModel clusterModel) {
+    TopicReplicaDistribution topicReplicaDistribution = clusterModel.topicReplicaDistribution();
+    assertEquals(clusterModel.topics(), topicReplicaDistribution.topics());
+    for (String topic : clusterModel.topics()) {
+      Map<Integer, Integer> expectedNumBrokersByNumReplicas = new HashMap<>();
+      for (Broker broker : clusterModel.brokers()) {
+        int numReplicas = broker.numReplicasOfTopicInBroker(topic);
+        if (numReplicas > 0) {
+          expectedNumBrokersByNumReplicas.merge(numReplicas, 1, Integer::sum);
+        }
+      }
+      int[] numBrokersByNumReplicas = topicReplicaDistribution.numBrokersByNumReplicas(topic);
+      Map<Integer, Integer> actualNumBrokersByNumReplicas = new HashMap<>();
+      for (int numReplicas = 1; numReplicas < numBrokersByNumReplicas.length; numReplicas++) {
+        if (numBrokersByNumReplicas[numReplicas] != 0) {
+          actualNumBrokersByNumReplicas.put(numReplicas, numBrokersByNumReplicas[numReplicas]);
+        }
+      }
+      assertEquals(expectedNumBrokersByNumReplicas, actualNumBrokersByNumReplicas);
+    }
   }
 }
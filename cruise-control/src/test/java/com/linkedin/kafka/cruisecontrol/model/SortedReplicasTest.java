@@ -6,6 +6,11 @@ package com.linkedin.kafka.cruisecontrol.model;
 
 import com.linkedin.kafka.cruisecontrol.common.TestConstants;
 import com.linkedin.kafka.cruisecontrol.config.BrokerCapacityInfo;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.Test;
@@ -13,6 +18,7 @@ import java.util.function.Function;
 
 import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC0;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -115,6 +121,81 @@ public class SortedReplicasTest {
     verifySortedReplicas(sr);
   }
 
+  @Test
+  public void testRescore() {
+    Broker broker = generateBroker(NUM_REPLICAS);
+    Map<Replica, Double> scores = new HashMap<>();
+    broker.replicas().forEach(r -> scores.put(r, (double) r.topicPartition().partition()));
+    new SortedReplicasHelper().addSelectionFunc(r -> scores.get(r) >= 0)
+                              .setScoreFunc(scores::get)
+                              .trackSortedReplicasFor(SORT_NAME, broker);
+    SortedReplicas sr = broker.trackedSortedReplicas(SORT_NAME);
+    SortedSet<Replica> sortedReplicas = sr.sortedReplicas(false);
+    Replica first = sortedReplicas.first();
+    Replica last = sortedReplicas.last();
+
+    // A replica whose score has changed stays at its position until it is rescored.
+    scores.put(first, (double) NUM_REPLICAS);
+    assertEquals(first, sortedReplicas.first());
+    assertTrue(sortedReplicas.contains(first));
+    sr.rescore(first);
+    assertEquals(first, sortedReplicas.last());
+    assertEquals(NUM_REPLICAS, sortedReplicas.size());
+
+    // A replica whose score has changed can be removed without being rescored.
+    scores.put(last, -1.0);
+    sr.remove(last);
+    assertFalse(sortedReplicas.contains(last));
+    assertEquals(NUM_REPLICAS - 1, sortedReplicas.size());
+
+    // A rescored replica is removed if it is no longer selected, and added back once it is selected again.
+    scores.put(first, -1.0);
+    sr.rescore(first);
+    assertFalse(sortedReplicas.contains(first));
+    scores.put(first, 0.5);
+    sr.rescore(first);
+    assertEquals(first, sortedReplicas.first());
+    assertEquals(NUM_REPLICAS - 1, sortedReplicas.size());
+  }
+
+  @Test
+  public void testCursorAndClone() {
+    Broker broker = generateBroker(NUM_REPLICAS);
+    new SortedReplicasHelper().addPriorityFunc(PRIORITY_FUNC)
+                              .setScoreFunc(SCORE_FUNC)
+                              .trackSortedReplicasFor(SORT_NAME, broker);
+    SortedReplicas sr = broker.trackedSortedReplicas(SORT_NAME);
+    List<Replica> expected = new ArrayList<>(sr.sortedReplicas(false));
+    SortedSet<Replica> clone = sr.sortedReplicas(true);
+
+    // Removing each replica returned by the cursor does not change the order in which the cursor returns replicas.
+    List<Replica> returned = new ArrayList<>();
+    for (Iterator<Replica> cursor = sr.cursor(); cursor.hasNext(); ) {
+      Replica replica = cursor.next();
+      returned.add(replica);
+      sr.remove(replica);
+    }
+    assertEquals(expected, returned);
+    assertTrue(sr.sortedReplicas(false).isEmpty());
+
+    // The clone is not affected by the changes of the sorted replicas, and allows removal.
+    assertEquals(expected, new ArrayList<>(clone));
+    assertTrue(clone.contains(expected.get(0)));
+    clone.removeIf(r -> r.equals(expected.get(0)));
+    assertEquals(NUM_REPLICAS - 1, clone.size());
+    assertEquals(expected.get(1), clone.first());
+    // The index of the clone follows the removals from the clone.
+    assertFalse(clone.contains(expected.get(0)));
+    assertTrue(clone.remove(expected.get(1)));
+    assertFalse(clone.remove(expected.get(1)));
+    assertFalse(clone.contains(expected.get(1)));
+    assertEquals(NUM_REPLICAS - 2, clone.size());
+    assertEquals(expected.get(2), clone.first());
+    clone.tailSet(expected.get(3)).clear();
+    assertFalse(clone.contains(expected.get(3)));
+    assertTrue(clone.contains(expected.get(2)));
+  }
+
   private void verifySortedReplicas(SortedReplicas sr) {
     int lastPriority = -1;
     double lastScore = Double.NEGATIVE_INFINITY;
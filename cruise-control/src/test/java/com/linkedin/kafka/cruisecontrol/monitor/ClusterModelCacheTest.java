@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor;
+
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregatedMetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricValues;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.ValuesAndExtrapolations;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.config.BrokerCapacityConfigFileResolver;
+import com.linkedin.kafka.cruisecontrol.config.BrokerCapacityConfigResolver;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerCapacityResolutionException;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.common.TestConstants.DEFAULT_BROKER_CAPACITY_CONFIG_FILE;
+import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC0;
+import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC1;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUnitTestUtils.NODE_0;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUnitTestUtils.NODE_1;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUnitTestUtils.NODE_2;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.BROKER_CAPACITY_FETCH_TIMEOUT_MS;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.getRackHandleNull;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.populatePartitionLoad;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils.setBadBrokerState;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+
+/**
+ * Unit test for {@link ClusterModelCache}.
+ */
+public class ClusterModelCacheTest {
+  private static final double DELTA = 1e-6;
+  private static final List<Long> WINDOWS = Arrays.asList(2L, 1L);
+  private static final List<Long> OTHER_WINDOWS = Arrays.asList(3L, 2L);
+  private static final TopicPartition T0P0 = new TopicPartition(TOPIC0, 0);
+  private static final TopicPartition T0P1 = new TopicPartition(TOPIC0, 1);
+  private static final TopicPartition T1P0 = new TopicPartition(TOPIC1, 0);
+  private static final TopicPartition T1P1 = new TopicPartition(TOPIC1, 1);
+  private static final Node[] NODES_0_1 = {NODE_0, NODE_1};
+  private static final Node[] NODES_1_0 = {NODE_1, NODE_0};
+  private static final Node[] NODES_0 = {NODE_0};
+
+  private static BrokerCapacityConfigResolver brokerCapacityConfigResolver() {
+    BrokerCapacityConfigFileResolver resolver = new BrokerCapacityConfigFileResolver();
+    resolver.configure(Collections.singletonMap(BrokerCapacityConfigFileResolver.CAPACITY_CONFIG_FILE,
+                                                ClusterModelCacheTest.class.getClassLoader()
+                                                                           .getResource(DEFAULT_BROKER_CAPACITY_CONFIG_FILE).getFile()));
+    return resolver;
+  }
+
+  private static Cluster cluster(List<Node> nodes, PartitionInfo... partitions) {
+    return new Cluster("cluster", nodes, Arrays.asList(partitions), Collections.emptySet(), Collections.emptySet());
+  }
+
+  /**
+   * @param windows The windows of the values.
+   * @param partitions The partitions to get the values for.
+   * @return New values of each given partition, which differ across partitions.
+   */
+  private static Map<PartitionEntity, ValuesAndExtrapolations> valuesAndExtrapolations(List<Long> windows,
+                                                                                       TopicPartition... partitions) {
+    Map<PartitionEntity, ValuesAndExtrapolations> valuesAndExtrapolations = new HashMap<>();
+    for (TopicPartition tp : partitions) {
+      AggregatedMetricValues aggregatedMetricValues = new AggregatedMetricValues();
+      for (MetricInfo info : KafkaMetricDef.commonMetricDef().all()) {
+        MetricValues metricValues = new MetricValues(windows.size());
+        for (int i = 0; i < windows.size(); i++) {
+          metricValues.set(i, (info.id() + 1) * (Math.floorMod(tp.hashCode(), 7) + i + 1) * 0.01);
+        }
+        aggregatedMetricValues.add(info.id(), metricValues);
+      }
+      ValuesAndExtrapolations values = new ValuesAndExtrapolations(aggregatedMetricValues, Collections.emptyMap());
+      values.setWindows(windows);
+      valuesAndExtrapolations.put(new PartitionEntity(tp), values);
+    }
+    return valuesAndExtrapolations;
+  }
+
+  /**
+   * @param cluster Kafka cluster.
+   * @param modelGeneration Model generation.
+   * @param valuesAndExtrapolations The values and extrapolations of each partition.
+   * @param resolver The resolver for retrieving broker capacities.
+   * @return A cluster model generated from scratch in the same way as {@link LoadMonitor}.
+   */
+  private static ClusterModel generateClusterModel(Cluster cluster,
+                                                   ModelGeneration modelGeneration,
+                                                   Map<PartitionEntity, ValuesAndExtrapolations> valuesAndExtrapolations,
+                                                   BrokerCapacityConfigResolver resolver)
+      throws TimeoutException, BrokerCapacityResolutionException {
+    ClusterModel clusterModel = new ClusterModel(modelGeneration, 1.0);
+    for (Node node : cluster.nodes()) {
+      String rack = getRackHandleNull(node);
+      clusterModel.createRack(rack);
+      clusterModel.createBroker(rack, node.host(), node.id(),
+                                resolver.capacityForBroker(rack, node.host(), node.id(), BROKER_CAPACITY_FETCH_TIMEOUT_MS, true),
+                                false);
+    }
+    for (Map.Entry<PartitionEntity, ValuesAndExtrapolations> entry : valuesAndExtrapolations.entrySet()) {
+      populatePartitionLoad(cluster, clusterModel, entry.getKey().tp(), entry.getValue(), null, resolver, true);
+    }
+    setBadBrokerState(clusterModel, cluster);
+    return clusterModel;
+  }
+
+  private static void assertSameClusterModel(ClusterModel expected, ClusterModel actual) {
+    assertEquals(expected.generation(), actual.generation());
+    assertEquals(expected.getReplicaDistribution(), actual.getReplicaDistribution());
+    assertEquals(expected.getLeaderDistribution(), actual.getLeaderDistribution());
+    assertEquals(expected.replicationFactorByTopic(), actual.replicationFactorByTopic());
+    assertEquals(expected.maxReplicationFactor(), actual.maxReplicationFactor());
+    for (Resource resource : Resource.cachedValues()) {
+      assertEquals(expected.load().expectedUtilizationFor(resource), actual.load().expectedUtilizationFor(resource), DELTA);
+      for (Broker broker : expected.brokers()) {
+        Broker actualBroker = actual.broker(broker.id());
+        assertEquals(broker.capacityFor(resource), actualBroker.capacityFor(resource), DELTA);
+        assertEquals(broker.load().expectedUtilizationFor(resource), actualBroker.load().expectedUtilizationFor(resource), DELTA);
+        assertEquals(expected.potentialLeadershipLoadFor(broker.id()).expectedUtilizationFor(resource),
+                     actual.potentialLeadershipLoadFor(broker.id()).expectedUtilizationFor(resource), DELTA);
+        for (Replica replica : broker.replicas()) {
+          assertEquals(replica.load().expectedUtilizationFor(resource),
+                       actualBroker.replica(replica.topicPartition()).load().expectedUtilizationFor(resource), DELTA);
+        }
+      }
+    }
+    actual.sanityCheck();
+  }
+
+  @Test
+  public void testClusterModelWithSameMetadata() throws TimeoutException, BrokerCapacityResolutionException {
+    BrokerCapacityConfigResolver resolver = brokerCapacityConfigResolver();
+    Cluster cluster = cluster(Arrays.asList(NODE_0, NODE_1),
+                              new PartitionInfo(TOPIC0, 0, NODE_0, NODES_0_1, NODES_0_1),
+                              new PartitionInfo(TOPIC0, 1, NODE_1, NODES_1_0, NODES_1_0));
+    ModelGeneration generation = new ModelGeneration(0, 0L);
+    ClusterModelCache cache = new ClusterModelCache(resolver);
+    assertNull(cache.clusterModel(cluster, generation, 1.0, valuesAndExtrapolations(WINDOWS, T0P0, T0P1), true));
+
+    ClusterModel generatedClusterModel = generateClusterModel(cluster, generation, valuesAndExtrapolations(WINDOWS, T0P0, T0P1),
+                                                              resolver);
+    cache.update(generatedClusterModel, cluster, valuesAndExtrapolations(WINDOWS, T0P0, T0P1), true);
+    ClusterModel clusterModel = cache.clusterModel(cluster, generation, 1.0, valuesAndExtrapolations(WINDOWS, T0P0, T0P1), true);
+    assertNotNull(clusterModel);
+    assertNotSame(generatedClusterModel, clusterModel);
+    assertSameClusterModel(generatedClusterModel, clusterModel);
+
+    // Changes to a cluster model do not affect the subsequent cluster models.
+    clusterModel.relocateLeadership(T0P0, 0, 1);
+    clusterModel.relocateLeadership(T0P1, 1, 0);
+    assertSameClusterModel(generatedClusterModel,
+                           cache.clusterModel(cluster, generation, 1.0, valuesAndExtrapolations(WINDOWS, T0P0, T0P1), true));
+  }
+
+  @Test
+  public void testClusterModelWithChangedPartitions() throws TimeoutException, BrokerCapacityResolutionException {
+    BrokerCapacityConfigResolver resolver = brokerCapacityConfigResolver();
+    List<Node> nodes = Arrays.asList(NODE_0, NODE_1);
+    Cluster cluster = cluster(nodes,
+                              new PartitionInfo(TOPIC0, 0, NODE_0, NODES_0_1, NODES_0_1),
+                              new PartitionInfo(TOPIC0, 1, NODE_1, NODES_1_0, NODES_1_0),
+                              new PartitionInfo(TOPIC1, 0, NODE_0, NODES_0, NODES_0));
+    ClusterModelCache cache = new ClusterModelCache(resolver);
+    cache.update(generateClusterModel(cluster, new ModelGeneration(0, 0L), valuesAndExtrapolations(WINDOWS, T0P0, T0P1, T1P0),
+                                      resolver),
+                 cluster, valuesAndExtrapolations(WINDOWS, T0P0, T0P1, T1P0), true);
+
+    // T0P0 changed its leader, T0P1 was deleted, T1P0 got a new replica and T1P1 was created.
+    Cluster changedCluster = cluster(nodes,
+                                     new PartitionInfo(TOPIC0, 0, NODE_1, NODES_1_0, NODES_1_0),
+                                     new PartitionInfo(TOPIC1, 0, NODE_0, NODES_0_1, NODES_0_1),
+                                     new PartitionInfo(TOPIC1, 1, NODE_1, NODES_1_0, NODES_1_0));
+    ModelGeneration generation = new ModelGeneration(1, 0L);
+    ClusterModel clusterModel = cache.clusterModel(changedCluster, generation, 1.0,
+                                                   valuesAndExtrapolations(WINDOWS, T0P0, T1P0, T1P1), true);
+    assertNotNull(clusterModel);
+    assertNull(clusterModel.partition(T0P1));
+    assertEquals(2, clusterModel.replicationFactorByTopic().get(TOPIC1).intValue());
+    assertSameClusterModel(generateClusterModel(changedCluster, generation, valuesAndExtrapolations(WINDOWS, T0P0, T1P0, T1P1),
+                                                resolver),
+                           clusterModel);
+  }
+
+  @Test
+  public void testClusterModelWithChangedLoadOrBrokers() throws TimeoutException, BrokerCapacityResolutionException {
+    BrokerCapacityConfigResolver resolver = brokerCapacityConfigResolver();
+    PartitionInfo t0p0 = new PartitionInfo(TOPIC0, 0, NODE_0, NODES_0_1, NODES_0_1);
+    Cluster cluster = cluster(Arrays.asList(NODE_0, NODE_1), t0p0);
+    ClusterModelCache cache = new ClusterModelCache(resolver);
+    cache.update(generateClusterModel(cluster, new ModelGeneration(0, 0L), valuesAndExtrapolations(WINDOWS, T0P0), resolver),
+                 cluster, valuesAndExtrapolations(WINDOWS, T0P0), true);
+
+    // A new load generation, different windows or a different capacity estimation requires a new cluster model.
+    assertNull(cache.clusterModel(cluster, new ModelGeneration(0, 1L), 1.0, valuesAndExtrapolations(WINDOWS, T0P0), true));
+    assertNull(cache.clusterModel(cluster, new ModelGeneration(0, 0L), 1.0, valuesAndExtrapolations(OTHER_WINDOWS, T0P0), true));
+    assertNull(cache.clusterModel(cluster, new ModelGeneration(0, 0L), 1.0, valuesAndExtrapolations(WINDOWS, T0P0), false));
+    // So does a new broker.
+    Cluster clusterWithNewBroker = cluster(Arrays.asList(NODE_0, NODE_1, NODE_2), t0p0);
+    assertNull(cache.clusterModel(clusterWithNewBroker, new ModelGeneration(1, 0L), 1.0, valuesAndExtrapolations(WINDOWS, T0P0), true));
+    // And a dead broker, which is not kept as the base cluster model.
+    Cluster clusterWithDeadBroker = cluster(Collections.singletonList(NODE_0), t0p0);
+    assertNull(cache.clusterModel(clusterWithDeadBroker, new ModelGeneration(1, 0L), 1.0, valuesAndExtrapolations(WINDOWS, T0P0), true));
+    ClusterModel clusterModelWithDeadBroker = generateClusterModel(clusterWithDeadBroker, new ModelGeneration(1, 0L),
+                                                                   valuesAndExtrapolations(WINDOWS, T0P0), resolver);
+    cache.update(clusterModelWithDeadBroker, clusterWithDeadBroker, valuesAndExtrapolations(WINDOWS, T0P0), true);
+    assertNull(cache.clusterModel(cluster, new ModelGeneration(2, 0L), 1.0, valuesAndExtrapolations(WINDOWS, T0P0), true));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.CruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.Metadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC0;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.BROKER_METRICS_WINDOW_MS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.MIN_SAMPLES_PER_BROKER_METRICS_WINDOW_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.MIN_SAMPLES_PER_PARTITION_METRICS_WINDOW_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.NUM_BROKER_METRICS_WINDOWS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUnitTestUtils.getMetadata;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link MetricSampleAggregatorCheckpoint}.
+ */
+public class MetricSampleAggregatorCheckpointTest {
+  private static final int NUM_WINDOWS = 20;
+  private static final long WINDOW_MS = TimeUnit.SECONDS.toMillis(1);
+  private static final int MIN_SAMPLES_PER_WINDOW = 4;
+  private static final long CHECKPOINT_TIME_MS = 12345L;
+  private static final TopicPartition T0P0 = new TopicPartition(TOPIC0, 0);
+  private static final TopicPartition T0P1 = new TopicPartition(TOPIC0, 1);
+  private static final BrokerEntity BROKER_0 = new BrokerEntity("host0", 0);
+  private static final BrokerEntity BROKER_1 = new BrokerEntity(null, 1);
+  private Path _dir;
+
+  @Before
+  public void setUp() throws IOException {
+    _dir = Files.createTempDirectory("checkpoint");
+  }
+
+  /**
+   * Remove the checkpoint directory.
+   */
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(_dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(_dir);
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(getLoadMonitorProperties());
+    KafkaPartitionMetricSampleAggregator partitionAggregator = populatedPartitionAggregator(config);
+    KafkaBrokerMetricSampleAggregator brokerAggregator = populatedBrokerAggregator(config);
+
+    MetricSampleAggregatorCheckpoint checkpoint = new MetricSampleAggregatorCheckpoint(_dir.resolve("aggregators.checkpoint"));
+    assertFalse(checkpoint.exists());
+    checkpoint.write(CHECKPOINT_TIME_MS, partitionAggregator, brokerAggregator);
+    assertTrue(checkpoint.exists());
+    // The temporary file has been renamed to the checkpoint file.
+    try (Stream<Path> files = Files.list(_dir)) {
+      assertEquals(1, files.count());
+    }
+
+    Metadata metadata = getMetadata(Arrays.asList(T0P0, T0P1));
+    KafkaPartitionMetricSampleAggregator restoredPartitionAggregator = new KafkaPartitionMetricSampleAggregator(config, metadata);
+    KafkaBrokerMetricSampleAggregator restoredBrokerAggregator = new KafkaBrokerMetricSampleAggregator(config);
+    assertEquals(CHECKPOINT_TIME_MS, checkpoint.read(restoredPartitionAggregator, restoredBrokerAggregator));
+    assertEquals(partitionAggregator.allWindows(), restoredPartitionAggregator.allWindows());
+    assertEquals(partitionAggregator.numSamples(), restoredPartitionAggregator.numSamples());
+    assertEquals(brokerAggregator.allWindows(), restoredBrokerAggregator.allWindows());
+    assertEquals(brokerAggregator.numSamples(), restoredBrokerAggregator.numSamples());
+    assertEquals(brokerAggregator.aggregate(Collections.singleton(BROKER_1)).valuesAndExtrapolations().keySet(),
+                 restoredBrokerAggregator.aggregate(Collections.singleton(BROKER_1)).valuesAndExtrapolations().keySet());
+  }
+
+  @Test
+  public void testReadCorruptedCheckpoint() throws IOException {
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(getLoadMonitorProperties());
+    MetricSampleAggregatorCheckpoint checkpoint = new MetricSampleAggregatorCheckpoint(_dir.resolve("aggregators.checkpoint"));
+    checkpoint.write(CHECKPOINT_TIME_MS, populatedPartitionAggregator(config), populatedBrokerAggregator(config));
+
+    byte[] bytes = Files.readAllBytes(checkpoint.file());
+    bytes[bytes.length / 2] ^= 0x1;
+    Files.write(checkpoint.file(), bytes);
+    Metadata metadata = getMetadata(Arrays.asList(T0P0, T0P1));
+    assertThrows(IOException.class, () -> checkpoint.read(new KafkaPartitionMetricSampleAggregator(config, metadata),
+                                                          new KafkaBrokerMetricSampleAggregator(config)));
+
+    // A truncated checkpoint is rejected as well.
+    Files.write(checkpoint.file(), Arrays.copyOf(bytes, 4));
+    assertThrows(IOException.class, () -> checkpoint.read(new KafkaPartitionMetricSampleAggregator(config, metadata),
+                                                          new KafkaBrokerMetricSampleAggregator(config)));
+  }
+
+  private static KafkaPartitionMetricSampleAggregator populatedPartitionAggregator(KafkaCruiseControlConfig config) {
+    KafkaPartitionMetricSampleAggregator aggregator =
+        new KafkaPartitionMetricSampleAggregator(config, getMetadata(Arrays.asList(T0P0, T0P1)));
+    for (TopicPartition tp : Arrays.asList(T0P0, T0P1)) {
+      CruiseControlUnitTestUtils.populateSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW, aggregator,
+                                                          new PartitionEntity(tp), 0, WINDOW_MS,
+                                                          KafkaMetricDef.commonMetricDef());
+    }
+    return aggregator;
+  }
+
+  private static KafkaBrokerMetricSampleAggregator populatedBrokerAggregator(KafkaCruiseControlConfig config) {
+    KafkaBrokerMetricSampleAggregator aggregator = new KafkaBrokerMetricSampleAggregator(config);
+    for (BrokerEntity broker : Arrays.asList(BROKER_0, BROKER_1)) {
+      CruiseControlUnitTestUtils.populateSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW, aggregator,
+                                                          broker, 0, WINDOW_MS, KafkaMetricDef.brokerMetricDef());
+    }
+    return aggregator;
+  }
+
+  private static Properties getLoadMonitorProperties() {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(PARTITION_METRICS_WINDOW_MS_CONFIG, Long.toString(WINDOW_MS));
+    props.setProperty(NUM_PARTITION_METRICS_WINDOWS_CONFIG, Integer.toString(NUM_WINDOWS));
+    props.setProperty(MIN_SAMPLES_PER_PARTITION_METRICS_WINDOW_CONFIG, Integer.toString(MIN_SAMPLES_PER_WINDOW));
+    props.setProperty(BROKER_METRICS_WINDOW_MS_CONFIG, Long.toString(WINDOW_MS));
+    props.setProperty(NUM_BROKER_METRICS_WINDOWS_CONFIG, Integer.toString(NUM_WINDOWS));
+    props.setProperty(MIN_SAMPLES_PER_BROKER_METRICS_WINDOW_CONFIG, Integer.toString(MIN_SAMPLES_PER_WINDOW));
+    return props;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.servlet.handler.async.runnable;
+
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.servlet.UserRequestException;
+import com.linkedin.kafka.cruisecontrol.servlet.handler.async.runnable.PartitionLoadRunnable.PartitionUtilization;
+import com.linkedin.kafka.cruisecontrol.servlet.parameters.PartitionLoadCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.servlet.handler.async.runnable.PartitionLoadRunnable.topPartitionsByUtilization;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for selecting the partition load in {@link PartitionLoadRunnable}.
+ */
+public class PartitionLoadRunnableTest {
+
+  private static List<TopicPartition> sortedPartitions(ClusterModel clusterModel) {
+    return clusterModel.partitions().stream()
+                       .map(p -> new PartitionUtilization(p, p.leader().load().expectedUtilizationFor(Resource.NW_IN, false, false)))
+                       .sorted()
+                       .map(partitionUtilization -> partitionUtilization.partition().topicPartition())
+                       .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testTopPartitionsByUtilization() {
+    ClusterModel clusterModel = DeterministicCluster.unbalanced2();
+    List<TopicPartition> expected = sortedPartitions(clusterModel);
+
+    // Selecting all partitions is equivalent to sorting them.
+    List<PartitionUtilization> all = topPartitionsByUtilization(clusterModel.partitions(), p -> true, Resource.NW_IN,
+                                                                false, false, null, Integer.MAX_VALUE);
+    assertEquals(expected, all.stream().map(pu -> pu.partition().topicPartition()).collect(Collectors.toList()));
+    for (int i = 1; i < all.size(); i++) {
+      assertTrue(all.get(i - 1).utilization() >= all.get(i).utilization());
+    }
+
+    // The selected partitions satisfy the filter.
+    List<PartitionUtilization> filtered = topPartitionsByUtilization(clusterModel.partitions(), p -> p.topicPartition().partition() == 0,
+                                                                     Resource.NW_IN, false, false, null, Integer.MAX_VALUE);
+    assertFalse(filtered.isEmpty());
+    filtered.forEach(pu -> assertEquals(0, pu.partition().topicPartition().partition()));
+  }
+
+  @Test
+  public void testPageThroughPartitionsWithCursor() {
+    ClusterModel clusterModel = DeterministicCluster.unbalanced2();
+    List<TopicPartition> expected = sortedPartitions(clusterModel);
+    int entries = 2;
+
+    List<TopicPartition> paged = new ArrayList<>();
+    PartitionLoadCursor cursor = null;
+    do {
+      List<PartitionUtilization> page = topPartitionsByUtilization(clusterModel.partitions(), p -> true, Resource.NW_IN,
+                                                                   false, false, cursor, entries);
+      // One extra partition indicates the next page.
+      assertTrue(page.size() <= entries + 1);
+      cursor = null;
+      if (page.size() > entries) {
+        page.remove(entries);
+        // Round-trip the cursor through its encoding as a client would.
+        cursor = PartitionLoadCursor.fromString(page.get(entries - 1).cursor().toString());
+      }
+      page.forEach(pu -> paged.add(pu.partition().topicPartition()));
+    } while (cursor != null);
+    assertEquals(expected, paged);
+  }
+
+  @Test
+  public void testCursorEncoding() {
+    TopicPartition tp = new TopicPartition("my-topic", 12);
+    PartitionLoadCursor cursor = PartitionLoadCursor.fromString(new PartitionLoadCursor(tp, 1.5).toString());
+    assertEquals("my-topic-12@1.5", cursor.toString());
+    assertTrue(cursor.precedes(new TopicPartition("my-topic", 13), 1.5));
+    assertTrue(cursor.precedes(new TopicPartition("a-topic", 0), 1.0));
+    assertFalse(cursor.precedes(tp, 1.5));
+    assertFalse(cursor.precedes(new TopicPartition("z-topic", 0), 2.0));
+
+    assertThrows(UserRequestException.class, () -> PartitionLoadCursor.fromString("my-topic-12"));
+    assertThrows(UserRequestException.class, () -> PartitionLoadCursor.fromString("my-topic@1.5"));
+    assertThrows(UserRequestException.class, () -> PartitionLoadCursor.fromString("my-topic-x@1.5"));
+    assertThrows(UserRequestException.class, () -> PartitionLoadCursor.fromString("my-topic-12@x"));
+  }
+
+  /**
+   * Verify that partitions in the cluster model are visible through {@link ClusterModel#partitions()}.
+   */
+  @Test
+  public void testClusterModelPartitions() {
+    ClusterModel clusterModel = DeterministicCluster.unbalanced2();
+    int numPartitions = clusterModel.getPartitionsByTopic().values().stream().mapToInt(List::size).sum();
+    assertEquals(numPartitions, clusterModel.partitions().size());
+    for (Partition partition : clusterModel.partitions()) {
+      assertEquals(partition, clusterModel.partition(partition.topicPartition()));
+    }
+  }
+}